@@ -0,0 +1,99 @@
+import http from "k6/http";
+import { check, sleep } from "k6";
+import { Trend, Rate } from "k6/metrics";
+
+// 채팅 히스토리 페이지 p99 비교용
+// 서버를 chat.tail-cache.enabled=true / false 로 각각 띄운 뒤 CACHE_LABEL 만 바꿔 두 번 실행한다.
+//   k6 run -e BASE_URL=... -e AUTH_TOKEN=... -e LIGHTNING_ID=... -e CACHE_LABEL=on  k6/chat-history-k6.js
+//   k6 run -e BASE_URL=... -e AUTH_TOKEN=... -e LIGHTNING_ID=... -e CACHE_LABEL=off k6/chat-history-k6.js
+
+const BASE_URL = __ENV.BASE_URL;
+const AUTH_TOKEN = __ENV.AUTH_TOKEN;
+const LIGHTNING_ID = __ENV.LIGHTNING_ID;
+const PAGE_SIZE = Number(__ENV.PAGE_SIZE || 30);
+const CACHE_LABEL = __ENV.CACHE_LABEL || "unknown";
+
+const failRate = new Rate("fail_rate");
+const tInitial = new Trend("latency_chat_initial_page", true);
+const tPrev = new Trend("latency_chat_prev_page", true);
+
+export const options = {
+  scenarios: {
+    history: {
+      executor: "constant-vus",
+      vus: Number(__ENV.VUS || 20),
+      duration: __ENV.DURATION || "60s",
+    },
+  },
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+  tags: { cache: CACHE_LABEL },
+  thresholds: {
+    fail_rate: ["rate<0.02"],
+  },
+};
+
+function mustEnv(name, value) {
+  if (!value) throw new Error(`Missing env: ${name}`);
+  return value;
+}
+
+export function setup() {
+  mustEnv("BASE_URL", BASE_URL);
+  mustEnv("LIGHTNING_ID", LIGHTNING_ID);
+  return {
+    baseUrl: BASE_URL.replace(/\/$/, ""),
+    token: AUTH_TOKEN,
+  };
+}
+
+export default function (data) {
+  const url = `${data.baseUrl}/api/v1/lightnings/${LIGHTNING_ID}/chat-messages`;
+
+  const headers = {
+    "User-Agent": "k6-chat-history",
+    Accept: "application/json",
+  };
+
+  if (data.token) {
+    headers["Authorization"] = data.token.startsWith("Bearer ")
+      ? data.token
+      : `Bearer ${data.token}`;
+  }
+
+  // ---- 1) 최초 진입 페이지 ----
+  let prevCursor = null;
+  {
+    const res = http.get(`${url}?size=${PAGE_SIZE}`, {
+      headers,
+      tags: { name: "GET chat initial page" },
+    });
+    tInitial.add(res.timings.duration);
+
+    const ok = check(res, {
+      "initial page status is 2xx": (r) => r.status >= 200 && r.status < 300,
+    });
+    failRate.add(!ok);
+
+    if (ok) {
+      const body = res.json();
+      const pageInfo = body && body.data ? body.data.pageInfo : null;
+      prevCursor = pageInfo && pageInfo.hasPreviousPage ? pageInfo.prevCursor : null;
+    }
+  }
+
+  // ---- 2) 위로 한 페이지 스크롤 ----
+  if (prevCursor) {
+    const res = http.get(`${url}?direction=PREV&cursorId=${prevCursor}&size=${PAGE_SIZE}`, {
+      headers,
+      tags: { name: "GET chat prev page" },
+    });
+    tPrev.add(res.timings.duration);
+
+    const ok = check(res, {
+      "prev page status is 2xx": (r) => r.status >= 200 && r.status < 300,
+    });
+    failRate.add(!ok);
+  }
+
+  sleep(0.5);
+}
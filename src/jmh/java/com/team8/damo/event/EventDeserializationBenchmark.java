@@ -0,0 +1,120 @@
+package com.team8.damo.event;
+
+import com.team8.damo.event.handler.EventHandler;
+import com.team8.damo.event.handler.EventHandlerRegistry;
+import com.team8.damo.event.payload.EventPayload;
+import com.team8.damo.event.payload.RecommendationDoneEventPayload;
+import com.team8.damo.event.payload.RecommendationStreamingEventPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Kafka 로 받는 메시지의 역직렬화 + 핸들러 탐색 비용 비교
+ *
+ * - twoPass / linearDispatch: 기존 방식 (Object payload 로 읽은 뒤 convertValue, supports 순회)
+ * - singlePass / enumMapDispatch: Event.fromJson, EventHandlerRegistry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventDeserializationBenchmark {
+
+    @Param({"RECOMMENDATION_STREAMING", "RECOMMENDATION_RESPONSE"})
+    private EventType eventType;
+
+    private final ObjectMapper objectMapper = new JsonMapper();
+
+    private String message;
+    private List<EventHandler<EventPayload>> handlers;
+    private EventHandlerRegistry registry;
+
+    @Setup
+    public void setUp() {
+        EventPayload payload = switch (eventType) {
+            case RECOMMENDATION_STREAMING -> RecommendationStreamingEventPayload.builder()
+                .diningId(293847561029384756L)
+                .userId(192837465019283746L)
+                .content("회식 인원 8명, 예산 3만원, 강남역 도보 10분 이내 조건을 기준으로 후보를 좁히고 있습니다. ".repeat(4))
+                .build();
+            case RECOMMENDATION_RESPONSE -> new RecommendationDoneEventPayload(
+                293847561029384756L,
+                2,
+                IntStream.range(0, 5)
+                    .mapToObj(i -> new RecommendationDoneEventPayload.RecommendedItem(
+                        "restaurant-" + i,
+                        "단체석이 있고 1인 2만원대 코스가 있어 예산과 인원 조건에 맞습니다. 참석자 선호 음식과도 겹칩니다."
+                    ))
+                    .toList()
+            );
+            default -> throw new IllegalArgumentException(eventType.name());
+        };
+        message = Event.of(384756102938475610L, eventType, payload).toJson();
+
+        handlers = new ArrayList<>();
+        Arrays.stream(EventType.values()).forEach(type -> handlers.add(new NoOpHandler(type)));
+        registry = new EventHandlerRegistry(new ArrayList<>(handlers));
+    }
+
+    @Benchmark
+    public void twoPass(Blackhole bh) {
+        EventRaw raw = objectMapper.readValue(message, EventRaw.class);
+        EventType type = EventType.from(raw.eventType);
+        bh.consume(objectMapper.convertValue(raw.payload, type.getPayloadClass()));
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        bh.consume(Event.fromJson(message));
+    }
+
+    @Benchmark
+    public void twoPassWithLinearDispatch(Blackhole bh) {
+        EventRaw raw = objectMapper.readValue(message, EventRaw.class);
+        Event<EventPayload> event = Event.of(
+            raw.eventId,
+            EventType.from(raw.eventType),
+            objectMapper.convertValue(raw.payload, EventType.from(raw.eventType).getPayloadClass())
+        );
+        for (EventHandler<EventPayload> handler : handlers) {
+            if (handler.supports(event)) {
+                handler.handle(event);
+                break;
+            }
+        }
+        bh.consume(event);
+    }
+
+    @Benchmark
+    public void singlePassWithEnumMapDispatch(Blackhole bh) {
+        Event<EventPayload> event = Event.fromJson(message);
+        registry.handle(event);
+        bh.consume(event);
+    }
+
+    public static class EventRaw {
+        public Long eventId;
+        public String eventType;
+        public Object payload;
+    }
+
+    private record NoOpHandler(EventType eventType) implements EventHandler<EventPayload> {
+        @Override
+        public void handle(Event<EventPayload> event) {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.team8.damo.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSE heartbeat 스케줄링 비용을 연결 수(1k ~ 100k)별로 비교
+ *
+ * - wheelReschedule / executorReschedule: 연결 하나의 heartbeat 재예약(cancel + schedule) 비용
+ *   wheel 은 연결 수와 무관해야 하고, ScheduledThreadPoolExecutor 는 힙 연산이라 log n 으로 늘어난다.
+ * - wheelTick: tick 하나가 처리하는 비용 (heartbeat 간격 / tick 만큼 나뉜 연결만 처리)
+ * - fullScan: 기존 방식처럼 heartbeat 주기마다 전체 연결을 한 번에 훑는 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashedTimingWheelBenchmark {
+
+    private static final long INTERVAL_MILLIS = 30_000L;
+    private static final long TICK_MILLIS = 100L;
+    private static final int WHEEL_SIZE = 512;
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"1000", "10000", "100000"})
+    private int connections;
+
+    private HashedTimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private Map<Integer, Object> connectionMap;
+
+    private HashedTimingWheel.Timeout wheelTimeout;
+    private ScheduledFuture<?> executorFuture;
+    private long operations;
+
+    @Setup
+    public void setUp() {
+        // 만료 작업을 tick 을 돌린 스레드에서 바로 실행해 측정에 포함시킨다.
+        wheel = new HashedTimingWheel("benchmark", TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        connectionMap = new ConcurrentHashMap<>();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < connections; i++) {
+            long delay = random.nextLong(INTERVAL_MILLIS);
+            wheel.schedule(new Heartbeat(), delay, TimeUnit.MILLISECONDS);
+            executor.schedule(NOOP, INTERVAL_MILLIS + delay, TimeUnit.MILLISECONDS);
+            connectionMap.put(i, new Object());
+        }
+        wheel.transferPending();
+
+        wheelTimeout = wheel.schedule(NOOP, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        executorFuture = executor.schedule(NOOP, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void wheelReschedule() {
+        wheelTimeout.cancel();
+        wheelTimeout = wheel.schedule(NOOP, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        // 실제로는 tick 스레드가 매 tick 옮기므로 pending 이 쌓이지 않게 주기적으로 비운다.
+        if ((++operations & 1023) == 0) {
+            wheel.transferPending();
+        }
+    }
+
+    @Benchmark
+    public void executorReschedule() {
+        executorFuture.cancel(false);
+        executorFuture = executor.schedule(NOOP, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    public void wheelTick() {
+        wheel.advance();
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        connectionMap.forEach((id, connection) -> blackhole.consume(connection));
+    }
+
+    private class Heartbeat implements Runnable {
+        @Override
+        public void run() {
+            wheel.schedule(this, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
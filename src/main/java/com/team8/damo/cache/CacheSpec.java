@@ -5,15 +5,22 @@ import lombok.RequiredArgsConstructor;
 
 import java.time.Duration;
 
+/**
+ * ttl: Redis(L2) TTL
+ * localMaxSize, localTtl: 노드 로컬(L1) 최대 엔트리 수와 TTL
+ * L1 TTL 은 invalidation 메시지가 유실됐을 때 stale 을 허용하는 상한이므로 짧게 둔다.
+ */
 @Getter
 @RequiredArgsConstructor
 public enum CacheSpec {
-    USER_BASIC("user:basic", Duration.ofMinutes(15)),
-    LIGHTNING_PARTICIPANT_COUNT("lightning:participant:count", Duration.ofMinutes(15)),
+    USER_BASIC("user:basic", Duration.ofMinutes(15), 10_000, Duration.ofMinutes(1)),
+    LIGHTNING_PARTICIPANT_COUNT("lightning:participant:count", Duration.ofMinutes(15), 10_000, Duration.ofSeconds(30)),
     ;
 
     public final String name;
     public final Duration ttl;
+    public final long localMaxSize;
+    public final Duration localTtl;
 
     public static final String userBasic = "user:basic";
     public static final String lightningParticipantCount = "lightning:participant:count";
@@ -0,0 +1,38 @@
+package com.team8.damo.cache.dto;
+
+import com.team8.damo.entity.ChatMessage;
+import com.team8.damo.event.payload.CreateChatMessageEventPayload;
+
+import java.time.LocalDateTime;
+
+public record ChatMessageCache(
+    Long id,
+    Long senderId,
+    String senderNickname,
+    String senderImagePath,
+    String content,
+    LocalDateTime createdAt
+) {
+
+    public static ChatMessageCache from(ChatMessage chatMessage) {
+        return new ChatMessageCache(
+            chatMessage.getId(),
+            chatMessage.getUser().getId(),
+            chatMessage.getUser().getNickname(),
+            chatMessage.getUser().getImagePath(),
+            chatMessage.getContent(),
+            chatMessage.getCreatedAt()
+        );
+    }
+
+    public static ChatMessageCache from(CreateChatMessageEventPayload payload) {
+        return new ChatMessageCache(
+            payload.messageId(),
+            payload.senderId(),
+            payload.senderNickname(),
+            payload.senderImagePath(),
+            payload.content(),
+            payload.createdAt()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.team8.damo.cache.dto;
+
+/**
+ * TwoLevelCache 가 L2 에 쓰는 값.
+ * L2 만료 시각을 값과 함께 저장해 L2 hit 마다 PTTL 을 따로 조회하지 않는다.
+ */
+public record TieredCacheValue(
+    Object value,
+    long expiresAtMillis
+) {
+}
@@ -0,0 +1,235 @@
+package com.team8.damo.cache.store;
+
+import com.team8.damo.cache.dto.ChatMessageCache;
+import com.team8.damo.metric.ChatTailCacheMetric;
+import com.team8.damo.util.DataSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL;
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL_GAP;
+
+/**
+ * 번개 채팅방별 최근 N개 메시지 (Redis ZSet)
+ *
+ * chat:tail:messages:{lightningId} (ZSet, score 0) : member = "{19자리 0-padding id}|{ChatMessageCache JSON}"
+ * - score 는 double 이라 snowflake id 를 그대로 쓰면 정밀도가 깨지므로, 모든 score 를 0 으로 두고 member 사전순(= id 순)으로 정렬한다.
+ * - 추가할 때 같은 id 의 member 를 먼저 지우므로 핸들러 재시도로 같은 메시지가 다시 들어와도 하나만 남는다.
+ * - 가장 오래된 id 부터 ZREMRANGEBYRANK 로 잘라내므로 추가 순서와 관계없이 최근 N개가 남는다.
+ * chat:tail:gap:{lightningId} (String) : 추가에 실패한 메시지 id 중 가장 큰 값
+ * - 이 id 이하가 걸치는 구간은 tail 에 빠진 메시지가 있을 수 있으므로 MySQL 로 fallback 한다.
+ * - 키를 지우는 대신 경계만 남기는 이유: 실패와 동시에 들어온 다른 추가가 DEL 에 같이 지워지면 경계 위쪽에 표시되지 않은 구멍이 생긴다.
+ *
+ * 요청한 구간을 tail 만으로 온전히 채울 수 있을 때만 결과를 돌려주고,
+ * 그렇지 않으면 empty 를 반환해 호출 측이 MySQL 로 fallback 하도록 한다.
+ */
+@Slf4j
+@Component
+public class ChatMessageTailCache {
+
+    private static final Duration TTL = Duration.ofDays(1);
+    private static final String ID_SEPARATOR = "|";
+
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('ZREMRANGEBYLEX', KEYS[1], '[' .. ARGV[1] .. '|', '(' .. ARGV[1] .. '}')
+        redis.call('ZADD', KEYS[1], 0, ARGV[1] .. '|' .. ARGV[2])
+        redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1))
+        redis.call('EXPIRE', KEYS[1], ARGV[4])
+        redis.call('EXPIRE', KEYS[2], ARGV[4])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> MARK_GAP_SCRIPT = new DefaultRedisScript<>("""
+        local current = redis.call('GET', KEYS[1])
+        if (not current) or ARGV[1] > current then
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+        end
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatTailCacheMetric chatTailCacheMetric;
+    private final boolean enabled;
+    private final int capacity;
+
+    public ChatMessageTailCache(
+        StringRedisTemplate redisTemplate,
+        ChatTailCacheMetric chatTailCacheMetric,
+        @Value("${chat.tail-cache.enabled:true}") boolean enabled,
+        @Value("${chat.tail-cache.size:100}") int capacity
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.chatTailCacheMetric = chatTailCacheMetric;
+        this.enabled = enabled;
+        this.capacity = capacity;
+    }
+
+    public void append(Long lightningId, ChatMessageCache message) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(
+                APPEND_SCRIPT,
+                List.of(CHAT_MESSAGE_TAIL.key(lightningId), CHAT_MESSAGE_TAIL_GAP.key(lightningId)),
+                sortableId(message.id()),
+                DataSerializer.serialize(message),
+                String.valueOf(capacity),
+                String.valueOf(TTL.toSeconds())
+            );
+        } catch (Exception e) {
+            log.warn("[ChatMessageTailCache.append] failed. lightningId={}, messageId={}", lightningId, message.id(), e);
+            markGap(lightningId, message.id());
+        }
+    }
+
+    /**
+     * 저장하지 못하고 버린 메시지를 tail 에서 지운다.
+     */
+    public void remove(Long lightningId, Long messageId) {
+        if (!enabled) {
+            return;
+        }
+
+        String id = sortableId(messageId);
+        try {
+            redisTemplate.opsForZSet().removeRangeByLex(
+                CHAT_MESSAGE_TAIL.key(lightningId),
+                Range.closed(id + ID_SEPARATOR, id + "}")
+            );
+        } catch (Exception e) {
+            log.warn("[ChatMessageTailCache.remove] failed. lightningId={}, messageId={}", lightningId, messageId, e);
+            markGap(lightningId, messageId);
+        }
+    }
+
+    /**
+     * cursorId 보다 작은(inclusive 면 같거나 작은) 메시지를 가까운 순(id DESC)으로 최대 limit 개 반환
+     * 돌려줄 메시지가 모두 gap 보다 커야 빠진 메시지가 없다.
+     */
+    public Optional<List<ChatMessageCache>> findPrev(Long lightningId, Long cursorId, boolean inclusive, int limit) {
+        Optional<List<ChatMessageCache>> result = readTail(lightningId)
+            .flatMap(tail -> Optional.of(tail.messages().stream()
+                    .filter(m -> inclusive ? m.id() <= cursorId : m.id() < cursorId)
+                    .sorted(Comparator.comparing(ChatMessageCache::id).reversed())
+                    .limit(limit)
+                    .toList())
+                .filter(messages -> messages.size() >= limit)
+                .filter(messages -> tail.isAfterGap(messages.getLast().id())));
+        record(result);
+        return result;
+    }
+
+    /**
+     * cursorId 보다 큰 메시지를 id ASC 로 최대 limit 개 반환
+     * tail 의 가장 오래된 메시지와 gap 이 모두 cursor 이하일 때만 누락 없이 응답할 수 있다.
+     */
+    public Optional<List<ChatMessageCache>> findNext(Long lightningId, Long cursorId, int limit) {
+        Optional<List<ChatMessageCache>> result = readTail(lightningId)
+            .filter(tail -> tail.messages().getFirst().id() <= cursorId)
+            .filter(tail -> tail.gapId() == null || tail.gapId() <= cursorId)
+            .map(tail -> tail.messages().stream()
+                .filter(m -> m.id() > cursorId)
+                .limit(limit)
+                .toList());
+        record(result);
+        return result;
+    }
+
+    private void markGap(Long lightningId, Long messageId) {
+        try {
+            redisTemplate.execute(
+                MARK_GAP_SCRIPT,
+                List.of(CHAT_MESSAGE_TAIL_GAP.key(lightningId)),
+                sortableId(messageId),
+                String.valueOf(TTL.toSeconds())
+            );
+        } catch (Exception e) {
+            log.warn("[ChatMessageTailCache.markGap] failed. lightningId={}, messageId={}", lightningId, messageId, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Tail> readTail(Long lightningId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForZSet().range(CHAT_MESSAGE_TAIL.key(lightningId), 0, -1);
+                    ops.opsForValue().get(CHAT_MESSAGE_TAIL_GAP.key(lightningId));
+                    return null;
+                }
+            });
+
+            Set<String> members = (Set<String>) results.get(0);
+            if (members == null || members.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<ChatMessageCache> messages = members.stream()
+                .map(member -> member.substring(member.indexOf(ID_SEPARATOR) + 1))
+                .map(value -> DataSerializer.deserialize(value, ChatMessageCache.class))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(ChatMessageCache::id))
+                .toList();
+            if (messages.isEmpty()) {
+                return Optional.empty();
+            }
+
+            String gap = (String) results.get(1);
+            return Optional.of(new Tail(messages, gap == null ? null : Long.parseLong(gap)));
+        } catch (Exception e) {
+            log.warn("[ChatMessageTailCache.readTail] failed. lightningId={}", lightningId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void record(Optional<List<ChatMessageCache>> result) {
+        if (!enabled) {
+            return;
+        }
+
+        if (result.isPresent()) {
+            chatTailCacheMetric.incrementHit();
+        } else {
+            chatTailCacheMetric.incrementMiss();
+        }
+    }
+
+    /**
+     * 사전순 비교가 id 순서와 같도록 Long 최대 자릿수(19)로 0-padding
+     */
+    static String sortableId(Long id) {
+        return String.format("%019d", id);
+    }
+
+    /**
+     * gapId: 추가에 실패한 메시지 id 중 가장 큰 값 (없으면 null)
+     */
+    private record Tail(List<ChatMessageCache> messages, Long gapId) {
+
+        boolean isAfterGap(Long id) {
+            return gapId == null || id > gapId;
+        }
+    }
+}
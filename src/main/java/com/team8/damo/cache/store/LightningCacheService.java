@@ -16,7 +16,8 @@ public class LightningCacheService {
 
     @Cacheable(
         cacheNames = CacheSpec.lightningParticipantCount,
-        key = "#lightningId"
+        key = "#lightningId",
+        sync = true
     )
     public long getLightningParticipantCount(Long lightningId) {
         return lightningParticipantRepository.countByLightningId(lightningId);
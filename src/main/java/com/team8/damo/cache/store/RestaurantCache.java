@@ -0,0 +1,65 @@
+package com.team8.damo.cache.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team8.damo.entity.Restaurant;
+import com.team8.damo.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 식당(MongoDB) 문서의 노드 로컬 read-through 캐시
+ *
+ * 식당 문서는 거의 바뀌지 않는 참조 데이터이므로 invalidation 없이 TTL 로만 갱신한다.
+ * 여러 id 를 한 번에 요청하면 캐시에 없는 id 만 모아 findAllById 한 번으로 채운다.
+ */
+@Component
+public class RestaurantCache {
+
+    private final RestaurantRepository restaurantRepository;
+    private final Cache<String, Restaurant> cache;
+
+    public RestaurantCache(
+        RestaurantRepository restaurantRepository,
+        @Value("${restaurant.cache.max-size:10000}") long maxSize,
+        @Value("${restaurant.cache.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.restaurantRepository = restaurantRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+    }
+
+    /**
+     * 존재하지 않는 id 는 결과 Map 에 포함되지 않는다.
+     */
+    public Map<String, Restaurant> getAll(Collection<String> restaurantIds) {
+        Set<String> ids = new LinkedHashSet<>(restaurantIds);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Restaurant> restaurants = new HashMap<>(cache.getAllPresent(ids));
+        if (restaurants.size() == ids.size()) {
+            return restaurants;
+        }
+
+        List<String> missingIds = ids.stream()
+            .filter(id -> !restaurants.containsKey(id))
+            .toList();
+        for (Restaurant restaurant : restaurantRepository.findAllById(missingIds)) {
+            cache.put(restaurant.getId(), restaurant);
+            restaurants.put(restaurant.getId(), restaurant);
+        }
+        return restaurants;
+    }
+}
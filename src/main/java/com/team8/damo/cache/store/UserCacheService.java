@@ -21,7 +21,8 @@ public class UserCacheService {
 
     @Cacheable(
         cacheNames = userBasic,
-        key = "#userId"
+        key = "#userId",
+        sync = true
     )
     public UserBasicCache getUserBasic(Long userId) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,70 @@
+package com.team8.damo.cache.tier;
+
+import com.team8.damo.metric.TwoLevelCacheMetric;
+import com.team8.damo.util.DataSerializer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CACHE_INVALIDATION_CHANNEL;
+
+/**
+ * 다른 노드에서 발생한 evict/clear 를 받아 이 노드의 L1 만 비운다.
+ * (L2 는 발신 노드가 이미 지웠다)
+ */
+@Slf4j
+@Component
+public class CacheInvalidationListener implements MessageListener {
+
+    private final CacheManager cacheManager;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final TwoLevelCacheMetric twoLevelCacheMetric;
+
+    public CacheInvalidationListener(
+        CacheManager cacheManager,
+        RedisMessageListenerContainer listenerContainer,
+        CacheInvalidationPublisher cacheInvalidationPublisher,
+        TwoLevelCacheMetric twoLevelCacheMetric
+    ) {
+        this.cacheManager = cacheManager;
+        this.listenerContainer = listenerContainer;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.twoLevelCacheMetric = twoLevelCacheMetric;
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CACHE_INVALIDATION_CHANNEL.key()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        CacheInvalidationMessage invalidation = DataSerializer.deserialize(body, CacheInvalidationMessage.class);
+        if (invalidation == null || cacheInvalidationPublisher.isLocal(invalidation)) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(invalidation.cacheName());
+        if (!(cache instanceof TwoLevelCache twoLevelCache)) {
+            return;
+        }
+
+        if (invalidation.key() == null) {
+            twoLevelCache.clearLocal();
+        } else {
+            twoLevelCache.evictLocal(invalidation.key());
+        }
+        twoLevelCacheMetric.incrementInvalidationReceived(invalidation.cacheName());
+        log.debug("[CacheInvalidationListener.onMessage] cacheName={}, key={}", invalidation.cacheName(), invalidation.key());
+    }
+}
@@ -0,0 +1,11 @@
+package com.team8.damo.cache.tier;
+
+/**
+ * key 가 null 이면 캐시 전체 clear
+ */
+public record CacheInvalidationMessage(
+    String origin,
+    String cacheName,
+    String key
+) {
+}
@@ -0,0 +1,52 @@
+package com.team8.damo.cache.tier;
+
+import com.team8.damo.metric.TwoLevelCacheMetric;
+import com.team8.damo.util.DataSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CACHE_INVALIDATION_CHANNEL;
+
+/**
+ * L1 무효화를 다른 노드에 전파한다. (fire-and-forget)
+ * 유실되면 해당 노드의 L1 은 CacheSpec.localTtl 까지 stale 일 수 있다.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final TwoLevelCacheMetric twoLevelCacheMetric;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, TwoLevelCacheMetric twoLevelCacheMetric) {
+        this.redisTemplate = redisTemplate;
+        this.twoLevelCacheMetric = twoLevelCacheMetric;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    public boolean isLocal(CacheInvalidationMessage message) {
+        return nodeId.equals(message.origin());
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(CACHE_INVALIDATION_CHANNEL.key(), DataSerializer.serialize(message));
+            twoLevelCacheMetric.incrementInvalidationSent(message.cacheName());
+        } catch (Exception e) {
+            log.warn("[CacheInvalidationPublisher.publish] failed. cacheName={}, key={}",
+                message.cacheName(), message.key(), e);
+        }
+    }
+}
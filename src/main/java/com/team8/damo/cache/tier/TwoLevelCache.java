@@ -0,0 +1,295 @@
+package com.team8.damo.cache.tier;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.team8.damo.cache.CacheSpec;
+import com.team8.damo.cache.dto.TieredCacheValue;
+import com.team8.damo.metric.TwoLevelCacheMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L1(노드 로컬 Caffeine) + L2(RedisCache)
+ *
+ * - 조회: L1 -> L2 -> (valueLoader) 순으로 찾고, 하위 tier 에서 찾은 값은 L1 에 채운다.
+ * - evict/clear: L2 -> L1 순으로 지운 뒤 다른 노드에 invalidation 을 발행한다.
+ * L1 키는 RedisCache 와 같은 방식(String.valueOf)으로 정규화해 invalidation 메시지의 key 로 그대로 쓴다.
+ * null 값은 L2 설정(disableCachingNullValues)과 맞춰 L1 에도 저장하지 않는다.
+ *
+ * @Cacheable(sync = true) 경로(get(key, valueLoader))에서는
+ * - single-flight: 노드 안에서 키당 하나의 호출만 L2/loader 를 타고, 나머지는 같은 future 를 기다린다.
+ * - early refresh(XFetch): L1 hit 이라도 L2 만료가 가까우면 확률적으로 한 호출이 미리 다시 적재한다.
+ *   now - loadMillis * beta * ln(rand) >= L2 만료 시각 이면 갱신 (beta 가 0 이면 비활성)
+ *   L2 만료 시각은 값과 함께 TieredCacheValue 로 저장해 두므로 L2 hit 에 PTTL 조회가 붙지 않는다.
+ * - 적재 중 evict 가 들어오면 적재 결과는 호출자에게만 돌려주고 캐시에는 쓰지 않는다.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+    private static final long INITIAL_LOAD_MILLIS = 50L;
+
+    private final String name;
+    private final long redisTtlMillis;
+    private final double earlyRefreshBeta;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> localCache;
+    private final RedisCache redisCache;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final TwoLevelCacheMetric twoLevelCacheMetric;
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private volatile long loadMillis = INITIAL_LOAD_MILLIS;
+
+    public TwoLevelCache(
+        CacheSpec spec,
+        RedisCache redisCache,
+        CacheInvalidationPublisher cacheInvalidationPublisher,
+        TwoLevelCacheMetric twoLevelCacheMetric,
+        double earlyRefreshBeta
+    ) {
+        this.name = spec.name;
+        this.redisTtlMillis = spec.ttl.toMillis();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.redisCache = redisCache;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.twoLevelCacheMetric = twoLevelCacheMetric;
+        this.localCache = Caffeine.newBuilder()
+            .maximumSize(spec.localMaxSize)
+            .expireAfterWrite(spec.localTtl)
+            .removalListener((String key, LocalEntry value, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    twoLevelCacheMetric.incrementLocalEviction(name);
+                }
+            })
+            .build();
+        twoLevelCacheMetric.bindLocalSize(name, localCache);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        twoLevelCacheMetric.recordLocal(name, entry != null);
+        if (entry != null) {
+            return new SimpleValueWrapper(entry.value());
+        }
+
+        LocalEntry redisEntry = getRedis(key);
+        if (redisEntry == null) {
+            return null;
+        }
+        localCache.put(localKey, redisEntry);
+        return new SimpleValueWrapper(redisEntry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        twoLevelCacheMetric.recordLocal(name, entry != null);
+        if (entry == null) {
+            return (T) loadOnce(key, localKey, valueLoader, true);
+        }
+
+        if (shouldRefreshEarly(entry) && !flights.containsKey(localKey)) {
+            twoLevelCacheMetric.incrementEarlyRefresh(name);
+            try {
+                return (T) loadOnce(key, localKey, valueLoader, false);
+            } catch (RuntimeException e) {
+                log.warn("[TwoLevelCache.get] early refresh failed. cacheName={}, key={}", name, localKey, e);
+            }
+        }
+        return (T) entry.value();
+    }
+
+    /**
+     * 새로 적재한 값은 다른 노드의 L1 에 없던 값이므로 invalidation 을 발행하지 않는다.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            redisCache.put(key, null);
+            return;
+        }
+        long expiresAtMillis = System.currentTimeMillis() + redisTtlMillis;
+        redisCache.put(key, new TieredCacheValue(value, expiresAtMillis));
+        localCache.put(localKey(key), new LocalEntry(value, expiresAtMillis));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        redisCache.evict(key);
+        evictLocal(localKey);
+        cacheInvalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean present = redisCache.evictIfPresent(key);
+        evictLocal(localKey);
+        cacheInvalidationPublisher.publishEvict(name, localKey);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocal();
+        cacheInvalidationPublisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = redisCache.invalidate();
+        clearLocal();
+        cacheInvalidationPublisher.publishClear(name);
+        return present;
+    }
+
+    void evictLocal(String key) {
+        Flight flight = flights.get(key);
+        if (flight != null) {
+            flight.invalidated = true;
+        }
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        flights.values().forEach(flight -> flight.invalidated = true);
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 같은 키로 진행 중인 적재가 있으면 그 결과를 기다리고, 없으면 직접 적재한다.
+     * readRedis 가 false 면(early refresh) L2 를 건너뛰고 바로 loader 를 호출한다.
+     */
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader, boolean readRedis) {
+        Flight flight = new Flight();
+        Flight inFlight = flights.putIfAbsent(localKey, flight);
+        if (inFlight != null) {
+            twoLevelCacheMetric.incrementCoalesced(name);
+            return await(inFlight);
+        }
+
+        try {
+            Object value = load(key, localKey, valueLoader, readRedis, flight);
+            flight.future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(localKey, flight);
+        }
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader, boolean readRedis, Flight flight) {
+        if (readRedis) {
+            LocalEntry redisEntry = getRedis(key);
+            if (redisEntry != null) {
+                if (!flight.invalidated) {
+                    localCache.put(localKey, redisEntry);
+                }
+                return redisEntry.value();
+            }
+        }
+
+        Object value;
+        long start = System.nanoTime();
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        loadMillis = (loadMillis * 7 + elapsedMillis) / 8;
+
+        if (value != null && !flight.invalidated) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    private Object await(Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean shouldRefreshEarly(LocalEntry entry) {
+        if (earlyRefreshBeta <= 0 || entry.redisExpiresAtMillis() == NO_EXPIRY) {
+            return false;
+        }
+        double gap = -loadMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.redisExpiresAtMillis();
+    }
+
+    /**
+     * TieredCacheValue 이전에 저장된 값은 만료 시각을 모르므로 NO_EXPIRY 로 둔다.
+     */
+    private LocalEntry getRedis(Object key) {
+        ValueWrapper wrapper = redisCache.get(key);
+        Object stored = wrapper == null ? null : wrapper.get();
+        twoLevelCacheMetric.recordRedis(name, stored != null);
+        if (stored == null) {
+            return null;
+        }
+        if (stored instanceof TieredCacheValue tiered) {
+            return tiered.value() == null ? null : new LocalEntry(tiered.value(), tiered.expiresAtMillis());
+        }
+        return new LocalEntry(stored, NO_EXPIRY);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * redisExpiresAtMillis: 이 값이 L2 에서 만료되는 시각 (모르면 NO_EXPIRY)
+     */
+    private record LocalEntry(Object value, long redisExpiresAtMillis) {
+    }
+
+    private static class Flight {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile boolean invalidated;
+    }
+}
@@ -0,0 +1,48 @@
+package com.team8.damo.cache.tier;
+
+import com.team8.damo.cache.CacheSpec;
+import com.team8.damo.metric.TwoLevelCacheMetric;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CacheSpec 에 정의된 캐시는 TwoLevelCache 로 감싸고,
+ * 그 외 이름은 RedisCacheManager 에 그대로 위임한다.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final Map<String, TwoLevelCache> caches = new HashMap<>();
+
+    public TwoLevelCacheManager(
+        RedisCacheManager redisCacheManager,
+        CacheInvalidationPublisher cacheInvalidationPublisher,
+        TwoLevelCacheMetric twoLevelCacheMetric,
+        double earlyRefreshBeta
+    ) {
+        this.redisCacheManager = redisCacheManager;
+        for (CacheSpec spec : CacheSpec.values()) {
+            RedisCache redisCache = (RedisCache) redisCacheManager.getCache(spec.name);
+            caches.put(spec.name, new TwoLevelCache(
+                spec, redisCache, cacheInvalidationPublisher, twoLevelCacheMetric, earlyRefreshBeta
+            ));
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        return cache != null ? cache : redisCacheManager.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+}
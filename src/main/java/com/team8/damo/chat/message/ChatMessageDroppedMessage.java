@@ -0,0 +1,6 @@
+package com.team8.damo.chat.message;
+
+public record ChatMessageDroppedMessage(
+    Long messageId
+) {
+}
@@ -0,0 +1,11 @@
+package com.team8.damo.chat.message;
+
+import com.team8.damo.event.payload.UpdateUnreadCountEventPayload;
+
+import java.util.List;
+
+public record UnreadUpdateBatchMessage(
+    Long lightningId,
+    List<UpdateUnreadCountEventPayload> updates
+) {
+}
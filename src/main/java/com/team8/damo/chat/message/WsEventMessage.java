@@ -13,6 +13,14 @@ public record WsEventMessage(
         );
     }
 
+    public static WsEventMessage createChatMessageDropped(Long lightningId, Object payload) {
+        return new WsEventMessage(
+            WsEventType.CHAT_MESSAGE_DROPPED,
+            lightningId,
+            payload
+        );
+    }
+
     public static WsEventMessage createUnreadUpdate(Long lightningId, Object payload) {
         return new WsEventMessage(
             WsEventType.UNREAD_UPDATE,
@@ -20,4 +28,12 @@ public record WsEventMessage(
             payload
         );
     }
+
+    public static WsEventMessage createUnreadUpdateBatch(Long lightningId, Object payload) {
+        return new WsEventMessage(
+            WsEventType.UNREAD_UPDATE_BATCH,
+            lightningId,
+            payload
+        );
+    }
 }
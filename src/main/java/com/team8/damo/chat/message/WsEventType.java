@@ -2,5 +2,7 @@ package com.team8.damo.chat.message;
 
 public enum WsEventType {
     CHAT_MESSAGE,
-    UNREAD_UPDATE
+    CHAT_MESSAGE_DROPPED,
+    UNREAD_UPDATE,
+    UNREAD_UPDATE_BATCH
 }
@@ -0,0 +1,306 @@
+package com.team8.damo.chat.persistence;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.handler.CommonEventPublisher;
+import com.team8.damo.event.payload.DropChatMessageEventPayload;
+import com.team8.damo.metric.ChatMessageWriteMetric;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 저장 경로
+ *
+ * - SYNC: 요청 트랜잭션 안에서 즉시 INSERT
+ * - BATCHED: bounded 큐에 적재 후 백그라운드 writer 가 batch-size 또는 max-linger 기준으로 JDBC batch INSERT
+ *   (큐가 가득 차면 해당 메시지만 SYNC 로 저장)
+ * 두 경로 모두 같은 INSERT 로 created_at / updated_at 에 메시지의 createdAt 을 쓴다.
+ *
+ * ID 는 Snowflake 로 미리 발급되므로 flush 시점과 무관하게 메시지 순서가 유지되고,
+ * 재시도 시 이미 들어간 행은 ON DUPLICATE KEY 로 무시된다.
+ *
+ * BATCHED 는 요청 트랜잭션이 커밋되고 메시지를 브로드캐스트한 뒤에 INSERT 되므로 기본값은 SYNC 다.
+ *
+ * batch 가 계속 실패하면 행 단위로 다시 넣어 실패 원인이 된 행만 골라낸다.
+ * - 제약 위반(삭제된 번개 등)으로 들어갈 수 없는 행은 버리고 집계한 뒤, DROP_CHAT_MESSAGE 를 발행해
+ *   이미 브로드캐스트된 메시지를 되돌린다.
+ * - 그 외 실패(DB 장애 등)는 writer 가 backoff 후 다시 시도한다. 재시도 중에는 새 메시지를 꺼내지 않으므로
+ *   큐가 차면 이후 메시지는 SYNC 로 저장되고, 장애가 요청 스레드에 드러난다.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO chat_messages (id, lightning_id, users_id, content, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE id = id";
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMessageWriteMetric chatMessageWriteMetric;
+    private final CommonEventPublisher commonEventPublisher;
+
+    private final ChatPersistenceMode mode;
+    private final int batchSize;
+    private final long maxLingerMillis;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<PendingChatMessage> queue;
+
+    private final ExecutorService writerExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "chat-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean running = true;
+    private volatile List<PendingChatMessage> inFlight = List.of();
+
+    public ChatMessageWriter(
+        JdbcTemplate jdbcTemplate,
+        ChatMessageWriteMetric chatMessageWriteMetric,
+        CommonEventPublisher commonEventPublisher,
+        @Value("${chat.persistence.mode:SYNC}") ChatPersistenceMode mode,
+        @Value("${chat.persistence.batch-size:200}") int batchSize,
+        @Value("${chat.persistence.max-linger-ms:50}") long maxLingerMillis,
+        @Value("${chat.persistence.queue-capacity:10000}") int queueCapacity,
+        @Value("${chat.persistence.retry-backoff-ms:1000}") long retryBackoffMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatMessageWriteMetric = chatMessageWriteMetric;
+        this.commonEventPublisher = commonEventPublisher;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.maxLingerMillis = maxLingerMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public void write(PendingChatMessage message) {
+        if (mode == ChatPersistenceMode.BATCHED && running && queue.offer(message)) {
+            return;
+        }
+
+        if (mode == ChatPersistenceMode.BATCHED) {
+            chatMessageWriteMetric.incrementRejected();
+        }
+        saveNow(message);
+    }
+
+    /**
+     * 이 노드의 큐와 flush 중인 batch 에 남아 있는 해당 채팅방 메시지 id (아직 INSERT 되지 않았을 수 있음)
+     * 큐에서 batch 로 옮겨지는 순간의 메시지는 빠질 수 있는 best-effort 스냅샷이다.
+     */
+    public List<Long> pendingMessageIds(Long lightningId) {
+        if (mode != ChatPersistenceMode.BATCHED) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (PendingChatMessage message : inFlight) {
+            if (message.lightningId().equals(lightningId)) {
+                ids.add(message.id());
+            }
+        }
+        for (PendingChatMessage message : queue) {
+            if (message.lightningId().equals(lightningId)) {
+                ids.add(message.id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 호출 스레드의 트랜잭션에 참여한다.
+     */
+    private void saveNow(PendingChatMessage message) {
+        jdbcTemplate.update(INSERT_SQL, toArgs(message));
+    }
+
+    @PostConstruct
+    private void start() {
+        chatMessageWriteMetric.bindQueueDepth(queue);
+        if (mode == ChatPersistenceMode.BATCHED) {
+            writerExecutor.submit(this::runWriter);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                writerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writerExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // writer 종료 이후 남은 메시지를 호출 스레드에서 마저 flush
+        List<PendingChatMessage> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            drop(flush(remaining));
+            remaining.clear();
+        }
+    }
+
+    private void runWriter() {
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty() && !collect(batch)) {
+                    continue;
+                }
+
+                inFlight = List.copyOf(batch);
+                List<PendingChatMessage> retryable = flush(batch);
+                batch.clear();
+                inFlight = List.copyOf(retryable);
+                if (!retryable.isEmpty()) {
+                    batch.addAll(retryable);
+                    Thread.sleep(retryBackoffMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop(flush(batch));
+                return;
+            } catch (Exception e) {
+                log.error("[ChatMessageWriter.runWriter] writer iteration failed", e);
+            }
+        }
+    }
+
+    /**
+     * 첫 메시지를 max-linger 동안 기다리고, 이후 batch-size 또는 max-linger 까지 모은다. 모은 게 없으면 false
+     */
+    private boolean collect(List<PendingChatMessage> batch) throws InterruptedException {
+        PendingChatMessage first = queue.poll(maxLingerMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remainingNanos <= 0) {
+                break;
+            }
+            PendingChatMessage next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    /**
+     * 저장하지 못했지만 다시 시도할 수 있는 메시지를 돌려준다.
+     */
+    List<PendingChatMessage> flush(List<PendingChatMessage> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> batchArgs = batch.stream()
+            .map(ChatMessageWriter::toArgs)
+            .toList();
+
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+                chatMessageWriteMetric.recordFlush(batch.size(), System.nanoTime() - start);
+                return List.of();
+            } catch (Exception e) {
+                log.warn("[ChatMessageWriter.flush] attempt={} size={} failed", attempt, batch.size(), e);
+            }
+        }
+
+        return insertEach(batch);
+    }
+
+    private List<PendingChatMessage> insertEach(List<PendingChatMessage> batch) {
+        List<PendingChatMessage> retryable = new ArrayList<>();
+        List<PendingChatMessage> rejected = new ArrayList<>();
+        for (PendingChatMessage message : batch) {
+            long start = System.nanoTime();
+            try {
+                jdbcTemplate.update(INSERT_SQL, toArgs(message));
+                chatMessageWriteMetric.recordFlush(1, System.nanoTime() - start);
+            } catch (DataIntegrityViolationException e) {
+                log.error("[ChatMessageWriter.insertEach] rejected messageId={}", message.id(), e);
+                rejected.add(message);
+            } catch (Exception e) {
+                retryable.add(message);
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            chatMessageWriteMetric.incrementFlushFailure(rejected.size());
+            publishDropped(rejected);
+        }
+        if (!retryable.isEmpty()) {
+            log.warn("[ChatMessageWriter.insertEach] will retry messageIds={}",
+                retryable.stream().map(PendingChatMessage::id).toList());
+        }
+        return retryable;
+    }
+
+    /**
+     * 종료 중이라 더 기다릴 수 없는 메시지
+     */
+    private void drop(List<PendingChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        chatMessageWriteMetric.incrementFlushFailure(messages.size());
+        log.error("[ChatMessageWriter.drop] dropped messageIds={}",
+            messages.stream().map(PendingChatMessage::id).toList());
+        publishDropped(messages);
+    }
+
+    private void publishDropped(List<PendingChatMessage> messages) {
+        for (PendingChatMessage message : messages) {
+            try {
+                commonEventPublisher.publish(
+                    EventType.DROP_CHAT_MESSAGE,
+                    DropChatMessageEventPayload.builder()
+                        .messageId(message.id())
+                        .lightningId(message.lightningId())
+                        .build()
+                );
+            } catch (Exception e) {
+                log.error("[ChatMessageWriter.publishDropped] messageId={}", message.id(), e);
+            }
+        }
+    }
+
+    private static Object[] toArgs(PendingChatMessage message) {
+        return new Object[]{
+            message.id(),
+            message.lightningId(),
+            message.senderId(),
+            message.content(),
+            message.createdAt(),
+            message.createdAt()
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.team8.damo.chat.persistence;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChatPersistenceMode {
+    SYNC("요청 트랜잭션 안에서 즉시 저장"),
+    BATCHED("큐에 적재 후 백그라운드에서 배치 저장"),
+    ;
+
+    private final String description;
+}
@@ -0,0 +1,12 @@
+package com.team8.damo.chat.persistence;
+
+import java.time.LocalDateTime;
+
+public record PendingChatMessage(
+    Long id,
+    Long lightningId,
+    Long senderId,
+    String content,
+    LocalDateTime createdAt
+) {
+}
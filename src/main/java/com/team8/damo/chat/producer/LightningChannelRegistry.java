@@ -0,0 +1,137 @@
+package com.team8.damo.chat.producer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_BROADCAST_CHANNEL;
+
+/**
+ * 노드 로컬 STOMP 구독 현황에 맞춰 채팅방 단위 Redis 채널을 구독/해제한다.
+ *
+ * 채팅방의 첫 로컬 구독자가 생기면 chat:broadcast:{lightningId} 를 SUBSCRIBE 하고,
+ * 마지막 로컬 구독자가 떠나면 UNSUBSCRIBE 한다.
+ * 따라서 노드는 자신에게 구독자가 있는 채팅방의 메시지만 수신한다.
+ *
+ * 구독 수는 map compute 안에서만 바꾸고, 블로킹인 Redis SUBSCRIBE/UNSUBSCRIBE 는 compute 밖에서
+ * 채팅방 단위 lock 으로 구독 수에 맞춰 반영한다. (같은 bin 의 다른 채팅방을 막지 않는다)
+ */
+@Slf4j
+@Component
+public class LightningChannelRegistry {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MessageListenerAdapter messageListenerAdapter;
+
+    // sessionId -> (subscriptionId -> lightningId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    // lightningId -> 로컬 구독 수 / 채널 구독 여부
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    public LightningChannelRegistry(
+        RedisMessageListenerContainer listenerContainer,
+        MessageListenerAdapter messageListenerAdapter,
+        MeterRegistry meterRegistry
+    ) {
+        this.listenerContainer = listenerContainer;
+        this.messageListenerAdapter = messageListenerAdapter;
+
+        Gauge.builder("chat.broadcast.channels.subscribed", channels, Map::size)
+            .description("Number of lightning broadcast channels this node is subscribed to")
+            .register(meterRegistry);
+    }
+
+    public void register(String sessionId, String subscriptionId, Long lightningId) {
+        Long previous = sessionSubscriptions
+            .computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+            .putIfAbsent(subscriptionId, lightningId);
+        if (previous != null) {
+            return;
+        }
+
+        Channel channel = channels.compute(lightningId, (id, current) -> {
+            Channel next = current == null ? new Channel() : current;
+            next.subscribers++;
+            return next;
+        });
+        sync(lightningId, channel);
+    }
+
+    public void unregister(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        Long lightningId = subscriptions.remove(subscriptionId);
+        sessionSubscriptions.computeIfPresent(sessionId, (id, subs) -> subs.isEmpty() ? null : subs);
+        if (lightningId != null) {
+            release(lightningId);
+        }
+    }
+
+    public void unregisterSession(String sessionId) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.values().forEach(this::release);
+    }
+
+    public Set<String> localSessionIds() {
+        return Set.copyOf(sessionSubscriptions.keySet());
+    }
+
+    private void release(Long lightningId) {
+        Channel channel = channels.computeIfPresent(lightningId, (id, current) -> {
+            current.subscribers--;
+            return current;
+        });
+        if (channel != null) {
+            sync(lightningId, channel);
+        }
+    }
+
+    /**
+     * 채널 구독 여부를 현재 구독 수에 맞춘다. 구독 수가 0 이고 채널도 해제됐으면 map 에서 뺀다.
+     * (구독 수는 compute 안에서만 바뀌므로, 빼는 것도 compute 로 확인한다)
+     */
+    private void sync(Long lightningId, Channel channel) {
+        synchronized (channel) {
+            if (channel.subscribers > 0 && !channel.listening) {
+                listenerContainer.addMessageListener(messageListenerAdapter, topic(lightningId));
+                channel.listening = true;
+                log.debug("[LightningChannelRegistry.sync] subscribed channel. lightningId={}", lightningId);
+            } else if (channel.subscribers <= 0 && channel.listening) {
+                listenerContainer.removeMessageListener(messageListenerAdapter, topic(lightningId));
+                channel.listening = false;
+                log.debug("[LightningChannelRegistry.sync] unsubscribed channel. lightningId={}", lightningId);
+            }
+
+            if (!channel.listening) {
+                channels.computeIfPresent(lightningId, (id, current) ->
+                    current == channel && current.subscribers <= 0 ? null : current);
+            }
+        }
+    }
+
+    private static ChannelTopic topic(Long lightningId) {
+        return new ChannelTopic(CHAT_BROADCAST_CHANNEL.key(lightningId));
+    }
+
+    /**
+     * subscribers 는 map compute 안에서만, listening 은 이 객체의 lock 안에서만 바꾼다.
+     */
+    private static class Channel {
+        private volatile int subscribers;
+        private boolean listening;
+    }
+}
@@ -10,7 +10,7 @@ import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 import tools.jackson.databind.ObjectMapper;
 
-import static com.team8.damo.config.RedisConfig.CHANNEL;
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_BROADCAST_CHANNEL;
 
 @Slf4j
 @Component
@@ -22,7 +22,10 @@ public class RedisMessageBroker implements ChatMessageBroker {
 
     public void send(WsEventMessage message) {
         try {
-            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+            stringRedisTemplate.convertAndSend(
+                CHAT_BROADCAST_CHANNEL.key(message.lightningId()),
+                objectMapper.writeValueAsString(message)
+            );
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
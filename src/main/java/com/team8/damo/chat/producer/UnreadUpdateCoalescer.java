@@ -0,0 +1,178 @@
+package com.team8.damo.chat.producer;
+
+import com.team8.damo.chat.message.UnreadUpdateBatchMessage;
+import com.team8.damo.chat.message.WsEventMessage;
+import com.team8.damo.event.payload.UpdateUnreadCountEventPayload;
+import com.team8.damo.metric.UnreadUpdateMetric;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방(lightningId) 단위로 UNREAD_UPDATE 를 window 동안 모아 한 프레임으로 전송한다.
+ *
+ * - 같은 사용자의 범위는 start 최소값 ~ end 최대값으로 병합
+ * - 대기 중인 사용자 수가 max-batch 에 도달하면 window 를 기다리지 않고 즉시 전송
+ *   (window 마다 번호를 매겨, 먼저 전송된 window 의 타이머가 다음 window 를 일찍 전송하지 않게 한다)
+ * - 한 건만 모였으면 기존 UNREAD_UPDATE 형식을, 여러 건이면 UNREAD_UPDATE_BATCH 형식을 사용
+ */
+@Slf4j
+@Component
+public class UnreadUpdateCoalescer {
+
+    private final ChatMessageBroker chatMessageBroker;
+    private final UnreadUpdateMetric unreadUpdateMetric;
+    private final long windowMillis;
+    private final int maxBatch;
+
+    private final Map<Long, PendingUpdates> pendingUpdates = new ConcurrentHashMap<>();
+    private final AtomicLong windowSequence = new AtomicLong();
+
+    private final ScheduledExecutorService flushScheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unread-update-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public UnreadUpdateCoalescer(
+        ChatMessageBroker chatMessageBroker,
+        UnreadUpdateMetric unreadUpdateMetric,
+        @Value("${chat.unread-update.window-ms:80}") long windowMillis,
+        @Value("${chat.unread-update.max-batch:50}") int maxBatch
+    ) {
+        this.chatMessageBroker = chatMessageBroker;
+        this.unreadUpdateMetric = unreadUpdateMetric;
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+    }
+
+    public void add(UpdateUnreadCountEventPayload payload) {
+        unreadUpdateMetric.incrementReceived();
+
+        Long lightningId = payload.lightningId();
+        long[] window = {0L};
+        boolean[] opened = {false};
+        boolean[] full = {false};
+
+        pendingUpdates.compute(lightningId, (id, pending) -> {
+            if (pending == null) {
+                pending = new PendingUpdates(windowSequence.incrementAndGet());
+                opened[0] = true;
+            }
+            pending.merge(payload);
+            window[0] = pending.window();
+            full[0] = pending.size() >= maxBatch;
+            return pending;
+        });
+
+        long flushWindow = window[0];
+        if (full[0]) {
+            flush(lightningId, flushWindow);
+        } else if (opened[0]) {
+            flushScheduler.schedule(() -> flush(lightningId, flushWindow), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 아직 window 번호가 같은 경우에만 전송한다. 이미 전송되고 새로 열린 window 는 건드리지 않는다.
+     */
+    void flush(Long lightningId, long window) {
+        PendingUpdates[] removed = {null};
+        pendingUpdates.computeIfPresent(lightningId, (id, pending) -> {
+            if (pending.window() != window) {
+                return pending;
+            }
+            removed[0] = pending;
+            return null;
+        });
+        send(lightningId, removed[0]);
+    }
+
+    private void send(Long lightningId, PendingUpdates pending) {
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            List<UpdateUnreadCountEventPayload> updates = pending.updates();
+            if (updates.size() == 1) {
+                chatMessageBroker.send(WsEventMessage.createUnreadUpdate(lightningId, updates.getFirst()));
+            } else {
+                chatMessageBroker.send(WsEventMessage.createUnreadUpdateBatch(
+                    lightningId,
+                    new UnreadUpdateBatchMessage(lightningId, updates)
+                ));
+            }
+            unreadUpdateMetric.recordEmitted(pending.eventCount() - 1);
+        } catch (Exception e) {
+            log.warn("[UnreadUpdateCoalescer.flush] failed. lightningId={}", lightningId, e);
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        flushScheduler.shutdownNow();
+        new ArrayList<>(pendingUpdates.keySet())
+            .forEach(lightningId -> send(lightningId, pendingUpdates.remove(lightningId)));
+    }
+
+    private static class PendingUpdates {
+        private final long window;
+        private final Map<Long, UpdateUnreadCountEventPayload> byUser = new LinkedHashMap<>();
+        private int eventCount = 0;
+
+        PendingUpdates(long window) {
+            this.window = window;
+        }
+
+        long window() {
+            return window;
+        }
+
+        void merge(UpdateUnreadCountEventPayload payload) {
+            eventCount++;
+            byUser.merge(payload.userId(), payload, (prev, next) -> UpdateUnreadCountEventPayload.builder()
+                .userId(prev.userId())
+                .lightningId(prev.lightningId())
+                .startChatMessageId(minOf(prev.startChatMessageId(), next.startChatMessageId()))
+                .endChatMessageId(maxOf(prev.endChatMessageId(), next.endChatMessageId()))
+                .build());
+        }
+
+        int size() {
+            return byUser.size();
+        }
+
+        int eventCount() {
+            return eventCount;
+        }
+
+        List<UpdateUnreadCountEventPayload> updates() {
+            return List.copyOf(byUser.values());
+        }
+
+        private static Long minOf(Long a, Long b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return Math.min(a, b);
+        }
+
+        private static Long maxOf(Long a, Long b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return Math.max(a, b);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.team8.damo.chat.sequence;
+
+import com.team8.damo.metric.LatestMessageIdMetric;
+import com.team8.damo.repository.ChatMessageRepository;
+import com.team8.damo.util.Snowflake;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_LATEST_MESSAGE_ID;
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_LATEST_MESSAGE_ID_CHECK_LOCK;
+
+/**
+ * LatestMessageIdRegister 와 chat_messages 의 최신 id 를 주기적으로 비교한다.
+ *
+ * - 레지스터가 뒤처진 경우: MySQL 값으로 올린다.
+ * - 레지스터가 앞선 경우: write-behind 지연일 수 있으므로 grace 이후에도 MySQL 에 없을 때만 MySQL 값으로 되돌린다.
+ * 전체 키를 SCAN 하므로 Redisson 락을 잡은 한 노드만 실행하고, 나머지 노드는 이번 주기를 건너뛴다.
+ */
+@Slf4j
+@Component
+public class LatestMessageIdConsistencyChecker {
+
+    private static final int SCAN_COUNT = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final LatestMessageIdRegister latestMessageIdRegister;
+    private final LatestMessageIdMetric latestMessageIdMetric;
+    private final Snowflake snowflake;
+    private final RedissonClient redissonClient;
+    private final Duration checkInterval;
+    private final Duration grace;
+
+    private final ScheduledExecutorService checkScheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "latest-message-id-checker");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public LatestMessageIdConsistencyChecker(
+        StringRedisTemplate redisTemplate,
+        ChatMessageRepository chatMessageRepository,
+        LatestMessageIdRegister latestMessageIdRegister,
+        LatestMessageIdMetric latestMessageIdMetric,
+        Snowflake snowflake,
+        RedissonClient redissonClient,
+        @Value("${chat.latest-message-id.check-interval-minutes:10}") long checkIntervalMinutes,
+        @Value("${chat.latest-message-id.grace-seconds:60}") long graceSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.chatMessageRepository = chatMessageRepository;
+        this.latestMessageIdRegister = latestMessageIdRegister;
+        this.latestMessageIdMetric = latestMessageIdMetric;
+        this.snowflake = snowflake;
+        this.redissonClient = redissonClient;
+        this.checkInterval = Duration.ofMinutes(checkIntervalMinutes);
+        this.grace = Duration.ofSeconds(graceSeconds);
+    }
+
+    @PostConstruct
+    private void start() {
+        checkScheduler.scheduleWithFixedDelay(
+            this::runCheckSafely,
+            checkInterval.toMinutes(),
+            checkInterval.toMinutes(),
+            TimeUnit.MINUTES
+        );
+    }
+
+    @PreDestroy
+    private void stop() {
+        checkScheduler.shutdownNow();
+    }
+
+    void runCheckSafely() {
+        // lease 를 주기로 두어, 락을 잡은 노드가 죽어도 다음 주기에는 다른 노드가 이어받는다.
+        RLock lock = redissonClient.getLock(LIGHTNING_LATEST_MESSAGE_ID_CHECK_LOCK.key());
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(0L, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                log.debug("[LatestMessageIdConsistencyChecker.runCheckSafely] skipped, another node is checking");
+                return;
+            }
+            checkAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("[LatestMessageIdConsistencyChecker.checkAll] failed", e);
+        } finally {
+            if (acquired && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    void checkAll() {
+        String prefix = LIGHTNING_LATEST_MESSAGE_ID.key();
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_COUNT).build();
+
+        int checked = 0;
+        int repaired = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                Long lightningId = Long.valueOf(cursor.next().substring(prefix.length()));
+                checked++;
+                if (check(lightningId)) {
+                    repaired++;
+                }
+            }
+        }
+
+        log.info("[LatestMessageIdConsistencyChecker.checkAll] checked={}, repaired={}", checked, repaired);
+    }
+
+    boolean check(Long lightningId) {
+        Long registered = latestMessageIdRegister.peek(lightningId);
+        if (registered == null) {
+            return false;
+        }
+
+        Long latest = chatMessageRepository.findLatestMessageId(lightningId);
+        long persisted = latest == null ? 0L : latest;
+        if (registered == persisted) {
+            return false;
+        }
+
+        if (registered < persisted) {
+            latestMessageIdMetric.incrementBehind();
+            log.warn("[LatestMessageIdConsistencyChecker.check] behind. lightningId={}, registered={}, persisted={}",
+                lightningId, registered, persisted);
+            latestMessageIdRegister.advance(lightningId, persisted);
+            return true;
+        }
+
+        long registeredAt = snowflake.extractTimestampMillis(registered);
+        if (System.currentTimeMillis() - registeredAt < grace.toMillis()) {
+            return false;
+        }
+
+        latestMessageIdMetric.incrementAhead();
+        log.warn("[LatestMessageIdConsistencyChecker.check] ahead. lightningId={}, registered={}, persisted={}",
+            lightningId, registered, persisted);
+        return latestMessageIdRegister.compareAndSet(lightningId, registered, persisted);
+    }
+}
@@ -0,0 +1,157 @@
+package com.team8.damo.chat.sequence;
+
+import com.team8.damo.metric.LatestMessageIdMetric;
+import com.team8.damo.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_LATEST_MESSAGE_ID;
+
+/**
+ * 번개 채팅방별 최신 메시지 id 레지스터
+ *
+ * lightning:latest:message:{lightningId} (String) : 최신 메시지 id, 메시지가 없으면 0
+ *
+ * createChatMessage 가 발급한 id 로 단조 증가만 시키므로(max) 동시 요청 순서와 무관하게 최댓값이 유지된다.
+ * advance 는 호출한 트랜잭션이 커밋된 뒤에 반영해, 롤백된 메시지 id 가 레지스터에 남지 않게 한다.
+ * 키가 없으면 MySQL 에서 한 번 재구성한다.
+ * write-behind 로 아직 INSERT 되지 않은 메시지도 반영되므로 MySQL 보다 앞서 있을 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestMessageIdRegister {
+
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final String EMPTY = "0";
+
+    // Snowflake id 는 2^53 을 넘으므로 Lua number 가 아닌 자릿수 + 문자열 비교로 대소를 판단한다.
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+        local current = redis.call('GET', KEYS[1])
+        if current and (string.len(current) > string.len(ARGV[1])
+            or (string.len(current) == string.len(ARGV[1]) and current >= ARGV[1])) then
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 0
+        end
+        redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final LatestMessageIdMetric latestMessageIdMetric;
+
+    public void advance(Long lightningId, Long messageId) {
+        afterCommit(() -> {
+            try {
+                redisTemplate.execute(ADVANCE_SCRIPT, List.of(key(lightningId)), messageId.toString(), ttlSeconds());
+            } catch (Exception e) {
+                // 다음 조회 시 재구성되도록 키를 비운다.
+                log.warn("[LatestMessageIdRegister.advance] failed. lightningId={}, messageId={}", lightningId, messageId, e);
+                evict(lightningId);
+            }
+        });
+    }
+
+    /**
+     * @return 최신 메시지 id, 메시지가 없으면 null
+     */
+    public Long get(Long lightningId) {
+        String value = null;
+        try {
+            value = redisTemplate.opsForValue().get(key(lightningId));
+        } catch (Exception e) {
+            log.warn("[LatestMessageIdRegister.get] failed. lightningId={}", lightningId, e);
+        }
+
+        if (value != null) {
+            latestMessageIdMetric.incrementHit();
+            return toMessageId(value);
+        }
+
+        latestMessageIdMetric.incrementMiss();
+        return rebuild(lightningId);
+    }
+
+    /**
+     * 키가 없으면 null (재구성하지 않음)
+     */
+    Long peek(Long lightningId) {
+        String value = redisTemplate.opsForValue().get(key(lightningId));
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    boolean compareAndSet(Long lightningId, Long expected, Long update) {
+        Long result = redisTemplate.execute(
+            COMPARE_AND_SET_SCRIPT,
+            List.of(key(lightningId)),
+            expected.toString(),
+            update.toString(),
+            ttlSeconds()
+        );
+        return Long.valueOf(1L).equals(result);
+    }
+
+    public void evict(Long lightningId) {
+        try {
+            redisTemplate.delete(key(lightningId));
+        } catch (Exception e) {
+            log.warn("[LatestMessageIdRegister.evict] failed. lightningId={}", lightningId, e);
+        }
+    }
+
+    private Long rebuild(Long lightningId) {
+        Long latestMessageId = chatMessageRepository.findLatestMessageId(lightningId);
+        String value = latestMessageId == null ? EMPTY : latestMessageId.toString();
+        try {
+            // 재구성 중 advance 된 값이 있으면 그 값을 유지한다.
+            redisTemplate.execute(ADVANCE_SCRIPT, List.of(key(lightningId)), value, ttlSeconds());
+        } catch (Exception e) {
+            log.warn("[LatestMessageIdRegister.rebuild] failed. lightningId={}", lightningId, e);
+        }
+        return latestMessageId;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Long toMessageId(String value) {
+        return EMPTY.equals(value) ? null : Long.valueOf(value);
+    }
+
+    private String ttlSeconds() {
+        return String.valueOf(TTL.toSeconds());
+    }
+
+    static String key(Long lightningId) {
+        return LIGHTNING_LATEST_MESSAGE_ID.key(lightningId);
+    }
+}
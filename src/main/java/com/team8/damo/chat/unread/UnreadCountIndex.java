@@ -0,0 +1,392 @@
+package com.team8.damo.chat.unread;
+
+import com.team8.damo.chat.persistence.ChatMessageWriter;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.repository.ChatMessageRepository;
+import com.team8.damo.repository.projections.ParticipantUnreadCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_UNREAD_CURSORS;
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_UNREAD_INDEX;
+
+/**
+ * 번개 채팅방별 읽음 커서 인덱스
+ *
+ * lightning:unread:index:{lightningId} (Hash)
+ * - count       : 채팅방 누적 메시지 수
+ * - u:{userId}  : "{lastReadMessageId}:{읽은 시점의 count}" 또는 구독 중이면 "live"
+ * - provisional : 재구성 당시 다른 노드에서 flush 중인 메시지가 있어 짧은 TTL 로 둔 인덱스
+ * lightning:unread:cursors:{lightningId} (ZSET, score 0)
+ * - "{lastReadMessageId 19자리}|{userId}" : live 가 아닌 참여자의 읽음 커서, 사전순 = lastReadMessageId 순
+ *
+ * - 메시지별 안 읽은 인원: 페이지 구간 [first, last) 의 커서만 ZRANGEBYLEX 로 읽고, 그 앞은 ZLEXCOUNT 로 센다.
+ *   O(log P + K), K 는 페이지 구간에 걸친 커서 수
+ * - 채팅방별 안 읽은 메시지 수: count - 읽은 시점의 count 로 O(1)
+ * Snowflake id 는 2^53 을 넘어 score 로는 구분되지 않으므로 0 패딩한 id 를 member 사전순으로 비교한다.
+ * 두 키는 같은 hash tag 를 써서 Redis Cluster 에서도 한 스크립트로 함께 갱신한다.
+ *
+ * 키가 없으면 MySQL 과 이 노드의 write-behind 큐에서 한 번 재구성하고, 이후에는 chat_messages 를 조회하지 않는다.
+ * 변경은 호출한 트랜잭션이 커밋된 뒤에 반영해, 롤백된 참여/읽음 처리가 인덱스에 남지 않게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCountIndex {
+
+    private static final String COUNT_FIELD = "count";
+    private static final String PROVISIONAL_FIELD = "provisional";
+    private static final String USER_FIELD_PREFIX = "u:";
+    private static final String LIVE = "live";
+    private static final String NO_CURSOR = "";
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final Duration PROVISIONAL_TTL = Duration.ofSeconds(5);
+
+    // 이전 커서를 ZSET 에서 지운다. lastRead 는 문자열 그대로 0 패딩한다(Lua number 로 바꾸면 정밀도가 깨짐).
+    private static final String REMOVE_CURSOR = """
+        local function removeCursor(field, userId)
+            local previous = redis.call('HGET', KEYS[1], field)
+            if previous and previous ~= 'live' then
+                local lastRead = string.match(previous, '^(%d+):')
+                redis.call('ZREM', KEYS[2], string.rep('0', 19 - #lastRead) .. lastRead .. '|' .. userId)
+            end
+        end
+        """;
+
+    private static final RedisScript<Long> INCREASE_COUNT_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return -1
+        end
+        if redis.call('HEXISTS', KEYS[1], 'provisional') == 0 then
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+        end
+        return redis.call('HINCRBY', KEYS[1], 'count', 1)
+        """, Long.class);
+
+    private static final RedisScript<Long> MARK_READ_SCRIPT = new DefaultRedisScript<>(REMOVE_CURSOR + """
+        local count = redis.call('HGET', KEYS[1], 'count')
+        if not count then
+            return 0
+        end
+        removeCursor(ARGV[1], ARGV[3])
+        redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. count)
+        redis.call('ZADD', KEYS[2], 0, ARGV[4] .. '|' .. ARGV[3])
+        local ttl = redis.call('PTTL', KEYS[1])
+        if ttl > 0 then
+            redis.call('PEXPIRE', KEYS[2], ttl)
+        end
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> MARK_LIVE_SCRIPT = new DefaultRedisScript<>(REMOVE_CURSOR + """
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 0
+        end
+        removeCursor(ARGV[1], ARGV[2])
+        redis.call('HSET', KEYS[1], ARGV[1], 'live')
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(REMOVE_CURSOR + """
+        removeCursor(ARGV[1], ARGV[2])
+        return redis.call('HDEL', KEYS[1], ARGV[1])
+        """, Long.class);
+
+    // ARGV: ttl, (field, value, cursor member 또는 '') 반복
+    private static final RedisScript<Long> INITIALIZE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+            return 0
+        end
+        redis.call('DEL', KEYS[2])
+        for i = 2, #ARGV, 3 do
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            if ARGV[i + 2] ~= '' then
+                redis.call('ZADD', KEYS[2], 0, ARGV[i + 2])
+            end
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        redis.call('EXPIRE', KEYS[2], ARGV[1])
+        return 1
+        """, Long.class);
+
+    // {from 앞의 커서 수, viewer 커서, [from, to) 구간의 커서 member...}, 인덱스가 없으면 {-1}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_RANGE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return {-1}
+        end
+        local result = {
+            redis.call('ZLEXCOUNT', KEYS[2], '-', '(' .. ARGV[2]),
+            redis.call('HGET', KEYS[1], ARGV[1]) or ''
+        }
+        local cursors = redis.call('ZRANGEBYLEX', KEYS[2], '[' .. ARGV[2], '(' .. ARGV[3])
+        for i = 1, #cursors do
+            result[#result + 1] = cursors[i]
+        end
+        return result
+        """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final LatestMessageIdRegister latestMessageIdRegister;
+
+    public void initialize(Long lightningId, Long leaderId) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TTL.toSeconds()));
+        addEntry(args, COUNT_FIELD, "0", NO_CURSOR);
+        addEntry(args, userField(leaderId), "0:0", cursorMember(0L, leaderId));
+        String[] initializeArgs = args.toArray(String[]::new);
+        afterCommit(() -> execute(INITIALIZE_SCRIPT, lightningId, initializeArgs));
+    }
+
+    public void increaseMessageCount(Long lightningId) {
+        afterCommit(() -> execute(INCREASE_COUNT_SCRIPT, lightningId, String.valueOf(TTL.toSeconds())));
+    }
+
+    public void markRead(Long lightningId, Long userId, Long lastReadMessageId) {
+        long lastRead = lastReadMessageId == null ? 0L : lastReadMessageId;
+        afterCommit(() -> execute(
+            MARK_READ_SCRIPT, lightningId,
+            userField(userId), String.valueOf(lastRead), userId.toString(), sortableId(lastRead)
+        ));
+    }
+
+    public void markLive(Long lightningId, Long userId) {
+        afterCommit(() -> execute(MARK_LIVE_SCRIPT, lightningId, userField(userId), userId.toString()));
+    }
+
+    public void remove(Long lightningId, Long userId) {
+        afterCommit(() -> execute(REMOVE_SCRIPT, lightningId, userField(userId), userId.toString()));
+    }
+
+    /**
+     * 다음 조회 때 MySQL 기준으로 다시 만들도록 인덱스를 지운다.
+     */
+    public void evict(Long lightningId) {
+        try {
+            redisTemplate.delete(keys(lightningId));
+        } catch (Exception e) {
+            log.warn("[UnreadCountIndex.evict] failed. lightningId={}", lightningId, e);
+        }
+    }
+
+    /**
+     * 메시지 구간 [fromMessageId, toMessageId] 에 대한 (viewer 제외) 누적 읽음 커서 수
+     * key: lastReadMessageId, value: 해당 id 이하까지 읽은 참여자 누적 수 (fromMessageId - 1 은 구간 앞의 누적 수)
+     * 구간 안의 메시지 m 의 안 읽은 인원은 lowerEntry(m) 의 값이다.
+     */
+    public NavigableMap<Long, Long> getUnreadPrefixMap(Long lightningId, Long viewerId, Long fromMessageId, Long toMessageId) {
+        String[] args = {userField(viewerId), sortableId(fromMessageId), sortableId(toMessageId)};
+        List<Object> result = readRange(lightningId, args);
+        if (isMissing(result)) {
+            rebuild(lightningId);
+            result = readRange(lightningId, args);
+        }
+
+        NavigableMap<Long, Long> countMap = new TreeMap<>();
+        if (isMissing(result)) {
+            return countMap;
+        }
+
+        long sum = (Long) result.get(0);
+        String viewerCursor = (String) result.get(1);
+        if (!viewerCursor.isEmpty() && !LIVE.equals(viewerCursor) && parseLastRead(viewerCursor) < fromMessageId) {
+            sum--;
+        }
+        countMap.put(fromMessageId - 1, sum);
+
+        String viewerSuffix = "|" + viewerId;
+        for (int i = 2; i < result.size(); i++) {
+            String member = (String) result.get(i);
+            if (member.endsWith(viewerSuffix)) {
+                continue;
+            }
+            countMap.put(parseMember(member), ++sum);
+        }
+        return countMap;
+    }
+
+    public Map<Long, Integer> getUnreadCounts(Long userId, List<Long> lightningIds) {
+        if (lightningIds.isEmpty()) {
+            return Map.of();
+        }
+
+        byte[] countField = COUNT_FIELD.getBytes(StandardCharsets.UTF_8);
+        byte[] userField = userField(userId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long lightningId : lightningIds) {
+                connection.hashCommands().hMGet(key(lightningId).getBytes(StandardCharsets.UTF_8), countField, userField);
+            }
+            return null;
+        });
+
+        Map<Long, Integer> unreadCountMap = new HashMap<>();
+        for (int i = 0; i < lightningIds.size(); i++) {
+            Long lightningId = lightningIds.get(i);
+            @SuppressWarnings("unchecked")
+            List<String> values = (List<String>) results.get(i);
+
+            String count = values == null ? null : values.get(0);
+            String cursor = values == null ? null : values.get(1);
+            if (count == null) {
+                rebuild(lightningId);
+                List<Object> rebuilt = redisTemplate.opsForHash().multiGet(key(lightningId), List.of(COUNT_FIELD, userField(userId)));
+                count = rebuilt.get(0) == null ? null : rebuilt.get(0).toString();
+                cursor = rebuilt.get(1) == null ? null : rebuilt.get(1).toString();
+            }
+
+            unreadCountMap.put(lightningId, unreadCount(count, cursor));
+        }
+        return unreadCountMap;
+    }
+
+    private int unreadCount(String count, String cursor) {
+        if (count == null || cursor == null || LIVE.equals(cursor)) {
+            return 0;
+        }
+        long readCount = Long.parseLong(cursor.substring(cursor.indexOf(':') + 1));
+        return (int) Math.max(0L, Long.parseLong(count) - readCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> readRange(Long lightningId, String[] args) {
+        try {
+            return redisTemplate.execute(READ_RANGE_SCRIPT, keys(lightningId), (Object[]) args);
+        } catch (Exception e) {
+            log.warn("[UnreadCountIndex.readRange] failed. lightningId={}", lightningId, e);
+            return null;
+        }
+    }
+
+    private boolean isMissing(List<Object> result) {
+        return result == null || result.size() < 2;
+    }
+
+    /**
+     * count 는 MySQL 에 더해 이 노드의 write-behind 큐에 남은 메시지까지 센다.
+     * 다른 노드가 아직 flush 하지 않은 메시지가 있으면(최신 id 레지스터가 더 앞서 있으면)
+     * 짧은 TTL 로 두어 flush 이후 다시 재구성되게 한다.
+     */
+    private void rebuild(Long lightningId) {
+        List<Long> pendingIds = chatMessageWriter.pendingMessageIds(lightningId);
+        List<ParticipantUnreadCount> participants = chatMessageRepository.countUnreadMessagesByLightning(lightningId);
+        long persisted = chatMessageRepository.countByLightningIdIn(List.of(lightningId));
+        Long persistedLatest = chatMessageRepository.findLatestMessageId(lightningId);
+        List<Long> queuedIds = unpersisted(pendingIds);
+        long total = persisted + queuedIds.size();
+
+        Long knownLatest = queuedIds.stream()
+            .reduce(persistedLatest == null ? 0L : persistedLatest, Math::max);
+        Long registeredLatest = latestMessageIdRegister.get(lightningId);
+        boolean provisional = registeredLatest != null && registeredLatest > knownLatest;
+        Duration ttl = provisional ? PROVISIONAL_TTL : TTL;
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttl.toSeconds()));
+        addEntry(args, COUNT_FIELD, String.valueOf(total), NO_CURSOR);
+        if (provisional) {
+            addEntry(args, PROVISIONAL_FIELD, "1", NO_CURSOR);
+        }
+        for (ParticipantUnreadCount participant : participants) {
+            Long userId = participant.getUserId();
+            Long lastRead = participant.getLastReadChatMessageId();
+            if (lastRead == null) {
+                addEntry(args, userField(userId), LIVE, NO_CURSOR);
+                continue;
+            }
+
+            long unread = participant.getUnreadCount() + queuedIds.stream().filter(id -> id > lastRead).count();
+            addEntry(args, userField(userId), lastRead + ":" + (total - unread), cursorMember(lastRead, userId));
+        }
+
+        log.info("[UnreadCountIndex.rebuild] lightningId={}, count={}, queued={}, participants={}, provisional={}",
+            lightningId, total, queuedIds.size(), participants.size(), provisional);
+        execute(INITIALIZE_SCRIPT, lightningId, args.toArray(String[]::new));
+    }
+
+    /**
+     * 큐 스냅샷 이후 flush 된 메시지는 MySQL count 와 겹치므로 뺀다.
+     */
+    private List<Long> unpersisted(List<Long> pendingIds) {
+        if (pendingIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> persistedIds = new HashSet<>(chatMessageRepository.findIdsByIdIn(pendingIds));
+        return pendingIds.stream()
+            .filter(id -> !persistedIds.contains(id))
+            .toList();
+    }
+
+    private void execute(RedisScript<Long> script, Long lightningId, String... args) {
+        try {
+            redisTemplate.execute(script, keys(lightningId), (Object[]) args);
+        } catch (Exception e) {
+            log.warn("[UnreadCountIndex.execute] failed. lightningId={}", lightningId, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void addEntry(List<String> args, String field, String value, String cursorMember) {
+        args.add(field);
+        args.add(value);
+        args.add(cursorMember);
+    }
+
+    private long parseLastRead(String cursor) {
+        return Long.parseLong(cursor.substring(0, cursor.indexOf(':')));
+    }
+
+    private long parseMember(String member) {
+        return Long.parseLong(member.substring(0, member.indexOf('|')));
+    }
+
+    private static String cursorMember(Long lastReadMessageId, Long userId) {
+        return sortableId(lastReadMessageId) + "|" + userId;
+    }
+
+    private static String sortableId(Long id) {
+        return String.format("%019d", id);
+    }
+
+    static List<String> keys(Long lightningId) {
+        return List.of(key(lightningId), LIGHTNING_UNREAD_CURSORS.key(hashTag(lightningId)));
+    }
+
+    private static String key(Long lightningId) {
+        return LIGHTNING_UNREAD_INDEX.key(hashTag(lightningId));
+    }
+
+    private static String hashTag(Long lightningId) {
+        return "{" + lightningId + "}";
+    }
+
+    private static String userField(Long userId) {
+        return USER_FIELD_PREFIX + userId;
+    }
+}
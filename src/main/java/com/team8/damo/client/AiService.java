@@ -125,8 +125,8 @@ public class AiService {
 
         return new RestaurantVoteResult(
             restaurant.getRestaurantId(),
-            restaurant.getLikeCount(),
-            restaurant.getDislikeCount(),
+            likedUserIds.size(),
+            dislikedUserIds.size(),
             likedUserIds,
             dislikedUserIds
         );
@@ -468,6 +468,7 @@ public class DataInitializer implements ApplicationRunner {
             }
         }
         lightningParticipantRepository.saveAll(participants);
+        lightningRepository.syncParticipantCounts(lightnings.stream().map(Lightning::getId).toList());
 
         log.info(
             "Lightning data initialized: {} rooms, {} participants ({} users per room)",
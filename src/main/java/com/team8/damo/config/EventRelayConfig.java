@@ -6,8 +6,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync
@@ -32,9 +30,4 @@ public class EventRelayConfig {
         executor.setThreadNamePrefix("chat-event-");
         return executor;
     }
-
-    @Bean
-    public Executor messageRelayPublishPendingEventExecutor() {
-        return Executors.newSingleThreadScheduledExecutor();
-    }
 }
@@ -1,5 +1,6 @@
 package com.team8.damo.config;
 
+import com.team8.damo.event.EventType;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -9,7 +10,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerPostProcessor;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
@@ -22,6 +26,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${kafka.retry.topic-partitions:3}")
+    private int retryTopicPartitions;
+
     @Bean
     public ConsumerFactory<String, String> genericConsumerFactory() {
         Map<String, Object> configProps = Map.of(
@@ -44,6 +51,28 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * 레코드를 다른 스레드에서 처리 순서와 다르게 ack 할 수 있게 한다.
+     * 커밋은 앞선 offset 이 모두 ack 될 때까지 미뤄지고, 그동안 컨테이너는 다음 poll 을 멈춘다.
+     */
+    @Bean
+    public ContainerPostProcessor<String, String, AbstractMessageListenerContainer<String, String>> asyncAcksContainerPostProcessor() {
+        return container -> container.getContainerProperties().setAsyncAcks(true);
+    }
+
+    /**
+     * KafkaConsumer 의 지연 재시도 / dead-letter 토픽
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics() {
+        return new KafkaAdmin.NewTopics(
+            TopicBuilder.name(EventType.Topic.RETRY_10S).partitions(retryTopicPartitions).build(),
+            TopicBuilder.name(EventType.Topic.RETRY_1M).partitions(retryTopicPartitions).build(),
+            TopicBuilder.name(EventType.Topic.RETRY_5M).partitions(retryTopicPartitions).build(),
+            TopicBuilder.name(EventType.Topic.DEAD_LETTER).partitions(retryTopicPartitions).build()
+        );
+    }
+
     @Bean
     public ProducerFactory<String, String> genericProducerFactory() {
         Map<String, Object> configProps = Map.of(
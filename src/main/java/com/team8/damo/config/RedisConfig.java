@@ -1,13 +1,18 @@
 package com.team8.damo.config;
 
 import com.team8.damo.cache.CacheSpec;
+import com.team8.damo.cache.tier.CacheInvalidationPublisher;
+import com.team8.damo.cache.tier.TwoLevelCacheManager;
 import com.team8.damo.chat.producer.RedisMessageBroker;
+import com.team8.damo.metric.TwoLevelCacheMetric;
 import io.lettuce.core.api.StatefulConnection;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.CacheKeyPrefix;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
@@ -18,7 +23,6 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
@@ -49,8 +53,6 @@ public class RedisConfig {
     @Value("${spring.data.redis.sentinel.nodes:#{null}}")
     private String sentinelNodes;
 
-    public static final String CHANNEL = "chat:broadcast";
-
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
@@ -107,8 +109,8 @@ public class RedisConfig {
         return redisTemplate;
     }
 
-    @Bean(name = "cacheManager")
-    public RedisCacheManager cacheManager(
+    @Bean
+    public RedisCacheManager redisCacheManager(
         RedisConnectionFactory redisConnectionFactory,
         GenericJacksonJsonRedisSerializer jacksonJsonRedisSerializer
     ) {
@@ -134,14 +136,28 @@ public class RedisConfig {
             .build();
     }
 
-    @Bean
-    public RedisMessageListenerContainer listenerContainer(
-        RedisConnectionFactory connectionFactory,
-        MessageListenerAdapter messageListenerAdapter
+    /**
+     * CacheSpec 캐시는 노드 로컬 L1 을 Redis L2 앞에 둔다.
+     */
+    @Bean(name = "cacheManager")
+    @Primary
+    public CacheManager cacheManager(
+        RedisCacheManager redisCacheManager,
+        CacheInvalidationPublisher cacheInvalidationPublisher,
+        TwoLevelCacheMetric twoLevelCacheMetric,
+        @Value("${cache.early-refresh.beta:1.0}") double earlyRefreshBeta
     ) {
+        return new TwoLevelCacheManager(
+            redisCacheManager, cacheInvalidationPublisher, twoLevelCacheMetric, earlyRefreshBeta
+        );
+    }
+
+    @Bean
+    @Primary
+    public RedisMessageListenerContainer listenerContainer(RedisConnectionFactory connectionFactory) {
+        // 채널 구독은 로컬 STOMP 구독자가 생길 때 LightningChannelRegistry 가 채팅방 단위로 추가/해제한다.
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(messageListenerAdapter, new ChannelTopic(CHANNEL));
 
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(8);
@@ -155,6 +171,22 @@ public class RedisConfig {
         return container;
     }
 
+    @Bean
+    public RedisMessageListenerContainer sseListenerContainer(RedisConnectionFactory connectionFactory) {
+        // 추천 스트리밍 청크는 순서대로 전달돼야 하므로 단일 스레드로 받는다. 채널은 SseEmitterService 가 dining 단위로 추가/해제한다.
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("sse-listener-");
+        executor.initialize();
+
+        container.setTaskExecutor(executor);
+        return container;
+    }
+
     @Bean
     public MessageListenerAdapter messageListenerAdapter(RedisMessageBroker broker) {
         return new MessageListenerAdapter(broker, "onMessage");
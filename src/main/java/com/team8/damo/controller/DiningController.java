@@ -166,9 +166,10 @@ public class DiningController implements DiningControllerDocs {
     public SseEmitter streamingSubscribe(
         @PathVariable Long groupId,
         @PathVariable Long diningId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
         @AuthenticationPrincipal JwtUserDetails user
     ) {
-        return emitterService.subscribe(user.getUserId(), diningId);
+        return emitterService.subscribe(user.getUserId(), diningId, lastEventId);
     }
 
     @Override
@@ -340,6 +340,11 @@ public interface DiningControllerDocs {
             - nickname: 사용자 닉네임
             - content: 스트리밍 콘텐츠
             - createdAt: 이벤트 생성 시간
+            - `streaming` 이벤트의 SSE id 는 스트림 엔트리 ID 입니다.
+
+            **재연결**:
+            - `Last-Event-ID` 헤더를 보내면 그 이후의 `streaming` 이벤트만 다시 전송합니다.
+            - 브라우저 EventSource 는 재연결 시 이 헤더를 자동으로 보냅니다.
 
             **연결 종료 조건**:
             - 추천 완료 시 서버에서 연결을 종료합니다.
@@ -353,6 +358,8 @@ public interface DiningControllerDocs {
         Long groupId,
         @Parameter(description = "회식 ID", required = true)
         Long diningId,
+        @Parameter(description = "마지막으로 받은 streaming 이벤트 id (재연결 시)")
+        String lastEventId,
         @Parameter(hidden = true)
         JwtUserDetails user
     );
@@ -0,0 +1,132 @@
+package com.team8.damo.dining;
+
+import com.team8.damo.service.response.RecommendationStreamingResponse;
+import com.team8.damo.util.DataSerializer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.DINING_RECOMMENDATION_STREAMING;
+
+/**
+ * 회식 추천 스트리밍 이력
+ *
+ * dining:recommendation:stream:{diningId} (Stream) : data = RecommendationStreamingResponse(JSON)
+ * - 엔트리 ID 를 SSE 이벤트 id 로 내려보내므로, 재연결 시 Last-Event-ID 이후 엔트리만 XRANGE 로 읽는다.
+ * - XADD 는 MAXLEN ~ 로 길이를 제한하고, TTL 은 키가 처음 만들어질 때 한 번만 건다. (청크당 한 번의 호출)
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationStreamStore {
+
+    private static final String DATA_FIELD = "data";
+    private static final long MAX_LENGTH = 5_000L;
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Pattern ENTRY_ID = Pattern.compile("\\d{1,19}-\\d{1,19}");
+
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>("""
+        local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', ARGV[2], ARGV[3])
+        if redis.call('TTL', KEYS[1]) < 0 then
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+        end
+        return id
+        """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 추가한 엔트리 ID 를 돌려준다.
+     */
+    public String append(Long diningId, RecommendationStreamingResponse response) {
+        return redisTemplate.execute(
+            APPEND_SCRIPT,
+            List.of(DINING_RECOMMENDATION_STREAMING.key(diningId)),
+            String.valueOf(MAX_LENGTH),
+            DATA_FIELD,
+            DataSerializer.serialize(response),
+            String.valueOf(TTL.toSeconds())
+        );
+    }
+
+    public List<Entry> readAll(Long diningId) {
+        return read(diningId, Range.unbounded());
+    }
+
+    /**
+     * lastEntryId 보다 뒤의 엔트리만 읽는다.
+     */
+    public List<Entry> readAfter(Long diningId, String lastEntryId) {
+        return read(diningId, Range.rightUnbounded(Range.Bound.exclusive(lastEntryId)));
+    }
+
+    public void delete(Long diningId) {
+        redisTemplate.delete(DINING_RECOMMENDATION_STREAMING.key(diningId));
+    }
+
+    /**
+     * 클라이언트가 보낸 Last-Event-ID 도 검사하므로, 두 부분이 모두 long 범위인지까지 확인한다.
+     */
+    public static boolean isEntryId(String value) {
+        if (value == null || !ENTRY_ID.matcher(value).matches()) {
+            return false;
+        }
+
+        int dash = value.indexOf('-');
+        try {
+            Long.parseLong(value.substring(0, dash));
+            Long.parseLong(value.substring(dash + 1));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 엔트리 ID("{ms}-{seq}") 비교. null 은 가장 앞선 것으로 본다.
+     */
+    public static int compareEntryIds(String a, String b) {
+        if (Objects.equals(a, b)) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        int aDash = a.indexOf('-');
+        int bDash = b.indexOf('-');
+        int result = Long.compare(Long.parseLong(a.substring(0, aDash)), Long.parseLong(b.substring(0, bDash)));
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(Long.parseLong(a.substring(aDash + 1)), Long.parseLong(b.substring(bDash + 1)));
+    }
+
+    private List<Entry> read(Long diningId, Range<String> range) {
+        List<MapRecord<String, Object, Object>> records =
+            redisTemplate.opsForStream().range(DINING_RECOMMENDATION_STREAMING.key(diningId), range);
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+
+        return records.stream()
+            .map(record -> new Entry(
+                record.getId().getValue(),
+                DataSerializer.deserialize((String) record.getValue().get(DATA_FIELD), RecommendationStreamingResponse.class)
+            ))
+            .toList();
+    }
+
+    public record Entry(String id, RecommendationStreamingResponse response) {
+    }
+}
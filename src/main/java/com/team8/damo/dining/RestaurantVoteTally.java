@@ -0,0 +1,222 @@
+package com.team8.damo.dining;
+
+import com.team8.damo.entity.RecommendRestaurant;
+import com.team8.damo.entity.enumeration.RestaurantVoteStatus;
+import com.team8.damo.repository.RecommendRestaurantVoteRepository;
+import com.team8.damo.repository.projections.RecommendRestaurantVoteCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.RESTAURANT_VOTE_TALLY;
+import static com.team8.damo.redis.key.RedisKeyPrefix.RESTAURANT_VOTE_TALLY_DIRTY;
+
+/**
+ * 회식 추천 회차별 장소 좋아요/싫어요 집계
+ *
+ * dining:vote:tally:{diningId}:{recommendationCount} (Hash)
+ * - l:{recommendRestaurantId} : 좋아요 수
+ * - d:{recommendRestaurantId} : 싫어요 수
+ * dining:vote:tallies:dirty (Set) : MySQL 로 flush 해야 하는 "{diningId}:{recommendationCount}"
+ *
+ * 투표 트랜잭션이 커밋된 뒤 HINCRBY 로 반영하므로 recommend_restaurants 행을 잠그지 않는다.
+ * 키가 없으면 recommend_restaurant_votes 를 집계해 한 번 채우고, 그 전의 증감은 버린다(집계에 이미 포함).
+ * 증감을 버리거나 새로 채울 때도 회차를 dirty 로 표시하므로, 조회가 없어도 flusher 가 컬럼을 맞춘다.
+ * (키가 없으면 flusher 가 투표 행으로 다시 센다)
+ * 적재와 커밋이 겹치는 짧은 구간에서는 어긋날 수 있으므로, 확정 시점에는 투표 행으로 다시 센 값을 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestaurantVoteTally {
+
+    private static final String LIKE_FIELD_PREFIX = "l:";
+    private static final String DISLIKE_FIELD_PREFIX = "d:";
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('SADD', KEYS[2], ARGV[2])
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 0
+        end
+        for i = 3, #ARGV, 2 do
+            redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> INITIALIZE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+            return 0
+        end
+        for i = 3, #ARGV, 2 do
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        redis.call('SADD', KEYS[2], ARGV[2])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RecommendRestaurantVoteRepository recommendRestaurantVoteRepository;
+
+    /**
+     * previous 가 null 이면 새 투표, next 가 null 이면 투표 취소
+     */
+    public void recordAfterCommit(RecommendRestaurant recommendRestaurant, RestaurantVoteStatus previous, RestaurantVoteStatus next) {
+        String member = member(recommendRestaurant.getDining().getId(), recommendRestaurant.getRecommendationCount());
+        Long recommendRestaurantId = recommendRestaurant.getId();
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TTL.toSeconds()));
+        args.add(member);
+        if (previous != null) {
+            args.add(field(previous, recommendRestaurantId));
+            args.add("-1");
+        }
+        if (next != null) {
+            args.add(field(next, recommendRestaurantId));
+            args.add("1");
+        }
+
+        afterCommit(() -> {
+            try {
+                redisTemplate.execute(
+                    APPLY_SCRIPT,
+                    List.of(RESTAURANT_VOTE_TALLY.key(member), RESTAURANT_VOTE_TALLY_DIRTY.key()),
+                    args.toArray()
+                );
+            } catch (Exception e) {
+                log.warn("[RestaurantVoteTally.record] failed. member={}, recommendRestaurantId={}", member, recommendRestaurantId, e);
+                // 반영하지 못한 증감이 남지 않도록 집계를 버리고 다음 조회에서 투표 행으로 다시 채운다.
+                redisTemplate.delete(RESTAURANT_VOTE_TALLY.key(member));
+            }
+        });
+    }
+
+    /**
+     * 값이 없는 장소는 결과 Map 에 포함되지 않는다. (Redis 장애 시 빈 Map)
+     */
+    public Map<Long, VoteCounts> getCounts(Long diningId, Integer recommendationCount, Collection<Long> recommendRestaurantIds) {
+        if (recommendRestaurantIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String member = member(diningId, recommendationCount);
+        try {
+            Map<Long, VoteCounts> counts = peek(member);
+            if (counts.isEmpty()) {
+                initialize(member, recommendRestaurantIds);
+                counts = peek(member);
+            }
+            return counts;
+        } catch (Exception e) {
+            log.warn("[RestaurantVoteTally.getCounts] failed. member={}", member, e);
+            return Map.of();
+        }
+    }
+
+    public void evictAfterCommit(Long diningId, Integer recommendationCount) {
+        String member = member(diningId, recommendationCount);
+        afterCommit(() -> evict(member));
+    }
+
+    List<String> popDirty(int count) {
+        List<String> members = redisTemplate.opsForSet().pop(RESTAURANT_VOTE_TALLY_DIRTY.key(), count);
+        return members == null ? List.of() : members;
+    }
+
+    void markDirty(String member) {
+        redisTemplate.opsForSet().add(RESTAURANT_VOTE_TALLY_DIRTY.key(), member);
+    }
+
+    Map<Long, VoteCounts> peek(String member) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(RESTAURANT_VOTE_TALLY.key(member));
+
+        Map<Long, VoteCounts> counts = new HashMap<>();
+        entries.forEach((rawField, rawValue) -> {
+            String field = rawField.toString();
+            Long recommendRestaurantId = Long.parseLong(field.substring(field.indexOf(':') + 1));
+            int value = Math.max(0, Integer.parseInt(rawValue.toString()));
+
+            VoteCounts current = counts.getOrDefault(recommendRestaurantId, VoteCounts.EMPTY);
+            counts.put(recommendRestaurantId, field.startsWith(LIKE_FIELD_PREFIX)
+                ? new VoteCounts(value, current.dislikeCount())
+                : new VoteCounts(current.likeCount(), value));
+        });
+        return counts;
+    }
+
+    /**
+     * 투표 행으로 다시 센 값. 표가 없는 장소도 0 으로 포함한다.
+     */
+    Map<Long, VoteCounts> countVotes(Collection<Long> recommendRestaurantIds) {
+        Map<Long, VoteCounts> counts = new LinkedHashMap<>();
+        recommendRestaurantIds.forEach(recommendRestaurantId -> counts.put(recommendRestaurantId, VoteCounts.EMPTY));
+        for (RecommendRestaurantVoteCount count : recommendRestaurantVoteRepository.countByRecommendRestaurantIdIn(recommendRestaurantIds)) {
+            VoteCounts current = counts.getOrDefault(count.getRecommendRestaurantId(), VoteCounts.EMPTY);
+            int value = count.getVoteCount().intValue();
+            counts.put(count.getRecommendRestaurantId(), count.getStatus() == RestaurantVoteStatus.LIKE
+                ? new VoteCounts(value, current.dislikeCount())
+                : new VoteCounts(current.likeCount(), value));
+        }
+        return counts;
+    }
+
+    private void initialize(String member, Collection<Long> recommendRestaurantIds) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TTL.toSeconds()));
+        args.add(member);
+        countVotes(recommendRestaurantIds).forEach((recommendRestaurantId, voteCounts) -> {
+            args.add(LIKE_FIELD_PREFIX + recommendRestaurantId);
+            args.add(String.valueOf(voteCounts.likeCount()));
+            args.add(DISLIKE_FIELD_PREFIX + recommendRestaurantId);
+            args.add(String.valueOf(voteCounts.dislikeCount()));
+        });
+        redisTemplate.execute(
+            INITIALIZE_SCRIPT,
+            List.of(RESTAURANT_VOTE_TALLY.key(member), RESTAURANT_VOTE_TALLY_DIRTY.key()),
+            args.toArray()
+        );
+    }
+
+    private void evict(String member) {
+        try {
+            redisTemplate.delete(RESTAURANT_VOTE_TALLY.key(member));
+            redisTemplate.opsForSet().remove(RESTAURANT_VOTE_TALLY_DIRTY.key(), member);
+        } catch (Exception e) {
+            log.warn("[RestaurantVoteTally.evict] failed. member={}", member, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    static String member(Long diningId, Integer recommendationCount) {
+        return diningId + ":" + recommendationCount;
+    }
+
+    private static String field(RestaurantVoteStatus status, Long recommendRestaurantId) {
+        return (status == RestaurantVoteStatus.LIKE ? LIKE_FIELD_PREFIX : DISLIKE_FIELD_PREFIX) + recommendRestaurantId;
+    }
+}
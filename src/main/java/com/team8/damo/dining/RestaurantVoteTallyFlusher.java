@@ -0,0 +1,136 @@
+package com.team8.damo.dining;
+
+import com.team8.damo.entity.RecommendRestaurant;
+import com.team8.damo.repository.DiningRepository;
+import com.team8.damo.repository.RecommendRestaurantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * dirty 로 표시된 RestaurantVoteTally 집계를 주기적으로 recommend_restaurants 에 덮어쓴다.
+ * 회차 하나의 장소들을 한 트랜잭션에서 setVoteCounts 로 갱신하고, 실패하면 다시 dirty 로 돌려놓는다.
+ *
+ * 확정/재추천은 같은 트랜잭션에서 dining 행을 먼저 갱신한 뒤 투표 행으로 센 정확한 값을 쓴다.
+ * flush 는 dining 행을 잠근 뒤 그 회차가 아직 투표 중일 때만 쓰므로, 확정이 쓴 값을 이전 집계로 덮어쓰지 않는다.
+ * 집계 키가 없으면(버려졌거나 만료) 투표 행으로 다시 센 값을 쓴다.
+ */
+@Slf4j
+@Component
+public class RestaurantVoteTallyFlusher {
+
+    private static final int POP_COUNT = 100;
+
+    private final RestaurantVoteTally restaurantVoteTally;
+    private final RecommendRestaurantRepository recommendRestaurantRepository;
+    private final DiningRepository diningRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalSeconds;
+
+    private final ScheduledExecutorService flushScheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "restaurant-vote-tally-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public RestaurantVoteTallyFlusher(
+        RestaurantVoteTally restaurantVoteTally,
+        RecommendRestaurantRepository recommendRestaurantRepository,
+        DiningRepository diningRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${dining.vote-tally.flush-interval-seconds:5}") long flushIntervalSeconds
+    ) {
+        this.restaurantVoteTally = restaurantVoteTally;
+        this.recommendRestaurantRepository = recommendRestaurantRepository;
+        this.diningRepository = diningRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushIntervalSeconds = flushIntervalSeconds;
+    }
+
+    @PostConstruct
+    private void start() {
+        flushScheduler.scheduleWithFixedDelay(
+            this::runFlushSafely,
+            flushIntervalSeconds,
+            flushIntervalSeconds,
+            TimeUnit.SECONDS
+        );
+    }
+
+    @PreDestroy
+    private void stop() {
+        flushScheduler.shutdownNow();
+        runFlushSafely();
+    }
+
+    private void runFlushSafely() {
+        try {
+            flushAll();
+        } catch (Exception e) {
+            log.warn("[RestaurantVoteTallyFlusher.flushAll] failed", e);
+        }
+    }
+
+    void flushAll() {
+        List<String> failed = new ArrayList<>();
+        List<String> members;
+        while (!(members = restaurantVoteTally.popDirty(POP_COUNT)).isEmpty()) {
+            for (String member : members) {
+                if (!flush(member)) {
+                    failed.add(member);
+                }
+            }
+        }
+        // 실패한 회차는 이번 주기에 다시 꺼내지 않도록 모두 끝난 뒤 되돌린다.
+        failed.forEach(restaurantVoteTally::markDirty);
+    }
+
+    boolean flush(String member) {
+        try {
+            int separator = member.indexOf(':');
+            Long diningId = Long.parseLong(member.substring(0, separator));
+            Integer recommendationCount = Integer.parseInt(member.substring(separator + 1));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean voting = diningRepository.findByIdForUpdate(diningId)
+                    .filter(dining -> !dining.isNotRestaurantVoting())
+                    .filter(dining -> recommendationCount.equals(dining.getRecommendationCount()))
+                    .isPresent();
+                if (!voting) {
+                    return;
+                }
+
+                Map<Long, VoteCounts> counts = restaurantVoteTally.peek(member);
+                if (counts.isEmpty()) {
+                    counts = restaurantVoteTally.countVotes(
+                        recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount)
+                            .stream()
+                            .map(RecommendRestaurant::getId)
+                            .toList()
+                    );
+                }
+                counts.forEach((recommendRestaurantId, voteCounts) ->
+                    recommendRestaurantRepository.setVoteCounts(
+                        recommendRestaurantId, voteCounts.likeCount(), voteCounts.dislikeCount()
+                    )
+                );
+            });
+            return true;
+        } catch (Exception e) {
+            log.warn("[RestaurantVoteTallyFlusher.flush] failed. member={}", member, e);
+            return false;
+        }
+    }
+}
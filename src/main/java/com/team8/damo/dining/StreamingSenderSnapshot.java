@@ -0,0 +1,75 @@
+package com.team8.damo.dining;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team8.damo.cache.store.UserCacheService;
+import com.team8.damo.entity.User;
+import com.team8.damo.exception.CustomException;
+import com.team8.damo.repository.DiningParticipantRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 추천 스트리밍 청크의 보낸 사람 닉네임
+ *
+ * 회식의 첫 청크에서 참여자 닉네임을 한 번에 읽어 두고(completeAll 때 evict), 청크마다 사용자 조회를 하지 않는다.
+ * 참여자가 아닌 userId 는 UserCacheService 로 한 번 찾아 스냅샷에 더하고, 없는 사용자는 AI 봇으로 표시한다.
+ * 스트리밍은 diningId 키로 한 노드의 한 lane 에서 처리되므로 스냅샷은 노드 로컬로 둔다.
+ * DONE 이 오지 않는 경우를 위해 스트림 TTL 과 같은 시간 동안 쓰이지 않으면 버린다.
+ */
+@Component
+public class StreamingSenderSnapshot {
+
+    public static final String AI_BOT_NICKNAME = "다모 AI봇";
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+
+    private final DiningParticipantRepository diningParticipantRepository;
+    private final UserCacheService userCacheService;
+    private final Cache<Long, Map<Long, Sender>> sendersByDining;
+
+    public StreamingSenderSnapshot(
+        DiningParticipantRepository diningParticipantRepository,
+        UserCacheService userCacheService
+    ) {
+        this.diningParticipantRepository = diningParticipantRepository;
+        this.userCacheService = userCacheService;
+        this.sendersByDining = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_TTL)
+            .build();
+    }
+
+    public String nickname(Long diningId, Long userId) {
+        Map<Long, Sender> senders = sendersByDining.get(diningId, this::load);
+        return senders.computeIfAbsent(userId, this::lookup).nickname();
+    }
+
+    public void evict(Long diningId) {
+        sendersByDining.invalidate(diningId);
+    }
+
+    private Map<Long, Sender> load(Long diningId) {
+        Map<Long, Sender> senders = new ConcurrentHashMap<>();
+        diningParticipantRepository.findAllByDiningId(diningId).forEach(participant -> {
+            User user = participant.getUser();
+            senders.put(user.getId(), new Sender(user.getNickname()));
+        });
+        return senders;
+    }
+
+    private Sender lookup(Long userId) {
+        try {
+            return new Sender(userCacheService.getUserBasic(userId).nickname());
+        } catch (CustomException e) {
+            return new Sender(AI_BOT_NICKNAME);
+        }
+    }
+
+    /**
+     * 닉네임이 아직 없는 사용자(null)도 담기 위한 값
+     */
+    private record Sender(String nickname) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.team8.damo.dining;
+
+public record VoteCounts(
+    int likeCount,
+    int dislikeCount
+) {
+    public static final VoteCounts EMPTY = new VoteCounts(0, 0);
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "lightning")
+@Table(name = "lightning", indexes = {
+        @Index(name = "idx_lightning_status_id", columnList = "lightning_status, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Lightning extends BaseTimeEntity implements Persistable<Long> {
@@ -38,6 +40,10 @@ public class Lightning extends BaseTimeEntity implements Persistable<Long> {
     @Column(name = "lightning_date", nullable = false)
     private LocalDateTime lightningDate;
 
+    // 변경은 LightningRepository 의 조건부 UPDATE 로만 한다. (엔티티 flush 로 덮어쓰지 않도록)
+    @Column(name = "participant_count", nullable = false, updatable = false)
+    private int participantCount;
+
     @Builder
     public Lightning(Long id, String restaurantId, int maxParticipants, String description, LocalDateTime lightningDate) {
         this.id = id;
@@ -48,6 +54,10 @@ public class Lightning extends BaseTimeEntity implements Persistable<Long> {
         this.lightningStatus = LightningStatus.OPEN;
     }
 
+    public void increaseParticipantCount() {
+        this.participantCount++;
+    }
+
     public void close() {
         this.lightningStatus = LightningStatus.CLOSED;
     }
@@ -16,7 +16,10 @@ import static jakarta.persistence.EnumType.STRING;
 import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
-@Table(name = "lightning_participants", indexes = {
+@Table(name = "lightning_participants", uniqueConstraints = @UniqueConstraint(
+        name = "UK_LIGHTNING_PARTICIPANTS",
+        columnNames = {"lightning_id", "users_id"}
+), indexes = {
         @Index(
             name = "idx_lightning_participants_user_lightning_last_read",
             columnList = "users_id, lightning_id, last_read_chat_messages_id"
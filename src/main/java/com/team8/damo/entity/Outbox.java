@@ -6,6 +6,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
@@ -13,28 +14,54 @@ import java.time.LocalDateTime;
 @Table(
     name = "outbox",
     indexes = {
-        @Index(name = "idx_outbox_created_at", columnList = "createdAt")
+        @Index(name = "idx_outbox_created_at", columnList = "createdAt"),
+        @Index(name = "idx_outbox_next_attempt_at", columnList = "nextAttemptAt")
     }
 )
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Outbox {
+    // 커밋 직후 전송(fast path)에 맡기는 시간. 이 시간이 지나도 남아 있으면 relay 가 다시 보낸다.
+    private static final long FIRST_RETRY_DELAY_SECONDS = 10;
+
     @Id
     private Long id;
 
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
+    // Kafka record key (EventPayload.aggregateKey)
+    @Column(length = 64)
+    private String eventKey;
+
     @Column(columnDefinition = "LONGTEXT", nullable = false)
     private String payload;
     
     private LocalDateTime createdAt;
 
-    public static Outbox create(Long id, EventType eventType, String payload) {
+    @Column(nullable = false)
+    private int retryCount;
+
+    // 다음 전송 시각이자 relay 가 가져간 행의 lease 만료 시각
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 마지막으로 lease 를 가져간 relay
+    @Column(length = 36)
+    private String claimedBy;
+
+    public static Outbox create(Long id, EventType eventType, String eventKey, String payload) {
         Outbox outbox = new Outbox();
         outbox.id = id;
         outbox.eventType = eventType;
+        outbox.eventKey = eventKey;
         outbox.payload = payload;
         outbox.createdAt = LocalDateTime.now();
+        outbox.nextAttemptAt = outbox.createdAt.plusSeconds(FIRST_RETRY_DELAY_SECONDS);
         return outbox;
     }
+
+    public void scheduleRetry(LocalDateTime now, Duration backoff) {
+        this.retryCount++;
+        this.nextAttemptAt = now.plus(backoff);
+    }
 }
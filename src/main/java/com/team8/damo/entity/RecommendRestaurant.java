@@ -32,10 +32,11 @@ public class RecommendRestaurant extends BaseTimeEntity implements Persistable<L
     @Column(name = "confirmed_status", nullable = false)
     private Boolean confirmedStatus = false;
 
-    @Column(name = "like_count", nullable = false)
+    // 투표 중에는 RestaurantVoteTally 가 집계하고 setVoteCounts 로만 반영한다. (엔티티 flush 로 덮어쓰지 않음)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "dislike_count", nullable = false)
+    @Column(name = "dislike_count", nullable = false, updatable = false)
     private Integer dislikeCount = 0;
 
     @Column(name = "point", nullable = false)
@@ -3,8 +3,15 @@ package com.team8.damo.event;
 import com.team8.damo.event.payload.EventPayload;
 import com.team8.damo.util.DataSerializer;
 import lombok.Getter;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.util.TokenBuffer;
 
 @Getter
+@JsonDeserialize(using = Event.EventDeserializer.class)
 public class Event<T extends EventPayload> {
     private Long eventId;
     private EventType eventType;
@@ -22,23 +29,54 @@ public class Event<T extends EventPayload> {
         return DataSerializer.serialize(this);
     }
 
+    @SuppressWarnings("unchecked")
     public static Event<EventPayload> fromJson(String json) {
-        EventRaw eventRaw = DataSerializer.deserialize(json, EventRaw.class);
-        if (eventRaw == null) {
-            return null;
-        }
-
-        Event<EventPayload> event = new Event<>();
-        event.eventId = eventRaw.getEventId();
-        event.eventType = EventType.from(eventRaw.getEventType());
-        event.payload = DataSerializer.deserialize(eventRaw.getPayload(), event.eventType.getPayloadClass());
-        return event;
+        return DataSerializer.deserialize(json, Event.class);
     }
 
-    @Getter
-    private static class EventRaw {
-        private Long eventId;
-        private String eventType;
-        private Object payload;
+    /**
+     * eventType 을 먼저 읽고 payload 를 EventType.getPayloadClass() 로 바로 바인딩한다.
+     * toJson 은 eventType 을 payload 앞에 쓰므로 한 번에 읽히고,
+     * 다른 프로듀서가 payload 를 먼저 보낸 경우에만 payload 토큰을 버퍼링했다가 타입을 안 뒤에 바인딩한다.
+     * eventType 을 모르거나 payload 가 null/누락이면 payload 는 null 로 둔다.
+     */
+    static class EventDeserializer extends ValueDeserializer<Event<EventPayload>> {
+
+        @Override
+        public Event<EventPayload> deserialize(JsonParser p, DeserializationContext ctxt) {
+            Long eventId = null;
+            EventType eventType = null;
+            EventPayload payload = null;
+            TokenBuffer bufferedPayload = null;
+
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                p.nextToken();
+            }
+            for (; p.currentToken() == JsonToken.PROPERTY_NAME; p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "eventId" -> eventId = ctxt.readValue(p, Long.class);
+                    case "eventType" -> eventType = EventType.from(p.getValueAsString());
+                    case "payload" -> {
+                        if (p.currentToken() == JsonToken.VALUE_NULL) {
+                            payload = null;
+                        } else if (eventType != null) {
+                            payload = ctxt.readValue(p, eventType.getPayloadClass());
+                        } else {
+                            bufferedPayload = ctxt.bufferAsCopyOfValue(p);
+                        }
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (bufferedPayload != null && eventType != null) {
+                try (JsonParser payloadParser = bufferedPayload.asParserOnFirstToken(ctxt)) {
+                    payload = ctxt.readValue(payloadParser, eventType.getPayloadClass());
+                }
+            }
+            return Event.of(eventId, eventType, payload);
+        }
     }
 }
@@ -18,6 +18,7 @@ public enum EventType {
     NOTIFICATION_SEND(NotificationEventPayload.class, Topic.NOTIFICATION_SEND),
     USER_PERSONA(UserPersonaPayload.class, ""),
     CREATE_CHAT_MESSAGE(CreateChatMessageEventPayload.class, ""),
+    DROP_CHAT_MESSAGE(DropChatMessageEventPayload.class, ""),
     UPDATE_UNREAD_COUNT(UpdateUnreadCountEventPayload.class, "")
     ;
 
@@ -46,5 +47,11 @@ public enum EventType {
         public static final String RECEIPT_OCR_RESPONSE = "receipt-ocr-response";
 
         public static final String NOTIFICATION_SEND = "notification-send";
+
+        // KafkaConsumer 가 처리하지 못한 레코드의 지연 재시도 / dead-letter 토픽
+        public static final String RETRY_10S = "damo-retry-10s";
+        public static final String RETRY_1M = "damo-retry-1m";
+        public static final String RETRY_5M = "damo-retry-5m";
+        public static final String DEAD_LETTER = "damo-dlt";
     }
 }
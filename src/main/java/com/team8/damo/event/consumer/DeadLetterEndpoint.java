@@ -0,0 +1,169 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.metric.KafkaRetryMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /actuator/deadletters
+ *
+ * - GET: 파티션마다 dead-letter 토픽의 마지막 inspect-limit 개 레코드를 실패 정보와 함께 보여준다.
+ * - POST {partition, offset}: 해당 레코드를 원본 토픽으로 다시 보낸다. 재시도 헤더는 싣지 않으므로 처음부터 다시 처리된다.
+ * 컨슈머 그룹 없이 파티션을 직접 assign 해서 읽으므로 offset 을 커밋하지 않는다.
+ * 실패한 이벤트 payload 를 그대로 보여주고 다시 보낼 수 있으므로 ROLE_ADMIN 만 호출할 수 있다 (SecurityConfig).
+ */
+@Slf4j
+@Component
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final int MAX_EMPTY_POLLS = 3;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaRetryMetric kafkaRetryMetric;
+    private final int inspectLimit;
+
+    public DeadLetterEndpoint(
+        ConsumerFactory<String, String> consumerFactory,
+        KafkaTemplate<String, String> kafkaTemplate,
+        KafkaRetryMetric kafkaRetryMetric,
+        @Value("${kafka.dead-letter.inspect-limit:50}") int inspectLimit
+    ) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaRetryMetric = kafkaRetryMetric;
+        this.inspectLimit = inspectLimit;
+    }
+
+    @ReadOperation
+    public List<DeadLetterRecord> deadLetters() {
+        List<DeadLetterRecord> deadLetters = new ArrayList<>();
+        try (Consumer<String, String> consumer = createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(EventType.Topic.DEAD_LETTER).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+            if (partitions.isEmpty()) {
+                return deadLetters;
+            }
+
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            long remaining = 0;
+            for (TopicPartition partition : partitions) {
+                long start = Math.max(beginningOffsets.get(partition), endOffsets.get(partition) - inspectLimit);
+                consumer.seek(partition, start);
+                remaining += endOffsets.get(partition) - start;
+            }
+
+            int emptyPolls = 0;
+            while (remaining > 0 && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                emptyPolls = records.isEmpty() ? emptyPolls + 1 : 0;
+                for (ConsumerRecord<String, String> record : records) {
+                    if (record.offset() < endOffsets.get(new TopicPartition(record.topic(), record.partition()))) {
+                        deadLetters.add(DeadLetterRecord.from(record));
+                        remaining--;
+                    }
+                }
+            }
+        }
+        deadLetters.sort(Comparator.comparing(DeadLetterRecord::partition).thenComparing(DeadLetterRecord::offset));
+        return deadLetters;
+    }
+
+    @WriteOperation
+    public DeadLetterRecord replay(int partition, long offset) {
+        ConsumerRecord<String, String> record = find(partition, offset);
+        if (record == null) {
+            throw new IllegalArgumentException("Dead-letter record not found. partition=" + partition + ", offset=" + offset);
+        }
+
+        String originalTopic = RetryTopicRouter.originalTopic(record);
+        try {
+            kafkaTemplate.send(originalTopic, record.key(), record.value()).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Replay failed. partition=" + partition + ", offset=" + offset, e);
+        }
+        kafkaRetryMetric.incrementReplayed(originalTopic);
+        log.info("[DeadLetterEndpoint.replay] replayed. originalTopic={}, partition={}, offset={}", originalTopic, partition, offset);
+        return DeadLetterRecord.from(record);
+    }
+
+    private ConsumerRecord<String, String> find(int partition, long offset) {
+        TopicPartition topicPartition = new TopicPartition(EventType.Topic.DEAD_LETTER, partition);
+        try (Consumer<String, String> consumer = createConsumer()) {
+            consumer.assign(List.of(topicPartition));
+            consumer.seek(topicPartition, offset);
+            for (int i = 0; i < MAX_EMPTY_POLLS; i++) {
+                for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.offset() == offset) {
+                        return record;
+                    }
+                    if (record.offset() > offset) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Consumer<String, String> createConsumer() {
+        return consumerFactory.createConsumer(null, "dead-letter-endpoint");
+    }
+
+    public record DeadLetterRecord(
+        int partition,
+        long offset,
+        String key,
+        String originalTopic,
+        String originalPartition,
+        String originalOffset,
+        int failedAttempts,
+        String exceptionClass,
+        String exceptionMessage,
+        String failedAt,
+        String value
+    ) {
+        static DeadLetterRecord from(ConsumerRecord<String, String> record) {
+            return new DeadLetterRecord(
+                record.partition(),
+                record.offset(),
+                record.key(),
+                RetryTopicRouter.originalTopic(record),
+                RetryTopicRouter.header(record, RetryTopicRouter.ORIGINAL_PARTITION, null),
+                RetryTopicRouter.header(record, RetryTopicRouter.ORIGINAL_OFFSET, null),
+                RetryTopicRouter.failedAttempts(record),
+                RetryTopicRouter.header(record, RetryTopicRouter.EXCEPTION_CLASS, null),
+                RetryTopicRouter.header(record, RetryTopicRouter.EXCEPTION_MESSAGE, null),
+                RetryTopicRouter.header(record, RetryTopicRouter.FAILED_AT, null),
+                record.value()
+            );
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.team8.damo.event.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team8.damo.metric.EventDedupMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.EVENT_DEDUP;
+
+/**
+ * Event.eventId 로 중복 수신을 걸러낸다. scope 는 컨슈머 그룹 단위로, 같은 이벤트라도 그룹이 다르면 따로 처리한다.
+ *
+ * - 1차: 노드 로컬 시간 창(Caffeine). 같은 노드로 다시 들어온 중복은 Redis 를 타지 않고 버린다.
+ * - 2차: Redis. 다른 노드가 먼저 처리한 이벤트를 버린다.
+ * Redis 장애 시에는 중복 처리를 감수하고 통과시킨다.
+ *
+ * 표시는 핸들러가 성공한 뒤 markProcessed 로만 남긴다.
+ * 처리 전에 표시하면 처리 도중 죽거나 파티션을 빼앗긴 레코드가 재전달될 때 중복으로 버려진다.
+ * 같은 key 의 레코드는 한 lane 에서 순서대로 처리되므로, 확인 후 처리 사이에 같은 이벤트가 끼어들지 않는다.
+ */
+@Slf4j
+@Component
+public class EventDeduplicator {
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventDedupMetric eventDedupMetric;
+    private final Duration ttl;
+    private final Cache<String, Boolean> recentEvents;
+
+    public EventDeduplicator(
+        StringRedisTemplate redisTemplate,
+        EventDedupMetric eventDedupMetric,
+        @Value("${event.dedup.ttl-hours:24}") long ttlHours,
+        @Value("${event.dedup.local-window-minutes:10}") long localWindowMinutes,
+        @Value("${event.dedup.local-max-size:100000}") long localMaxSize
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.eventDedupMetric = eventDedupMetric;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.recentEvents = Caffeine.newBuilder()
+            .maximumSize(localMaxSize)
+            .expireAfterWrite(Duration.ofMinutes(localWindowMinutes))
+            .build();
+    }
+
+    /**
+     * 이미 처리한 이벤트면 true 를 돌려준다. 표시는 남기지 않는다.
+     * eventId 가 없으면 판단할 수 없으므로 항상 false 다.
+     */
+    public boolean isDuplicate(String scope, Long eventId) {
+        if (eventId == null) {
+            return false;
+        }
+
+        String key = EVENT_DEDUP.key(scope, eventId);
+        if (recentEvents.getIfPresent(key) != null) {
+            eventDedupMetric.incrementLocalHit(scope);
+            return true;
+        }
+
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                recentEvents.put(key, Boolean.TRUE);
+                eventDedupMetric.incrementRedisHit(scope);
+                return true;
+            }
+        } catch (Exception e) {
+            eventDedupMetric.incrementStoreFailure(scope);
+            log.warn("[EventDeduplicator.isDuplicate] redis failed. key={}", key, e);
+        }
+        eventDedupMetric.incrementMiss(scope);
+        return false;
+    }
+
+    /**
+     * 핸들러가 성공한 뒤 호출한다.
+     */
+    public void markProcessed(String scope, Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+
+        String key = EVENT_DEDUP.key(scope, eventId);
+        recentEvents.put(key, Boolean.TRUE);
+        try {
+            redisTemplate.opsForValue().set(key, "1", ttl);
+        } catch (Exception e) {
+            eventDedupMetric.incrementStoreFailure(scope);
+            log.warn("[EventDeduplicator.markProcessed] redis failed. key={}", key, e);
+        }
+    }
+}
@@ -2,47 +2,196 @@ package com.team8.damo.event.consumer;
 
 import com.team8.damo.event.Event;
 import com.team8.damo.event.EventType;
-import com.team8.damo.event.handler.EventHandler;
+import com.team8.damo.event.handler.EventHandlerRegistry;
 import com.team8.damo.event.payload.EventPayload;
+import com.team8.damo.metric.KafkaRetryMetric;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
+/**
+ * 레코드를 aggregate key 별 lane 으로 넘겨 key 안에서는 순서대로, key 사이에서는 병렬로 처리한다.
+ * 처리가 끝난 레코드부터 ack 하므로 컨테이너는 asyncAcks 로 동작한다 (KafkaConfig.asyncAcksContainerPostProcessor).
+ *
+ * 핸들러가 실패한 레코드는 RetryTopicRouter 로 지연 재시도 토픽에 넘기고 ack 하므로 파티션이 멈추지 않는다.
+ * 재시도 토픽은 재시도 시각이 될 때까지 nack 으로 멈췄다가 처리한다.
+ * nack 은 그 컨슈머에 할당된 파티션을 모두 멈추므로, 단계(토픽)마다 listener 를 따로 두고
+ * 파티션 수만큼 컨슈머를 띄워 한 컨슈머가 한 파티션만 맡게 한다. (5m 레코드가 10s / 1m 레코드를 막지 않는다)
+ *
+ * ack 는 핸들러가 성공했거나(중복 포함), 실패한 레코드를 재시도/dead-letter 토픽으로 넘긴 뒤에만 한다.
+ * 재시도 토픽으로 넘기지 못했거나 그 밖의 예외(중복 확인 실패, lane 에 넘기지 못함 등)가 나면 원본 레코드를 ack 하지 않는다.
+ * - 컨슈머 스레드에서는 nack 해서 다시 받는다. 예외를 listener 밖으로 던지면 컨테이너 error handler 가 재시도 후 offset 을 커밋하므로 던지지 않는다.
+ * - lane 에서는 nack 할 수 없으므로(컨슈머 스레드 전용) 넘길 때까지 backoff 하며 다시 보낸다. 그 사이 종료되거나 다른 예외가 나면 ack 없이 끝나 재시작 후 다시 받는다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaConsumer {
 
-    private final List<EventHandler> eventHandlers;
+    private static final String DEDUP_SCOPE = "consumer";
+    // nack 로 파티션을 멈추는 최대 시간. 더 남았으면 다시 nack 한다.
+    private static final long MAX_RETRY_PAUSE_MILLIS = 30_000L;
+    private static final Duration FORWARD_RETRY_BACKOFF = Duration.ofSeconds(1);
+    private static final long MAX_FORWARD_RETRY_BACKOFF_MILLIS = 30_000L;
 
-    @KafkaListener(topics = {
-        EventType.Topic.RECOMMENDATION_RESPONSE,
-        EventType.Topic.RECOMMENDATION_STREAMING,
-        EventType.Topic.RECEIPT_OCR_RESPONSE,
-        EventType.Topic.NOTIFICATION_SEND
-    })
-    public void consume(String message, Acknowledgment ack) {
-        Event<EventPayload> event = Event.fromJson(message);
+    private final EventHandlerRegistry eventHandlerRegistry;
+    private final EventDeduplicator eventDeduplicator;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final RetryTopicRouter retryTopicRouter;
+    private final KafkaRetryMetric kafkaRetryMetric;
+
+    @KafkaListener(
+        topics = {
+            EventType.Topic.RECOMMENDATION_RESPONSE,
+            EventType.Topic.RECOMMENDATION_STREAMING,
+            EventType.Topic.RECEIPT_OCR_RESPONSE,
+            EventType.Topic.NOTIFICATION_SEND
+        },
+        containerPostProcessor = "asyncAcksContainerPostProcessor"
+    )
+    public void consume(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        Event<EventPayload> event;
+        try {
+            event = readEvent(record);
+        } catch (RuntimeException e) {
+            nackUnhandled(record, ack, e);
+            return;
+        }
+        if (event == null) {
+            ack.acknowledge();
+            return;
+        }
         log.info("[KafkaConsumer.consume] Consumed event \n {} \n {}",
             kv("eventType", event.getEventType()),
             kv("payload", event.getPayload())
         );
-        findEventHandler(event).handle(event);
+
+        // 프로듀서가 key 를 넣지 않은 토픽도 같은 dining 은 같은 lane 에서 처리되도록 payload 에서 key 를 보충한다.
+        String key = record.key() != null ? record.key() : event.getPayload().aggregateKey();
+        try {
+            keyOrderedExecutor.execute(key, () -> processInLane(record, event, ack));
+        } catch (RejectedExecutionException e) {
+            nackUnhandled(record, ack, e);
+        }
+    }
+
+    @KafkaListener(topics = EventType.Topic.RETRY_10S, concurrency = "${kafka.retry.topic-partitions:3}")
+    public void consumeRetry10s(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        consumeRetry(record, ack);
+    }
+
+    @KafkaListener(topics = EventType.Topic.RETRY_1M, concurrency = "${kafka.retry.topic-partitions:3}")
+    public void consumeRetry1m(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        consumeRetry(record, ack);
+    }
+
+    @KafkaListener(topics = EventType.Topic.RETRY_5M, concurrency = "${kafka.retry.topic-partitions:3}")
+    public void consumeRetry5m(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        consumeRetry(record, ack);
+    }
+
+    private void consumeRetry(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        long remainingMillis = RetryTopicRouter.notBefore(record) - System.currentTimeMillis();
+        if (remainingMillis > 0) {
+            ack.nack(Duration.ofMillis(Math.min(remainingMillis, MAX_RETRY_PAUSE_MILLIS)));
+            return;
+        }
+
+        try {
+            Event<EventPayload> event = readEvent(record);
+            if (event != null && process(record, event, retryTopicRouter::route)) {
+                kafkaRetryMetric.incrementRecovered(RetryTopicRouter.originalTopic(record));
+            }
+        } catch (RuntimeException e) {
+            nackUnhandled(record, ack, e);
+            return;
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * process 가 예외 없이 끝났을 때만 ack 한다. 예외가 나면 ack 없이 남겨 재시작/리밸런스 후 다시 받는다.
+     */
+    private void processInLane(ConsumerRecord<String, String> record, Event<EventPayload> event, Acknowledgment ack) {
+        try {
+            process(record, event, this::routeUntilForwarded);
+        } catch (RuntimeException e) {
+            log.error("[KafkaConsumer.processInLane] not handled, left unacked. topic={}, offset={}",
+                record.topic(), record.offset(), e);
+            return;
+        }
         ack.acknowledge();
     }
 
-    private EventHandler findEventHandler(Event<EventPayload> event) {
-        for (EventHandler handler : eventHandlers) {
-            if (handler.supports(event)) {
-                return handler;
+    private Event<EventPayload> readEvent(ConsumerRecord<String, String> record) {
+        Event<EventPayload> event = Event.fromJson(record.value());
+        if (event == null || event.getPayload() == null) {
+            log.error("[KafkaConsumer.readEvent] unreadable event. topic={}, offset={}", record.topic(), record.offset());
+            retryTopicRouter.deadLetter(record, new IllegalArgumentException("Unreadable event"));
+            return null;
+        }
+        return event;
+    }
+
+    /**
+     * 처리에 성공하면 true. 중복이면 처리하지 않고 false, 실패하면 onFailure 로 재시도 토픽에 넘기고 false 를 돌려준다.
+     * onFailure 가 넘기지 못해 던진 예외는 그대로 전파하므로 호출 측은 예외 없이 끝났을 때만 ack 한다.
+     */
+    private boolean process(
+        ConsumerRecord<String, String> record,
+        Event<EventPayload> event,
+        BiConsumer<ConsumerRecord<String, String>, Exception> onFailure
+    ) {
+        if (eventDeduplicator.isDuplicate(DEDUP_SCOPE, event.getEventId())) {
+            log.info("[KafkaConsumer.process] duplicate event skipped. eventId={}", event.getEventId());
+            return false;
+        }
+        try {
+            eventHandlerRegistry.handle(event);
+        } catch (Exception e) {
+            log.error("[KafkaConsumer.process] failed. eventType={}, topic={}", event.getEventType(), record.topic(), e);
+            onFailure.accept(record, e);
+            return false;
+        }
+        eventDeduplicator.markProcessed(DEDUP_SCOPE, event.getEventId());
+        return true;
+    }
+
+    /**
+     * lane 에서 재시도 토픽으로 넘길 때까지 다시 보낸다. 기다리는 중 인터럽트되면 ForwardException 을 던진다.
+     */
+    private void routeUntilForwarded(ConsumerRecord<String, String> record, Exception cause) {
+        long backoffMillis = FORWARD_RETRY_BACKOFF.toMillis();
+        while (true) {
+            try {
+                retryTopicRouter.route(record, cause);
+                return;
+            } catch (RetryTopicRouter.ForwardException e) {
+                log.error("[KafkaConsumer.routeUntilForwarded] forward failed, retrying in {}ms. topic={}, offset={}",
+                    backoffMillis, record.topic(), record.offset(), e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_FORWARD_RETRY_BACKOFF_MILLIS);
             }
         }
-        return null;
     }
-}
\ No newline at end of file
+
+    private void nackUnhandled(ConsumerRecord<String, String> record, Acknowledgment ack, Exception e) {
+        log.error("[KafkaConsumer.nackUnhandled] not handled, redelivering. topic={}, offset={}",
+            record.topic(), record.offset(), e);
+        ack.nack(FORWARD_RETRY_BACKOFF);
+    }
+}
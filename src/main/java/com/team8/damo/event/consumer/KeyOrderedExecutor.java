@@ -0,0 +1,64 @@
+package com.team8.damo.event.consumer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 key 의 작업은 같은 lane(단일 스레드)에서 들어온 순서대로, 다른 key 의 작업은 여러 lane 에서 병렬로 실행한다.
+ * key 가 없으면 순서가 필요 없는 것으로 보고 lane 을 돌아가며 배정한다.
+ */
+@Slf4j
+@Component
+public class KeyOrderedExecutor {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService[] lanes;
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    public KeyOrderedExecutor(@Value("${kafka.consumer.lane-count:8}") int laneCount) {
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "kafka-consumer-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, threadName);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    private int laneOf(String key) {
+        if (key == null) {
+            return Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+        }
+        return Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
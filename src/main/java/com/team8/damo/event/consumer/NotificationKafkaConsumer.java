@@ -15,7 +15,10 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class NotificationKafkaConsumer {
 
+    private static final String DEDUP_SCOPE = "notification";
+
     private final NotificationService notificationService;
+    private final EventDeduplicator eventDeduplicator;
 
     @KafkaListener(
         topics = {
@@ -28,7 +31,13 @@ public class NotificationKafkaConsumer {
     public void consume(String message, Acknowledgment ack) {
         Event<EventPayload> event = Event.fromJson(message);
         log.info("[NotificationKafkaConsumer] eventType={}", event.getEventType());
+        if (eventDeduplicator.isDuplicate(DEDUP_SCOPE, event.getEventId())) {
+            log.info("[NotificationKafkaConsumer] duplicate event skipped. eventId={}", event.getEventId());
+            ack.acknowledge();
+            return;
+        }
         notificationService.sendDiningNotificationV2(event);
+        eventDeduplicator.markProcessed(DEDUP_SCOPE, event.getEventId());
         ack.acknowledge();
     }
 }
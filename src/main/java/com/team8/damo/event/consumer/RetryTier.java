@@ -0,0 +1,33 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.EventType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * 실패 횟수별 재시도 토픽. 단계마다 지연이 고정이라 토픽 안의 레코드는 재시도 시각 순으로 쌓인다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RetryTier {
+    FIRST(EventType.Topic.RETRY_10S, Duration.ofSeconds(10)),
+    SECOND(EventType.Topic.RETRY_1M, Duration.ofMinutes(1)),
+    THIRD(EventType.Topic.RETRY_5M, Duration.ofMinutes(5)),
+    ;
+
+    private final String topic;
+    private final Duration delay;
+
+    /**
+     * failedAttempts 번 실패한 레코드가 갈 단계. 모든 단계를 소진했으면 null (dead-letter)
+     */
+    public static RetryTier afterFailures(int failedAttempts) {
+        RetryTier[] tiers = values();
+        if (failedAttempts < 1 || failedAttempts > tiers.length) {
+            return null;
+        }
+        return tiers[failedAttempts - 1];
+    }
+}
@@ -0,0 +1,127 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.metric.KafkaRetryMetric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 처리에 실패한 레코드를 다음 재시도 토픽으로, 단계를 모두 소진하면 dead-letter 토픽으로 보낸다.
+ * 원본 토픽/파티션/offset, 실패 횟수, 예외 정보는 헤더로 싣는다. 재시도 토픽에서 다시 실패해도 원본 정보는 유지한다.
+ * 전송에 실패하면 ForwardException 을 던진다. 호출 측은 원본 레코드를 ack 하지 않아야 레코드를 잃지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryTopicRouter {
+
+    static final String ORIGINAL_TOPIC = "x-original-topic";
+    static final String ORIGINAL_PARTITION = "x-original-partition";
+    static final String ORIGINAL_OFFSET = "x-original-offset";
+    static final String FAILED_ATTEMPTS = "x-failed-attempts";
+    static final String NOT_BEFORE = "x-retry-not-before";
+    static final String EXCEPTION_CLASS = "x-exception-class";
+    static final String EXCEPTION_MESSAGE = "x-exception-message";
+    static final String FAILED_AT = "x-failed-at";
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1000;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaRetryMetric kafkaRetryMetric;
+
+    /**
+     * record 가 이번에 실패했을 때 호출한다. 실패 횟수는 record 헤더의 값 + 1 이다.
+     */
+    public void route(ConsumerRecord<String, String> record, Exception cause) {
+        int failedAttempts = failedAttempts(record) + 1;
+        forward(record, cause, failedAttempts, RetryTier.afterFailures(failedAttempts));
+    }
+
+    /**
+     * 다시 시도해도 성공할 수 없는 레코드(역직렬화 실패 등)는 재시도 없이 바로 dead-letter 로 보낸다.
+     */
+    public void deadLetter(ConsumerRecord<String, String> record, Exception cause) {
+        forward(record, cause, failedAttempts(record) + 1, null);
+    }
+
+    private void forward(ConsumerRecord<String, String> record, Exception cause, int failedAttempts, RetryTier tier) {
+        String originalTopic = originalTopic(record);
+        String targetTopic = tier == null ? EventType.Topic.DEAD_LETTER : tier.getTopic();
+
+        ProducerRecord<String, String> forward = new ProducerRecord<>(targetTopic, record.key(), record.value());
+        Headers headers = forward.headers();
+        put(headers, ORIGINAL_TOPIC, originalTopic);
+        put(headers, ORIGINAL_PARTITION, header(record, ORIGINAL_PARTITION, String.valueOf(record.partition())));
+        put(headers, ORIGINAL_OFFSET, header(record, ORIGINAL_OFFSET, String.valueOf(record.offset())));
+        put(headers, FAILED_ATTEMPTS, String.valueOf(failedAttempts));
+        put(headers, EXCEPTION_CLASS, cause.getClass().getName());
+        put(headers, EXCEPTION_MESSAGE, truncate(String.valueOf(cause.getMessage())));
+        put(headers, FAILED_AT, Instant.now().toString());
+        if (tier != null) {
+            put(headers, NOT_BEFORE, String.valueOf(System.currentTimeMillis() + tier.getDelay().toMillis()));
+        }
+
+        try {
+            kafkaTemplate.send(forward).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ForwardException("Forward failed. targetTopic=" + targetTopic + ", originalTopic=" + originalTopic, e);
+        }
+
+        if (tier == null) {
+            kafkaRetryMetric.incrementDeadLettered(originalTopic);
+            log.error("[RetryTopicRouter.route] dead-lettered. originalTopic={}, failedAttempts={}", originalTopic, failedAttempts, cause);
+        } else {
+            kafkaRetryMetric.incrementRetried(originalTopic, targetTopic);
+            log.warn("[RetryTopicRouter.route] retry scheduled. originalTopic={}, retryTopic={}, failedAttempts={}",
+                originalTopic, targetTopic, failedAttempts);
+        }
+    }
+
+    static String originalTopic(ConsumerRecord<String, String> record) {
+        return header(record, ORIGINAL_TOPIC, record.topic());
+    }
+
+    static int failedAttempts(ConsumerRecord<String, String> record) {
+        return Integer.parseInt(header(record, FAILED_ATTEMPTS, "0"));
+    }
+
+    static long notBefore(ConsumerRecord<String, String> record) {
+        return Long.parseLong(header(record, NOT_BEFORE, "0"));
+    }
+
+    static String header(ConsumerRecord<String, String> record, String name, String defaultValue) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? defaultValue : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static void put(Headers headers, String name, String value) {
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_EXCEPTION_MESSAGE_LENGTH ? message : message.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH);
+    }
+
+    /**
+     * 재시도/dead-letter 토픽으로 보내지 못했다.
+     */
+    public static class ForwardException extends RuntimeException {
+        public ForwardException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
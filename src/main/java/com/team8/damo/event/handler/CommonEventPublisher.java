@@ -30,6 +30,7 @@ public class CommonEventPublisher {
         Outbox outbox = Outbox.create(
             snowflake.nextId(),
             eventType,
+            payload.aggregateKey(),
             eventPayload
         );
         eventPublisher.publishEvent(outbox);
@@ -1,5 +1,7 @@
 package com.team8.damo.event.handler;
 
+import com.team8.damo.cache.dto.ChatMessageCache;
+import com.team8.damo.cache.store.ChatMessageTailCache;
 import com.team8.damo.cache.store.LightningCacheService;
 import com.team8.damo.chat.message.ChatBroadcastMessage;
 import com.team8.damo.chat.message.WsEventMessage;
@@ -21,11 +23,13 @@ import static net.logstash.logback.argument.StructuredArguments.kv;
 public class CreateChatMessageHandler implements EventHandler<CreateChatMessageEventPayload> {
     private final ChatMessageBroker chatMessageBroker;
     private final LightningCacheService lightningCacheService;
+    private final ChatMessageTailCache chatMessageTailCache;
     private final RedisTemplate<String, String> redisTemplate;
 
     @Override
     public void handle(Event<CreateChatMessageEventPayload> event) {
         CreateChatMessageEventPayload payload = event.getPayload();
+        chatMessageTailCache.append(payload.lightningId(), ChatMessageCache.from(payload));
 
         long totalParticipant = lightningCacheService.getLightningParticipantCount(payload.lightningId());
         long userCount = redisTemplate.opsForSet().size(LIGHTNING_SUBSCRIBE_USERS.key(payload.lightningId()));
@@ -37,7 +41,7 @@ public class CreateChatMessageHandler implements EventHandler<CreateChatMessageE
     }
 
     @Override
-    public boolean supports(Event<CreateChatMessageEventPayload> event) {
-        return EventType.CREATE_CHAT_MESSAGE == event.getEventType();
+    public EventType eventType() {
+        return EventType.CREATE_CHAT_MESSAGE;
     }
 }
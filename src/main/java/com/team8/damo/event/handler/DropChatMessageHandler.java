@@ -0,0 +1,46 @@
+package com.team8.damo.event.handler;
+
+import com.team8.damo.cache.store.ChatMessageTailCache;
+import com.team8.damo.chat.message.ChatMessageDroppedMessage;
+import com.team8.damo.chat.message.WsEventMessage;
+import com.team8.damo.chat.producer.ChatMessageBroker;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.chat.unread.UnreadCountIndex;
+import com.team8.damo.event.Event;
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.payload.DropChatMessageEventPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * write-behind 로 이미 브로드캐스트했지만 INSERT 하지 못하고 버린 메시지를 되돌린다.
+ * tail 캐시에서 지우고, 메시지 수가 섞인 인덱스/최신 id 는 비워 MySQL 기준으로 다시 만들게 한 뒤
+ * 클라이언트가 화면에서 지우도록 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DropChatMessageHandler implements EventHandler<DropChatMessageEventPayload> {
+
+    private final ChatMessageTailCache chatMessageTailCache;
+    private final UnreadCountIndex unreadCountIndex;
+    private final LatestMessageIdRegister latestMessageIdRegister;
+    private final ChatMessageBroker chatMessageBroker;
+
+    @Override
+    public void handle(Event<DropChatMessageEventPayload> event) {
+        DropChatMessageEventPayload payload = event.getPayload();
+        chatMessageTailCache.remove(payload.lightningId(), payload.messageId());
+        unreadCountIndex.evict(payload.lightningId());
+        latestMessageIdRegister.evict(payload.lightningId());
+
+        chatMessageBroker.send(WsEventMessage.createChatMessageDropped(
+            payload.lightningId(),
+            new ChatMessageDroppedMessage(payload.messageId())
+        ));
+    }
+
+    @Override
+    public EventType eventType() {
+        return EventType.DROP_CHAT_MESSAGE;
+    }
+}
@@ -1,9 +1,18 @@
 package com.team8.damo.event.handler;
 
 import com.team8.damo.event.Event;
+import com.team8.damo.event.EventType;
 import com.team8.damo.event.payload.EventPayload;
 
 public interface EventHandler<T extends EventPayload> {
     void handle(Event<T> event);
-    boolean supports(Event<T> event);
+
+    /**
+     * 이 핸들러가 처리하는 이벤트 타입. EventHandlerRegistry 가 타입별로 핸들러를 하나씩 등록한다.
+     */
+    EventType eventType();
+
+    default boolean supports(Event<T> event) {
+        return event.getEventType() == eventType();
+    }
 }
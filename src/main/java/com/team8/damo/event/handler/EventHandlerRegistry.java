@@ -0,0 +1,51 @@
+package com.team8.damo.event.handler;
+
+import com.team8.damo.event.Event;
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.payload.EventPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기동 시 EventHandler 빈을 eventType 별로 EnumMap 에 등록해 두고, 이벤트마다 바로 찾아 실행한다.
+ * 같은 타입에 핸들러가 둘 이상이면 기동을 실패시킨다.
+ */
+@Slf4j
+@Component
+public class EventHandlerRegistry {
+
+    private final Map<EventType, EventHandler<EventPayload>> handlers;
+
+    @SuppressWarnings("unchecked")
+    public EventHandlerRegistry(List<EventHandler<? extends EventPayload>> eventHandlers) {
+        Map<EventType, EventHandler<EventPayload>> registry = new EnumMap<>(EventType.class);
+        for (EventHandler<? extends EventPayload> eventHandler : eventHandlers) {
+            EventHandler<EventPayload> previous = registry.put(eventHandler.eventType(), (EventHandler<EventPayload>) eventHandler);
+            if (previous != null) {
+                throw new IllegalStateException(
+                    "Duplicate EventHandler for " + eventHandler.eventType() + ": "
+                        + previous.getClass().getName() + ", " + eventHandler.getClass().getName()
+                );
+            }
+        }
+        this.handlers = Collections.unmodifiableMap(registry);
+    }
+
+    public EventHandler<EventPayload> find(EventType eventType) {
+        return eventType == null ? null : handlers.get(eventType);
+    }
+
+    public void handle(Event<EventPayload> event) {
+        EventHandler<EventPayload> handler = find(event.getEventType());
+        if (handler == null) {
+            log.warn("[EventHandlerRegistry.handle] no handler. eventType={}", event.getEventType());
+            return;
+        }
+        handler.handle(event);
+    }
+}
@@ -32,7 +32,7 @@ public class NotificationSendEventHandler implements EventHandler<NotificationEv
     }
 
     @Override
-    public boolean supports(Event<NotificationEventPayload> event) {
-        return event.getEventType() == EventType.NOTIFICATION_SEND;
+    public EventType eventType() {
+        return EventType.NOTIFICATION_SEND;
     }
 }
@@ -0,0 +1,250 @@
+package com.team8.damo.event.handler;
+
+import com.team8.damo.entity.Outbox;
+import com.team8.damo.metric.OutboxMetric;
+import com.team8.damo.repository.OutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * outbox 행을 Kafka 로 non-blocking 전송하고, 전송 결과는 모아서 한 번에 DB 에 반영한다.
+ *
+ * - 커밋 직후 전송(fast path)과 주기 재전송 모두 send 를 거친다. 결과가 DB 에 반영될 때까지 같은 id 는 다시 보내지 않는다.
+ * - ack 된 id 는 delete ... where id in (...) 한 번으로 지운다.
+ * - 실패한 행은 retryCount 를 올리고 지수 backoff 만큼 nextAttemptAt 을 미룬다.
+ * - nextAttemptAt 이 지난 행을 batch-size 단위로 가져와 전송하고, batch 가 꽉 차 있는 동안 이어서 비운다.
+ *
+ * 여러 노드가 동시에 relay 하므로 행을 가져갈 때 lease 를 건다.
+ * FOR UPDATE SKIP LOCKED 로 다른 노드와 겹치지 않는 행을 고르고, 같은 트랜잭션에서 nextAttemptAt 을 lease 만큼 미룬다.
+ * 노드가 죽으면 lease 가 끝난 뒤 다른 노드가 다시 가져간다. lease-seconds 는 send-timeout-seconds 보다 길어야 한다.
+ */
+@Slf4j
+@Component
+public class OutboxMessageRelay {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
+    private final OutboxMetric outboxMetric;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final long sendTimeoutSeconds;
+    private final long backoffBaseSeconds;
+    private final long backoffMaxSeconds;
+    private final long leaseSeconds;
+    private final String relayId = UUID.randomUUID().toString();
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> acknowledged = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService relayScheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "outbox-message-relay");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public OutboxMessageRelay(
+        KafkaTemplate<String, String> kafkaTemplate,
+        OutboxRepository outboxRepository,
+        OutboxMetric outboxMetric,
+        PlatformTransactionManager transactionManager,
+        @Value("${outbox.relay.interval-ms:500}") long intervalMillis,
+        @Value("${outbox.relay.batch-size:500}") int batchSize,
+        @Value("${outbox.relay.send-timeout-seconds:10}") long sendTimeoutSeconds,
+        @Value("${outbox.relay.backoff-base-seconds:2}") long backoffBaseSeconds,
+        @Value("${outbox.relay.backoff-max-seconds:300}") long backoffMaxSeconds,
+        @Value("${outbox.relay.lease-seconds:60}") long leaseSeconds
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxRepository = outboxRepository;
+        this.outboxMetric = outboxMetric;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+        this.sendTimeoutSeconds = sendTimeoutSeconds;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.backoffMaxSeconds = backoffMaxSeconds;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @PostConstruct
+    private void start() {
+        relayScheduler.scheduleWithFixedDelay(
+            this::runRelaySafely,
+            intervalMillis,
+            intervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    private void stop() {
+        relayScheduler.shutdownNow();
+        try {
+            applyResults();
+        } catch (Exception e) {
+            log.warn("[OutboxMessageRelay.stop] failed to apply results", e);
+        }
+    }
+
+    /**
+     * 전송 중인 id 면 아무것도 하지 않고 null 을 돌려준다.
+     */
+    public CompletableFuture<?> send(Outbox outbox) {
+        Long outboxId = outbox.getId();
+        if (!inFlight.add(outboxId)) {
+            return null;
+        }
+
+        LocalDateTime createdAt = outbox.getCreatedAt();
+        try {
+            return kafkaTemplate.send(outbox.getEventType().getTopic(), outbox.getEventKey(), outbox.getPayload())
+                .handle((result, e) -> {
+                    complete(outboxId, createdAt, e);
+                    return null;
+                });
+        } catch (Exception e) {
+            complete(outboxId, createdAt, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void complete(Long outboxId, LocalDateTime createdAt, Throwable e) {
+        if (e == null) {
+            outboxMetric.recordAcknowledged(Duration.between(createdAt, LocalDateTime.now()));
+            acknowledged.add(outboxId);
+            return;
+        }
+        outboxMetric.incrementPublishFailure();
+        log.warn("[OutboxMessageRelay.send] failed. outboxId={}", outboxId, e);
+        failed.add(outboxId);
+    }
+
+    private void runRelaySafely() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.warn("[OutboxMessageRelay.relay] failed", e);
+        }
+    }
+
+    void relay() {
+        applyResults();
+
+        List<Outbox> batch;
+        List<CompletableFuture<?>> futures;
+        boolean drained;
+        do {
+            batch = claim();
+            futures = new ArrayList<>(batch.size());
+            for (Outbox outbox : batch) {
+                CompletableFuture<?> future = send(outbox);
+                if (future != null) {
+                    futures.add(future);
+                }
+            }
+            drained = awaitAll(futures);
+            applyResults();
+            // 모두 전송 중이던 행이거나 응답이 늦으면 다음 주기로 넘긴다.
+        } while (batch.size() == batchSize && !futures.isEmpty() && drained);
+
+        LocalDateTime oldestCreatedAt = outboxRepository.findOldestCreatedAt();
+        outboxMetric.updateOldestAge(
+            oldestCreatedAt == null ? Duration.ZERO : Duration.between(oldestCreatedAt, LocalDateTime.now())
+        );
+    }
+
+    private List<Outbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.findDueIdsForUpdateSkipLocked(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.lease(ids, relayId, now.plusSeconds(leaseSeconds));
+            return outboxRepository.findAllById(ids);
+        });
+    }
+
+    private boolean awaitAll(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(sendTimeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("[OutboxMessageRelay.awaitAll] timed out. size={}", futures.size());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private void applyResults() {
+        List<Long> acknowledgedIds;
+        while (!(acknowledgedIds = drain(acknowledged)).isEmpty()) {
+            try {
+                outboxRepository.deleteAllByIdInBatch(acknowledgedIds);
+            } catch (Exception e) {
+                acknowledged.addAll(acknowledgedIds);
+                throw e;
+            }
+            acknowledgedIds.forEach(inFlight::remove);
+        }
+
+        List<Long> failedIds;
+        while (!(failedIds = drain(failed)).isEmpty()) {
+            List<Long> ids = failedIds;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    outboxRepository.findAllById(ids)
+                        .forEach(outbox -> outbox.scheduleRetry(now, backoff(outbox.getRetryCount())));
+                });
+            } catch (Exception e) {
+                failed.addAll(ids);
+                throw e;
+            }
+            ids.forEach(inFlight::remove);
+        }
+    }
+
+    private List<Long> drain(Queue<Long> queue) {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while (ids.size() < batchSize && (id = queue.poll()) != null) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private Duration backoff(int retryCount) {
+        long seconds = backoffBaseSeconds << Math.min(retryCount, 20);
+        return Duration.ofSeconds(Math.min(seconds, backoffMaxSeconds));
+    }
+}
@@ -32,7 +32,7 @@ public class ReceiptOcrEventHandler implements EventHandler<ReceiptOcrResponseEv
     }
 
     @Override
-    public boolean supports(Event<ReceiptOcrResponseEventPayload> event) {
-        return EventType.RECEIPT_OCR_RESPONSE == event.getEventType();
+    public EventType eventType() {
+        return EventType.RECEIPT_OCR_RESPONSE;
     }
 }
@@ -27,7 +27,7 @@ public class RecommendationDoneEventHandler implements EventHandler<Recommendati
     }
 
     @Override
-    public boolean supports(Event<RecommendationDoneEventPayload> event) {
-        return EventType.RECOMMENDATION_RESPONSE == event.getEventType();
+    public EventType eventType() {
+        return EventType.RECOMMENDATION_RESPONSE;
     }
 }
@@ -46,7 +46,7 @@ public class RecommendationRefreshHandler implements EventHandler<Recommendation
     }
 
     @Override
-    public boolean supports(Event<RecommendationRefreshEventPayload> event) {
-        return EventType.RECOMMENDATION_REFRESH_REQUEST == event.getEventType();
+    public EventType eventType() {
+        return EventType.RECOMMENDATION_REFRESH_REQUEST;
     }
 }
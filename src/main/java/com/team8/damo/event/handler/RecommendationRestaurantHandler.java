@@ -46,7 +46,7 @@ public class RecommendationRestaurantHandler implements EventHandler<Recommendat
     }
 
     @Override
-    public boolean supports(Event<RecommendationEventPayload> event) {
-        return EventType.RECOMMENDATION_REQUEST == event.getEventType();
+    public EventType eventType() {
+        return EventType.RECOMMENDATION_REQUEST;
     }
 }
@@ -20,7 +20,7 @@ public class RecommendationStreamingHandler implements EventHandler<Recommendati
     }
 
     @Override
-    public boolean supports(Event<RecommendationStreamingEventPayload> event) {
-        return event.getEventType() == EventType.RECOMMENDATION_STREAMING;
+    public EventType eventType() {
+        return EventType.RECOMMENDATION_STREAMING;
     }
 }
@@ -1,7 +1,6 @@
 package com.team8.damo.event.handler;
 
-import com.team8.damo.chat.message.WsEventMessage;
-import com.team8.damo.chat.producer.ChatMessageBroker;
+import com.team8.damo.chat.producer.UnreadUpdateCoalescer;
 import com.team8.damo.event.Event;
 import com.team8.damo.event.EventType;
 import com.team8.damo.event.payload.UpdateUnreadCountEventPayload;
@@ -12,19 +11,15 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class UpdateUnreadCountHandler implements EventHandler<UpdateUnreadCountEventPayload> {
 
-    private final ChatMessageBroker chatMessageBroker;
+    private final UnreadUpdateCoalescer unreadUpdateCoalescer;
 
     @Override
     public void handle(Event<UpdateUnreadCountEventPayload> event) {
-        UpdateUnreadCountEventPayload payload = event.getPayload();
-        chatMessageBroker.send(WsEventMessage.createUnreadUpdate(
-            payload.lightningId(),
-            payload
-        ));
+        unreadUpdateCoalescer.add(event.getPayload());
     }
 
     @Override
-    public boolean supports(Event<UpdateUnreadCountEventPayload> event) {
-        return EventType.UPDATE_UNREAD_COUNT == event.getEventType();
+    public EventType eventType() {
+        return EventType.UPDATE_UNREAD_COUNT;
     }
 }
@@ -24,7 +24,7 @@ public class UserPersonaHandler implements EventHandler<UserPersonaPayload> {
     }
 
     @Override
-    public boolean supports(Event<UserPersonaPayload> event) {
-        return EventType.USER_PERSONA == event.getEventType();
+    public EventType eventType() {
+        return EventType.USER_PERSONA;
     }
 }
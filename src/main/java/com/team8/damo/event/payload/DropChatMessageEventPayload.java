@@ -0,0 +1,10 @@
+package com.team8.damo.event.payload;
+
+import lombok.Builder;
+
+@Builder
+public record DropChatMessageEventPayload(
+    Long messageId,
+    Long lightningId
+) implements EventPayload {
+}
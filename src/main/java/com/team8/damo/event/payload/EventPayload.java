@@ -1,4 +1,16 @@
 package com.team8.damo.event.payload;
 
 public interface EventPayload {
+
+    /**
+     * Kafka record key 로 쓰는 aggregate id (diningId, userId 등).
+     * 같은 key 의 이벤트는 같은 파티션에 들어가 순서가 보장된다. null 이면 key 없이 전송한다.
+     */
+    default String aggregateKey() {
+        return null;
+    }
+
+    static String keyOf(Long aggregateId) {
+        return aggregateId == null ? null : String.valueOf(aggregateId);
+    }
 }
@@ -8,4 +8,9 @@ public record ReceiptOcrRequestEventPayload(
     String receiptUrl,
     String restaurantName
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return EventPayload.keyOf(diningId);
+    }
 }
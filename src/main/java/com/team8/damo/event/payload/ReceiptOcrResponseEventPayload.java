@@ -4,4 +4,9 @@ public record ReceiptOcrResponseEventPayload(
     Long diningId,
     boolean success
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return EventPayload.keyOf(diningId);
+    }
 }
@@ -11,4 +11,9 @@ public record RecommendationDoneEventPayload(
         String restaurantId,
         String reasoningDescription
     ) {}
+
+    @Override
+    public String aggregateKey() {
+        return EventPayload.keyOf(diningId);
+    }
 }
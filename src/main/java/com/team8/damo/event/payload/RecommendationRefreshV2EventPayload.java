@@ -12,4 +12,9 @@ public record RecommendationRefreshV2EventPayload(
     List<Long> userIds,
     List<RestaurantVoteResult> voteResultList
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return diningData == null ? null : EventPayload.keyOf(diningData.diningId());
+    }
 }
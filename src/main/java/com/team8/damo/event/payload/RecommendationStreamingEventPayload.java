@@ -8,4 +8,9 @@ public record RecommendationStreamingEventPayload(
     Long userId,
     String content
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return EventPayload.keyOf(diningId);
+    }
 }
@@ -10,4 +10,9 @@ public record RecommendationV2EventPayload(
     DiningData diningData,
     List<Long> userIds
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return diningData == null ? null : EventPayload.keyOf(diningData.diningId());
+    }
 }
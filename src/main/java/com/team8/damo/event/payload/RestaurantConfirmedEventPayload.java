@@ -12,4 +12,9 @@ public record RestaurantConfirmedEventPayload(
     String restaurantId,
     List<RestaurantVoteResult> voteResultList
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return diningData == null ? null : EventPayload.keyOf(diningData.diningId());
+    }
 }
@@ -16,4 +16,9 @@ public record UserPersonaEventPayload(
     List<IngredientType> likeIngredients,
     String otherCharacteristics
 ) implements EventPayload {
+
+    @Override
+    public String aggregateKey() {
+        return EventPayload.keyOf(userId);
+    }
 }
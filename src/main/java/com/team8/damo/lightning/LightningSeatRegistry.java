@@ -0,0 +1,222 @@
+package com.team8.damo.lightning;
+
+import com.team8.damo.entity.Lightning;
+import com.team8.damo.entity.enumeration.LightningStatus;
+import com.team8.damo.repository.LightningParticipantRepository;
+import com.team8.damo.repository.LightningRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_SEAT;
+
+/**
+ * 번개 좌석 예약 레지스트리
+ *
+ * lightning:seat:{lightningId} (Hash)
+ * - status     : LightningStatus
+ * - max        : 최대 인원
+ * - u:{userId} : 좌석을 가진 참여자. 값은 예약 토큰 (MySQL 에서 적재한 참여자는 '1')
+ *
+ * 상태 / 중복 참여 / 정원 확인과 좌석 점유를 Lua 스크립트 한 번으로 처리해 분산 락 없이 참가를 직렬화한다.
+ * 키가 없으면 MySQL 에서 한 번 적재한다.
+ * 롤백 보상은 값이 자신의 토큰일 때만 좌석을 지우므로, 이미 참여 중인 사용자의 좌석을 다른 시도가 풀 수 없다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LightningSeatRegistry {
+
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final String USER_FIELD_PREFIX = "u:";
+
+    private static final long NOT_LOADED = -1L;
+
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return -1
+        end
+        if redis.call('HGET', KEYS[1], 'status') ~= 'OPEN' then
+            return 2
+        end
+        if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then
+            return 3
+        end
+        if redis.call('HLEN', KEYS[1]) - 2 >= tonumber(redis.call('HGET', KEYS[1], 'max')) then
+            return 4
+        end
+        redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+        redis.call('EXPIRE', KEYS[1], ARGV[2])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_RESERVATION_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then
+            return redis.call('HDEL', KEYS[1], ARGV[1])
+        end
+        return 0
+        """, Long.class);
+
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+            return 0
+        end
+        redis.call('HSET', KEYS[1], 'status', ARGV[2], 'max', ARGV[3])
+        for i = 4, #ARGV do
+            redis.call('HSET', KEYS[1], ARGV[i], '1')
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> UPDATE_STATUS_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 0
+        end
+        redis.call('HSET', KEYS[1], 'status', ARGV[1])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LightningRepository lightningRepository;
+    private final LightningParticipantRepository lightningParticipantRepository;
+
+    /**
+     * token 은 이번 참가 시도를 구분하는 값으로, 롤백 시 같은 값으로 releaseOnRollback 을 호출한다.
+     */
+    public SeatReservation reserve(Long lightningId, Long userId, String token) {
+        Long result = executeReserve(lightningId, userId, token);
+        if (result == NOT_LOADED) {
+            if (!load(lightningId)) {
+                return SeatReservation.NOT_FOUND;
+            }
+            result = executeReserve(lightningId, userId, token);
+        }
+
+        return switch (result.intValue()) {
+            case 1 -> SeatReservation.RESERVED;
+            case 2 -> SeatReservation.CLOSED;
+            case 3 -> SeatReservation.DUPLICATE;
+            case 4 -> SeatReservation.FULL;
+            default -> throw new IllegalStateException("Unexpected seat reservation result: " + result);
+        };
+    }
+
+    /**
+     * 현재 트랜잭션이 롤백되면 이 token 으로 예약한 좌석만 반납한다. (보상)
+     */
+    public void releaseOnRollback(Long lightningId, Long userId, String token) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    releaseReservation(lightningId, userId, token);
+                }
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 좌석을 반납한다.
+     */
+    public void releaseAfterCommit(Long lightningId, Long userId) {
+        afterCommit(() -> release(lightningId, userId));
+    }
+
+    public void updateStatusAfterCommit(Long lightningId, LightningStatus status) {
+        afterCommit(() -> {
+            try {
+                redisTemplate.execute(UPDATE_STATUS_SCRIPT, List.of(key(lightningId)), status.name());
+            } catch (Exception e) {
+                log.warn("[LightningSeatRegistry.updateStatus] failed. lightningId={}, status={}", lightningId, status, e);
+                evict(lightningId);
+            }
+        });
+    }
+
+    public void release(Long lightningId, Long userId) {
+        try {
+            redisTemplate.opsForHash().delete(key(lightningId), userField(userId));
+        } catch (Exception e) {
+            // 반납에 실패하면 다음 예약 시 MySQL 기준으로 다시 적재되도록 키를 비운다.
+            log.warn("[LightningSeatRegistry.release] failed. lightningId={}, userId={}", lightningId, userId, e);
+            evict(lightningId);
+        }
+    }
+
+    private void releaseReservation(Long lightningId, Long userId, String token) {
+        try {
+            redisTemplate.execute(RELEASE_RESERVATION_SCRIPT, List.of(key(lightningId)), userField(userId), token);
+        } catch (Exception e) {
+            log.warn("[LightningSeatRegistry.releaseReservation] failed. lightningId={}, userId={}", lightningId, userId, e);
+            evict(lightningId);
+        }
+    }
+
+    private void evict(Long lightningId) {
+        try {
+            redisTemplate.delete(key(lightningId));
+        } catch (Exception e) {
+            log.error("[LightningSeatRegistry.evict] failed. lightningId={}", lightningId, e);
+        }
+    }
+
+    private Long executeReserve(Long lightningId, Long userId, String token) {
+        return redisTemplate.execute(
+            RESERVE_SCRIPT,
+            List.of(key(lightningId)),
+            userField(userId),
+            String.valueOf(TTL.toSeconds()),
+            token
+        );
+    }
+
+    private boolean load(Long lightningId) {
+        Optional<Lightning> lightning = lightningRepository.findById(lightningId);
+        if (lightning.isEmpty()) {
+            return false;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TTL.toSeconds()));
+        args.add(lightning.get().getLightningStatus().name());
+        args.add(String.valueOf(lightning.get().getMaxParticipants()));
+        lightningParticipantRepository.findUserIdsByLightningId(lightningId)
+            .forEach(userId -> args.add(userField(userId)));
+
+        redisTemplate.execute(LOAD_SCRIPT, List.of(key(lightningId)), args.toArray());
+        return true;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String key(Long lightningId) {
+        return LIGHTNING_SEAT.key(lightningId);
+    }
+
+    private static String userField(Long userId) {
+        return USER_FIELD_PREFIX + userId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.team8.damo.lightning;
+
+public enum SeatReservation {
+    RESERVED,
+    NOT_FOUND,
+    CLOSED,
+    DUPLICATE,
+    FULL
+}
@@ -1,6 +1,8 @@
 package com.team8.damo.lock.local;
 
 import com.team8.damo.aop.DistridutedLock;
+import com.team8.damo.exception.CustomException;
+import com.team8.damo.exception.errorcode.ErrorCode;
 import com.team8.damo.lock.LockStrategy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,7 +29,8 @@ public class RedisLock implements LockStrategy {
         try {
             boolean available = rLock.tryLock(distridutedLock.waitTime(), distridutedLock.leaseTime(), distridutedLock.timeUnit());
             if (!available) {
-                return false;
+                log.warn("Redisson Lock wait timeout {} ", kv("key", key));
+                throw new CustomException(ErrorCode.LOCK_ACQUISITION_TIMEOUT);
             }
 
             return joinPoint.proceed();
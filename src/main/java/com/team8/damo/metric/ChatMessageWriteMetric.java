@@ -0,0 +1,60 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ChatMessageWriteMetric {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+    private final Counter rejectedCounter;
+
+    public ChatMessageWriteMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.flushTimer =
+            Timer.builder("chat.message.write.flush.latency")
+                .description("Latency of a single chat message batch flush")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushedCounter =
+            Counter.builder("chat.message.write.flushed")
+                .description("Number of chat messages flushed by the write-behind writer")
+                .register(meterRegistry);
+        this.flushFailureCounter =
+            Counter.builder("chat.message.write.flush.failures")
+                .description("Number of chat messages that could not be inserted (constraint violation or shutdown)")
+                .register(meterRegistry);
+        this.rejectedCounter =
+            Counter.builder("chat.message.write.rejected")
+                .description("Number of chat messages written synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public void bindQueueDepth(Collection<?> queue) {
+        Gauge.builder("chat.message.write.queue.depth", queue, Collection::size)
+            .description("Current number of chat messages waiting to be flushed")
+            .register(meterRegistry);
+    }
+
+    public void recordFlush(int size, long elapsedNanos) {
+        flushTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        flushedCounter.increment(size);
+    }
+
+    public void incrementFlushFailure(int size) {
+        flushFailureCounter.increment(size);
+    }
+
+    public void incrementRejected() {
+        rejectedCounter.increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChatTailCacheMetric {
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ChatTailCacheMetric(MeterRegistry meterRegistry) {
+        this.hitCounter =
+            Counter.builder("chat.tail.cache.requests")
+                .tag("result", "hit")
+                .description("Number of chat history slices served from the hot-tail cache")
+                .register(meterRegistry);
+        this.missCounter =
+            Counter.builder("chat.tail.cache.requests")
+                .tag("result", "miss")
+                .description("Number of chat history slices that fell back to MySQL")
+                .register(meterRegistry);
+    }
+
+    public void incrementHit() {
+        hitCounter.increment();
+    }
+
+    public void incrementMiss() {
+        missCounter.increment();
+    }
+}
@@ -0,0 +1,65 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class EventDedupMetric {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DedupMeters> metersByScope = new ConcurrentHashMap<>();
+
+    public EventDedupMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void incrementLocalHit(String scope) {
+        meters(scope).localHit.increment();
+    }
+
+    public void incrementRedisHit(String scope) {
+        meters(scope).redisHit.increment();
+    }
+
+    public void incrementMiss(String scope) {
+        meters(scope).miss.increment();
+    }
+
+    public void incrementStoreFailure(String scope) {
+        meters(scope).storeFailure.increment();
+    }
+
+    private DedupMeters meters(String scope) {
+        return metersByScope.computeIfAbsent(scope, name -> new DedupMeters(meterRegistry, name));
+    }
+
+    private static class DedupMeters {
+        private final Counter localHit;
+        private final Counter redisHit;
+        private final Counter miss;
+        private final Counter storeFailure;
+
+        DedupMeters(MeterRegistry meterRegistry, String scope) {
+            this.localHit = requests(meterRegistry, scope, "local_hit", "Number of duplicate events dropped by the in-memory window");
+            this.redisHit = requests(meterRegistry, scope, "redis_hit", "Number of duplicate events dropped by the Redis dedup key");
+            this.miss = requests(meterRegistry, scope, "miss", "Number of events seen for the first time");
+            this.storeFailure =
+                Counter.builder("event.dedup.store.failures")
+                    .tag("scope", scope)
+                    .description("Number of Redis dedup checks or marks that failed (duplicates may be processed)")
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String scope, String result, String description) {
+            return Counter.builder("event.dedup.requests")
+                .tag("scope", scope)
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KafkaRetryMetric {
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaRetryMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void incrementRetried(String topic, String retryTopic) {
+        Counter.builder("kafka.consumer.retries")
+            .tag("topic", topic)
+            .tag("retry.topic", retryTopic)
+            .description("Number of failed records forwarded to a delayed retry topic")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void incrementRecovered(String topic) {
+        Counter.builder("kafka.consumer.recovered")
+            .tag("topic", topic)
+            .description("Number of records that succeeded on a retry topic")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void incrementDeadLettered(String topic) {
+        Counter.builder("kafka.consumer.dead.letters")
+            .tag("topic", topic)
+            .description("Number of records parked on the dead-letter topic")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    public void incrementReplayed(String topic) {
+        Counter.builder("kafka.consumer.dead.letter.replays")
+            .tag("topic", topic)
+            .description("Number of dead-letter records replayed to their original topic")
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,53 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LatestMessageIdMetric {
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter behindCounter;
+    private final Counter aheadCounter;
+
+    public LatestMessageIdMetric(MeterRegistry meterRegistry) {
+        this.hitCounter =
+            Counter.builder("chat.latest.message.id.requests")
+                .tag("result", "hit")
+                .description("Number of latest message id lookups served from Redis")
+                .register(meterRegistry);
+        this.missCounter =
+            Counter.builder("chat.latest.message.id.requests")
+                .tag("result", "miss")
+                .description("Number of latest message id lookups rebuilt from MySQL")
+                .register(meterRegistry);
+        this.behindCounter =
+            Counter.builder("chat.latest.message.id.mismatch")
+                .tag("kind", "behind")
+                .description("Number of registers found behind chat_messages and repaired")
+                .register(meterRegistry);
+        this.aheadCounter =
+            Counter.builder("chat.latest.message.id.mismatch")
+                .tag("kind", "ahead")
+                .description("Number of registers pointing at a message missing from chat_messages")
+                .register(meterRegistry);
+    }
+
+    public void incrementHit() {
+        hitCounter.increment();
+    }
+
+    public void incrementMiss() {
+        missCounter.increment();
+    }
+
+    public void incrementBehind() {
+        behindCounter.increment();
+    }
+
+    public void incrementAhead() {
+        aheadCounter.increment();
+    }
+}
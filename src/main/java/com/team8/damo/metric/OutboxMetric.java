@@ -1,22 +1,51 @@
 package com.team8.damo.metric;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 public class OutboxMetric {
 
     private final Counter publishFailureCounter;
+    private final Counter publishedCounter;
+    private final Timer publishLagTimer;
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
 
     public OutboxMetric(MeterRegistry meterRegistry) {
         this.publishFailureCounter =
             Counter.builder("outbox.publish.failures")
                 .description("Number of failed outbox publish attempts")
                 .register(meterRegistry);
+        this.publishedCounter =
+            Counter.builder("outbox.publish.acknowledged")
+                .description("Number of outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.publishLagTimer =
+            Timer.builder("outbox.publish.lag")
+                .description("Time from outbox row creation to Kafka acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age.seconds", oldestAgeSeconds, AtomicLong::get)
+            .description("Age of the oldest row still waiting in the outbox table")
+            .register(meterRegistry);
     }
 
     public void incrementPublishFailure() {
         publishFailureCounter.increment();
     }
-}
\ No newline at end of file
+
+    public void recordAcknowledged(Duration lag) {
+        publishedCounter.increment();
+        publishLagTimer.record(lag);
+    }
+
+    public void updateOldestAge(Duration age) {
+        oldestAgeSeconds.set(Math.max(0, age.toSeconds()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class SseMetric {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary queueDepthSummary;
+    private final Timer sendLatencyTimer;
+    private final Counter slowConsumerCounter;
+    private final Counter sendErrorCounter;
+
+    public SseMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.queueDepthSummary =
+            DistributionSummary.builder("sse.send.queue.depth")
+                .description("Number of events waiting in an emitter's send queue when a new event is enqueued")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sendLatencyTimer =
+            Timer.builder("sse.send.latency")
+                .description("Time from enqueueing an SSE event to writing it to the client")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.slowConsumerCounter = dropped(meterRegistry, "slow_consumer");
+        this.sendErrorCounter = dropped(meterRegistry, "send_error");
+    }
+
+    public <T> void bindActiveEmitters(T state, ToDoubleFunction<T> counter) {
+        Gauge.builder("sse.emitters.active", state, counter)
+            .description("Number of SSE emitters connected to this node")
+            .register(meterRegistry);
+    }
+
+    public <T> void bindHeartbeatScheduled(T state, ToDoubleFunction<T> counter) {
+        Gauge.builder("sse.heartbeat.scheduled", state, counter)
+            .description("Number of SSE heartbeats waiting in the timing wheel")
+            .register(meterRegistry);
+    }
+
+    public void recordQueueDepth(int depth) {
+        queueDepthSummary.record(depth);
+    }
+
+    public void recordSendLatency(long nanos) {
+        sendLatencyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementSlowConsumer() {
+        slowConsumerCounter.increment();
+    }
+
+    public void incrementSendError() {
+        sendErrorCounter.increment();
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("sse.emitters.disconnected")
+            .tag("reason", reason)
+            .description("Number of SSE emitters disconnected by the server")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.team8.damo.metric;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TwoLevelCacheMetric {
+
+    private static final String LOCAL = "local";
+    private static final String REDIS = "redis";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CacheMeters> metersByCache = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void bindLocalSize(String cacheName, Cache<?, ?> localCache) {
+        Gauge.builder("cache.tier.size", localCache, Cache::estimatedSize)
+            .tag("cache", cacheName)
+            .tag("tier", LOCAL)
+            .description("Estimated number of entries in the in-process cache tier")
+            .register(meterRegistry);
+    }
+
+    public void recordLocal(String cacheName, boolean hit) {
+        CacheMeters meters = meters(cacheName);
+        (hit ? meters.localHit : meters.localMiss).increment();
+    }
+
+    public void recordRedis(String cacheName, boolean hit) {
+        CacheMeters meters = meters(cacheName);
+        (hit ? meters.redisHit : meters.redisMiss).increment();
+    }
+
+    public void incrementLocalEviction(String cacheName) {
+        meters(cacheName).localEviction.increment();
+    }
+
+    public void incrementCoalesced(String cacheName) {
+        meters(cacheName).coalesced.increment();
+    }
+
+    public void incrementEarlyRefresh(String cacheName) {
+        meters(cacheName).earlyRefresh.increment();
+    }
+
+    public void incrementInvalidationSent(String cacheName) {
+        meters(cacheName).invalidationSent.increment();
+    }
+
+    public void incrementInvalidationReceived(String cacheName) {
+        meters(cacheName).invalidationReceived.increment();
+    }
+
+    private CacheMeters meters(String cacheName) {
+        return metersByCache.computeIfAbsent(cacheName, name -> new CacheMeters(meterRegistry, name));
+    }
+
+    private static class CacheMeters {
+        private final Counter localHit;
+        private final Counter localMiss;
+        private final Counter redisHit;
+        private final Counter redisMiss;
+        private final Counter localEviction;
+        private final Counter coalesced;
+        private final Counter earlyRefresh;
+        private final Counter invalidationSent;
+        private final Counter invalidationReceived;
+
+        CacheMeters(MeterRegistry meterRegistry, String cacheName) {
+            this.localHit = requests(meterRegistry, cacheName, LOCAL, "hit");
+            this.localMiss = requests(meterRegistry, cacheName, LOCAL, "miss");
+            this.redisHit = requests(meterRegistry, cacheName, REDIS, "hit");
+            this.redisMiss = requests(meterRegistry, cacheName, REDIS, "miss");
+            this.localEviction =
+                Counter.builder("cache.tier.evictions")
+                    .tag("cache", cacheName)
+                    .tag("tier", LOCAL)
+                    .description("Number of in-process cache entries evicted by size or TTL")
+                    .register(meterRegistry);
+            this.coalesced =
+                Counter.builder("cache.load.coalesced")
+                    .tag("cache", cacheName)
+                    .description("Number of cache misses that waited on an in-flight load instead of loading")
+                    .register(meterRegistry);
+            this.earlyRefresh =
+                Counter.builder("cache.load.early.refresh")
+                    .tag("cache", cacheName)
+                    .description("Number of probabilistic reloads triggered before the Redis TTL expired")
+                    .register(meterRegistry);
+            this.invalidationSent =
+                Counter.builder("cache.invalidation.messages")
+                    .tag("cache", cacheName)
+                    .tag("direction", "sent")
+                    .description("Number of cross-node cache invalidation messages published")
+                    .register(meterRegistry);
+            this.invalidationReceived =
+                Counter.builder("cache.invalidation.messages")
+                    .tag("cache", cacheName)
+                    .tag("direction", "received")
+                    .description("Number of cross-node cache invalidation messages applied from other nodes")
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String cacheName, String tier, String result) {
+            return Counter.builder("cache.tier.requests")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .description("Number of cache lookups per tier")
+                .register(meterRegistry);
+        }
+    }
+}
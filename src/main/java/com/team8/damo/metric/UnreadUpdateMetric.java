@@ -0,0 +1,37 @@
+package com.team8.damo.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UnreadUpdateMetric {
+
+    private final Counter receivedCounter;
+    private final Counter mergedCounter;
+    private final Counter emittedCounter;
+
+    public UnreadUpdateMetric(MeterRegistry meterRegistry) {
+        this.receivedCounter =
+            Counter.builder("chat.unread.update.received")
+                .description("Number of unread update events handed to the coalescer")
+                .register(meterRegistry);
+        this.mergedCounter =
+            Counter.builder("chat.unread.update.merged")
+                .description("Number of unread update events folded into another frame")
+                .register(meterRegistry);
+        this.emittedCounter =
+            Counter.builder("chat.unread.update.emitted")
+                .description("Number of unread update frames broadcast to lightning rooms")
+                .register(meterRegistry);
+    }
+
+    public void incrementReceived() {
+        receivedCounter.increment();
+    }
+
+    public void recordEmitted(int mergedEvents) {
+        emittedCounter.increment();
+        mergedCounter.increment(mergedEvents);
+    }
+}
@@ -8,11 +8,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public enum RedisKeyPrefix {
     LIGHTNING_SUBSCRIBE_USERS("lightning:subscribe:users:"),
-    STOMP_SUBSCRIPTION("lightning:subscription:"),
-    STOMP_SESSION_SUBSCRIPTIONS("lightning:session:subscriptions:"),
-    STOMP_SESSION_USER("lightning:session:user:"),
-    DINING_RECOMMENDATION_STREAMING("dining:recommendation:streaming:"),
+    STOMP_SESSION("lightning:session:"),
+    STOMP_SESSION_HEARTBEATS("lightning:sessions:heartbeat"),
+    STOMP_LEGACY_KEY_CLEANUP("migration:stomp-legacy-keys"),
+    DINING_RECOMMENDATION_STREAMING("dining:recommendation:stream:"),
+    DINING_RECOMMENDATION_SSE_CHANNEL("dining:recommendation:sse:"),
     DINING_OCR_STATUS("dining:ocr:status:"),
+    CHAT_MESSAGE_TAIL("chat:tail:messages:"),
+    CHAT_MESSAGE_TAIL_GAP("chat:tail:gap:"),
+    LIGHTNING_UNREAD_INDEX("lightning:unread:index:"),
+    LIGHTNING_UNREAD_CURSORS("lightning:unread:cursors:"),
+    CHAT_BROADCAST_CHANNEL("chat:broadcast:"),
+    LIGHTNING_LATEST_MESSAGE_ID("lightning:latest:message:"),
+    LIGHTNING_LATEST_MESSAGE_ID_CHECK_LOCK("lock:lightning:latest:message:check"),
+    LIGHTNING_SEAT("lightning:seat:"),
+    CACHE_INVALIDATION_CHANNEL("cache:invalidation"),
+    RESTAURANT_VOTE_TALLY("dining:vote:tally:"),
+    RESTAURANT_VOTE_TALLY_DIRTY("dining:vote:tallies:dirty"),
+    EVENT_DEDUP("event:dedup:"),
     ;
 
     private final String prefix;
@@ -1,6 +1,7 @@
 package com.team8.damo.repository;
 
 import com.team8.damo.entity.ChatMessage;
+import com.team8.damo.repository.projections.ParticipantUnreadCount;
 import com.team8.damo.repository.projections.UnreadCount;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,6 +24,13 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
         "GROUP BY chat.lightning.id")
     List<UnreadCount> countUnreadMessagesByUser(@Param("userId") Long userId);
 
+    @Query("SELECT lp.user.id as userId, lp.lastReadChatMessageId as lastReadChatMessageId, COUNT(chat) as unreadCount " +
+        "FROM LightningParticipant lp " +
+        "LEFT JOIN ChatMessage chat ON chat.lightning.id = lp.lightning.id AND chat.id > lp.lastReadChatMessageId " +
+        "WHERE lp.lightning.id = :lightningId " +
+        "GROUP BY lp.user.id, lp.lastReadChatMessageId")
+    List<ParticipantUnreadCount> countUnreadMessagesByLightning(@Param("lightningId") Long lightningId);
+
     @Query("SELECT cm FROM ChatMessage cm " +
         "JOIN FETCH cm.user " +
         "WHERE cm.lightning.id = :lightningId AND cm.id < :cursorId")
@@ -58,6 +66,9 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("delete from ChatMessage cm where cm.content like concat(:prefix, '%')")
     int deleteAllByContentPrefix(@Param("prefix") String prefix);
 
+    @Query("select cm.id from ChatMessage cm where cm.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT cm.lightning.id, COUNT(cm) FROM ChatMessage cm WHERE cm.lightning.id IN :ids GROUP BY cm.lightning.id")
     List<Object[]> countByLightningIds(@Param("ids") Collection<Long> ids);
 }
@@ -27,6 +27,9 @@ public interface DiningParticipantRepository extends JpaRepository<DiningPartici
         AttendanceVoteStatus attendanceVoteStatus
     );
 
+    @EntityGraph(attributePaths = {"user"})
+    List<DiningParticipant> findAllByDiningId(Long diningId);
+
     @EntityGraph(attributePaths = {"user"})
     List<DiningParticipant> findAllByDiningAndAttendanceVoteStatus(Dining dining, AttendanceVoteStatus attendanceVoteStatus);
 
@@ -2,7 +2,9 @@ package com.team8.damo.repository;
 
 import com.team8.damo.entity.Dining;
 import com.team8.damo.entity.enumeration.DiningStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -24,9 +26,28 @@ public interface DiningRepository extends JpaRepository<Dining, Long> {
     @Query("update Dining d set d.attendanceVoteDoneCount = :count where d.id = :diningId")
     void setAttendanceVoteDoneCount(@Param("diningId") Long diningId, @Param("count") int count);
 
-    @Query("select d.attendanceVoteDoneCount from Dining d where d.id = :diningId")
-    int getAttendanceVoteDoneCount(@Param("diningId") Long diningId);
+    /**
+     * 참석 투표 수가 참여자 수에 도달했고 아직 currentStatus 일 때만 nextStatus 로 전환한다.
+     * 같은 트랜잭션에서 increaseAttendanceVoteDoneCount 가 행 잠금을 잡은 뒤 호출하므로
+     * 동시에 투표해도 정확히 한 호출만 1 을 받는다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Dining d set d.diningStatus = :nextStatus
+        where d.id = :diningId
+          and d.diningStatus = :currentStatus
+          and d.attendanceVoteDoneCount >= (select count(p) from DiningParticipant p where p.dining.id = :diningId)
+        """)
+    int completeAttendanceVoting(
+        @Param("diningId") Long diningId,
+        @Param("currentStatus") DiningStatus currentStatus,
+        @Param("nextStatus") DiningStatus nextStatus
+    );
 
     @Query("select d from Dining d join fetch d.group where d.id = :diningId")
     Optional<Dining> findByIdWithGroup(Long diningId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Dining d where d.id = :diningId")
+    Optional<Dining> findByIdForUpdate(@Param("diningId") Long diningId);
 }
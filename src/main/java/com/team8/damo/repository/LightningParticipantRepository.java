@@ -1,6 +1,7 @@
 package com.team8.damo.repository;
 
 import com.team8.damo.entity.LightningParticipant;
+import com.team8.damo.entity.enumeration.LightningStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -68,6 +69,16 @@ public interface LightningParticipantRepository extends JpaRepository<LightningP
 
     List<LightningParticipant> findAllByLightningIdIn(List<Long> lightningIds);
 
+    @Query("select lp.user.id from LightningParticipant lp where lp.lightning.id = :lightningId")
+    List<Long> findUserIdsByLightningId(@Param("lightningId") Long lightningId);
+
+    @Query("select lp.lightning.id from LightningParticipant lp " +
+        "where lp.user.id = :userId and lp.lightning.lightningStatus = :status")
+    List<Long> findLightningIdsByUserIdAndStatus(
+        @Param("userId") Long userId,
+        @Param("status") LightningStatus status
+    );
+
     @Query("select lp.lastReadChatMessageId from LightningParticipant lp " +
         "where lp.lightning.id = :lightningId " +
         "and lp.lastReadChatMessageId is not null " +
@@ -4,9 +4,11 @@ import com.team8.damo.entity.Lightning;
 import com.team8.damo.entity.enumeration.LightningStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LightningRepository extends JpaRepository<Lightning, Long> {
@@ -26,33 +28,11 @@ public interface LightningRepository extends JpaRepository<Lightning, Long> {
     @Query(
         "SELECT l FROM Lightning l " +
             "WHERE l.lightningStatus = :status " +
-            "AND (" +
-            "SELECT COUNT(lp) FROM LightningParticipant lp " +
-            "WHERE lp.lightning = l" +
-            ") < l.maxParticipants " +
-            "AND NOT EXISTS (" +
-            "SELECT 1 FROM LightningParticipant lp " +
-            "WHERE lp.lightning = l AND lp.user.id = :userId" +
-            ")" +
+            "AND l.participantCount < l.maxParticipants " +
             "ORDER BY l.id DESC"
     )
-    List<Lightning> findAllByStatusAndUserNotParticipating(
+    List<Lightning> findAvailableWithCursor(
         @Param("status") LightningStatus status,
-        @Param("userId") Long userId
-    );
-
-    @Query(
-        "SELECT l FROM Lightning l " +
-            "WHERE l.lightningStatus = :status " +
-            "AND NOT EXISTS (" +
-            "SELECT 1 FROM LightningParticipant lp " +
-            "WHERE lp.lightning = l AND lp.user.id = :userId" +
-            ") " +
-            "ORDER BY l.id DESC"
-    )
-    List<Lightning> findAllByStatusAndUserNotParticipatingWithCursor(
-        @Param("status") LightningStatus status,
-        @Param("userId") Long userId,
         Pageable pageable
     );
 
@@ -60,20 +40,41 @@ public interface LightningRepository extends JpaRepository<Lightning, Long> {
         "SELECT l FROM Lightning l " +
             "WHERE l.lightningStatus = :status " +
             "AND l.id < :lastLightningId " +
-            "AND (" +
-            "SELECT COUNT(lp) FROM LightningParticipant lp " +
-            "WHERE lp.lightning = l" +
-            ") < l.maxParticipants " +
-            "AND NOT EXISTS (" +
-            "SELECT 1 FROM LightningParticipant lp " +
-            "WHERE lp.lightning = l AND lp.user.id = :userId" +
-            ") " +
+            "AND l.participantCount < l.maxParticipants " +
             "ORDER BY l.id DESC"
     )
-    List<Lightning> findAllByStatusAndUserNotParticipatingWithCursorAfter(
+    List<Lightning> findAvailableWithCursorAfter(
         @Param("status") LightningStatus status,
-        @Param("userId") Long userId,
         @Param("lastLightningId") Long lastLightningId,
         Pageable pageable
     );
+
+    @Modifying
+    @Query(
+        "UPDATE Lightning l SET l.participantCount = l.participantCount + 1 " +
+            "WHERE l.id = :lightningId AND l.lightningStatus = 'OPEN' AND l.participantCount < l.maxParticipants"
+    )
+    int increaseParticipantCount(@Param("lightningId") Long lightningId);
+
+    @Modifying
+    @Query(
+        "UPDATE Lightning l SET l.participantCount = l.participantCount - 1 " +
+            "WHERE l.id = :lightningId AND l.participantCount > 0"
+    )
+    int decreaseParticipantCount(@Param("lightningId") Long lightningId);
+
+    @Modifying
+    @Query(
+        "UPDATE Lightning l SET l.participantCount = 0 " +
+            "WHERE l.id = :lightningId AND l.participantCount = 1"
+    )
+    int releaseLastSeat(@Param("lightningId") Long lightningId);
+
+    @Modifying
+    @Query(
+        "UPDATE Lightning l SET l.participantCount = (" +
+            "SELECT COUNT(lp) FROM LightningParticipant lp WHERE lp.lightning.id = l.id" +
+            ") WHERE l.id IN :lightningIds"
+    )
+    int syncParticipantCounts(@Param("lightningIds") Collection<Long> lightningIds);
 }
@@ -1,16 +1,39 @@
 package com.team8.damo.repository;
 
 import com.team8.damo.entity.Outbox;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxRepository extends JpaRepository<Outbox, Long> {
 
-    List<Outbox> findAllByCreatedAtLessThanEqualOrderByCreatedAtAsc(
-        LocalDateTime from,
-        Pageable pageable
+    /**
+     * 다른 노드가 잠근 행은 건너뛰므로 동시에 호출한 노드끼리 서로 다른 행을 가져간다.
+     * 잠금은 트랜잭션이 끝날 때까지만 유지되므로 같은 트랜잭션에서 lease 로 nextAttemptAt 을 미뤄야 한다.
+     */
+    @Query(value = """
+        SELECT o.id
+        FROM outbox o
+        WHERE o.next_attempt_at <= :now
+        ORDER BY o.next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> findDueIdsForUpdateSkipLocked(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update Outbox o set o.claimedBy = :claimedBy, o.nextAttemptAt = :leaseUntil where o.id in :ids")
+    int lease(
+        @Param("ids") Collection<Long> ids,
+        @Param("claimedBy") String claimedBy,
+        @Param("leaseUntil") LocalDateTime leaseUntil
     );
+
+    @Query("select min(o.createdAt) from Outbox o")
+    LocalDateTime findOldestCreatedAt();
 }
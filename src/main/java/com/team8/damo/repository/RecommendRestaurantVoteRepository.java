@@ -1,9 +1,13 @@
 package com.team8.damo.repository;
 
 import com.team8.damo.entity.RecommendRestaurantVote;
+import com.team8.damo.repository.projections.RecommendRestaurantVoteCount;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -12,9 +16,19 @@ public interface RecommendRestaurantVoteRepository extends JpaRepository<Recomme
 
     Optional<RecommendRestaurantVote> findByUserIdAndRecommendRestaurantId(Long userId, Long recommendRestaurantId);
 
+    List<RecommendRestaurantVote> findByUserIdAndRecommendRestaurantIdIn(Long userId, Collection<Long> recommendRestaurantIds);
+
     @EntityGraph(attributePaths = {"user"})
     List<RecommendRestaurantVote> findByRecommendRestaurantId(Long recommendRestaurantId);
 
     @EntityGraph(attributePaths = {"user", "recommendRestaurant"})
     List<RecommendRestaurantVote> findByRecommendRestaurantIdIn(Set<Long> recommendRestaurantIds);
+
+    @Query("SELECT v.recommendRestaurant.id AS recommendRestaurantId, v.status AS status, COUNT(v) AS voteCount " +
+        "FROM RecommendRestaurantVote v " +
+        "WHERE v.recommendRestaurant.id IN :recommendRestaurantIds " +
+        "GROUP BY v.recommendRestaurant.id, v.status")
+    List<RecommendRestaurantVoteCount> countByRecommendRestaurantIdIn(
+        @Param("recommendRestaurantIds") Collection<Long> recommendRestaurantIds
+    );
 }
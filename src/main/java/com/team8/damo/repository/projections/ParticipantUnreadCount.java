@@ -0,0 +1,7 @@
+package com.team8.damo.repository.projections;
+
+public interface ParticipantUnreadCount {
+    Long getUserId();
+    Long getLastReadChatMessageId();
+    Long getUnreadCount();
+}
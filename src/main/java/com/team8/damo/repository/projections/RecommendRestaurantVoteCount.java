@@ -0,0 +1,9 @@
+package com.team8.damo.repository.projections;
+
+import com.team8.damo.entity.enumeration.RestaurantVoteStatus;
+
+public interface RecommendRestaurantVoteCount {
+    Long getRecommendRestaurantId();
+    RestaurantVoteStatus getStatus();
+    Long getVoteCount();
+}
@@ -47,6 +47,11 @@ public class SecurityConfig {
         "/actuator/prometheus"
     };
 
+    private static final String[] ADMIN_ONLY = {
+        "/actuator/deadletters",
+        "/actuator/deadletters/**"
+    };
+
     private final JwtProvider jwtProvider;
     private final JwtExceptionFilter jwtExceptionFilter;
     private final CustomLogoutHandler customLogoutHandler;
@@ -73,6 +78,7 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(AUTH_WHITELIST).permitAll()
+                .requestMatchers(ADMIN_ONLY).hasRole("ADMIN")
                 .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,115 @@
+package com.team8.damo.security.handler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_LEGACY_KEY_CLEANUP;
+
+/**
+ * 세션 Hash 로 옮기기 전의 STOMP 구독 키를 한 번만 지운다.
+ *
+ * - lightning:subscription:*, lightning:session:subscriptions:*, lightning:session:user:*
+ * migration:stomp-legacy-keys 를 SET NX 로 선점한 노드만 SCAN + UNLINK 하고, 끝나면 done 으로 남겨 이후 기동에서는 건너뛴다.
+ * 실패하면 표시를 지워 다음 기동에서 다시 시도한다.
+ */
+@Slf4j
+@Component
+public class LegacyStompKeyCleaner {
+
+    static final List<String> LEGACY_PATTERNS = List.of(
+        "lightning:subscription:*",
+        "lightning:session:subscriptions:*",
+        "lightning:session:user:*"
+    );
+    private static final int SCAN_COUNT = 500;
+    private static final Duration RUNNING_TTL = Duration.ofMinutes(10);
+    private static final String RUNNING = "running";
+    private static final String DONE = "done";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ExecutorService cleanupExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "stomp-legacy-key-cleaner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LegacyStompKeyCleaner(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        cleanupExecutor.submit(() -> {
+            try {
+                cleanup();
+            } catch (Exception e) {
+                log.warn("[LegacyStompKeyCleaner.cleanup] failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    private void stop() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    /**
+     * @return 지운 키 수, 다른 노드가 이미 맡았으면 0
+     */
+    long cleanup() {
+        String marker = STOMP_LEGACY_KEY_CLEANUP.key();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(marker, RUNNING, RUNNING_TTL))) {
+            return 0L;
+        }
+
+        try {
+            long deleted = 0L;
+            for (String pattern : LEGACY_PATTERNS) {
+                deleted += unlinkAll(pattern);
+            }
+            redisTemplate.opsForValue().set(marker, DONE);
+            log.info("[LegacyStompKeyCleaner.cleanup] deleted={}", deleted);
+            return deleted;
+        } catch (RuntimeException e) {
+            redisTemplate.delete(marker);
+            throw e;
+        }
+    }
+
+    private long unlinkAll(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+        long deleted = 0L;
+        List<String> batch = new ArrayList<>(SCAN_COUNT);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_COUNT) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return deleted + unlink(batch);
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long unlinked = redisTemplate.unlink(keys);
+        return unlinked == null ? 0L : unlinked;
+    }
+}
@@ -1,25 +1,142 @@
 package com.team8.damo.security.handler;
 
+import com.team8.damo.chat.producer.LightningChannelRegistry;
 import com.team8.damo.service.LightningService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_SUBSCRIBE_USERS;
-import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION_SUBSCRIPTIONS;
-import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION_USER;
-import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SUBSCRIPTION;
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION;
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION_HEARTBEATS;
 
+/**
+ * STOMP 구독 메타데이터 관리
+ *
+ * lightning:session:{sessionId} (Hash)
+ * - user             : userId
+ * - hb               : 마지막 heartbeat 시각(ms)
+ * - s:{subscriptionId} : lightningId
+ * lightning:sessions:heartbeat (ZSet) : sessionId -> 마지막 heartbeat 시각(ms), sweep 후보 조회용
+ *
+ * SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 는 세션 Hash 하나만 다루는 Lua 스크립트로 처리하고,
+ * 스크립트가 돌려준 userId / lightningId 로 구독자 Set 과 heartbeat ZSet 을 같은 pipeline 에서 갱신한다(1 RTT + 1 pipeline).
+ * 스크립트는 KEYS 로 선언한 키만 건드리므로 Redis Cluster 에서도 그대로 동작한다.
+ * 각 노드는 로컬 세션의 heartbeat 와 Hash TTL 을 주기적으로 갱신하고,
+ * heartbeat 가 session-timeout 이상 끊긴 세션(노드 비정상 종료 등)은 sweep 에서 정리한다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class StompSubscriptionCleanupManager {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private static final String SUBSCRIPTION_FIELD_PREFIX = "s:";
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private static final RedisScript<Long> SUBSCRIBE_SCRIPT = new DefaultRedisScript<>("""
+        local added = redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2])
+        redis.call('HSETNX', KEYS[1], 'user', ARGV[3])
+        redis.call('HSET', KEYS[1], 'hb', ARGV[5])
+        redis.call('EXPIRE', KEYS[1], ARGV[4])
+        return added
+        """, Long.class);
+
+    /**
+     * 반환: {userId, lightningId, 세션이 비어 지웠으면 1}, 없는 구독이면 userId / lightningId 는 ''
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UNSUBSCRIBE_SCRIPT = new DefaultRedisScript<>("""
+        local lightningId = redis.call('HGET', KEYS[1], ARGV[1]) or ''
+        local userId = ARGV[2]
+        if lightningId ~= '' then
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            if userId == '' then
+                userId = redis.call('HGET', KEYS[1], 'user') or ''
+            end
+        end
+        local closed = 1
+        local fields = redis.call('HKEYS', KEYS[1])
+        for _, field in ipairs(fields) do
+            if string.sub(field, 1, 2) == 's:' then
+                closed = 0
+                break
+            end
+        end
+        if closed == 1 then
+            redis.call('DEL', KEYS[1])
+        end
+        return {userId, lightningId, closed}
+        """, List.class);
+
+    /**
+     * ARGV[2] 가 비어있지 않으면 heartbeat 가 그 시각 이후로 갱신된 세션은 건드리지 않는다. (sweep 용)
+     * 반환: {userId, lightningId...}, 건너뛰면 {}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLOSE_SESSION_SCRIPT = new DefaultRedisScript<>("""
+        if ARGV[2] ~= '' then
+            local heartbeat = redis.call('HGET', KEYS[1], 'hb')
+            if heartbeat and tonumber(heartbeat) > tonumber(ARGV[2]) then
+                return {}
+            end
+        end
+        local entries = redis.call('HGETALL', KEYS[1])
+        local userId = ARGV[1]
+        local result = {}
+        for i = 1, #entries, 2 do
+            if entries[i] == 'user' then
+                if userId == '' then
+                    userId = entries[i + 1]
+                end
+            elseif string.sub(entries[i], 1, 2) == 's:' then
+                table.insert(result, entries[i + 1])
+            end
+        end
+        redis.call('DEL', KEYS[1])
+        table.insert(result, 1, userId)
+        return result
+        """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
     private final LightningService lightningService;
+    private final LightningChannelRegistry lightningChannelRegistry;
+    private final Duration heartbeatInterval;
+    private final Duration sessionTimeout;
+
+    private final ScheduledExecutorService heartbeatScheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stomp-session-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+
+    public StompSubscriptionCleanupManager(
+        StringRedisTemplate redisTemplate,
+        LightningService lightningService,
+        LightningChannelRegistry lightningChannelRegistry,
+        @Value("${stomp.session.heartbeat-interval-seconds:20}") long heartbeatIntervalSeconds,
+        @Value("${stomp.session.timeout-seconds:60}") long sessionTimeoutSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.lightningService = lightningService;
+        this.lightningChannelRegistry = lightningChannelRegistry;
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatIntervalSeconds);
+        this.sessionTimeout = Duration.ofSeconds(sessionTimeoutSeconds);
+    }
 
     public void registerSubscription(Long userId, String sessionId, String subscriptionId, Long lightningId) {
         if (userId == null || sessionId == null || subscriptionId == null || lightningId == null) {
@@ -28,14 +145,27 @@ public class StompSubscriptionCleanupManager {
             return;
         }
 
-        redisTemplate.opsForValue().set(
-            STOMP_SUBSCRIPTION.key(sessionId, subscriptionId), lightningId.toString()
-        );
-        redisTemplate.opsForSet().add(STOMP_SESSION_SUBSCRIPTIONS.key(sessionId), subscriptionId);
-        redisTemplate.opsForValue().setIfAbsent(STOMP_SESSION_USER.key(sessionId), userId.toString());
-        redisTemplate.opsForSet().add(
-            LIGHTNING_SUBSCRIBE_USERS.key(lightningId), userId.toString()
+        lightningChannelRegistry.register(sessionId, subscriptionId, lightningId);
+
+        long now = System.currentTimeMillis();
+        redisTemplate.execute(
+            SUBSCRIBE_SCRIPT,
+            List.of(STOMP_SESSION.key(sessionId)),
+            subscriptionField(subscriptionId),
+            lightningId.toString(),
+            userId.toString(),
+            String.valueOf(sessionKeyTtl().toSeconds()),
+            String.valueOf(now)
         );
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = cast(operations);
+                ops.opsForZSet().add(STOMP_SESSION_HEARTBEATS.key(), sessionId, now);
+                ops.opsForSet().add(LIGHTNING_SUBSCRIBE_USERS.key(lightningId), userId.toString());
+                return null;
+            }
+        });
 
         lightningService.onSubscribe(userId, lightningId);
     }
@@ -45,27 +175,27 @@ public class StompSubscriptionCleanupManager {
             return;
         }
 
-        String subscriptionKey = STOMP_SUBSCRIPTION.key(sessionId, subscriptionId);
-        String lightningIdStr = redisTemplate.opsForValue().get(subscriptionKey);
-        Boolean deleted = redisTemplate.delete(subscriptionKey);
-        redisTemplate.opsForSet().remove(STOMP_SESSION_SUBSCRIPTIONS.key(sessionId), subscriptionId);
+        lightningChannelRegistry.unregister(sessionId, subscriptionId);
 
-        if (!Boolean.TRUE.equals(deleted)) {
-            cleanupSessionMetadataIfNeeded(sessionId);
+        List<?> result = redisTemplate.execute(
+            UNSUBSCRIBE_SCRIPT,
+            List.of(STOMP_SESSION.key(sessionId)),
+            subscriptionField(subscriptionId),
+            userId == null ? "" : userId.toString()
+        );
+        if (result == null || result.size() < 3) {
             return;
         }
 
-        Long resolvedUserId = resolveUserId(userId, sessionId);
-        Long lightningId = parseLongOrNull(lightningIdStr, subscriptionKey);
-        if (lightningId != null && resolvedUserId != null) {
-            redisTemplate.opsForSet().remove(
-                LIGHTNING_SUBSCRIBE_USERS.key(lightningId),
-                resolvedUserId.toString()
-            );
+        Long resolvedUserId = parseLongOrNull(result.get(0), sessionId);
+        Long lightningId = parseLongOrNull(result.get(1), sessionId);
+        boolean closed = Long.valueOf(1L).equals(result.get(2));
+        List<Long> lightningIds = lightningId == null ? List.of() : List.of(lightningId);
+        removeSubscribers(sessionId, resolvedUserId, lightningIds, closed);
+
+        if (resolvedUserId != null && lightningId != null) {
             lightningService.onUnsubscribe(resolvedUserId, lightningId);
         }
-
-        cleanupSessionMetadataIfNeeded(sessionId);
     }
 
     public void unregisterAllBySession(Long userId, String sessionId) {
@@ -73,48 +203,163 @@ public class StompSubscriptionCleanupManager {
             return;
         }
 
-        Set<String> subscriptionIds = redisTemplate.opsForSet().members(
-            STOMP_SESSION_SUBSCRIPTIONS.key(sessionId)
+        lightningChannelRegistry.unregisterSession(sessionId);
+        closeSession(sessionId, userId == null ? "" : userId.toString(), "");
+    }
+
+    /**
+     * @return 실제로 정리된 구독이 있었는지 여부
+     */
+    private boolean closeSession(String sessionId, String userId, String staleBefore) {
+        List<?> result = redisTemplate.execute(
+            CLOSE_SESSION_SCRIPT,
+            List.of(STOMP_SESSION.key(sessionId)),
+            userId,
+            staleBefore
         );
-        if (subscriptionIds == null || subscriptionIds.isEmpty()) {
-            cleanupSessionMetadataIfNeeded(sessionId);
+        if (result == null || result.isEmpty()) {
+            return false;
+        }
+
+        Long resolvedUserId = parseLongOrNull(result.get(0), sessionId);
+        List<Long> lightningIds = new ArrayList<>();
+        for (Object value : result.subList(1, result.size())) {
+            Long lightningId = parseLongOrNull(value, sessionId);
+            if (lightningId != null) {
+                lightningIds.add(lightningId);
+            }
+        }
+        removeSubscribers(sessionId, resolvedUserId, lightningIds, true);
+
+        if (resolvedUserId == null || lightningIds.isEmpty()) {
+            return false;
+        }
+        for (Long lightningId : lightningIds) {
+            lightningService.onUnsubscribe(resolvedUserId, lightningId);
+        }
+        return true;
+    }
+
+    /**
+     * 스크립트가 정리한 세션 Hash 에 맞춰 구독자 Set 과 heartbeat ZSet 을 갱신한다. 키마다 개별 명령이라 slot 이 달라도 된다.
+     */
+    private void removeSubscribers(String sessionId, Long userId, List<Long> lightningIds, boolean sessionClosed) {
+        boolean removeUser = userId != null && !lightningIds.isEmpty();
+        if (!removeUser && !sessionClosed) {
             return;
         }
 
-        for (String subscriptionId : subscriptionIds) {
-            unregisterSubscription(userId, sessionId, subscriptionId);
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = cast(operations);
+                if (removeUser) {
+                    for (Long lightningId : lightningIds) {
+                        ops.opsForSet().remove(LIGHTNING_SUBSCRIBE_USERS.key(lightningId), userId.toString());
+                    }
+                }
+                if (sessionClosed) {
+                    ops.opsForZSet().remove(STOMP_SESSION_HEARTBEATS.key(), sessionId);
+                }
+                return null;
+            }
+        });
+    }
+
+    @PostConstruct
+    private void startHeartbeat() {
+        heartbeatScheduler.scheduleWithFixedDelay(
+            this::runHeartbeatSafely,
+            heartbeatInterval.toSeconds(),
+            heartbeatInterval.toSeconds(),
+            TimeUnit.SECONDS
+        );
+    }
+
+    @PreDestroy
+    private void stopHeartbeat() {
+        heartbeatScheduler.shutdownNow();
+    }
+
+    private void runHeartbeatSafely() {
+        try {
+            refreshLocalSessions();
+        } catch (Exception e) {
+            log.warn("[StompSubscriptionCleanupManager.refreshLocalSessions] failed", e);
+        }
+        try {
+            sweepStaleSessions();
+        } catch (Exception e) {
+            log.warn("[StompSubscriptionCleanupManager.sweepStaleSessions] failed", e);
         }
-        cleanupSessionMetadataIfNeeded(sessionId);
     }
 
-    private Long resolveUserId(Long userId, String sessionId) {
-        if (userId != null) {
-            return userId;
+    void refreshLocalSessions() {
+        Set<String> sessionIds = lightningChannelRegistry.localSessionIds();
+        if (sessionIds.isEmpty()) {
+            return;
         }
 
-        String userIdStr = redisTemplate.opsForValue().get(STOMP_SESSION_USER.key(sessionId));
-        return parseLongOrNull(userIdStr, STOMP_SESSION_USER.key(sessionId));
+        long now = System.currentTimeMillis();
+        Duration ttl = sessionKeyTtl();
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = cast(operations);
+                for (String sessionId : sessionIds) {
+                    ops.opsForZSet().add(STOMP_SESSION_HEARTBEATS.key(), sessionId, now);
+                    ops.opsForHash().put(STOMP_SESSION.key(sessionId), "hb", String.valueOf(now));
+                    ops.expire(STOMP_SESSION.key(sessionId), ttl);
+                }
+                return null;
+            }
+        });
     }
 
-    private void cleanupSessionMetadataIfNeeded(String sessionId) {
-        String sessionSubscriptionsKey = STOMP_SESSION_SUBSCRIPTIONS.key(sessionId);
-        Long size = redisTemplate.opsForSet().size(sessionSubscriptionsKey);
+    /**
+     * heartbeat 가 끊긴 세션 정리. 여러 노드가 동시에 sweep 해도 스크립트가 세션 Hash 의 hb 를 다시 확인하므로 한 번만 정리된다.
+     */
+    void sweepStaleSessions() {
+        long staleBefore = System.currentTimeMillis() - sessionTimeout.toMillis();
+        Set<String> staleSessionIds = redisTemplate.opsForZSet()
+            .rangeByScore(STOMP_SESSION_HEARTBEATS.key(), 0, staleBefore, 0, SWEEP_BATCH_SIZE);
+        if (staleSessionIds == null || staleSessionIds.isEmpty()) {
+            return;
+        }
 
-        if (size == null || size == 0) {
-            redisTemplate.delete(sessionSubscriptionsKey);
-            redisTemplate.delete(STOMP_SESSION_USER.key(sessionId));
+        int swept = 0;
+        for (String sessionId : staleSessionIds) {
+            if (closeSession(sessionId, "", String.valueOf(staleBefore))) {
+                swept++;
+            }
         }
+        log.info("[StompSubscriptionCleanupManager.sweepStaleSessions] candidates={}, swept={}",
+            staleSessionIds.size(), swept);
+    }
+
+    // heartbeat 가 끊겨 sweep 대상이 된 뒤에도 정리할 수 있도록 Hash 는 timeout 보다 길게 유지한다.
+    private Duration sessionKeyTtl() {
+        return sessionTimeout.multipliedBy(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisOperations<String, String> cast(RedisOperations<?, ?> operations) {
+        return (RedisOperations<String, String>) operations;
+    }
+
+    private String subscriptionField(String subscriptionId) {
+        return SUBSCRIPTION_FIELD_PREFIX + subscriptionId;
     }
 
-    private Long parseLongOrNull(String value, String key) {
-        if (value == null) {
+    private Long parseLongOrNull(Object value, String sessionId) {
+        if (value == null || value.toString().isEmpty()) {
             return null;
         }
 
         try {
-            return Long.valueOf(value);
+            return Long.valueOf(value.toString());
         } catch (NumberFormatException e) {
-            log.warn("Invalid number value in redis. key={}, value={}", key, value);
+            log.warn("Invalid number value in redis. sessionId={}, value={}", sessionId, value);
             return null;
         }
     }
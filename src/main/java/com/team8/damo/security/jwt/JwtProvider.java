@@ -1,5 +1,6 @@
 package com.team8.damo.security.jwt;
 
+import com.team8.damo.entity.enumeration.RoleType;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -32,11 +33,12 @@ public class JwtProvider {
         this.refreshTokenExpTime = refreshTokenExpTime;
     }
 
-    public String createAccessToken(Long userId, String email, String nickname) {
+    public String createAccessToken(Long userId, String email, String nickname, RoleType roleType) {
         Claims claims = Jwts.claims();
         claims.put("userId", userId);
         claims.put("email", email);
         claims.put("nickname", nickname);
+        claims.put("role", roleType.name());
         return createToken(claims, accessTokenExpTime);
     }
 
@@ -72,7 +74,8 @@ public class JwtProvider {
         Long userId = claims.get("userId", Long.class);
         String email = claims.get("email", String.class);
         String nickname = claims.get("nickname", String.class);
-        UserDetails userDetails = new JwtUserDetails(userId, email, nickname);
+        String role = claims.get("role", String.class);
+        UserDetails userDetails = new JwtUserDetails(userId, email, nickname, role);
         return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 
@@ -2,6 +2,7 @@ package com.team8.damo.security.jwt;
 
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -11,16 +12,21 @@ public class JwtUserDetails implements UserDetails {
     private Long userId;
     private String email;
     private String nickname;
+    private String role;
 
-    public JwtUserDetails(Long userId, String email, String nickname) {
+    public JwtUserDetails(Long userId, String email, String nickname, String role) {
         this.userId = userId;
         this.email = email;
         this.nickname = nickname;
+        this.role = role;
     }
 
+    /**
+     * role 클레임이 없는 이전 토큰은 권한 없이 인증만 된다.
+     */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of();
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority(role));
     }
 
     public Long getUserId() {
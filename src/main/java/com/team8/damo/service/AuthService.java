@@ -2,6 +2,7 @@ package com.team8.damo.service;
 
 import com.team8.damo.entity.RefreshToken;
 import com.team8.damo.entity.User;
+import com.team8.damo.entity.enumeration.RoleType;
 import com.team8.damo.exception.CustomException;
 import com.team8.damo.kakao.KakaoResponse;
 import com.team8.damo.kakao.KakaoUtil;
@@ -40,7 +41,7 @@ public class AuthService {
         User user = userRepository.findByEmail(kakaoEmail)
             .orElseGet(() -> join(snowflake.nextId(), kakaoEmail, providerId, isNew));
 
-        String accessToken = jwtProvider.createAccessToken(user.getId(), user.getEmail(), user.getNickname());
+        String accessToken = jwtProvider.createAccessToken(user.getId(), user.getEmail(), user.getNickname(), user.getRoleType());
         String refreshToken = jwtProvider.createRefreshToken(user.getId(), user.getEmail(), user.getNickname());
         refreshTokenRepository.save(new RefreshToken(user.getEmail(), refreshToken));
 
@@ -72,7 +73,7 @@ public class AuthService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new CustomException(USER_NOT_FOUND));
 
-        String newAccessToken = jwtProvider.createAccessToken(userId, email, user.getNickname());
+        String newAccessToken = jwtProvider.createAccessToken(userId, email, user.getNickname(), user.getRoleType());
         String newRefreshToken = jwtProvider.createRefreshToken(userId, email, user.getNickname());
 
         refreshTokenRepository.save(new RefreshToken(email, newRefreshToken));
@@ -82,7 +83,7 @@ public class AuthService {
     @Transactional
     public JwtTokenResponse test() {
         String email = "user2@test.com";
-        String accessToken = jwtProvider.createAccessToken(2L, email, "사용자2");
+        String accessToken = jwtProvider.createAccessToken(2L, email, "사용자2", RoleType.ROLE_USER);
         String refreshToken = jwtProvider.createRefreshToken(2L, email, "사용자2");
         refreshTokenRepository.save(new RefreshToken(email, refreshToken));
         return new JwtTokenResponse(accessToken, refreshToken);
@@ -92,7 +93,7 @@ public class AuthService {
     public JwtTokenResponse test(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new CustomException(USER_NOT_FOUND));
-        String accessToken = jwtProvider.createAccessToken(userId, user.getEmail(), user.getNickname());
+        String accessToken = jwtProvider.createAccessToken(userId, user.getEmail(), user.getNickname(), user.getRoleType());
         String refreshToken = jwtProvider.createRefreshToken(userId, user.getEmail(), user.getNickname());
         refreshTokenRepository.save(new RefreshToken(user.getEmail(), refreshToken));
         return new JwtTokenResponse(accessToken, refreshToken);
@@ -1,12 +1,16 @@
 package com.team8.damo.service;
 
 import co.elastic.apm.api.CaptureSpan;
+import com.team8.damo.cache.dto.ChatMessageCache;
 import com.team8.damo.cache.dto.UserBasicCache;
+import com.team8.damo.cache.store.ChatMessageTailCache;
 import com.team8.damo.cache.store.UserCacheService;
+import com.team8.damo.chat.persistence.ChatMessageWriter;
+import com.team8.damo.chat.persistence.PendingChatMessage;
 import com.team8.damo.chat.producer.ChatMessageBroker;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.chat.unread.UnreadCountIndex;
 import com.team8.damo.controller.request.ChatMessageRequest;
-import com.team8.damo.entity.ChatMessage;
-import com.team8.damo.entity.Lightning;
 import com.team8.damo.entity.LightningParticipant;
 import com.team8.damo.entity.User;
 import com.team8.damo.entity.enumeration.Direction;
@@ -16,7 +20,6 @@ import com.team8.damo.event.payload.CreateChatMessageEventPayload;
 import com.team8.damo.exception.CustomException;
 import com.team8.damo.repository.ChatMessageRepository;
 import com.team8.damo.repository.LightningParticipantRepository;
-import com.team8.damo.repository.LightningRepository;
 import com.team8.damo.repository.UserRepository;
 import com.team8.damo.service.request.ChatMessagePageServiceRequest;
 import com.team8.damo.service.response.ChatMessagePageResponse;
@@ -31,7 +34,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.team8.damo.exception.errorcode.ErrorCode.LIGHTNING_PARTICIPANT_NOT_FOUND;
 import static com.team8.damo.exception.errorcode.ErrorCode.USER_NOT_FOUND;
@@ -44,32 +46,35 @@ public class ChatService {
     private final Snowflake snowflake;
     private final ChatMessageBroker chatMessageBroker;
     private final UserRepository userRepository;
-    private final LightningRepository lightningRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final LightningParticipantRepository lightningParticipantRepository;
     private final CommonEventPublisher commonEventPublisher;
     private final UserCacheService userCacheService;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatMessageTailCache chatMessageTailCache;
+    private final UnreadCountIndex unreadCountIndex;
+    private final LatestMessageIdRegister latestMessageIdRegister;
 
     @Transactional
     @CaptureSpan(value = "chat.create-message", type = "app")
     public void createChatMessage(Long senderId, String nickname, Long lightningId, ChatMessageRequest request, LocalDateTime currentTime) {
-        User userRef = userRepository.getReferenceById(senderId);
-        Lightning lightningRef = lightningRepository.getReferenceById(lightningId);
-
         UserBasicCache userBasic = userCacheService.getUserBasic(senderId);
 
-        ChatMessage chatMessage = ChatMessage.builder()
-            .id(snowflake.nextId())
-            .user(userRef)
-            .lightning(lightningRef)
-            .content(request.content())
-            .build();
-        chatMessageRepository.save(chatMessage);
+        Long messageId = snowflake.nextId();
+        chatMessageWriter.write(new PendingChatMessage(
+            messageId,
+            lightningId,
+            senderId,
+            request.content(),
+            currentTime
+        ));
+        latestMessageIdRegister.advance(lightningId, messageId);
+        unreadCountIndex.increaseMessageCount(lightningId);
 
         commonEventPublisher.publish(
             EventType.CREATE_CHAT_MESSAGE,
             CreateChatMessageEventPayload.builder()
-                .messageId(chatMessage.getId())
+                .messageId(messageId)
                 .senderId(senderId)
                 .lightningId(lightningId)
                 .chatType(request.chatType())
@@ -92,67 +97,65 @@ public class ChatService {
         Long cursorId = request.cursorId();
         int size = request.size();
 
-        NavigableMap<Long, Long> unreadCountMap = getUnreadCountMap(lightningId, userId);
-
         if (cursorId == null) {
-            return buildInitialResponse(lightningId, anchorCursor, size, unreadCountMap);
+            return buildInitialResponse(lightningId, userId, anchorCursor, size);
         }
 
         Direction effectiveDirection = direction == null ? Direction.NEXT : direction;
-        return buildDirectionalResponse(lightningId, effectiveDirection, cursorId, size, anchorCursor, unreadCountMap);
+        return buildDirectionalResponse(lightningId, userId, effectiveDirection, cursorId, size, anchorCursor);
     }
 
-    private ChatMessagePageResponse buildInitialResponse(Long lightningId, Long anchorCursor, int size, NavigableMap<Long, Long> unreadCountMap) {
-        Long latestMessageId = chatMessageRepository.findLatestMessageId(lightningId);
+    private ChatMessagePageResponse buildInitialResponse(Long lightningId, Long viewerId, Long anchorCursor, int size) {
+        Long latestMessageId = latestMessageIdRegister.get(lightningId);
 
         if (latestMessageId == null) {
             return buildResponse(
                 List.of(), null, null, false, false, size, anchorCursor,
                 InitialScrollMode.TOP,
                 new ReadBoundary(false, null, null),
-                unreadCountMap
+                lightningId, viewerId
             );
         }
 
         if (anchorCursor <= 0L) {
-            return buildTopInitialResponse(lightningId, anchorCursor, size, unreadCountMap);
+            return buildTopInitialResponse(lightningId, viewerId, anchorCursor, size);
         }
 
         if (latestMessageId <= anchorCursor) {
-            return buildBottomInitialResponse(lightningId, anchorCursor, size, unreadCountMap);
+            return buildBottomInitialResponse(lightningId, viewerId, anchorCursor, size);
         }
 
-        return buildCenteredInitialResponse(lightningId, anchorCursor, size, unreadCountMap);
+        return buildCenteredInitialResponse(lightningId, viewerId, anchorCursor, size);
     }
 
-    private ChatMessagePageResponse buildTopInitialResponse(Long lightningId, Long anchorCursor, int size, NavigableMap<Long, Long> unreadCountMap) {
+    private ChatMessagePageResponse buildTopInitialResponse(Long lightningId, Long viewerId, Long anchorCursor, int size) {
         MessageSlice nextSlice = fetchNextSlice(lightningId, 0L, size);
         return buildResponse(
             nextSlice.messages(), null, null, false, nextSlice.hasMore(), size, anchorCursor,
             InitialScrollMode.TOP,
             new ReadBoundary(false, null, null),
-            unreadCountMap
+            lightningId, viewerId
         );
     }
 
-    private ChatMessagePageResponse buildBottomInitialResponse(Long lightningId, Long anchorCursor, int size, NavigableMap<Long, Long> unreadCountMap) {
+    private ChatMessagePageResponse buildBottomInitialResponse(Long lightningId, Long viewerId, Long anchorCursor, int size) {
         MessageSlice prevSlice = fetchPrevSlice(lightningId, Long.MAX_VALUE, size);
-        Long displayedLastRead = prevSlice.messages().isEmpty() ? null : prevSlice.messages().getLast().getId();
+        Long displayedLastRead = prevSlice.messages().isEmpty() ? null : prevSlice.messages().getLast().id();
 
         return buildResponse(
             prevSlice.messages(), null, null, prevSlice.hasMore(), false, size, anchorCursor,
             InitialScrollMode.BOTTOM,
             new ReadBoundary(false, displayedLastRead, null),
-            unreadCountMap
+            lightningId, viewerId
         );
     }
 
-    private ChatMessagePageResponse buildCenteredInitialResponse(Long lightningId, Long anchorCursor, int size, NavigableMap<Long, Long> unreadCountMap) {
+    private ChatMessagePageResponse buildCenteredInitialResponse(Long lightningId, Long viewerId, Long anchorCursor, int size) {
         MessageSlice prevSlice = fetchPrevOrEqualSlice(lightningId, anchorCursor, size);
         MessageSlice nextSlice = fetchNextSlice(lightningId, anchorCursor, size);
 
-        List<ChatMessage> prevMessages = prevSlice.messages();
-        List<ChatMessage> nextMessages = nextSlice.messages();
+        List<ChatMessageCache> prevMessages = prevSlice.messages();
+        List<ChatMessageCache> nextMessages = nextSlice.messages();
 
         int targetRight = size / 2;
         int targetLeft = size - targetRight;
@@ -165,15 +168,15 @@ public class ChatService {
             targetLeft = Math.min(prevMessages.size(), size - targetRight);
         }
 
-        List<ChatMessage> selectedLeft = takeLast(prevMessages, targetLeft);
-        List<ChatMessage> selectedRight = takeFirst(nextMessages, targetRight);
+        List<ChatMessageCache> selectedLeft = takeLast(prevMessages, targetLeft);
+        List<ChatMessageCache> selectedRight = takeFirst(nextMessages, targetRight);
 
         int remaining = size - selectedLeft.size() - selectedRight.size();
         if (remaining > 0) {
-            List<ChatMessage> nextRemainder = nextMessages.subList(selectedRight.size(), nextMessages.size());
-            List<ChatMessage> nextExtra = takeFirst(nextRemainder, remaining);
+            List<ChatMessageCache> nextRemainder = nextMessages.subList(selectedRight.size(), nextMessages.size());
+            List<ChatMessageCache> nextExtra = takeFirst(nextRemainder, remaining);
 
-            List<ChatMessage> rightCombined = new ArrayList<>(selectedRight);
+            List<ChatMessageCache> rightCombined = new ArrayList<>(selectedRight);
             rightCombined.addAll(nextExtra);
             selectedRight = rightCombined;
             remaining -= nextExtra.size();
@@ -181,41 +184,41 @@ public class ChatService {
 
         if (remaining > 0) {
             int remainingPrevEnd = Math.max(0, prevMessages.size() - selectedLeft.size());
-            List<ChatMessage> prevRemainder = prevMessages.subList(0, remainingPrevEnd);
-            List<ChatMessage> prevExtra = takeLast(prevRemainder, remaining);
+            List<ChatMessageCache> prevRemainder = prevMessages.subList(0, remainingPrevEnd);
+            List<ChatMessageCache> prevExtra = takeLast(prevRemainder, remaining);
 
-            List<ChatMessage> leftCombined = new ArrayList<>(prevExtra);
+            List<ChatMessageCache> leftCombined = new ArrayList<>(prevExtra);
             leftCombined.addAll(selectedLeft);
             selectedLeft = leftCombined;
         }
 
-        List<ChatMessage> merged = new ArrayList<>(selectedLeft);
+        List<ChatMessageCache> merged = new ArrayList<>(selectedLeft);
         merged.addAll(selectedRight);
-        merged.sort(Comparator.comparing(ChatMessage::getId));
+        merged.sort(Comparator.comparing(ChatMessageCache::id));
 
         boolean hasPreviousPage = prevSlice.hasMore() || prevMessages.size() > selectedLeft.size();
         boolean hasNextPage = nextSlice.hasMore() || nextMessages.size() > selectedRight.size();
 
-        Long lastReadMessageId = selectedLeft.isEmpty() ? null : selectedLeft.getLast().getId();
-        Long firstUnreadMessageId = selectedRight.isEmpty() ? null : selectedRight.getFirst().getId();
+        Long lastReadMessageId = selectedLeft.isEmpty() ? null : selectedLeft.getLast().id();
+        Long firstUnreadMessageId = selectedRight.isEmpty() ? null : selectedRight.getFirst().id();
         boolean showDivider = lastReadMessageId != null && firstUnreadMessageId != null;
 
         return buildResponse(
             merged, null, null, hasPreviousPage, hasNextPage, size, anchorCursor,
             InitialScrollMode.CENTER,
             new ReadBoundary(showDivider, lastReadMessageId, firstUnreadMessageId),
-            unreadCountMap
+            lightningId, viewerId
         );
     }
 
-    private ChatMessagePageResponse buildDirectionalResponse(Long lightningId, Direction direction, Long cursorId, int size, Long anchorCursor, NavigableMap<Long, Long> unreadCountMap) {
+    private ChatMessagePageResponse buildDirectionalResponse(Long lightningId, Long viewerId, Direction direction, Long cursorId, int size, Long anchorCursor) {
         if (direction == Direction.PREV) {
             MessageSlice prevSlice = fetchPrevSlice(lightningId, cursorId, size);
             return buildResponse(
                 prevSlice.messages(), Direction.PREV, cursorId, prevSlice.hasMore(), false, size, anchorCursor,
                 InitialScrollMode.NONE,
                 new ReadBoundary(false, null, null),
-                unreadCountMap
+                lightningId, viewerId
             );
         } else {
             MessageSlice nextSlice = fetchNextSlice(lightningId, cursorId, size);
@@ -223,54 +226,63 @@ public class ChatService {
                 nextSlice.messages(), Direction.NEXT, cursorId, false, nextSlice.hasMore(), size, anchorCursor,
                 InitialScrollMode.NONE,
                 new ReadBoundary(false, null, null),
-                unreadCountMap
+                lightningId, viewerId
             );
         }
     }
 
     private MessageSlice fetchNextSlice(Long lightningId, Long cursorId, int size) {
-        List<ChatMessage> raw = chatMessageRepository.findNextMessages(
-            lightningId, cursorId,
-            PageRequest.of(0, size + 1, Sort.by(Sort.Direction.ASC, "id"))
-        );
+        List<ChatMessageCache> raw = chatMessageTailCache.findNext(lightningId, cursorId, size + 1)
+            .orElseGet(() -> chatMessageRepository.findNextMessages(
+                    lightningId, cursorId,
+                    PageRequest.of(0, size + 1, Sort.by(Sort.Direction.ASC, "id"))
+                ).stream()
+                .map(ChatMessageCache::from)
+                .toList());
         boolean hasMore = raw.size() > size;
-        List<ChatMessage> messages = hasMore ? raw.subList(0, size) : raw;
+        List<ChatMessageCache> messages = hasMore ? raw.subList(0, size) : raw;
         return new MessageSlice(messages, hasMore);
     }
 
     private MessageSlice fetchPrevSlice(Long lightningId, Long cursorId, int size) {
-        List<ChatMessage> raw = chatMessageRepository.findPrevMessages(
-            lightningId, cursorId,
-            PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "id"))
-        );
+        List<ChatMessageCache> raw = chatMessageTailCache.findPrev(lightningId, cursorId, false, size + 1)
+            .orElseGet(() -> chatMessageRepository.findPrevMessages(
+                    lightningId, cursorId,
+                    PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "id"))
+                ).stream()
+                .map(ChatMessageCache::from)
+                .toList());
         return toPrevSlice(raw, size);
     }
 
     private MessageSlice fetchPrevOrEqualSlice(Long lightningId, Long cursorId, int size) {
-        List<ChatMessage> raw = chatMessageRepository.findPrevOrEqualMessages(
-            lightningId, cursorId,
-            PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "id"))
-        );
+        List<ChatMessageCache> raw = chatMessageTailCache.findPrev(lightningId, cursorId, true, size + 1)
+            .orElseGet(() -> chatMessageRepository.findPrevOrEqualMessages(
+                    lightningId, cursorId,
+                    PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "id"))
+                ).stream()
+                .map(ChatMessageCache::from)
+                .toList());
         return toPrevSlice(raw, size);
     }
 
-    private MessageSlice toPrevSlice(List<ChatMessage> raw, int size) {
+    private MessageSlice toPrevSlice(List<ChatMessageCache> raw, int size) {
         boolean hasMore = raw.size() > size;
-        List<ChatMessage> nearest = hasMore ? raw.subList(0, size) : raw;
+        List<ChatMessageCache> nearest = hasMore ? raw.subList(0, size) : raw;
 
-        List<ChatMessage> ascMessages = new ArrayList<>(nearest);
-        ascMessages.sort(Comparator.comparing(ChatMessage::getId));
+        List<ChatMessageCache> ascMessages = new ArrayList<>(nearest);
+        ascMessages.sort(Comparator.comparing(ChatMessageCache::id));
         return new MessageSlice(ascMessages, hasMore);
     }
 
-    private List<ChatMessage> takeFirst(List<ChatMessage> messages, int count) {
+    private List<ChatMessageCache> takeFirst(List<ChatMessageCache> messages, int count) {
         if (count <= 0 || messages.isEmpty()) {
             return List.of();
         }
         return new ArrayList<>(messages.subList(0, Math.min(count, messages.size())));
     }
 
-    private List<ChatMessage> takeLast(List<ChatMessage> messages, int count) {
+    private List<ChatMessageCache> takeLast(List<ChatMessageCache> messages, int count) {
         if (count <= 0 || messages.isEmpty()) {
             return List.of();
         }
@@ -279,7 +291,7 @@ public class ChatService {
     }
 
     private void updateLastReadToLatest(LightningParticipant participant, Long lightningId) {
-        Long latestMessageId = chatMessageRepository.findLatestMessageId(lightningId);
+        Long latestMessageId = latestMessageIdRegister.get(lightningId);
         if (latestMessageId == null) {
             return;
         }
@@ -288,7 +300,7 @@ public class ChatService {
     }
 
     private ChatMessagePageResponse buildResponse(
-        List<ChatMessage> messages,
+        List<ChatMessageCache> messages,
         Direction requestDirection,
         Long requestCursorId,
         boolean hasPreviousPage,
@@ -297,22 +309,24 @@ public class ChatService {
         Long anchorCursor,
         InitialScrollMode initialScrollMode,
         ReadBoundary readBoundary,
-        NavigableMap<Long, Long> unreadCountMap
+        Long lightningId,
+        Long viewerId
     ) {
+        NavigableMap<Long, Long> unreadCountMap = getUnreadCountMap(lightningId, viewerId, messages);
         List<MessageItem> items = messages.stream()
             .map(cm -> new MessageItem(
-                cm.getId(),
-                cm.getUser().getId(),
-                cm.getUser().getNickname(),
-                cm.getUser().getImagePath(),
-                cm.getContent(),
-                cm.getCreatedAt(),
-                unreadForMessage(unreadCountMap, cm.getId())
+                cm.id(),
+                cm.senderId(),
+                cm.senderNickname(),
+                cm.senderImagePath(),
+                cm.content(),
+                cm.createdAt(),
+                unreadForMessage(unreadCountMap, cm.id())
             ))
             .toList();
 
-        Long prevCursor = messages.isEmpty() ? null : messages.getFirst().getId();
-        Long nextCursor = messages.isEmpty() ? null : messages.getLast().getId();
+        Long prevCursor = messages.isEmpty() ? null : messages.getFirst().id();
+        Long nextCursor = messages.isEmpty() ? null : messages.getLast().id();
 
         PageParam previousPageParam = hasPreviousPage ? new PageParam(Direction.PREV, prevCursor) : null;
         PageParam nextPageParam = hasNextPage ? new PageParam(Direction.NEXT, nextCursor) : null;
@@ -332,7 +346,7 @@ public class ChatService {
     }
 
     private record MessageSlice(
-        List<ChatMessage> messages,
+        List<ChatMessageCache> messages,
         boolean hasMore
     ) {
     }
@@ -342,22 +356,14 @@ public class ChatService {
             .orElseThrow(() -> new CustomException(USER_NOT_FOUND));
     }
 
-    private NavigableMap<Long, Long> getUnreadCountMap(Long lightningId, Long userId) {
-        List<Long> lastChatMessageIds = lightningParticipantRepository.findParticipantsLastChatMessageIds(lightningId, userId);
-        NavigableMap<Long, Long> countMap = lastChatMessageIds.stream()
-            .collect(Collectors.groupingBy(
-                lastChatMessageId -> lastChatMessageId,
-                TreeMap::new,
-                Collectors.counting())
-            );
-
-        long sum = 0L;
-        for (Map.Entry<Long, Long> e : countMap.entrySet()) {
-            sum += e.getValue();
-            e.setValue(sum);
+    /**
+     * messages 는 id 오름차순이다. 페이지 구간에 걸친 읽음 커서만 조회한다.
+     */
+    private NavigableMap<Long, Long> getUnreadCountMap(Long lightningId, Long viewerId, List<ChatMessageCache> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyNavigableMap();
         }
-
-        return countMap;
+        return unreadCountIndex.getUnreadPrefixMap(lightningId, viewerId, messages.getFirst().id(), messages.getLast().id());
     }
 
     private long unreadForMessage(NavigableMap<Long, Long> unreadPrefixMap, Long messageId) {
@@ -1,8 +1,12 @@
 package com.team8.damo.service;
 
+import com.team8.damo.cache.store.RestaurantCache;
 import com.team8.damo.client.AiService;
 import com.team8.damo.client.request.DiningData;
 import com.team8.damo.client.request.RestaurantVoteResult;
+import com.team8.damo.dining.RecommendationStreamStore;
+import com.team8.damo.dining.RestaurantVoteTally;
+import com.team8.damo.dining.VoteCounts;
 import com.team8.damo.entity.*;
 import com.team8.damo.entity.enumeration.*;
 import com.team8.damo.event.EventType;
@@ -16,7 +20,6 @@ import com.team8.damo.service.request.DiningCreateServiceRequest;
 import com.team8.damo.service.request.ReceiptOcrServiceRequest;
 import com.team8.damo.service.request.RestaurantVoteServiceRequest;
 import com.team8.damo.service.response.*;
-import com.team8.damo.util.DataSerializer;
 import com.team8.damo.util.Snowflake;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -50,6 +53,9 @@ public class DiningService {
     private final RecommendRestaurantRepository recommendRestaurantRepository;
     private final RecommendRestaurantVoteRepository recommendRestaurantVoteRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantCache restaurantCache;
+    private final RestaurantVoteTally restaurantVoteTally;
+    private final RecommendationStreamStore recommendationStreamStore;
     private final ApplicationEventPublisher eventPublisher;
     private final AiService aiService;
     private final CommonEventPublisher commonEventPublisher;
@@ -149,21 +155,51 @@ public class DiningService {
             throw new CustomException(ONLY_ATTEND_PARTICIPANT_CAN_VOTE);
         }
 
-        return mapToVoteDetailResponses(userId, recommendRestaurants);
+        return mapToVoteDetailResponses(userId, dining, recommendRestaurants);
     }
 
-    private List<RestaurantVoteDetailResponse> mapToVoteDetailResponses(Long userId, List<RecommendRestaurant> recommendRestaurants) {
-        return recommendRestaurants.stream()
-            .map(recommendRestaurant -> {
-                Restaurant restaurant = restaurantRepository.findById(recommendRestaurant.getRestaurantId())
-                    .orElseThrow(() -> new CustomException(RESTAURANT_NOT_FOUND));
+    /**
+     * 후보 수와 관계없이 식당 조회(캐시 miss 분만 findAllById) 1회 + 사용자 투표 IN 조회 1회
+     * 좋아요/싫어요 수는 RestaurantVoteTally 의 실시간 집계를 쓰고, 없으면 컬럼 값을 쓴다.
+     */
+    private List<RestaurantVoteDetailResponse> mapToVoteDetailResponses(
+        Long userId, Dining dining, List<RecommendRestaurant> recommendRestaurants
+    ) {
+        if (recommendRestaurants.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> recommendRestaurantIds = recommendRestaurants.stream().map(RecommendRestaurant::getId).toList();
+
+        Map<String, Restaurant> restaurantMap = restaurantCache.getAll(
+            recommendRestaurants.stream().map(RecommendRestaurant::getRestaurantId).toList()
+        );
+
+        Map<Long, RestaurantVoteStatus> userVoteStatusMap = recommendRestaurantVoteRepository
+            .findByUserIdAndRecommendRestaurantIdIn(userId, recommendRestaurantIds)
+            .stream()
+            .collect(Collectors.toMap(
+                vote -> vote.getRecommendRestaurant().getId(),
+                RecommendRestaurantVote::getStatus
+            ));
 
-                RestaurantVoteStatus userVoteStatus = recommendRestaurantVoteRepository
-                    .findByUserIdAndRecommendRestaurantId(userId, recommendRestaurant.getId())
-                    .map(RecommendRestaurantVote::getStatus)
-                    .orElse(null);
+        Map<Long, VoteCounts> voteCountsMap = restaurantVoteTally.getCounts(
+            dining.getId(), dining.getRecommendationCount(), recommendRestaurantIds
+        );
 
-                return RestaurantVoteDetailResponse.of(recommendRestaurant, restaurant, userVoteStatus);
+        return recommendRestaurants.stream()
+            .map(recommendRestaurant -> {
+                Restaurant restaurant = restaurantMap.get(recommendRestaurant.getRestaurantId());
+                if (restaurant == null) {
+                    throw new CustomException(RESTAURANT_NOT_FOUND);
+                }
+                VoteCounts voteCounts = voteCountsMap.getOrDefault(
+                    recommendRestaurant.getId(),
+                    new VoteCounts(recommendRestaurant.getLikeCount(), recommendRestaurant.getDislikeCount())
+                );
+                return RestaurantVoteDetailResponse.of(
+                    recommendRestaurant, restaurant, userVoteStatusMap.get(recommendRestaurant.getId()), voteCounts
+                );
             })
             .toList();
     }
@@ -182,56 +218,32 @@ public class DiningService {
 
         if (isFirstVote) {
             diningRepository.increaseAttendanceVoteDoneCount(diningId);
-            triggerRestaurantRecommendationV2(groupId, dining);
+            triggerRestaurantRecommendationV2(diningId);
         }
 
         return participant.getAttendanceVoteStatus();
     }
 
-    private void triggerRestaurantRecommendation(Long groupId, Dining dining) {
-        int voteDoneCount = diningRepository.getAttendanceVoteDoneCount(dining.getId());
-        int totalParticipants = diningParticipantRepository.countByDiningId(dining.getId());
-
-        if (voteDoneCount < totalParticipants) return;
-
-        // 모두 참석 투표를 완료하면 AI 장소 추천 요청
-        Group group = findGroupBy(groupId);
-        Dining refreshDining = findDiningBy(dining.getId());
-        List<Long> userIds = createAttendParticipantIds(dining);
-
-        commonEventPublisher.publish(
-            EventType.RECOMMENDATION_REQUEST,
-            RecommendationEventPayload.builder()
-                .group(group)
-                .dining(dining)
-                .userIds(userIds)
-                .build()
-        );
-
-        refreshDining.startRecommendationPending();
-    }
-
     // kafka 도입 후 해당 메서드를 수행
-    private void triggerRestaurantRecommendationV2(Long groupId, Dining dining) {
-        int voteDoneCount = diningRepository.getAttendanceVoteDoneCount(dining.getId());
-        int totalParticipants = diningParticipantRepository.countByDiningId(dining.getId());
-
-        if (voteDoneCount < totalParticipants) return;
+    private void triggerRestaurantRecommendationV2(Long diningId) {
+        // 마지막 투표자 한 명만 1 을 받는다 (increaseAttendanceVoteDoneCount 의 행 잠금 안에서 판정)
+        int completed = diningRepository.completeAttendanceVoting(
+            diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING
+        );
+        if (completed == 0) return;
 
         // 모두 참석 투표를 완료하면 AI 장소 추천 요청
-        Group group = findGroupBy(groupId);
-        Dining refreshDining = findDiningBy(dining.getId());
+        Dining dining = diningRepository.findByIdWithGroup(diningId)
+            .orElseThrow(() -> new CustomException(DINING_NOT_FOUND));
         List<Long> userIds = createAttendParticipantIds(dining);
 
         commonEventPublisher.publishKafka(
             EventType.RECOMMENDATION_REQUEST,
             RecommendationV2EventPayload.builder()
-                .diningData(createDiningData(group, dining))
+                .diningData(createDiningData(dining.getGroup(), dining))
                 .userIds(userIds)
                 .build()
         );
-
-        refreshDining.startRecommendationPending();
     }
 
     @Transactional
@@ -277,6 +289,9 @@ public class DiningService {
 
         Group group = findGroupBy(groupId);
 
+        // createVoteResult 가 setVoteCounts 전에 flush 하도록 먼저 바꿔, dining 행 -> 추천 장소 행 순으로 잠근다. (RestaurantVoteTallyFlusher 와 같은 순서)
+        dining.startRecommendationPending();
+
         DiningData diningData = createDiningData(group, dining);
         List<Long> userIds = createAttendParticipantIds(dining);
         List<RestaurantVoteResult> voteResultList = createVoteResult(diningId, dining.getRecommendationCount());
@@ -289,8 +304,6 @@ public class DiningService {
                 .voteResultList(voteResultList)
                 .build()
         );
-
-        dining.startRecommendationPending();
     }
 
     private List<Long> createAttendParticipantIds(Dining dining) {
@@ -380,7 +393,7 @@ public class DiningService {
 
         String resultStatus = recommendRestaurantVoteRepository
             .findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId)
-            .map(previousVote -> handlePreviousVote(previousVote, newStatus, recommendRestaurantId))
+            .map(previousVote -> handlePreviousVote(previousVote, newStatus, restaurant))
             .orElseGet(() -> createNewVote(user, restaurant, newStatus));
 
         return RestaurantVoteResponse.of(recommendRestaurantId, resultStatus);
@@ -389,18 +402,17 @@ public class DiningService {
     private String handlePreviousVote(
         RecommendRestaurantVote previousVote,
         RestaurantVoteStatus newStatus,
-        Long recommendRestaurantId
+        RecommendRestaurant restaurant
     ) {
         RestaurantVoteStatus previousStatus = previousVote.getStatus();
 
         if (previousStatus == newStatus) {
             recommendRestaurantVoteRepository.delete(previousVote);
-            previousStatus.decreaseCount(recommendRestaurantId, recommendRestaurantRepository);
+            restaurantVoteTally.recordAfterCommit(restaurant, previousStatus, null);
             return VOTE_CANCELLED;
         }
 
-        previousStatus.decreaseCount(recommendRestaurantId, recommendRestaurantRepository);
-        newStatus.increaseCount(recommendRestaurantId, recommendRestaurantRepository);
+        restaurantVoteTally.recordAfterCommit(restaurant, previousStatus, newStatus);
         previousVote.changeStatus(newStatus);
         return newStatus.name();
     }
@@ -413,7 +425,7 @@ public class DiningService {
             .status(newStatus)
             .build();
         recommendRestaurantVoteRepository.save(newVote);
-        newStatus.increaseCount(restaurant.getId(), recommendRestaurantRepository);
+        restaurantVoteTally.recordAfterCommit(restaurant, null, newStatus);
         return newStatus.name();
     }
 
@@ -572,31 +584,9 @@ public class DiningService {
         );
     }
 
-//    public CursorPageResponse<RecommendationStreamingResponse> getRecommendationStreaming(Long diningId, Long cursor, int limit) {
-//        String key = RedisKeyPrefix.DINING_RECOMMENDATION_STREAMING.key(diningId);
-//
-//        long start = ((cursor == null ? 0 : cursor - 1) + limit) * -1;
-//        long end = cursor == null ? -1 : -1 * cursor;
-//
-//        List<String> values = redisTemplate.opsForList().range(key, start, end);
-//        if (values == null || values.isEmpty()) {
-//            return new CursorPageResponse<>(List.of(), null, false);
-//        }
-//
-//        List<RecommendationStreamingResponse> items = values.stream()
-//            .map(value -> DataSerializer.deserialize(value, RecommendationStreamingResponse.class))
-//            .toList();
-//
-//        boolean hasNext = items.size() >= limit;
-//        Long nextCursor = (start - 1) * -1;
-//
-//        return new CursorPageResponse<>(items, nextCursor, hasNext);
-//    }
-
     public List<RecommendationStreamingResponse> getRecommendationStreaming(Long diningId) {
-        String key = RedisKeyPrefix.DINING_RECOMMENDATION_STREAMING.key(diningId);
-        return redisTemplate.opsForList().range(key, 0, -1).stream()
-            .map(value -> DataSerializer.deserialize(value, RecommendationStreamingResponse.class))
+        return recommendationStreamStore.readAll(diningId).stream()
+            .map(RecommendationStreamStore.Entry::response)
             .toList();
     }
 
@@ -615,6 +605,10 @@ public class DiningService {
         );
     }
 
+    /**
+     * 확정 시점의 좋아요/싫어요 수는 투표 행으로 다시 세어 recommend_restaurants 에 반영한다.
+     * 이후 투표는 닫히므로 Redis 집계는 커밋 뒤 버린다.
+     */
     private List<RestaurantVoteResult> createVoteResult(Long diningId, int recommendationCount) {
         Map<Long, RecommendRestaurant> recommendRestaurantMap = recommendRestaurantRepository
             .findByDiningIdAndRecommendationCount(diningId, recommendationCount)
@@ -646,16 +640,25 @@ public class DiningService {
             diningId, recommendationCount, restaurantIdMap, likeUserMap, dislikeUserMap
         );
 
-        return recommendRestaurantMap.values().stream()
-            .map(recommendRestaurant ->
-                RestaurantVoteResult.builder()
+        List<RestaurantVoteResult> voteResults = recommendRestaurantMap.values().stream()
+            .map(recommendRestaurant -> {
+                List<Long> likedUserIds = likeUserMap.getOrDefault(recommendRestaurant.getId(), List.of());
+                List<Long> dislikedUserIds = dislikeUserMap.getOrDefault(recommendRestaurant.getId(), List.of());
+                recommendRestaurantRepository.setVoteCounts(
+                    recommendRestaurant.getId(), likedUserIds.size(), dislikedUserIds.size()
+                );
+
+                return RestaurantVoteResult.builder()
                     .restaurantId(recommendRestaurant.getRestaurantId())
-                    .likeCount(recommendRestaurant.getLikeCount())
-                    .dislikeCount(recommendRestaurant.getDislikeCount())
-                    .likedUserIds(likeUserMap.getOrDefault(recommendRestaurant.getId(), List.of()))
-                    .dislikedUserIds(dislikeUserMap.getOrDefault(recommendRestaurant.getId(), List.of()))
-                    .build()
-            )
+                    .likeCount(likedUserIds.size())
+                    .dislikeCount(dislikedUserIds.size())
+                    .likedUserIds(likedUserIds)
+                    .dislikedUserIds(dislikedUserIds)
+                    .build();
+            })
             .toList();
+
+        restaurantVoteTally.evictAfterCommit(diningId, recommendationCount);
+        return voteResults;
     }
 }
@@ -2,6 +2,8 @@ package com.team8.damo.service;
 
 import com.team8.damo.aop.DistridutedLock;
 import com.team8.damo.cache.CacheSpec;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.chat.unread.UnreadCountIndex;
 import com.team8.damo.entity.Lightning;
 import com.team8.damo.entity.LightningParticipant;
 import com.team8.damo.entity.Restaurant;
@@ -11,8 +13,9 @@ import com.team8.damo.event.EventType;
 import com.team8.damo.event.handler.CommonEventPublisher;
 import com.team8.damo.event.payload.UpdateUnreadCountEventPayload;
 import com.team8.damo.exception.CustomException;
+import com.team8.damo.exception.errorcode.ErrorCode;
+import com.team8.damo.lightning.LightningSeatRegistry;
 import com.team8.damo.repository.*;
-import com.team8.damo.repository.projections.UnreadCount;
 import com.team8.damo.service.request.LightningCreateServiceRequest;
 import com.team8.damo.service.response.AvailableLightningResponse;
 import com.team8.damo.service.response.CursorPageResponse;
@@ -26,8 +29,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.team8.damo.exception.errorcode.ErrorCode.*;
@@ -42,36 +47,48 @@ public class LightningService {
     private final LightningRepository lightningRepository;
     private final LightningParticipantRepository lightningParticipantRepository;
     private final RestaurantRepository restaurantRepository;
-    private final ChatMessageRepository chatMessageRepository;
     private final CommonEventPublisher commonEventPublisher;
+    private final UnreadCountIndex unreadCountIndex;
+    private final LatestMessageIdRegister latestMessageIdRegister;
+    private final LightningSeatRegistry lightningSeatRegistry;
 
     @Transactional
-    @DistridutedLock(key = "#lightningId")
     @CacheEvict(
         cacheNames = CacheSpec.lightningParticipantCount,
         key = "#lightningId"
     )
     public Long joinLightning(Long userId, Long lightningId) {
-        Lightning lightning = findLightningBy(lightningId);
-
-        if (lightning.getLightningStatus() != LightningStatus.OPEN) {
-            throw new CustomException(LIGHTNING_CLOSED);
-        }
-
+        // 이미 참여 중이면 좌석을 건드리지 않는다. (Redis 좌석이 비어 있어도 예약 후 롤백으로 남의 좌석을 풀지 않도록)
         if (lightningParticipantRepository.existsByLightningIdAndUserId(lightningId, userId)) {
             throw new CustomException(DUPLICATE_LIGHTNING_PARTICIPANT);
         }
 
-        if (lightningParticipantRepository.countByLightningId(lightningId) >= lightning.getMaxParticipants()) {
-            throw new CustomException(LIGHTNING_CAPACITY_EXCEEDED);
+        // 참여자 id 를 이번 시도의 예약 토큰으로 쓴다.
+        Long participantId = snowflake.nextId();
+        String reservationToken = String.valueOf(participantId);
+        switch (lightningSeatRegistry.reserve(lightningId, userId, reservationToken)) {
+            case NOT_FOUND -> throw new CustomException(LIGHTNING_NOT_FOUND);
+            case CLOSED -> throw new CustomException(LIGHTNING_CLOSED);
+            case DUPLICATE -> throw new CustomException(DUPLICATE_LIGHTNING_PARTICIPANT);
+            case FULL -> throw new CustomException(LIGHTNING_CAPACITY_EXCEEDED);
+            case RESERVED -> lightningSeatRegistry.releaseOnRollback(lightningId, userId, reservationToken);
         }
 
         User user = findUserBy(userId);
-        Long latestMessageId = chatMessageRepository.findLatestMessageId(lightningId);
 
-        LightningParticipant participant = LightningParticipant.createParticipant(snowflake.nextId(), lightning, user);
+        // Redis 좌석과 어긋난 경우를 막는 최종 가드 (lightning 행 단위 원자적 UPDATE)
+        if (lightningRepository.increaseParticipantCount(lightningId) == 0) {
+            throw new CustomException(rejectedJoinError(lightningId));
+        }
+
+        Long latestMessageId = latestMessageIdRegister.get(lightningId);
+
+        LightningParticipant participant = LightningParticipant.createParticipant(
+            participantId, lightningRepository.getReferenceById(lightningId), user
+        );
         participant.updateLastReadChatMessageId(latestMessageId);
         lightningParticipantRepository.save(participant);
+        unreadCountIndex.markRead(lightningId, userId, latestMessageId);
 
         return lightningId;
     }
@@ -91,10 +108,12 @@ public class LightningService {
             .description(request.description())
             .lightningDate(request.lightningDate())
             .build();
+        lightning.increaseParticipantCount();
         lightningRepository.save(lightning);
 
         LightningParticipant leader = LightningParticipant.createLeader(snowflake.nextId(), lightning, user);
         lightningParticipantRepository.save(leader);
+        unreadCountIndex.initialize(lightning.getId(), userId);
 
         return lightning.getId();
     }
@@ -124,8 +143,6 @@ public class LightningService {
             .map(p -> p.getLightning().getId())
             .toList();
 
-        Map<Long, Long> participantsCountMap = createParticipantCountingMap(lightningIds);
-
         List<String> restaurantIds = lightningParticipants.stream()
             .map(p -> p.getLightning().getRestaurantId())
             .distinct()
@@ -133,7 +150,7 @@ public class LightningService {
 
         Map<String, String> restaurantNameMap = createRestaurantNameMap(restaurantIds);
 
-        Map<Long, Integer> unreadCountMap = createUnreadCountMap(userId);
+        Map<Long, Integer> unreadCountMap = unreadCountIndex.getUnreadCounts(userId, lightningIds);
 
         List<LightningResponse> content = lightningParticipants.stream()
             .map(p -> {
@@ -141,7 +158,7 @@ public class LightningService {
                 return LightningResponse.of(
                     lightning,
                     restaurantNameMap.getOrDefault(lightning.getRestaurantId(), ""),
-                    participantsCountMap.getOrDefault(lightning.getId(), 0L).intValue(),
+                    lightning.getParticipantCount(),
                     unreadCountMap.getOrDefault(lightning.getId(), 0),
                     p.getRole()
                 );
@@ -168,6 +185,7 @@ public class LightningService {
         }
 
         lightning.close();
+        lightningSeatRegistry.updateStatusAfterCommit(lightningId, LightningStatus.CLOSED);
     }
 
     @Transactional
@@ -182,16 +200,21 @@ public class LightningService {
 
         if (participant.isNotLeader()) {
             lightningParticipantRepository.delete(participant);
+            lightningRepository.decreaseParticipantCount(lightningId);
+            lightningSeatRegistry.releaseAfterCommit(lightningId, userId);
+            unreadCountIndex.remove(lightningId, userId);
             return;
         }
 
-        long participantCount = lightningParticipantRepository.countByLightningId(lightningId);
-        if (participantCount > 1) {
+        // 혼자 남은 모임장만 나갈 수 있다. 동시에 들어온 참가 UPDATE 와 같은 행에서 경합한다.
+        if (lightningRepository.releaseLastSeat(lightningId) == 0) {
             throw new CustomException(LIGHTNING_LEADER_CANNOT_LEAVE);
         }
 
         participant.getLightning().delete();
         lightningParticipantRepository.delete(participant);
+        lightningSeatRegistry.updateStatusAfterCommit(lightningId, LightningStatus.DELETED);
+        unreadCountIndex.remove(lightningId, userId);
     }
 
     public LightningDetailResponse getLightningDetail(Long lightningId) {
@@ -211,11 +234,19 @@ public class LightningService {
     ) {
         findUserBy(userId);
 
-        PageRequest pageable = PageRequest.of(0, size + 1);
+        // 페이지 안에서 제외될 수 있는 건 내가 참여한 번개뿐이므로 그 수만큼 더 읽고 걸러낸다.
+        Set<Long> joinedLightningIds = new HashSet<>(
+            lightningParticipantRepository.findLightningIdsByUserIdAndStatus(userId, LightningStatus.OPEN)
+        );
+        PageRequest pageable = PageRequest.of(0, size + 1 + joinedLightningIds.size());
 
-        List<Lightning> availableLightnings = lastLightningId == null
-            ? lightningRepository.findAllByStatusAndUserNotParticipatingWithCursor(LightningStatus.OPEN, userId, pageable)
-            : lightningRepository.findAllByStatusAndUserNotParticipatingWithCursorAfter(LightningStatus.OPEN, userId, lastLightningId, pageable);
+        List<Lightning> availableLightnings = (lastLightningId == null
+            ? lightningRepository.findAvailableWithCursor(LightningStatus.OPEN, pageable)
+            : lightningRepository.findAvailableWithCursorAfter(LightningStatus.OPEN, lastLightningId, pageable))
+            .stream()
+            .filter(lightning -> !joinedLightningIds.contains(lightning.getId()))
+            .limit(size + 1)
+            .toList();
 
         boolean hasNext = availableLightnings.size() > size;
         if (hasNext) {
@@ -226,12 +257,6 @@ public class LightningService {
             return new CursorPageResponse<>(List.of(), null, false);
         }
 
-        List<Long> lightningIds = availableLightnings.stream()
-            .map(Lightning::getId)
-            .toList();
-
-        Map<Long, Long> participantsCountMap = createParticipantCountingMap(lightningIds);
-
         List<String> restaurantIds = availableLightnings.stream()
             .map(Lightning::getRestaurantId)
             .distinct()
@@ -243,7 +268,7 @@ public class LightningService {
             .map(lightning -> AvailableLightningResponse.of(
                 lightning,
                 restaurantNameMap.getOrDefault(lightning.getRestaurantId(), ""),
-                participantsCountMap.getOrDefault(lightning.getId(), 0L).intValue()
+                lightning.getParticipantCount()
             ))
             .toList();
 
@@ -257,9 +282,10 @@ public class LightningService {
 //        lightningParticipantRepository.updateLastReadChatMessageId(userId, lightningId, null);
 
         Long startChatMessageId = participant.getLastReadChatMessageId();
-        Long endChatMessageId = chatMessageRepository.findLatestMessageId(lightningId);
+        Long endChatMessageId = latestMessageIdRegister.get(lightningId);
 
         participant.updateLastReadChatMessageId(null);
+        unreadCountIndex.markLive(lightningId, userId);
 
         commonEventPublisher.publish(
             EventType.UPDATE_UNREAD_COUNT,
@@ -274,8 +300,9 @@ public class LightningService {
 
     @Transactional
     public void onUnsubscribe(Long userId, Long lightningId) {
-        Long latestMessageId = chatMessageRepository.findLatestMessageId(lightningId);
+        Long latestMessageId = latestMessageIdRegister.get(lightningId);
         lightningParticipantRepository.updateLastReadChatMessageId(userId, lightningId, latestMessageId);
+        unreadCountIndex.markRead(lightningId, userId, latestMessageId);
     }
 
     private Map<String, String> createRestaurantNameMap(List<String> restaurantIds) {
@@ -287,35 +314,24 @@ public class LightningService {
             ));
     }
 
-    private Map<Long, Long> createParticipantCountingMap(List<Long> lightningIds) {
-        return lightningParticipantRepository.findAllByLightningIdIn(lightningIds)
-            .stream()
-            .collect(Collectors.groupingBy(
-                p -> p.getLightning().getId(),
-                Collectors.counting()
-            ));
-    }
-
-    private Map<Long, Integer> createUnreadCountMap(Long userId) {
-        return chatMessageRepository.countUnreadMessagesByUser(userId).stream()
-            .collect(Collectors.toMap(
-                UnreadCount::getLightningId,
-                UnreadCount::getUnreadCount
-            ));
-    }
-
     private User findUserBy(Long userId) {
         return userRepository.findById(userId)
             .orElseThrow(() -> new CustomException(USER_NOT_FOUND));
     }
 
-    private Lightning findLightningBy(Long lightningId) {
-        return lightningRepository.findById(lightningId)
-            .orElseThrow(() -> new CustomException(LIGHTNING_NOT_FOUND));
-    }
-
     private LightningParticipant findParticipantBy(Long userId, Long lightningId) {
         return lightningParticipantRepository.findByLightningIdAndUserId(lightningId, userId)
             .orElseThrow(() -> new CustomException(LIGHTNING_PARTICIPANT_NOT_FOUND));
     }
+
+    /**
+     * 최종 가드에서 거절된 이유. 상태가 OPEN 이 아니면 정원이 아니라 상태 오류로 응답한다.
+     */
+    private ErrorCode rejectedJoinError(Long lightningId) {
+        return lightningRepository.findById(lightningId)
+            .filter(lightning -> lightning.getLightningStatus() != LightningStatus.OPEN)
+            .map(lightning -> LIGHTNING_CLOSED)
+            .orElse(LIGHTNING_CAPACITY_EXCEEDED);
+    }
+
 }
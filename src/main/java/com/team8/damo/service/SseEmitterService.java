@@ -1,99 +1,214 @@
 package com.team8.damo.service;
 
-import com.team8.damo.entity.User;
+import com.team8.damo.dining.RecommendationStreamStore;
+import com.team8.damo.dining.StreamingSenderSnapshot;
 import com.team8.damo.event.payload.RecommendationStreamingEventPayload;
+import com.team8.damo.metric.SseMetric;
 import com.team8.damo.redis.key.RedisKeyPrefix;
-import com.team8.damo.repository.UserRepository;
 import com.team8.damo.service.response.RecommendationStreamingResponse;
 import com.team8.damo.service.response.SseEventType;
 import com.team8.damo.util.DataSerializer;
+import com.team8.damo.util.HashedTimingWheel;
 import com.team8.damo.util.Snowflake;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.team8.damo.service.response.SseEventType.*;
 
+/**
+ * 추천 스트리밍 SSE
+ *
+ * emitter 는 연결을 받은 노드에만 있으므로, 스트리밍 청크와 완료는 dining 단위 Redis 채널로 모든 노드에 전달하고
+ * 각 노드는 자기 로컬 emitter 에만 보낸다.
+ * 노드는 로컬 emitter 가 생긴 dining 의 채널만 구독하고, 마지막 emitter 가 빠지면 구독을 해제한다.
+ * 채널 구독/해제는 블로킹이라 map compute 밖에서 dining 단위 lock 으로 현재 emitter 유무에 맞춰 반영한다.
+ * 청크 순서를 지키기 위해 채널 메시지는 단일 스레드 listener container(sseListenerContainer)에서 받는다.
+ *
+ * emitter 마다 전송 큐를 두고 virtual thread 가 큐를 비우며 실제로 쓴다. 수신 스레드는 큐에 넣기만 한다.
+ * 큐가 sse.send-queue.capacity 만큼 쌓인 느린 클라이언트는 연결을 끊는다. (재연결 시 Redis 목록으로 복구)
+ *
+ * 스트리밍 청크의 SSE id 는 Redis Stream 엔트리 ID 이다. Last-Event-ID 로 재연결하면 그 뒤 엔트리만 XRANGE 로 다시 보내고,
+ * 재전송하는 동안 들어온 실시간 청크는 미뤄 두었다가 이미 보낸 ID 를 건너뛰고 이어 보낸다.
+ *
+ * heartbeat 는 연결마다 timing wheel 에 자기 슬롯을 예약한다. 첫 예약에 jitter 를 줘 tick 마다 고르게 흩어지고,
+ * 연결이 닫히면 예약을 바로 취소한다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SseEmitterService {
 
     private static final long TIMEOUT = 10 * 60 * 1000L;
     private static final long RECONNECTION_TIMEOUT = 1000L;
-    private static final long HEARTBEAT_INTERVAL = 30L;
+    private static final long HEARTBEAT_TICK_MILLIS = 100L;
+    private static final int HEARTBEAT_WHEEL_SIZE = 512;
 
-    private final Map<Long, Map<Long, SseEmitter>> sseStreamingMap = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, SseConnection>> sseStreamingMap = new ConcurrentHashMap<>();
+    private final Map<Long, ListenerState> broadcastListeners = new ConcurrentHashMap<>();
 
     private final Snowflake snowflake;
-    private final UserRepository userRepository;
+    private final StreamingSenderSnapshot streamingSenderSnapshot;
     private final StringRedisTemplate redisTemplate;
+    private final RecommendationStreamStore recommendationStreamStore;
+    private final RedisMessageListenerContainer sseListenerContainer;
+    private final SseMetric sseMetric;
+    private final int sendQueueCapacity;
+    private final long heartbeatIntervalMillis;
+    private final MessageListener broadcastListener = this::onBroadcast;
+
+    private final ExecutorService sendExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+
+    private final ExecutorService heartbeatExecutor =
+        Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "sse-heartbeat-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+    private final HashedTimingWheel heartbeatWheel =
+        new HashedTimingWheel("sse-heartbeat", HEARTBEAT_TICK_MILLIS, HEARTBEAT_WHEEL_SIZE, heartbeatExecutor);
+
+    public SseEmitterService(
+        Snowflake snowflake,
+        StreamingSenderSnapshot streamingSenderSnapshot,
+        StringRedisTemplate redisTemplate,
+        RecommendationStreamStore recommendationStreamStore,
+        @Qualifier("sseListenerContainer") RedisMessageListenerContainer sseListenerContainer,
+        SseMetric sseMetric,
+        @Value("${sse.send-queue.capacity:32}") int sendQueueCapacity,
+        @Value("${sse.heartbeat.interval-seconds:30}") long heartbeatIntervalSeconds
+    ) {
+        this.snowflake = snowflake;
+        this.streamingSenderSnapshot = streamingSenderSnapshot;
+        this.redisTemplate = redisTemplate;
+        this.recommendationStreamStore = recommendationStreamStore;
+        this.sseListenerContainer = sseListenerContainer;
+        this.sseMetric = sseMetric;
+        this.sendQueueCapacity = sendQueueCapacity;
+        this.heartbeatIntervalMillis = TimeUnit.SECONDS.toMillis(heartbeatIntervalSeconds);
+
+        sseMetric.bindActiveEmitters(sseStreamingMap, map ->
+            map.values().stream().mapToInt(Map::size).sum()
+        );
+        sseMetric.bindHeartbeatScheduled(heartbeatWheel, HashedTimingWheel::size);
+    }
 
-    public SseEmitter subscribe(Long userId, Long diningId) {
+    public SseEmitter subscribe(Long userId, Long diningId, String lastEventId) {
         SseEmitter newEmitter = new SseEmitter(TIMEOUT);
+        SseConnection connection = new SseConnection(diningId, userId, newEmitter);
+        boolean replay = RecommendationStreamStore.isEntryId(lastEventId);
+        if (replay) {
+            connection.deferred = new ArrayList<>();
+        }
 
-        newEmitter.onCompletion(() -> removeIfSame(diningId, userId, newEmitter, "completion", null));
+        newEmitter.onCompletion(() -> removeIfSame(connection, "completion", null));
 
         newEmitter.onTimeout(() -> {
-            removeIfSame(diningId, userId, newEmitter, "timeout", null);
+            removeIfSame(connection, "timeout", null);
             safeComplete(newEmitter);
         });
 
-        newEmitter.onError(ex -> removeIfSame(diningId, userId, newEmitter, "error", ex));
+        newEmitter.onError(ex -> removeIfSame(connection, "error", ex));
 
-        SseEmitter oldEmitter = sseStreamingMap
-            .computeIfAbsent(diningId, k -> new ConcurrentHashMap<>())
-            .put(userId, newEmitter);
+        AtomicReference<SseConnection> oldConnectionRef = new AtomicReference<>();
+        sseStreamingMap.compute(diningId, (id, connections) -> {
+            if (connections == null) {
+                connections = new ConcurrentHashMap<>();
+            }
+            oldConnectionRef.set(connections.put(userId, connection));
+            return connections;
+        });
 
-        if (oldEmitter != null && oldEmitter != newEmitter) {
-            safeComplete(oldEmitter);
+        SseConnection oldConnection = oldConnectionRef.get();
+        if (oldConnection != null) {
+            close(oldConnection);
+            safeComplete(oldConnection.emitter);
         }
 
-        boolean connected = sendEvent(diningId, userId, newEmitter, CONNECTED, "SSE connected");
-        if (!connected) {
-            removeIfSame(diningId, userId, newEmitter, "initial-send-error", null);
-            safeComplete(newEmitter);
+        try {
+            syncListener(diningId);
+        } catch (RuntimeException e) {
+            removeIfSame(connection, "listener-failed", e);
+            throw e;
         }
+
+        enqueue(connection, Outbound.of(CONNECTED, "SSE connected"), false);
+        if (replay) {
+            replay(connection, lastEventId);
+        }
+        long firstDelayMillis = heartbeatIntervalMillis / 2 + ThreadLocalRandom.current().nextLong(heartbeatIntervalMillis / 2 + 1);
+        scheduleHeartbeat(connection, firstDelayMillis);
         return newEmitter;
     }
 
-    private void removeIfSame(Long diningId, Long userId, SseEmitter expected, String reason, Throwable error) {
-        AtomicReference<SseEmitter> removedRef = new AtomicReference<>();
+    private void close(SseConnection connection) {
+        connection.closed = true;
+        connection.queue.clear();
+        HashedTimingWheel.Timeout heartbeat = connection.heartbeat;
+        if (heartbeat != null) {
+            heartbeat.cancel();
+        }
+    }
+
+    private void removeIfSame(SseConnection expected, String reason, Throwable error) {
+        close(expected);
 
-        sseStreamingMap.computeIfPresent(diningId, (id, emitters) -> {
-            emitters.compute(userId, (uid, current) -> {
+        AtomicReference<SseConnection> removedRef = new AtomicReference<>();
+        AtomicBoolean emptied = new AtomicBoolean();
+        sseStreamingMap.computeIfPresent(expected.diningId, (id, connections) -> {
+            connections.compute(expected.userId, (uid, current) -> {
                 if (current == expected) {
                     removedRef.set(current);
                     return null;
                 }
                 return current;
             });
-            return emitters.isEmpty() ? null : emitters;
+            if (connections.isEmpty()) {
+                emptied.set(true);
+                return null;
+            }
+            return connections;
         });
 
+        if (emptied.get()) {
+            syncListener(expected.diningId);
+        }
+
         if (removedRef.get() != null) {
             if (error == null) {
                 log.info(
                     "[SseEmitterService.removeIfSame] removed. diningId={}, userId={}, reason={}",
-                    diningId, userId, reason
+                    expected.diningId, expected.userId, reason
                 );
             } else {
                 log.warn(
                     "[SseEmitterService.removeIfSame] removed. diningId={}, userId={}, reason={}",
-                    diningId, userId, reason, error
+                    expected.diningId, expected.userId, reason, error
                 );
             }
         }
@@ -127,122 +242,333 @@ public class SseEmitterService {
         }
     }
 
-    public void streamingBroadcast(Long diningId, RecommendationStreamingEventPayload data) {
-        User user = userRepository.findById(data.userId()).orElse(null);
+    /**
+     * 구독을 등록한 뒤 읽으므로 빠지는 청크는 없고, 겹치는 청크는 엔트리 ID 로 걸러진다.
+     */
+    private void replay(SseConnection connection, String lastEventId) {
+        List<RecommendationStreamStore.Entry> entries;
+        try {
+            entries = recommendationStreamStore.readAfter(connection.diningId, lastEventId);
+        } catch (Exception e) {
+            log.warn(
+                "[SseEmitterService.replay] failed. diningId={}, userId={}, lastEventId={}",
+                connection.diningId, connection.userId, lastEventId, e
+            );
+            entries = List.of();
+        }
+
+        synchronized (connection) {
+            List<Runnable> deferred = connection.deferred;
+            connection.deferred = null;
+            connection.lastStreamId = lastEventId;
+            entries.forEach(entry -> enqueueStreaming(connection, entry.id(), entry.response(), false));
+            deferred.forEach(Runnable::run);
+        }
+    }
 
+    public void streamingBroadcast(Long diningId, RecommendationStreamingEventPayload data) {
         RecommendationStreamingResponse streamingResponse = RecommendationStreamingResponse.builder()
             .eventId(snowflake.nextId())
             .userId(data.userId())
-            .nickname(user == null ? "다모 AI봇" : user.getNickname())
+            .nickname(streamingSenderSnapshot.nickname(diningId, data.userId()))
             .content(data.content())
             .createdAt(LocalDateTime.now())
             .build();
 
-        String key = generateStreamingKey(diningId);
-        redisTemplate.opsForList().rightPush(key, DataSerializer.serialize(streamingResponse));
-        redisTemplate.expire(key, Duration.ofMinutes(30));
+        String streamId = recommendationStreamStore.append(diningId, streamingResponse);
+
+        publish(new SseBroadcast(diningId, STREAMING, streamId, streamingResponse));
+    }
+
+    public void completeAll(Long diningId) {
+        recommendationStreamStore.delete(diningId);
+        streamingSenderSnapshot.evict(diningId);
+
+        publish(new SseBroadcast(diningId, DONE, null, null));
+    }
+
+    private void publish(SseBroadcast broadcast) {
+        redisTemplate.convertAndSend(broadcastTopic(broadcast.diningId()).getTopic(), DataSerializer.serialize(broadcast));
+    }
 
-        Map<Long, SseEmitter> emitters = sseStreamingMap.get(diningId);
-        if (emitters == null || emitters.isEmpty()) {
+    private void onBroadcast(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        SseBroadcast broadcast = DataSerializer.deserialize(body, SseBroadcast.class);
+        if (broadcast == null) {
             return;
         }
 
-        emitters.forEach((userId, emitter) ->
-            sendEvent(diningId, userId, emitter, STREAMING, streamingResponse)
+        switch (broadcast.eventType()) {
+            case STREAMING -> sendLocal(broadcast.diningId(), broadcast.streamId(), broadcast.response());
+            case DONE -> completeLocal(broadcast.diningId());
+            default -> log.warn("[SseEmitterService.onBroadcast] unsupported eventType={}", broadcast.eventType());
+        }
+    }
+
+    private void sendLocal(Long diningId, String streamId, RecommendationStreamingResponse streamingResponse) {
+        Map<Long, SseConnection> connections = sseStreamingMap.get(diningId);
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+
+        connections.values().forEach(connection ->
+            enqueueStreaming(connection, streamId, streamingResponse, true)
         );
     }
 
-    public void completeAll(Long diningId) {
-        String key = generateStreamingKey(diningId);
-        redisTemplate.delete(key);
+    /**
+     * DONE 은 큐에 남은 청크 뒤에 보내고 emitter 를 완료한다.
+     */
+    private void completeLocal(Long diningId) {
+        AtomicReference<Map<Long, SseConnection>> removedRef = new AtomicReference<>();
+        sseStreamingMap.computeIfPresent(diningId, (id, connections) -> {
+            removedRef.set(connections);
+            return null;
+        });
 
-        Map<Long, SseEmitter> emitters = sseStreamingMap.remove(diningId);
-        if (emitters == null) {
+        Map<Long, SseConnection> connections = removedRef.get();
+        if (connections == null) {
             return;
         }
+        syncListener(diningId);
 
-        emitters.forEach((userId, emitter) -> {
-            try {
-                sendEvent(diningId, userId, emitter, DONE, "done");
-                emitter.complete();
-            } catch (Exception e) {
-                log.warn(
-                    "[SseEmitterService.completeAll] complete failed. diningId={}, userId={}",
-                    diningId, userId, e
-                );
+        connections.values().forEach(this::enqueueDone);
+    }
+
+    /**
+     * 채널 구독 여부를 현재 로컬 emitter 유무에 맞춘다. emitter 가 바뀐 뒤에는 항상 호출하므로 마지막 호출이 최신 상태로 맞춘다.
+     * 구독하지 않는 상태는 lock 안에서 map 에서 빼고, 빠진 상태 객체를 잡은 스레드는 새 상태로 다시 시도한다.
+     */
+    private void syncListener(Long diningId) {
+        while (true) {
+            ListenerState state = broadcastListeners.computeIfAbsent(diningId, id -> new ListenerState());
+            synchronized (state) {
+                if (broadcastListeners.get(diningId) != state) {
+                    continue;
+                }
+
+                boolean wanted = sseStreamingMap.containsKey(diningId);
+                if (wanted && !state.listening) {
+                    sseListenerContainer.addMessageListener(broadcastListener, broadcastTopic(diningId));
+                    state.listening = true;
+                } else if (!wanted && state.listening) {
+                    sseListenerContainer.removeMessageListener(broadcastListener, broadcastTopic(diningId));
+                    state.listening = false;
+                }
+
+                if (!state.listening) {
+                    broadcastListeners.remove(diningId, state);
+                }
+                return;
             }
-        });
+        }
     }
 
-    private static String generateStreamingKey(Long diningId) {
-        return RedisKeyPrefix.DINING_RECOMMENDATION_STREAMING.key(diningId);
+    private static ChannelTopic broadcastTopic(Long diningId) {
+        return new ChannelTopic(RedisKeyPrefix.DINING_RECOMMENDATION_SSE_CHANNEL.key(diningId));
     }
 
-    private boolean sendEvent(Long diningId, Long userId, SseEmitter emitter, SseEventType eventType, Object data) {
-        try {
-            emitter.send(
-                SseEmitter.event()
-                    .name(eventType.getValue())
-                    .reconnectTime(RECONNECTION_TIMEOUT)
-                    .data(data)
+    /**
+     * 재전송 중이면 미뤄 두고, 이미 보낸 엔트리 ID 이하는 건너뛴다.
+     */
+    private void enqueueStreaming(SseConnection connection, String streamId, RecommendationStreamingResponse response, boolean bounded) {
+        synchronized (connection) {
+            if (connection.deferred != null) {
+                connection.deferred.add(() -> enqueueStreaming(connection, streamId, response, bounded));
+                return;
+            }
+            if (streamId != null && RecommendationStreamStore.compareEntryIds(streamId, connection.lastStreamId) <= 0) {
+                return;
+            }
+            if (streamId != null) {
+                connection.lastStreamId = streamId;
+            }
+            enqueue(connection, Outbound.streaming(streamId, response), bounded);
+        }
+    }
+
+    private void enqueueDone(SseConnection connection) {
+        synchronized (connection) {
+            if (connection.deferred != null) {
+                connection.deferred.add(() -> enqueueDone(connection));
+                return;
+            }
+            enqueue(connection, Outbound.done(), false);
+        }
+    }
+
+    /**
+     * bounded 가 아니면(CONNECTED, 재전송, DONE) 용량과 관계없이 넣는다.
+     */
+    private void enqueue(SseConnection connection, Outbound outbound, boolean bounded) {
+        if (connection.closed) {
+            return;
+        }
+
+        int depth = connection.queue.size();
+        if (bounded && depth >= sendQueueCapacity) {
+            sseMetric.incrementSlowConsumer();
+            log.warn(
+                "[SseEmitterService.enqueue] slow consumer disconnected. diningId={}, userId={}, queued={}",
+                connection.diningId, connection.userId, depth
             );
-            log.info("[SseEmitterService.sendEvent] data={}", data);
-            return true;
+            removeIfSame(connection, "slow-consumer", null);
+            safeComplete(connection.emitter);
+            return;
+        }
+
+        connection.queue.add(outbound);
+        sseMetric.recordQueueDepth(depth);
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            sendExecutor.execute(() -> drain(connection));
+        }
+    }
+
+    /**
+     * emitter 당 drain 은 하나만 돈다. 플래그를 내린 뒤 그 사이 들어온 이벤트가 있으면 다시 잡는다.
+     */
+    private void drain(SseConnection connection) {
+        do {
+            Outbound outbound;
+            while ((outbound = connection.queue.poll()) != null) {
+                if (!connection.closed) {
+                    write(connection, outbound);
+                }
+            }
+            connection.draining.set(false);
+        } while (!connection.queue.isEmpty() && connection.draining.compareAndSet(false, true));
+    }
+
+    private void write(SseConnection connection, Outbound outbound) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(outbound.eventType().getValue())
+                .reconnectTime(RECONNECTION_TIMEOUT);
+            if (outbound.id() != null) {
+                event.id(outbound.id());
+            }
+            if (outbound.data() == null) {
+                event.comment(outbound.eventType().getValue());
+            } else {
+                event.data(outbound.data());
+            }
+            connection.emitter.send(event);
+            sseMetric.recordSendLatency(System.nanoTime() - outbound.enqueuedAtNanos());
         } catch (Exception e) {
-            removeIfSame(diningId, userId, emitter, "send-error", e);
-            safeCompleteWithError(emitter, e);
-            return false;
+            sseMetric.incrementSendError();
+            log.debug(
+                "[SseEmitterService.write] failed. diningId={}, userId={}, eventType={}",
+                connection.diningId, connection.userId, outbound.eventType()
+            );
+            removeIfSame(connection, "send-error", e);
+            safeCompleteWithError(connection.emitter, e);
+            return;
+        }
+
+        if (outbound.last()) {
+            close(connection);
+            safeComplete(connection.emitter);
         }
     }
 
-    private final ScheduledExecutorService heartbeatScheduler =
-        Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "sse-heartbeat");
-            t.setDaemon(true);
-            return t;
-        });
+    /**
+     * 노드 사이에 전달하는 스트리밍 청크(STREAMING) / 완료(DONE)
+     */
+    record SseBroadcast(Long diningId, SseEventType eventType, String streamId, RecommendationStreamingResponse response) {
+    }
+
+    /**
+     * data 가 null 이면 comment 만 보낸다. (heartbeat)
+     * id 는 스트리밍 청크의 Redis Stream 엔트리 ID
+     */
+    private record Outbound(SseEventType eventType, String id, Object data, boolean last, long enqueuedAtNanos) {
+
+        static Outbound of(SseEventType eventType, Object data) {
+            return new Outbound(eventType, null, data, false, System.nanoTime());
+        }
+
+        static Outbound streaming(String id, RecommendationStreamingResponse response) {
+            return new Outbound(STREAMING, id, response, false, System.nanoTime());
+        }
+
+        static Outbound done() {
+            return new Outbound(DONE, null, "done", true, System.nanoTime());
+        }
+    }
+
+    /**
+     * listening 은 이 객체를 잠그고 접근한다.
+     */
+    private static class ListenerState {
+        private boolean listening;
+    }
+
+    private static class SseConnection {
+        private final Long diningId;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outbound> queue = new LinkedBlockingQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile HashedTimingWheel.Timeout heartbeat;
+        // 아래 두 필드는 연결 객체를 잠그고 접근한다. deferred 는 재전송이 끝나기 전까지만 null 이 아니다.
+        private String lastStreamId;
+        private List<Runnable> deferred;
+
+        SseConnection(Long diningId, Long userId, SseEmitter emitter) {
+            this.diningId = diningId;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
 
     @PostConstruct
     private void startHeartbeat() {
-        heartbeatScheduler.scheduleWithFixedDelay(
-            this::runHeartbeatSafely,
-            HEARTBEAT_INTERVAL,  // 첫 실행까지 대기 시간
-            HEARTBEAT_INTERVAL,  // 반복 주기
-            TimeUnit.SECONDS
-        );
+        heartbeatWheel.start();
     }
 
     @PreDestroy
     private void stopHeartbeat() {
-        heartbeatScheduler.shutdownNow();
+        heartbeatWheel.stop();
+        heartbeatExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * 닫힌 뒤 예약된 heartbeat 는 바로 취소한다. (close 와 재예약이 엇갈리는 경우)
+     */
+    private void scheduleHeartbeat(SseConnection connection, long delayMillis) {
+        connection.heartbeat = heartbeatWheel.schedule(() -> heartbeat(connection), delayMillis, TimeUnit.MILLISECONDS);
+        if (connection.closed) {
+            connection.heartbeat.cancel();
+        }
     }
 
-    private void runHeartbeatSafely() {
+    /**
+     * 큐에 보낼 이벤트가 남아 있는 연결은 heartbeat 를 건너뛴다.
+     */
+    private void heartbeat(SseConnection connection) {
+        if (connection.closed) {
+            return;
+        }
+
         try {
-            sendHeartbeatAll();
+            if (connection.queue.isEmpty()) {
+                enqueue(connection, Outbound.of(HEARTBEAT, null), true);
+            }
         } catch (Exception e) {
-            log.warn("[SseEmitterService.runHeartbeatSafely] heartbeat iteration failed", e);
-        }
-    }
-
-    private void sendHeartbeatAll() {
-        sseStreamingMap.forEach((diningId, emitters) ->
-            emitters.forEach((userId, emitter) -> {
-                try {
-                    emitter.send(
-                        SseEmitter.event()
-                            .name(HEARTBEAT.getValue())
-                            .comment("heartbeat")
-                            .reconnectTime(RECONNECTION_TIMEOUT)
-                    );
-                } catch (Exception e) {
-                    log.debug(
-                        "[SseEmitterService.heartbeat] failed. diningId={}, userId={}", diningId, userId
-                    );
-                    removeIfSame(diningId, userId, emitter, "heartbeat-error", e);
-                    safeCompleteWithError(emitter, e);
-                }
-            })
-        );
+            log.warn(
+                "[SseEmitterService.heartbeat] failed. diningId={}, userId={}",
+                connection.diningId, connection.userId, e
+            );
+        }
+
+        if (!connection.closed) {
+            scheduleHeartbeat(connection, heartbeatIntervalMillis);
+        }
     }
 }
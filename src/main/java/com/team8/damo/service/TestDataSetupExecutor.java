@@ -258,6 +258,7 @@ public class TestDataSetupExecutor {
 
         if (!toCreate.isEmpty()) {
             saveBatch(toCreate, 1000, lightningParticipantRepository::saveAll);
+            saveBatch(allIds, 1000, lightningRepository::syncParticipantCounts);
         }
 
         return toCreate.size();
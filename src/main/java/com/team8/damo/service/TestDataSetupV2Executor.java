@@ -337,6 +337,12 @@ public class TestDataSetupV2Executor {
             executor.shutdown();
         }
 
+        TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < allIds.size(); i += SAVE_BATCH_SIZE) {
+            List<Long> ids = allIds.subList(i, Math.min(i + SAVE_BATCH_SIZE, allIds.size()));
+            txTemplate.executeWithoutResult(status -> lightningRepository.syncParticipantCounts(ids));
+        }
+
         return totalCreated.get();
     }
 
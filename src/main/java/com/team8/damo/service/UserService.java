@@ -67,7 +67,7 @@ public class UserService {
         user.updateBasic(request.nickname(), request.gender(), request.ageGroup());
         user.changeImagePath(request.imagePath());
 
-        String accessToken = jwtProvider.createAccessToken(user.getId(), user.getEmail(), user.getNickname());
+        String accessToken = jwtProvider.createAccessToken(user.getId(), user.getEmail(), user.getNickname(), user.getRoleType());
         String refreshToken = jwtProvider.createRefreshToken(user.getId(), user.getEmail(), user.getNickname());
         refreshTokenRepository.save(new RefreshToken(user.getEmail(), refreshToken));
 
@@ -1,5 +1,6 @@
 package com.team8.damo.service.response;
 
+import com.team8.damo.dining.VoteCounts;
 import com.team8.damo.entity.RecommendRestaurant;
 import com.team8.damo.entity.Restaurant;
 import com.team8.damo.entity.enumeration.RestaurantVoteStatus;
@@ -18,7 +19,8 @@ public record RestaurantVoteDetailResponse(
     public static RestaurantVoteDetailResponse of(
         RecommendRestaurant recommendRestaurant,
         Restaurant restaurant,
-        RestaurantVoteStatus userVoteStatus
+        RestaurantVoteStatus userVoteStatus,
+        VoteCounts voteCounts
     ) {
         return new RestaurantVoteDetailResponse(
             recommendRestaurant.getId(),
@@ -28,8 +30,8 @@ public record RestaurantVoteDetailResponse(
             restaurant.getPhone(),
             restaurant.getLatitude(),
             restaurant.getLongitude(),
-            recommendRestaurant.getLikeCount(),
-            recommendRestaurant.getDislikeCount()
+            voteCounts.likeCount(),
+            voteCounts.dislikeCount()
         );
     }
 }
@@ -0,0 +1,178 @@
+package com.team8.damo.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 연결 단위 타이머(heartbeat 등)를 위한 hashed timing wheel
+ *
+ * - schedule: pending 큐에 넣기만 하고, tick 스레드가 다음 tick 에 (만료 tick & mask) 버킷으로 옮긴다.
+ * - tick: 현재 버킷 하나만 훑어 rounds 가 0 인 항목을 executor 로 넘긴다. 등록 수와 관계없이 tick 당 비용은 버킷 크기에 비례한다.
+ * - cancel: 버킷에서 바로 제거 (O(1))
+ * 정밀도는 tickMillis 단위이고, 만료 작업은 tick 스레드가 아니라 executor 에서 돈다.
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Set<Timeout>[] buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private long startNanos;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Executor executor) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = size - 1;
+        this.buckets = new Set[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.executor = executor;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 아직 만료되지 않은 등록 수 (pending 포함)
+     */
+    public int size() {
+        int size = pending.size();
+        for (Set<Timeout> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (System.nanoTime() < deadline) {
+                    continue;
+                }
+            }
+
+            try {
+                advance();
+            } catch (Exception e) {
+                log.warn("[HashedTimingWheel.run] tick failed. name={}, tick={}", worker.getName(), tick, e);
+            }
+        }
+    }
+
+    /**
+     * 한 tick 진행. tick 스레드(또는 start 하지 않은 wheel 을 직접 돌리는 벤치마크)에서만 호출한다.
+     */
+    void advance() {
+        transferPending();
+        int index = (int) (tick & mask);
+        tick++;
+        expire(buckets[index]);
+    }
+
+    /**
+     * pending 은 tick 스레드만 버킷에 배치하므로 현재 tick 과 경합하지 않는다.
+     * 옮긴 직후 advance 가 현재 tick 의 버킷을 한 번 훑으므로, ticks 가 버킷 수의 배수면 그 방문도 rounds 에 센다.
+     */
+    void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(1, (timeout.delayNanos + tickNanos - 1) / tickNanos);
+            long expireTick = tick + ticks;
+            timeout.rounds = ticks / buckets.length;
+            timeout.bucket = buckets[(int) (expireTick & mask)];
+            timeout.bucket.add(timeout);
+            if (timeout.cancelled) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void expire(Set<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            iterator.remove();
+            if (timeout.cancelled) {
+                continue;
+            }
+            try {
+                executor.execute(timeout.task);
+            } catch (Exception e) {
+                log.warn("[HashedTimingWheel.expire] dispatch failed. name={}", worker.getName(), e);
+            }
+        }
+    }
+
+    public static final class Timeout {
+        private final Runnable task;
+        private final long delayNanos;
+        private volatile boolean cancelled;
+        private volatile Set<Timeout> bucket;
+        private long rounds;
+
+        private Timeout(Runnable task, long delayNanos) {
+            this.task = task;
+            this.delayNanos = delayNanos;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Set<Timeout> current = bucket;
+            if (current != null) {
+                current.remove(this);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -58,6 +58,10 @@ public class Snowflake {
         }
     }
 
+    public long extractTimestampMillis(long id) {
+        return (id >>> (NODE_ID_BITS + SEQUENCE_BITS)) + startTimeMillis;
+    }
+
     private long waitNextMillis(long currentTimestamp) {
         while (currentTimestamp <= lastTimeMillis) {
             currentTimestamp = System.currentTimeMillis();
@@ -0,0 +1,78 @@
+-- 번개 participant_count 컬럼 추가 / 기존 번개 참여자 수 backfill
+-- idx_lightning_status_id, UK_LIGHTNING_PARTICIPANTS 추가 (중복 참여 행은 먼저 정리)
+--
+-- ddl-auto 로 스키마를 만드는 환경과 함께 쓰므로 테이블/컬럼/인덱스가 있는지 확인하고 실행한다.
+-- 테이블이 아직 없으면(빈 DB) 아무것도 하지 않고 Hibernate 가 현재 엔티티대로 만든다.
+
+SET @has_lightning = (
+    SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'lightning'
+);
+SET @has_participants = (
+    SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'lightning_participants'
+);
+
+-- 1. participant_count 컬럼
+SET @has_participant_count = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'lightning' AND column_name = 'participant_count'
+);
+SET @ddl = IF(@has_lightning = 1 AND @has_participant_count = 0,
+    'ALTER TABLE lightning ADD COLUMN participant_count INT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 같은 번개에 같은 사용자가 두 번 이상 들어간 행 정리 (LEADER 행, 그다음 가장 먼저 만든 행을 남긴다)
+SET @dml = IF(@has_participants = 1,
+    'DELETE lp FROM lightning_participants lp
+     JOIN lightning_participants keep
+       ON keep.lightning_id = lp.lightning_id
+      AND keep.users_id = lp.users_id
+      AND keep.id <> lp.id
+      AND ((keep.role = ''LEADER'') > (lp.role = ''LEADER'')
+           OR ((keep.role = ''LEADER'') = (lp.role = ''LEADER'') AND keep.id < lp.id))',
+    'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3. participant_count backfill (ddl-auto update 가 먼저 0 으로 만든 경우도 다시 센다)
+SET @dml = IF(@has_lightning = 1 AND @has_participants = 1,
+    'UPDATE lightning l
+     SET l.participant_count = (
+         SELECT COUNT(*) FROM lightning_participants lp WHERE lp.lightning_id = l.id
+     )',
+    'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. UK_LIGHTNING_PARTICIPANTS
+SET @has_unique = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'lightning_participants'
+      AND index_name = 'UK_LIGHTNING_PARTICIPANTS'
+);
+SET @ddl = IF(@has_participants = 1 AND @has_unique = 0,
+    'ALTER TABLE lightning_participants
+     ADD CONSTRAINT UK_LIGHTNING_PARTICIPANTS UNIQUE (lightning_id, users_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 5. idx_lightning_status_id (열린 번개 keyset 조회)
+SET @has_status_index = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'lightning'
+      AND index_name = 'idx_lightning_status_id'
+);
+SET @ddl = IF(@has_lightning = 1 AND @has_status_index = 0,
+    'CREATE INDEX idx_lightning_status_id ON lightning (lightning_status, id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
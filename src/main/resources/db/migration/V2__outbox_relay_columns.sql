@@ -0,0 +1,101 @@
+-- outbox relay 컬럼 추가 / 기존 행 backfill
+-- event_key(Kafka record key), claimed_by(lease), retry_count, next_attempt_at
+--
+-- 이전 relay 가 남긴 행은 next_attempt_at = created_at, retry_count = 0 으로 맞춰 바로 다시 가져가게 한다.
+-- 테이블이 아직 없으면(빈 DB) 아무것도 하지 않고 Hibernate 가 현재 엔티티대로 만든다.
+
+SET @has_outbox = (
+    SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'outbox'
+);
+
+-- 1. event_key
+SET @has_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'outbox' AND column_name = 'event_key'
+);
+SET @ddl = IF(@has_outbox = 1 AND @has_column = 0,
+    'ALTER TABLE outbox ADD COLUMN event_key VARCHAR(64) NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. claimed_by
+SET @has_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'outbox' AND column_name = 'claimed_by'
+);
+SET @ddl = IF(@has_outbox = 1 AND @has_column = 0,
+    'ALTER TABLE outbox ADD COLUMN claimed_by VARCHAR(36) NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3. retry_count (NULL 로 먼저 만들어 둔 경우도 0 으로 채운 뒤 NOT NULL)
+SET @has_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'outbox' AND column_name = 'retry_count'
+);
+SET @ddl = IF(@has_outbox = 1 AND @has_column = 0,
+    'ALTER TABLE outbox ADD COLUMN retry_count INT NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_outbox = 1,
+    'UPDATE outbox SET retry_count = 0 WHERE retry_count IS NULL',
+    'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@has_outbox = 1,
+    'ALTER TABLE outbox MODIFY COLUMN retry_count INT NOT NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. next_attempt_at (ddl-auto update 가 0000-00-00 으로 채운 행도 created_at 으로 되돌린다)
+SET @has_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'outbox' AND column_name = 'next_attempt_at'
+);
+SET @ddl = IF(@has_outbox = 1 AND @has_column = 0,
+    'ALTER TABLE outbox ADD COLUMN next_attempt_at DATETIME(6) NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_outbox = 1,
+    'UPDATE outbox
+     SET next_attempt_at = COALESCE(created_at, NOW(6))
+     WHERE next_attempt_at IS NULL OR next_attempt_at < ''1970-01-02''',
+    'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@has_outbox = 1,
+    'ALTER TABLE outbox MODIFY COLUMN next_attempt_at DATETIME(6) NOT NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 5. idx_outbox_next_attempt_at (relay 의 due 행 조회)
+SET @has_index = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'outbox'
+      AND index_name = 'idx_outbox_next_attempt_at'
+);
+SET @ddl = IF(@has_outbox = 1 AND @has_index = 0,
+    'CREATE INDEX idx_outbox_next_attempt_at ON outbox (next_attempt_at)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,13 @@
+-- users.role_type 에 ROLE_ADMIN 추가
+-- Hibernate 가 MySQL enum 컬럼으로 만든 경우에만 값 목록을 넓힌다. (varchar 면 그대로 둔다)
+
+SET @role_type = (
+    SELECT LOWER(column_type) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'role_type'
+);
+SET @ddl = IF(@role_type IS NOT NULL AND @role_type LIKE 'enum(%' AND @role_type NOT LIKE '%''role_admin''%',
+    'ALTER TABLE users MODIFY COLUMN role_type ENUM(''ROLE_USER'', ''ROLE_ADMIN'') NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,99 @@
+package com.team8.damo.cache.store;
+
+import com.team8.damo.cache.dto.ChatMessageCache;
+import com.team8.damo.metric.ChatTailCacheMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL;
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL_GAP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua 스크립트 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class ChatMessageTailCacheRedisTest {
+
+    private static final Long LIGHTNING_ID = -1L;
+    private static final long SNOWFLAKE_BASE = 300_000_000_000_000_000L;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ChatMessageTailCache chatMessageTailCache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(List.of(CHAT_MESSAGE_TAIL.key(LIGHTNING_ID), CHAT_MESSAGE_TAIL_GAP.key(LIGHTNING_ID)));
+        chatMessageTailCache = new ChatMessageTailCache(
+            redisTemplate,
+            new ChatTailCacheMetric(new SimpleMeterRegistry()),
+            true,
+            3
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(List.of(CHAT_MESSAGE_TAIL.key(LIGHTNING_ID), CHAT_MESSAGE_TAIL_GAP.key(LIGHTNING_ID)));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 메시지를 다시 추가해도 하나만 남고, 순서가 뒤섞여도 가장 최근 N개만 남는다.")
+    void append_dedupesAndKeepsLatest() {
+        // given
+        List<Long> ids = List.of(SNOWFLAKE_BASE + 2, SNOWFLAKE_BASE + 4, SNOWFLAKE_BASE + 1, SNOWFLAKE_BASE + 3);
+
+        // when
+        ids.forEach(id -> chatMessageTailCache.append(LIGHTNING_ID, message(id)));
+        chatMessageTailCache.append(LIGHTNING_ID, message(SNOWFLAKE_BASE + 4));
+
+        // then
+        Optional<List<ChatMessageCache>> result =
+            chatMessageTailCache.findPrev(LIGHTNING_ID, SNOWFLAKE_BASE + 5, false, 3);
+        assertThat(result).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageCache::id)
+                .containsExactly(SNOWFLAKE_BASE + 4, SNOWFLAKE_BASE + 3, SNOWFLAKE_BASE + 2));
+        assertThat(redisTemplate.opsForZSet().size(CHAT_MESSAGE_TAIL.key(LIGHTNING_ID))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("gap 이하가 걸치는 구간은 tail 에서 응답하지 않는다.")
+    void findPrev_fallsBackAcrossGap() {
+        // given
+        LongStream.rangeClosed(1, 3).forEach(i -> chatMessageTailCache.append(LIGHTNING_ID, message(SNOWFLAKE_BASE + i)));
+        redisTemplate.opsForValue().set(CHAT_MESSAGE_TAIL_GAP.key(LIGHTNING_ID), ChatMessageTailCache.sortableId(SNOWFLAKE_BASE + 2));
+
+        // when
+        Optional<List<ChatMessageCache>> acrossGap =
+            chatMessageTailCache.findPrev(LIGHTNING_ID, SNOWFLAKE_BASE + 4, false, 2);
+        Optional<List<ChatMessageCache>> afterGap =
+            chatMessageTailCache.findPrev(LIGHTNING_ID, SNOWFLAKE_BASE + 4, false, 1);
+
+        // then
+        assertThat(acrossGap).isEmpty();
+        assertThat(afterGap).isPresent();
+    }
+
+    private static ChatMessageCache message(Long id) {
+        return new ChatMessageCache(id, 1L, "닉네임", null, "내용", LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
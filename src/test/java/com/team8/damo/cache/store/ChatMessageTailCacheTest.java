@@ -0,0 +1,143 @@
+package com.team8.damo.cache.store;
+
+import com.team8.damo.cache.dto.ChatMessageCache;
+import com.team8.damo.metric.ChatTailCacheMetric;
+import com.team8.damo.util.DataSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL;
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_MESSAGE_TAIL_GAP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class ChatMessageTailCacheTest {
+
+    private static final Long LIGHTNING_ID = 10L;
+    private static final int CAPACITY = 100;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ChatMessageTailCache chatMessageTailCache;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageTailCache = new ChatMessageTailCache(
+            redisTemplate,
+            new ChatTailCacheMetric(new SimpleMeterRegistry()),
+            true,
+            CAPACITY
+        );
+    }
+
+    @Test
+    @DisplayName("재시도로 같은 메시지를 다시 추가해도 같은 id 로 정렬·중복 제거되는 인자로 스크립트를 실행한다.")
+    void append_retriedWithSameArguments() {
+        // given
+        ChatMessageCache message = message(7L);
+
+        // when
+        chatMessageTailCache.append(LIGHTNING_ID, message);
+        chatMessageTailCache.append(LIGHTNING_ID, message);
+
+        // then
+        then(redisTemplate).should(times(2)).execute(
+            any(RedisScript.class),
+            eq(List.of(CHAT_MESSAGE_TAIL.key(LIGHTNING_ID), CHAT_MESSAGE_TAIL_GAP.key(LIGHTNING_ID))),
+            eq("0000000000000000007"),
+            eq(DataSerializer.serialize(message)),
+            eq(String.valueOf(CAPACITY)),
+            eq("86400")
+        );
+    }
+
+    @Test
+    @DisplayName("추가에 실패하면 그 메시지 id 를 gap 으로 남긴다.")
+    void append_failureMarksGap() {
+        // given
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .willThrow(new IllegalStateException("redis down"))
+            .willReturn(1L);
+
+        // when
+        chatMessageTailCache.append(LIGHTNING_ID, message(7L));
+
+        // then
+        then(redisTemplate).should().execute(
+            any(RedisScript.class),
+            eq(List.of(CHAT_MESSAGE_TAIL_GAP.key(LIGHTNING_ID))),
+            eq("0000000000000000007"),
+            eq("86400")
+        );
+    }
+
+    @Test
+    @DisplayName("gap 이하의 메시지가 걸치는 이전 메시지 조회는 DB 로 fallback 한다.")
+    void findPrev_fallsBackAcrossGap() {
+        // given
+        givenTail(LongStream.rangeClosed(1, 5), "0000000000000000003");
+
+        // when
+        Optional<List<ChatMessageCache>> afterGap = chatMessageTailCache.findPrev(LIGHTNING_ID, 6L, false, 2);
+        Optional<List<ChatMessageCache>> acrossGap = chatMessageTailCache.findPrev(LIGHTNING_ID, 6L, false, 3);
+
+        // then
+        assertThat(afterGap).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageCache::id).containsExactly(5L, 4L));
+        assertThat(acrossGap).isEmpty();
+    }
+
+    @Test
+    @DisplayName("cursor 가 gap 보다 앞서면 다음 메시지 조회는 DB 로 fallback 한다.")
+    void findNext_fallsBackBeforeGap() {
+        // given
+        givenTail(LongStream.rangeClosed(1, 5), "0000000000000000003");
+
+        // when
+        Optional<List<ChatMessageCache>> beforeGap = chatMessageTailCache.findNext(LIGHTNING_ID, 2L, 10);
+        Optional<List<ChatMessageCache>> afterGap = chatMessageTailCache.findNext(LIGHTNING_ID, 3L, 10);
+
+        // then
+        assertThat(beforeGap).isEmpty();
+        assertThat(afterGap).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageCache::id).containsExactly(4L, 5L));
+    }
+
+    private void givenTail(LongStream ids, String gap) {
+        Set<String> members = ids
+            .mapToObj(id -> ChatMessageTailCache.sortableId(id) + "|" + DataSerializer.serialize(message(id)))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        given(redisTemplate.executePipelined(any(SessionCallback.class)))
+            .willReturn(Arrays.asList(members, gap));
+    }
+
+    private static ChatMessageCache message(Long id) {
+        return new ChatMessageCache(id, 1L, "닉네임", null, "내용" + id, LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,183 @@
+package com.team8.damo.cache.tier;
+
+import com.team8.damo.cache.CacheSpec;
+import com.team8.damo.cache.dto.UserBasicCache;
+import com.team8.damo.config.RedisConfig;
+import com.team8.damo.metric.TwoLevelCacheMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * L1/L2 적재 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class TwoLevelCacheRedisTest {
+
+    private static final CacheSpec SPEC = CacheSpec.USER_BASIC;
+    private static final Long KEY = -1L;
+    private static final UserBasicCache CACHED = new UserBasicCache(KEY, "old@damo.com", "이전", null, null);
+    private static final UserBasicCache LOADED = new UserBasicCache(KEY, "new@damo.com", "새값", null, null);
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisCache redisCache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+            .disableCachingNullValues()
+            .entryTtl(SPEC.ttl)
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                new RedisConfig().jacksonJsonRedisSerializer()
+            ));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .withInitialCacheConfigurations(Map.of(SPEC.name, configuration))
+            .build();
+        redisCacheManager.afterPropertiesSet();
+        redisCache = (RedisCache) redisCacheManager.getCache(SPEC.name);
+        redisCache.evict(KEY);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        redisCache.evict(KEY);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 miss 가 나면 loader 는 한 번만 호출되고 나머지는 그 결과를 받는다.")
+    void get_coalescesConcurrentMisses() throws Exception {
+        // given
+        TwoLevelCache cache = cache(0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<UserBasicCache>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get(KEY, () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(200);
+                    return LOADED;
+                });
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (Future<UserBasicCache> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(LOADED);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("L2 에서 읽은 값도 함께 저장된 만료 시각으로 early refresh 여부를 판단한다.")
+    void get_refreshesEarlyWithStoredExpiry() {
+        // given
+        cache(0).put(KEY, CACHED);
+        TwoLevelCache cache = cache(Double.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        UserBasicCache fromRedis = cache.get(KEY, () -> {
+            loads.incrementAndGet();
+            return LOADED;
+        });
+        UserBasicCache refreshed = cache.get(KEY, () -> {
+            loads.incrementAndGet();
+            return LOADED;
+        });
+
+        // then
+        assertThat(fromRedis).isEqualTo(CACHED);
+        assertThat(refreshed).isEqualTo(LOADED);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache(0).get(KEY, UserBasicCache.class)).isEqualTo(LOADED);
+    }
+
+    @Test
+    @DisplayName("beta 가 0 이면 만료가 가까워도 미리 다시 적재하지 않는다.")
+    void get_noEarlyRefreshWhenBetaIsZero() {
+        // given
+        TwoLevelCache cache = cache(0);
+        cache.put(KEY, CACHED);
+
+        // when
+        UserBasicCache value = cache.get(KEY, () -> LOADED);
+
+        // then
+        assertThat(value).isEqualTo(CACHED);
+    }
+
+    @Test
+    @DisplayName("적재 중 invalidation 이 들어오면 결과는 호출자에게만 돌려주고 L1/L2 에는 쓰지 않는다.")
+    void get_skipsCachingWhenInvalidatedDuringLoad() throws Exception {
+        // given
+        TwoLevelCache cache = cache(0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        Future<UserBasicCache> result = executor.submit(() -> cache.get(KEY, () -> {
+            loading.countDown();
+            invalidated.await();
+            return LOADED;
+        }));
+
+        // when
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evictLocal(String.valueOf(KEY));
+        invalidated.countDown();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(LOADED);
+        assertThat(cache.get(KEY)).isNull();
+        assertThat(redisCache.get(KEY)).isNull();
+    }
+
+    private TwoLevelCache cache(double earlyRefreshBeta) {
+        return new TwoLevelCache(
+            SPEC,
+            redisCache,
+            cacheInvalidationPublisher,
+            new TwoLevelCacheMetric(new SimpleMeterRegistry()),
+            earlyRefreshBeta
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.team8.damo.chat.persistence;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.handler.CommonEventPublisher;
+import com.team8.damo.event.payload.DropChatMessageEventPayload;
+import com.team8.damo.metric.ChatMessageWriteMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.assertj.core.groups.Tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class ChatMessageWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CommonEventPublisher commonEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("SYNC 저장도 BATCHED 와 같이 메시지의 createdAt 을 created_at / updated_at 에 쓴다.")
+    void write_syncUsesMessageCreatedAt() {
+        // given
+        ChatMessageWriter writer = writer(ChatPersistenceMode.SYNC);
+
+        // when
+        writer.write(message(1L));
+
+        // then
+        then(jdbcTemplate).should().update(anyString(), eq(1L), eq(10L), eq(100L), eq("내용1"), eq(CREATED_AT), eq(CREATED_AT));
+    }
+
+    @Test
+    @DisplayName("BATCHED 는 큐에 적재하고, 종료 시 남은 메시지를 메시지의 createdAt 으로 batch INSERT 한다.")
+    void write_batchedFlushedOnShutdown() {
+        // given
+        ChatMessageWriter writer = writer(ChatPersistenceMode.BATCHED);
+
+        // when
+        writer.write(message(1L));
+        writer.write(message(2L));
+        then(jdbcTemplate).shouldHaveNoInteractions();
+        writer.shutdown();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        then(jdbcTemplate).should().batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue())
+            .extracting(args -> args[0], args -> args[4], args -> args[5])
+            .containsExactly(
+                Tuple.tuple(1L, CREATED_AT, CREATED_AT),
+                Tuple.tuple(2L, CREATED_AT, CREATED_AT)
+            );
+    }
+
+    @Test
+    @DisplayName("batch 가 계속 실패하면 행 단위로 넣고, 제약 위반 행만 버리고 일시적 실패 행은 다시 시도하도록 돌려준다.")
+    void flush_fallsBackToPerRowInsert() {
+        // given
+        ChatMessageWriter writer = writer(ChatPersistenceMode.BATCHED);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willThrow(new QueryTimeoutException("timeout"));
+        given(jdbcTemplate.update(anyString(), any(Object[].class))).willAnswer(invocation -> {
+            Long id = invocation.getArgument(1);
+            if (id == 2L) {
+                throw new DataIntegrityViolationException("lightning deleted");
+            }
+            if (id == 3L) {
+                throw new QueryTimeoutException("timeout");
+            }
+            return 1;
+        });
+
+        // when
+        List<PendingChatMessage> retryable = writer.flush(List.of(message(1L), message(2L), message(3L)));
+
+        // then
+        assertThat(retryable).extracting(PendingChatMessage::id).containsExactly(3L);
+        then(jdbcTemplate).should(times(3)).batchUpdate(anyString(), anyList());
+        then(jdbcTemplate).should(times(3)).update(anyString(), any(Object[].class));
+        assertThat(meterRegistry.get("chat.message.write.flush.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chat.message.write.flushed").counter().count()).isEqualTo(1);
+        then(commonEventPublisher).should().publish(
+            EventType.DROP_CHAT_MESSAGE,
+            DropChatMessageEventPayload.builder().messageId(2L).lightningId(10L).build()
+        );
+    }
+
+    @Test
+    @DisplayName("batch INSERT 가 성공하면 행 단위 INSERT 를 하지 않는다.")
+    void flush_batchSuccess() {
+        // given
+        ChatMessageWriter writer = writer(ChatPersistenceMode.BATCHED);
+
+        // when
+        List<PendingChatMessage> retryable = writer.flush(List.of(message(1L), message(2L)));
+
+        // then
+        assertThat(retryable).isEmpty();
+        then(jdbcTemplate).should(never()).update(anyString(), any(Object[].class));
+        assertThat(meterRegistry.get("chat.message.write.flushed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("아직 flush 되지 않은 메시지 id 를 채팅방별로 돌려준다.")
+    void pendingMessageIds_filtersByLightning() {
+        // given
+        ChatMessageWriter writer = writer(ChatPersistenceMode.BATCHED);
+        writer.write(message(1L));
+        writer.write(new PendingChatMessage(2L, 20L, 100L, "내용2", CREATED_AT));
+        writer.write(message(3L));
+
+        // when
+        List<Long> pendingIds = writer.pendingMessageIds(10L);
+
+        // then
+        assertThat(pendingIds).containsExactly(1L, 3L);
+        then(jdbcTemplate).shouldHaveNoInteractions();
+    }
+
+    private ChatMessageWriter writer(ChatPersistenceMode mode) {
+        return new ChatMessageWriter(
+            jdbcTemplate,
+            new ChatMessageWriteMetric(meterRegistry),
+            commonEventPublisher,
+            mode,
+            200,
+            50,
+            100,
+            0
+        );
+    }
+
+    private static PendingChatMessage message(Long id) {
+        return new PendingChatMessage(id, 10L, 100L, "내용" + id, CREATED_AT);
+    }
+}
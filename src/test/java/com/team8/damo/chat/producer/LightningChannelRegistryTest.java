@@ -0,0 +1,65 @@
+package com.team8.damo.chat.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.CHAT_BROADCAST_CHANNEL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class LightningChannelRegistryTest {
+
+    private static final Long LIGHTNING_ID = 100L;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private MessageListenerAdapter messageListenerAdapter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LightningChannelRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new LightningChannelRegistry(listenerContainer, messageListenerAdapter, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("채팅방의 첫 구독자에서 채널을 구독하고, 마지막 구독자가 떠나면 해제하며, 다시 들어오면 다시 구독한다.")
+    void registerAndUnregister_followsLocalSubscribers() {
+        // given
+        ChannelTopic topic = new ChannelTopic(CHAT_BROADCAST_CHANNEL.key(LIGHTNING_ID));
+
+        // when
+        registry.register("session-1", "sub-1", LIGHTNING_ID);
+        registry.register("session-2", "sub-1", LIGHTNING_ID);
+        registry.unregister("session-1", "sub-1");
+        registry.unregisterSession("session-2");
+        double afterLeave = meterRegistry.get("chat.broadcast.channels.subscribed").gauge().value();
+        registry.register("session-3", "sub-1", LIGHTNING_ID);
+
+        // then
+        InOrder inOrder = inOrder(listenerContainer);
+        inOrder.verify(listenerContainer).addMessageListener(messageListenerAdapter, topic);
+        inOrder.verify(listenerContainer).removeMessageListener(messageListenerAdapter, topic);
+        inOrder.verify(listenerContainer).addMessageListener(messageListenerAdapter, topic);
+        inOrder.verifyNoMoreInteractions();
+
+        assertThat(afterLeave).isZero();
+        assertThat(meterRegistry.get("chat.broadcast.channels.subscribed").gauge().value()).isEqualTo(1);
+    }
+}
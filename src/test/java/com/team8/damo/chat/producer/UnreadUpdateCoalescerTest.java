@@ -0,0 +1,105 @@
+package com.team8.damo.chat.producer;
+
+import com.team8.damo.chat.message.WsEventMessage;
+import com.team8.damo.chat.message.WsEventType;
+import com.team8.damo.event.payload.UpdateUnreadCountEventPayload;
+import com.team8.damo.metric.UnreadUpdateMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class UnreadUpdateCoalescerTest {
+
+    private static final Long LIGHTNING_ID = 100L;
+    // 테스트 중에는 타이머가 돌지 않도록 window 를 길게 두고, 타이머 flush 는 직접 호출한다.
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final int MAX_BATCH = 2;
+
+    @Mock
+    private ChatMessageBroker chatMessageBroker;
+
+    private UnreadUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new UnreadUpdateCoalescer(
+            chatMessageBroker,
+            new UnreadUpdateMetric(new SimpleMeterRegistry()),
+            WINDOW_MILLIS,
+            MAX_BATCH
+        );
+    }
+
+    @Test
+    @DisplayName("max-batch 로 먼저 전송된 window 의 타이머는 다음 window 를 일찍 전송하지 않는다.")
+    void add_staleTimerDoesNotFlushNextWindow() {
+        // given
+        coalescer.add(payload(1L, 10L));
+        coalescer.add(payload(2L, 11L));
+        then(chatMessageBroker).should(times(1)).send(any());
+
+        coalescer.add(payload(3L, 12L));
+
+        // when
+        coalescer.flush(LIGHTNING_ID, 1L);
+
+        // then
+        then(chatMessageBroker).should(times(1)).send(any());
+
+        coalescer.flush(LIGHTNING_ID, 2L);
+
+        ArgumentCaptor<WsEventMessage> captor = ArgumentCaptor.forClass(WsEventMessage.class);
+        then(chatMessageBroker).should(times(2)).send(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(WsEventMessage::type)
+            .containsExactly(WsEventType.UNREAD_UPDATE_BATCH, WsEventType.UNREAD_UPDATE);
+        assertThat(captor.getAllValues().get(1).payload())
+            .isEqualTo(payload(3L, 12L));
+    }
+
+    @Test
+    @DisplayName("window 안의 같은 사용자 범위는 한 건으로 병합되어 타이머에 전송된다.")
+    void add_mergesSameUserWithinWindow() {
+        // given
+        coalescer.add(payload(1L, 10L));
+        coalescer.add(payload(1L, 15L));
+
+        // when
+        coalescer.flush(LIGHTNING_ID, 1L);
+
+        // then
+        ArgumentCaptor<WsEventMessage> captor = ArgumentCaptor.forClass(WsEventMessage.class);
+        then(chatMessageBroker).should(times(1)).send(captor.capture());
+        assertThat(captor.getValue().type()).isEqualTo(WsEventType.UNREAD_UPDATE);
+        assertThat(captor.getValue().payload()).isEqualTo(
+            UpdateUnreadCountEventPayload.builder()
+                .userId(1L)
+                .lightningId(LIGHTNING_ID)
+                .startChatMessageId(10L)
+                .endChatMessageId(15L)
+                .build()
+        );
+    }
+
+    private static UpdateUnreadCountEventPayload payload(Long userId, Long messageId) {
+        return UpdateUnreadCountEventPayload.builder()
+            .userId(userId)
+            .lightningId(LIGHTNING_ID)
+            .startChatMessageId(messageId)
+            .endChatMessageId(messageId)
+            .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.team8.damo.chat.sequence;
+
+import com.team8.damo.metric.LatestMessageIdMetric;
+import com.team8.damo.repository.ChatMessageRepository;
+import com.team8.damo.util.Snowflake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class LatestMessageIdConsistencyCheckerTest {
+
+    private static final Long LIGHTNING_ID = 100L;
+    private static final long GRACE_SECONDS = 60L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    @Mock
+    private Snowflake snowflake;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    private LatestMessageIdConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new LatestMessageIdConsistencyChecker(
+            redisTemplate,
+            chatMessageRepository,
+            latestMessageIdRegister,
+            new LatestMessageIdMetric(new SimpleMeterRegistry()),
+            snowflake,
+            redissonClient,
+            10L,
+            GRACE_SECONDS
+        );
+    }
+
+    @Test
+    @DisplayName("grace 가 지나도 MySQL 에 없는 앞선 id 는 읽은 값 그대로일 때만 MySQL 값으로 되돌린다.")
+    void check_aheadPastGrace_compareAndSetToPersisted() {
+        // given
+        given(latestMessageIdRegister.peek(LIGHTNING_ID)).willReturn(300L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(200L);
+        given(snowflake.extractTimestampMillis(300L))
+            .willReturn(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(GRACE_SECONDS + 1));
+        given(latestMessageIdRegister.compareAndSet(LIGHTNING_ID, 300L, 200L)).willReturn(true);
+
+        // when
+        boolean repaired = checker.check(LIGHTNING_ID);
+
+        // then
+        assertThat(repaired).isTrue();
+        then(latestMessageIdRegister).should(never()).advance(any(), any());
+    }
+
+    @Test
+    @DisplayName("그 사이 새 메시지로 레지스터가 바뀌었으면 compareAndSet 이 실패하고 복구로 세지 않는다.")
+    void check_aheadPastGrace_concurrentAdvanceWins() {
+        // given
+        given(latestMessageIdRegister.peek(LIGHTNING_ID)).willReturn(300L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(200L);
+        given(snowflake.extractTimestampMillis(300L))
+            .willReturn(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(GRACE_SECONDS + 1));
+        given(latestMessageIdRegister.compareAndSet(LIGHTNING_ID, 300L, 200L)).willReturn(false);
+
+        // when
+        boolean repaired = checker.check(LIGHTNING_ID);
+
+        // then
+        assertThat(repaired).isFalse();
+    }
+
+    @Test
+    @DisplayName("grace 안의 앞선 id 는 write-behind 지연일 수 있으므로 그대로 둔다.")
+    void check_aheadWithinGrace_untouched() {
+        // given
+        given(latestMessageIdRegister.peek(LIGHTNING_ID)).willReturn(300L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(200L);
+        given(snowflake.extractTimestampMillis(300L)).willReturn(System.currentTimeMillis());
+
+        // when
+        boolean repaired = checker.check(LIGHTNING_ID);
+
+        // then
+        assertThat(repaired).isFalse();
+        then(latestMessageIdRegister).should(never()).compareAndSet(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("뒤처진 레지스터는 MySQL 값으로 올린다.")
+    void check_behind_advancesToPersisted() {
+        // given
+        given(latestMessageIdRegister.peek(LIGHTNING_ID)).willReturn(100L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(200L);
+
+        // when
+        boolean repaired = checker.check(LIGHTNING_ID);
+
+        // then
+        assertThat(repaired).isTrue();
+        then(latestMessageIdRegister).should().advance(LIGHTNING_ID, 200L);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 락을 잡고 있으면 SCAN 하지 않고 이번 주기를 건너뛴다.")
+    void runCheckSafely_skipsWithoutLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        given(lock.tryLock(0L, TimeUnit.MINUTES.toMillis(10L), TimeUnit.MILLISECONDS)).willReturn(false);
+
+        // when
+        checker.runCheckSafely();
+
+        // then
+        then(redisTemplate).shouldHaveNoInteractions();
+        then(lock).should(never()).unlock();
+    }
+
+    @Test
+    @DisplayName("락을 잡은 노드만 검사하고 끝나면 락을 푼다.")
+    void runCheckSafely_releasesLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(lock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.scan(any())).willThrow(new IllegalStateException("scan failed"));
+
+        // when
+        checker.runCheckSafely();
+
+        // then
+        then(lock).should().unlock();
+    }
+}
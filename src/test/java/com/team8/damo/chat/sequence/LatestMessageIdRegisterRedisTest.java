@@ -0,0 +1,120 @@
+package com.team8.damo.chat.sequence;
+
+import com.team8.damo.metric.LatestMessageIdMetric;
+import com.team8.damo.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua 스크립트 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class LatestMessageIdRegisterRedisTest {
+
+    private static final Long LIGHTNING_ID = -1L;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(LatestMessageIdRegister.key(LIGHTNING_ID));
+        latestMessageIdRegister = new LatestMessageIdRegister(
+            redisTemplate,
+            chatMessageRepository,
+            new LatestMessageIdMetric(new SimpleMeterRegistry())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        redisTemplate.delete(LatestMessageIdRegister.key(LIGHTNING_ID));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("advance 는 순서와 무관하게 최댓값만 남긴다.")
+    void advance_keepsMaximum() {
+        // when
+        latestMessageIdRegister.advance(LIGHTNING_ID, 300L);
+        latestMessageIdRegister.advance(LIGHTNING_ID, 200L);
+        latestMessageIdRegister.advance(LIGHTNING_ID, 299L);
+
+        // then
+        assertThat(latestMessageIdRegister.peek(LIGHTNING_ID)).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("자릿수가 다르거나 2^53 을 넘는 id 도 숫자 크기로 비교한다.")
+    void advance_comparesLargeIdsWithoutPrecisionLoss() {
+        // given
+        long large = 9_007_199_254_740_993L;
+
+        // when
+        latestMessageIdRegister.advance(LIGHTNING_ID, 99L);
+        latestMessageIdRegister.advance(LIGHTNING_ID, large);
+        latestMessageIdRegister.advance(LIGHTNING_ID, large - 1);
+        latestMessageIdRegister.advance(LIGHTNING_ID, 100L);
+
+        // then
+        assertThat(latestMessageIdRegister.peek(LIGHTNING_ID)).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 advance 는 커밋된 뒤에 반영된다.")
+    void advance_appliedAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        latestMessageIdRegister.advance(LIGHTNING_ID, 300L);
+        assertThat(latestMessageIdRegister.peek(LIGHTNING_ID)).isNull();
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        assertThat(latestMessageIdRegister.peek(LIGHTNING_ID)).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("compareAndSet 은 값이 예상과 같을 때만 바꾼다.")
+    void compareAndSet_onlyWhenUnchanged() {
+        // given
+        latestMessageIdRegister.advance(LIGHTNING_ID, 300L);
+
+        // when
+        boolean stale = latestMessageIdRegister.compareAndSet(LIGHTNING_ID, 200L, 100L);
+        boolean swapped = latestMessageIdRegister.compareAndSet(LIGHTNING_ID, 300L, 100L);
+
+        // then
+        assertThat(stale).isFalse();
+        assertThat(swapped).isTrue();
+        assertThat(latestMessageIdRegister.peek(LIGHTNING_ID)).isEqualTo(100L);
+    }
+}
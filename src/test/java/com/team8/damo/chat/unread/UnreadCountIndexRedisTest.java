@@ -0,0 +1,186 @@
+package com.team8.damo.chat.unread;
+
+import com.team8.damo.chat.persistence.ChatMessageWriter;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.repository.ChatMessageRepository;
+import com.team8.damo.repository.projections.ParticipantUnreadCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.NavigableMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Lua 스크립트 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class UnreadCountIndexRedisTest {
+
+    private static final Long LIGHTNING_ID = -1L;
+    private static final Long LEADER_ID = 1L;
+    private static final Long VIEWER_ID = 5L;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatMessageWriter chatMessageWriter;
+
+    @Mock
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private UnreadCountIndex unreadCountIndex;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(UnreadCountIndex.keys(LIGHTNING_ID));
+        unreadCountIndex = new UnreadCountIndex(redisTemplate, chatMessageRepository, chatMessageWriter, latestMessageIdRegister);
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(UnreadCountIndex.keys(LIGHTNING_ID));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("페이지 구간의 커서만 읽어 viewer 와 구독 중인 참여자를 뺀 안 읽은 인원을 계산한다.")
+    void getUnreadPrefixMap_countsCursorsInRange() {
+        // given
+        unreadCountIndex.initialize(LIGHTNING_ID, LEADER_ID);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, 105L);
+        unreadCountIndex.markRead(LIGHTNING_ID, 3L, 110L);
+        unreadCountIndex.markLive(LIGHTNING_ID, 4L);
+        unreadCountIndex.markRead(LIGHTNING_ID, VIEWER_ID, 100L);
+
+        // when
+        NavigableMap<Long, Long> prefixMap = unreadCountIndex.getUnreadPrefixMap(LIGHTNING_ID, VIEWER_ID, 101L, 120L);
+
+        // then
+        assertThat(unread(prefixMap, 101L)).isEqualTo(1L);
+        assertThat(unread(prefixMap, 105L)).isEqualTo(1L);
+        assertThat(unread(prefixMap, 106L)).isEqualTo(2L);
+        assertThat(unread(prefixMap, 111L)).isEqualTo(3L);
+        assertThat(unread(prefixMap, 120L)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("다시 읽거나 구독하면 이전 커서는 ZSET 에서 빠진다.")
+    void markReadAndLive_replacePreviousCursor() {
+        // given
+        unreadCountIndex.initialize(LIGHTNING_ID, LEADER_ID);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, 105L);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, 115L);
+        unreadCountIndex.markRead(LIGHTNING_ID, LEADER_ID, 108L);
+        unreadCountIndex.markLive(LIGHTNING_ID, LEADER_ID);
+
+        // when
+        NavigableMap<Long, Long> prefixMap = unreadCountIndex.getUnreadPrefixMap(LIGHTNING_ID, VIEWER_ID, 101L, 120L);
+
+        // then
+        assertThat(unread(prefixMap, 110L)).isZero();
+        assertThat(unread(prefixMap, 116L)).isEqualTo(1L);
+        assertThat(redisTemplate.opsForZSet().size(UnreadCountIndex.keys(LIGHTNING_ID).get(1))).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("2^53 을 넘는 Snowflake id 도 정밀도 손실 없이 구분한다.")
+    void getUnreadPrefixMap_distinguishesLargeIds() {
+        // given
+        long base = 9_007_199_254_740_993L;
+        unreadCountIndex.initialize(LIGHTNING_ID, LEADER_ID);
+        unreadCountIndex.markRead(LIGHTNING_ID, LEADER_ID, base);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, base + 2);
+
+        // when
+        NavigableMap<Long, Long> prefixMap = unreadCountIndex.getUnreadPrefixMap(LIGHTNING_ID, VIEWER_ID, base, base + 3);
+
+        // then
+        assertThat(unread(prefixMap, base)).isZero();
+        assertThat(unread(prefixMap, base + 1)).isEqualTo(1L);
+        assertThat(unread(prefixMap, base + 2)).isEqualTo(1L);
+        assertThat(unread(prefixMap, base + 3)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("재구성할 때 write-behind 큐에 남은 메시지도 count 와 안 읽은 수에 포함한다.")
+    void rebuild_countsQueuedMessages() {
+        // given
+        given(chatMessageWriter.pendingMessageIds(LIGHTNING_ID)).willReturn(List.of(201L, 202L));
+        given(chatMessageRepository.countUnreadMessagesByLightning(LIGHTNING_ID))
+            .willReturn(List.of(participant(2L, 150L, 3L)));
+        given(chatMessageRepository.countByLightningIdIn(List.of(LIGHTNING_ID))).willReturn(10L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(201L);
+        given(chatMessageRepository.findIdsByIdIn(List.of(201L, 202L))).willReturn(List.of(201L));
+        given(latestMessageIdRegister.get(LIGHTNING_ID)).willReturn(202L);
+
+        // when
+        Integer unreadCount = unreadCountIndex.getUnreadCounts(2L, List.of(LIGHTNING_ID)).get(LIGHTNING_ID);
+
+        // then
+        assertThat(unreadCount).isEqualTo(4);
+        assertThat(redisTemplate.getExpire(UnreadCountIndex.keys(LIGHTNING_ID).get(0))).isGreaterThan(5L);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 아직 flush 하지 않은 메시지가 있으면 짧은 TTL 로 재구성하고 증가로 연장하지 않는다.")
+    void rebuild_provisionalWhenRegisterIsAhead() {
+        // given
+        given(chatMessageWriter.pendingMessageIds(LIGHTNING_ID)).willReturn(List.of());
+        given(chatMessageRepository.countUnreadMessagesByLightning(LIGHTNING_ID)).willReturn(List.of());
+        given(chatMessageRepository.countByLightningIdIn(List.of(LIGHTNING_ID))).willReturn(10L);
+        given(chatMessageRepository.findLatestMessageId(LIGHTNING_ID)).willReturn(201L);
+        given(latestMessageIdRegister.get(LIGHTNING_ID)).willReturn(300L);
+
+        // when
+        unreadCountIndex.getUnreadCounts(2L, List.of(LIGHTNING_ID));
+        unreadCountIndex.increaseMessageCount(LIGHTNING_ID);
+
+        // then
+        assertThat(redisTemplate.getExpire(UnreadCountIndex.keys(LIGHTNING_ID).get(0))).isBetween(1L, 5L);
+    }
+
+    private long unread(NavigableMap<Long, Long> prefixMap, long messageId) {
+        var entry = prefixMap.lowerEntry(messageId);
+        return entry == null ? 0L : entry.getValue();
+    }
+
+    private ParticipantUnreadCount participant(Long userId, Long lastReadChatMessageId, Long unreadCount) {
+        return new ParticipantUnreadCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getLastReadChatMessageId() {
+                return lastReadChatMessageId;
+            }
+
+            @Override
+            public Long getUnreadCount() {
+                return unreadCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.team8.damo.chat.unread;
+
+import com.team8.damo.chat.persistence.ChatMessageWriter;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.repository.ChatMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class UnreadCountIndexTest {
+
+    private static final Long LIGHTNING_ID = 100L;
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatMessageWriter chatMessageWriter;
+
+    @Mock
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    @InjectMocks
+    private UnreadCountIndex unreadCountIndex;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 생성/읽음 처리한 인덱스는 커밋된 뒤에 Redis 에 반영된다.")
+    void initializeAndMarkRead_appliedAfterCommit() {
+        // given
+        unreadCountIndex.initialize(LIGHTNING_ID, USER_ID);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, 10L);
+        then(redisTemplate).shouldHaveNoInteractions();
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        then(redisTemplate).should(times(2))
+            .execute(any(RedisScript.class), eq(UnreadCountIndex.keys(LIGHTNING_ID)), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 생성/읽음/퇴장 처리가 인덱스에 남지 않는다.")
+    void rollback_leavesIndexUntouched() {
+        // given
+        unreadCountIndex.initialize(LIGHTNING_ID, USER_ID);
+        unreadCountIndex.markRead(LIGHTNING_ID, 2L, 10L);
+        unreadCountIndex.remove(LIGHTNING_ID, 3L);
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        then(redisTemplate).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,48 @@
+package com.team8.damo.dining;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class RecommendationStreamStoreTest {
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"1-0", "1700000000000-5", "9223372036854775807-9223372036854775807"})
+    @DisplayName("long 범위의 Stream 엔트리 ID 는 재전송 기준으로 받는다.")
+    void isEntryId_valid(String value) {
+        assertThat(RecommendationStreamStore.isEntryId(value)).isTrue();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @NullAndEmptySource
+    @ValueSource(strings = {
+        "99999999999999999999-0",
+        "9223372036854775808-0",
+        "1-9223372036854775808",
+        "1700000000000",
+        "-1-0",
+        "abc-0",
+        "1-0-0",
+        " 1-0"
+    })
+    @DisplayName("형식이 틀리거나 long 범위를 넘는 Last-Event-ID 는 엔트리 ID 로 보지 않는다.")
+    void isEntryId_invalid(String value) {
+        assertThat(RecommendationStreamStore.isEntryId(value)).isFalse();
+    }
+
+    @Test
+    @DisplayName("엔트리 ID 는 시간 부분, 그다음 순번 부분을 숫자로 비교하고 null 을 가장 앞으로 본다.")
+    void compareEntryIds() {
+        assertThat(RecommendationStreamStore.compareEntryIds("2-0", "10-0")).isNegative();
+        assertThat(RecommendationStreamStore.compareEntryIds("10-2", "10-10")).isNegative();
+        assertThat(RecommendationStreamStore.compareEntryIds("10-1", "10-1")).isZero();
+        assertThat(RecommendationStreamStore.compareEntryIds(null, "1-0")).isNegative();
+        assertThat(RecommendationStreamStore.compareEntryIds("1-0", null)).isPositive();
+    }
+}
@@ -0,0 +1,145 @@
+package com.team8.damo.dining;
+
+import com.team8.damo.entity.Dining;
+import com.team8.damo.entity.enumeration.DiningStatus;
+import com.team8.damo.fixture.DiningFixture;
+import com.team8.damo.fixture.GroupFixture;
+import com.team8.damo.fixture.RecommendRestaurantFixture;
+import com.team8.damo.repository.DiningRepository;
+import com.team8.damo.repository.RecommendRestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class RestaurantVoteTallyFlusherTest {
+
+    private static final Long DINING_ID = 10L;
+    private static final Integer RECOMMENDATION_COUNT = 2;
+    private static final String MEMBER = "10:2";
+
+    @Mock
+    private RestaurantVoteTally restaurantVoteTally;
+
+    @Mock
+    private RecommendRestaurantRepository recommendRestaurantRepository;
+
+    @Mock
+    private DiningRepository diningRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RestaurantVoteTallyFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        flusher = new RestaurantVoteTallyFlusher(
+            restaurantVoteTally,
+            recommendRestaurantRepository,
+            diningRepository,
+            transactionManager,
+            5
+        );
+    }
+
+    @Test
+    @DisplayName("투표 중인 회차는 집계 값을 recommend_restaurants 에 쓴다.")
+    void flush_votingRound() {
+        // given
+        given(diningRepository.findByIdForUpdate(DINING_ID))
+            .willReturn(Optional.of(dining(DiningStatus.RESTAURANT_VOTING, RECOMMENDATION_COUNT)));
+        given(restaurantVoteTally.peek(MEMBER)).willReturn(Map.of(100L, new VoteCounts(3, 1)));
+
+        // when
+        boolean flushed = flusher.flush(MEMBER);
+
+        // then
+        assertThat(flushed).isTrue();
+        then(recommendRestaurantRepository).should().setVoteCounts(100L, 3, 1);
+    }
+
+    @Test
+    @DisplayName("이미 확정된 회차는 확정 시 쓴 정확한 값을 이전 집계로 덮어쓰지 않는다.")
+    void flush_confirmedRoundSkipped() {
+        // given
+        given(diningRepository.findByIdForUpdate(DINING_ID))
+            .willReturn(Optional.of(dining(DiningStatus.CONFIRMED, RECOMMENDATION_COUNT)));
+
+        // when
+        boolean flushed = flusher.flush(MEMBER);
+
+        // then
+        assertThat(flushed).isTrue();
+        then(restaurantVoteTally).should(never()).peek(any());
+        then(recommendRestaurantRepository).should(never()).setVoteCounts(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재추천으로 회차가 바뀌었으면 이전 회차 집계를 쓰지 않는다.")
+    void flush_staleRoundSkipped() {
+        // given
+        given(diningRepository.findByIdForUpdate(DINING_ID))
+            .willReturn(Optional.of(dining(DiningStatus.RESTAURANT_VOTING, RECOMMENDATION_COUNT + 1)));
+
+        // when
+        flusher.flush(MEMBER);
+
+        // then
+        then(recommendRestaurantRepository).should(never()).setVoteCounts(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("집계 키가 없으면 투표 행으로 다시 센 값을 쓴다.")
+    void flush_missingTallyRecounts() {
+        // given
+        Dining dining = dining(DiningStatus.RESTAURANT_VOTING, RECOMMENDATION_COUNT);
+        given(diningRepository.findByIdForUpdate(DINING_ID)).willReturn(Optional.of(dining));
+        given(restaurantVoteTally.peek(MEMBER)).willReturn(Map.of());
+        given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(DINING_ID, RECOMMENDATION_COUNT))
+            .willReturn(List.of(RecommendRestaurantFixture.create(100L, dining)));
+        given(restaurantVoteTally.countVotes(List.of(100L))).willReturn(Map.of(100L, new VoteCounts(2, 0)));
+
+        // when
+        flusher.flush(MEMBER);
+
+        // then
+        then(recommendRestaurantRepository).should().setVoteCounts(100L, 2, 0);
+    }
+
+    @Test
+    @DisplayName("쓰기에 실패한 회차는 이번 주기가 끝난 뒤 다시 dirty 로 돌려놓는다.")
+    void flushAll_requeuesFailedRound() {
+        // given
+        given(restaurantVoteTally.popDirty(anyInt())).willReturn(List.of(MEMBER), List.of());
+        given(diningRepository.findByIdForUpdate(DINING_ID)).willThrow(new IllegalStateException("db down"));
+
+        // when
+        flusher.flushAll();
+
+        // then
+        then(restaurantVoteTally).should().markDirty(MEMBER);
+    }
+
+    private static Dining dining(DiningStatus status, Integer recommendationCount) {
+        return DiningFixture.createWithRecommendationCount(DINING_ID, GroupFixture.create(1L), status, recommendationCount);
+    }
+}
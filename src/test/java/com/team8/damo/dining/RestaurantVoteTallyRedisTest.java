@@ -0,0 +1,102 @@
+package com.team8.damo.dining;
+
+import com.team8.damo.entity.RecommendRestaurant;
+import com.team8.damo.entity.enumeration.RestaurantVoteStatus;
+import com.team8.damo.fixture.DiningFixture;
+import com.team8.damo.fixture.GroupFixture;
+import com.team8.damo.fixture.RecommendRestaurantFixture;
+import com.team8.damo.repository.RecommendRestaurantVoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.RESTAURANT_VOTE_TALLY;
+import static com.team8.damo.redis.key.RedisKeyPrefix.RESTAURANT_VOTE_TALLY_DIRTY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Lua 스크립트 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class RestaurantVoteTallyRedisTest {
+
+    private static final Long DINING_ID = -1L;
+    private static final Integer RECOMMENDATION_COUNT = 1;
+    private static final String MEMBER = RestaurantVoteTally.member(DINING_ID, RECOMMENDATION_COUNT);
+
+    @Mock
+    private RecommendRestaurantVoteRepository recommendRestaurantVoteRepository;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RestaurantVoteTally restaurantVoteTally;
+    private RecommendRestaurant recommendRestaurant;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        clear();
+        restaurantVoteTally = new RestaurantVoteTally(redisTemplate, recommendRestaurantVoteRepository);
+
+        var dining = DiningFixture.createWithRecommendationCount(DINING_ID, GroupFixture.create(1L), null, RECOMMENDATION_COUNT);
+        recommendRestaurant = RecommendRestaurantFixture.create(100L, dining, "6976b54010e1fa815903d4ce", RECOMMENDATION_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("집계 키가 없어 증감을 버려도 회차는 dirty 로 표시된다.")
+    void record_missingTallyStillMarksDirty() {
+        // when
+        restaurantVoteTally.recordAfterCommit(recommendRestaurant, null, RestaurantVoteStatus.LIKE);
+
+        // then
+        assertThat(redisTemplate.hasKey(RESTAURANT_VOTE_TALLY.key(MEMBER))).isFalse();
+        assertThat(redisTemplate.opsForSet().isMember(RESTAURANT_VOTE_TALLY_DIRTY.key(), MEMBER)).isTrue();
+    }
+
+    @Test
+    @DisplayName("투표 행으로 채운 집계는 dirty 로 표시되고, 이후 증감이 더해진다.")
+    void initializeThenRecord() {
+        // given
+        given(recommendRestaurantVoteRepository.countByRecommendRestaurantIdIn(any())).willReturn(List.of());
+        restaurantVoteTally.getCounts(DINING_ID, RECOMMENDATION_COUNT, List.of(100L));
+        assertThat(redisTemplate.opsForSet().isMember(RESTAURANT_VOTE_TALLY_DIRTY.key(), MEMBER)).isTrue();
+        redisTemplate.opsForSet().remove(RESTAURANT_VOTE_TALLY_DIRTY.key(), MEMBER);
+
+        // when
+        restaurantVoteTally.recordAfterCommit(recommendRestaurant, null, RestaurantVoteStatus.LIKE);
+        restaurantVoteTally.recordAfterCommit(recommendRestaurant, RestaurantVoteStatus.LIKE, RestaurantVoteStatus.DISLIKE);
+
+        // then
+        assertThat(restaurantVoteTally.peek(MEMBER)).isEqualTo(Map.of(100L, new VoteCounts(0, 1)));
+        assertThat(redisTemplate.opsForSet().isMember(RESTAURANT_VOTE_TALLY_DIRTY.key(), MEMBER)).isTrue();
+    }
+
+    private void clear() {
+        redisTemplate.delete(RESTAURANT_VOTE_TALLY.key(MEMBER));
+        redisTemplate.opsForSet().remove(RESTAURANT_VOTE_TALLY_DIRTY.key(), MEMBER);
+    }
+}
@@ -0,0 +1,111 @@
+package com.team8.damo.event;
+
+import com.team8.damo.event.payload.DropChatMessageEventPayload;
+import com.team8.damo.event.payload.EventPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class EventTest {
+
+    private static final DropChatMessageEventPayload PAYLOAD = DropChatMessageEventPayload.builder()
+        .messageId(9_007_199_254_740_993L)
+        .lightningId(10L)
+        .build();
+
+    @Test
+    @DisplayName("eventType 이 payload 보다 앞에 오면 payload 를 EventType 의 payload 클래스로 바로 읽는다.")
+    void fromJson_eventTypeBeforePayload() {
+        // given
+        String json = """
+            {"eventId":1,"eventType":"DROP_CHAT_MESSAGE","payload":{"messageId":9007199254740993,"lightningId":10}}
+            """;
+
+        // when
+        Event<EventPayload> event = Event.fromJson(json);
+
+        // then
+        assertThat(event.getEventId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isEqualTo(EventType.DROP_CHAT_MESSAGE);
+        assertThat(event.getPayload()).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("payload 가 eventType 보다 앞에 와도 버퍼링했다가 같은 타입으로 읽는다.")
+    void fromJson_payloadBeforeEventType() {
+        // given
+        String json = """
+            {"payload":{"lightningId":10,"messageId":9007199254740993},"eventId":1,"eventType":"DROP_CHAT_MESSAGE"}
+            """;
+
+        // when
+        Event<EventPayload> event = Event.fromJson(json);
+
+        // then
+        assertThat(event.getEventId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isEqualTo(EventType.DROP_CHAT_MESSAGE);
+        assertThat(event.getPayload()).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("toJson 으로 쓴 이벤트는 fromJson 으로 그대로 읽힌다.")
+    void toJson_roundTrip() {
+        // given
+        String json = Event.of(1L, EventType.DROP_CHAT_MESSAGE, PAYLOAD).toJson();
+
+        // when
+        Event<EventPayload> event = Event.fromJson(json);
+
+        // then
+        assertThat(event.getEventType()).isEqualTo(EventType.DROP_CHAT_MESSAGE);
+        assertThat(event.getPayload()).isEqualTo(PAYLOAD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        """
+            {"eventId":1,"eventType":"UNKNOWN","payload":{"messageId":1,"lightningId":10}}
+            """,
+        """
+            {"eventId":1,"payload":{"messageId":1,"lightningId":10},"eventType":"UNKNOWN"}
+            """
+    })
+    @DisplayName("알 수 없는 eventType 이면 eventType 과 payload 를 null 로 두고 예외를 던지지 않는다.")
+    void fromJson_unknownEventType(String json) {
+        // when
+        Event<EventPayload> event = Event.fromJson(json);
+
+        // then
+        assertThat(event.getEventId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isNull();
+        assertThat(event.getPayload()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        """
+            {"eventId":1,"eventType":"DROP_CHAT_MESSAGE","payload":null}
+            """,
+        """
+            {"eventId":1,"payload":null,"eventType":"DROP_CHAT_MESSAGE"}
+            """,
+        """
+            {"eventId":1,"eventType":"DROP_CHAT_MESSAGE"}
+            """
+    })
+    @DisplayName("payload 가 null 이거나 없으면 payload 만 null 로 둔다.")
+    void fromJson_nullOrMissingPayload(String json) {
+        // when
+        Event<EventPayload> event = Event.fromJson(json);
+
+        // then
+        assertThat(event.getEventId()).isEqualTo(1L);
+        assertThat(event.getEventType()).isEqualTo(EventType.DROP_CHAT_MESSAGE);
+        assertThat(event.getPayload()).isNull();
+    }
+}
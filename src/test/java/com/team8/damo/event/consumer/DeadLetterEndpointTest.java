@@ -0,0 +1,115 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.metric.KafkaRetryMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class DeadLetterEndpointTest {
+
+    private static final TopicPartition DEAD_LETTER_PARTITION = new TopicPartition(EventType.Topic.DEAD_LETTER, 1);
+
+    @Mock
+    private ConsumerFactory<String, String> consumerFactory;
+
+    @Mock
+    private Consumer<String, String> consumer;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeadLetterEndpoint deadLetterEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deadLetterEndpoint = new DeadLetterEndpoint(consumerFactory, kafkaTemplate, new KafkaRetryMetric(meterRegistry), 50);
+        given(consumerFactory.createConsumer(null, "dead-letter-endpoint")).willReturn(consumer);
+    }
+
+    @Test
+    @DisplayName("dead-letter 레코드를 원본 토픽으로 다시 보낸다.")
+    void replay_sendsToOriginalTopic() {
+        // given
+        given(consumer.poll(any(Duration.class))).willReturn(records(deadLetter(5L)));
+        given(kafkaTemplate.send(EventType.Topic.RECOMMENDATION_RESPONSE, "200", "value"))
+            .willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        DeadLetterEndpoint.DeadLetterRecord replayed = deadLetterEndpoint.replay(1, 5L);
+
+        // then
+        assertThat(replayed.originalTopic()).isEqualTo(EventType.Topic.RECOMMENDATION_RESPONSE);
+        assertThat(replayed.failedAttempts()).isEqualTo(4);
+        then(consumer).should().seek(DEAD_LETTER_PARTITION, 5L);
+        then(kafkaTemplate).should().send(EventType.Topic.RECOMMENDATION_RESPONSE, "200", "value");
+        assertThat(meterRegistry.get("kafka.consumer.dead.letter.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("해당 offset 의 레코드가 없으면 다시 보내지 않고 예외가 발생한다.")
+    void replay_notFound() {
+        // given
+        given(consumer.poll(any(Duration.class))).willReturn(records(deadLetter(6L)));
+
+        // when // then
+        assertThatThrownBy(() -> deadLetterEndpoint.replay(1, 5L))
+            .isInstanceOf(IllegalArgumentException.class);
+        then(kafkaTemplate).should(never()).send(any(String.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("다시 보내기에 실패하면 예외가 발생하고 replay 로 집계하지 않는다.")
+    void replay_sendFailure() {
+        // given
+        given(consumer.poll(any(Duration.class))).willReturn(records(deadLetter(5L)));
+        given(kafkaTemplate.send(EventType.Topic.RECOMMENDATION_RESPONSE, "200", "value"))
+            .willReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when // then
+        assertThatThrownBy(() -> deadLetterEndpoint.replay(1, 5L))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.find("kafka.consumer.dead.letter.replays").counter()).isNull();
+    }
+
+    private static ConsumerRecord<String, String> deadLetter(long offset) {
+        ConsumerRecord<String, String> record =
+            new ConsumerRecord<>(EventType.Topic.DEAD_LETTER, DEAD_LETTER_PARTITION.partition(), offset, "200", "value");
+        record.headers().add(RetryTopicRouter.ORIGINAL_TOPIC,
+            EventType.Topic.RECOMMENDATION_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.FAILED_ATTEMPTS, "4".getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private static ConsumerRecords<String, String> records(ConsumerRecord<String, String> record) {
+        return new ConsumerRecords<>(Map.of(DEAD_LETTER_PARTITION, List.of(record)));
+    }
+}
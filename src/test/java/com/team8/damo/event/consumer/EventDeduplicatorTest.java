@@ -0,0 +1,110 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.metric.EventDedupMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.EVENT_DEDUP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+    private static final String SCOPE = "consumer";
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private EventDeduplicator eventDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        eventDeduplicator = new EventDeduplicator(
+            redisTemplate,
+            new EventDedupMetric(new SimpleMeterRegistry()),
+            24,
+            10,
+            1000
+        );
+    }
+
+    @Test
+    @DisplayName("처리 전 확인은 표시를 남기지 않으므로, 처리 도중 실패한 이벤트가 다시 오면 다시 처리한다.")
+    void isDuplicate_doesNotMarkBeforeProcessing() {
+        // given
+        String key = EVENT_DEDUP.key(SCOPE, EVENT_ID);
+        given(redisTemplate.hasKey(key)).willReturn(false);
+
+        // when
+        boolean first = eventDeduplicator.isDuplicate(SCOPE, EVENT_ID);
+        boolean redelivered = eventDeduplicator.isDuplicate(SCOPE, EVENT_ID);
+
+        // then
+        assertThat(first).isFalse();
+        assertThat(redelivered).isFalse();
+        then(redisTemplate).should(never()).opsForValue();
+    }
+
+    @Test
+    @DisplayName("처리에 성공한 이벤트는 Redis 와 로컬에 표시되어 다시 오면 중복으로 걸러진다.")
+    void markProcessed_thenDuplicate() {
+        // given
+        String key = EVENT_DEDUP.key(SCOPE, EVENT_ID);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+        // when
+        eventDeduplicator.markProcessed(SCOPE, EVENT_ID);
+        boolean duplicate = eventDeduplicator.isDuplicate(SCOPE, EVENT_ID);
+
+        // then
+        assertThat(duplicate).isTrue();
+        then(valueOperations).should().set(key, "1", Duration.ofHours(24));
+        then(redisTemplate).should(never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 처리한 이벤트는 Redis 표시로 걸러진다.")
+    void isDuplicate_processedByOtherNode() {
+        // given
+        given(redisTemplate.hasKey(EVENT_DEDUP.key(SCOPE, EVENT_ID))).willReturn(true);
+
+        // when
+        boolean duplicate = eventDeduplicator.isDuplicate(SCOPE, EVENT_ID);
+
+        // then
+        assertThat(duplicate).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에는 중복 여부를 알 수 없으므로 통과시킨다.")
+    void isDuplicate_redisFailurePassesThrough() {
+        // given
+        given(redisTemplate.hasKey(any())).willThrow(new IllegalStateException("redis down"));
+
+        // when
+        boolean duplicate = eventDeduplicator.isDuplicate(SCOPE, EVENT_ID);
+
+        // then
+        assertThat(duplicate).isFalse();
+    }
+}
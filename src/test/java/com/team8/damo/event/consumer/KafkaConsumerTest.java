@@ -0,0 +1,235 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.Event;
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.handler.EventHandlerRegistry;
+import com.team8.damo.event.payload.RecommendationDoneEventPayload;
+import com.team8.damo.metric.KafkaRetryMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerTest {
+
+    @Mock
+    private EventHandlerRegistry eventHandlerRegistry;
+
+    @Mock
+    private EventDeduplicator eventDeduplicator;
+
+    @Mock
+    private KeyOrderedExecutor keyOrderedExecutor;
+
+    @Mock
+    private RetryTopicRouter retryTopicRouter;
+
+    @Mock
+    private Acknowledgment notDueAck;
+
+    @Mock
+    private Acknowledgment dueAck;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private KafkaConsumer kafkaConsumer;
+
+    @BeforeEach
+    void setUp() {
+        kafkaConsumer = new KafkaConsumer(
+            eventHandlerRegistry,
+            eventDeduplicator,
+            keyOrderedExecutor,
+            retryTopicRouter,
+            new KafkaRetryMetric(new SimpleMeterRegistry())
+        );
+    }
+
+    @Test
+    @DisplayName("재시도 시각이 안 된 5m 레코드가 nack 되어도, 재시도 시각이 된 10s 레코드는 바로 처리된다.")
+    void consumeRetry_dueTenSecondRecordNotBlockedByFiveMinuteRecord() {
+        // given
+        long now = System.currentTimeMillis();
+        ConsumerRecord<String, String> notDue = retryRecord(EventType.Topic.RETRY_5M, 1L, now + Duration.ofMinutes(4).toMillis());
+        ConsumerRecord<String, String> due = retryRecord(EventType.Topic.RETRY_10S, 2L, now - 1);
+
+        // when
+        kafkaConsumer.consumeRetry5m(notDue, notDueAck);
+        kafkaConsumer.consumeRetry10s(due, dueAck);
+
+        // then
+        ArgumentCaptor<Duration> pause = ArgumentCaptor.forClass(Duration.class);
+        then(notDueAck).should().nack(pause.capture());
+        then(notDueAck).should(never()).acknowledge();
+        assertThat(pause.getValue()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(30));
+
+        then(dueAck).should().acknowledge();
+        then(dueAck).should(never()).nack(any(Duration.class));
+        ArgumentCaptor<Event> handled = ArgumentCaptor.forClass(Event.class);
+        then(eventHandlerRegistry).should().handle(handled.capture());
+        assertThat(handled.getValue().getEventId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("재시도 단계마다 listener(컨테이너)를 따로 두고, 파티션마다 컨슈머를 띄운다.")
+    void retryListeners_oneContainerPerTier() {
+        // given
+        List<KafkaListener> retryListeners = Arrays.stream(KafkaConsumer.class.getDeclaredMethods())
+            .map(method -> method.getAnnotation(KafkaListener.class))
+            .filter(listener -> listener != null)
+            .filter(listener -> Arrays.stream(listener.topics()).anyMatch(topic -> topic.startsWith("damo-retry-")))
+            .toList();
+
+        // then
+        assertThat(retryListeners).hasSize(RetryTier.values().length);
+        assertThat(retryListeners).allSatisfy(listener -> {
+            assertThat(listener.topics()).hasSize(1);
+            assertThat(listener.concurrency()).isNotBlank();
+        });
+        assertThat(retryListeners)
+            .flatExtracting(listener -> List.of(listener.topics()))
+            .containsExactlyInAnyOrder(
+                Arrays.stream(RetryTier.values()).map(RetryTier::getTopic).toArray(String[]::new)
+            );
+    }
+
+    @Test
+    @DisplayName("lane 에서 핸들러가 실패하면 재시도 토픽으로 넘긴 뒤에만 ack 한다.")
+    void consume_acksFailedRecordOnlyAfterForwarded() {
+        // given
+        ConsumerRecord<String, String> record = record(1L);
+        runLaneInline();
+        RuntimeException failure = new IllegalStateException("handler failed");
+        willThrow(failure).given(eventHandlerRegistry).handle(any());
+
+        // when
+        kafkaConsumer.consume(record, ack);
+
+        // then
+        InOrder order = inOrder(retryTopicRouter, ack);
+        order.verify(retryTopicRouter).route(record, failure);
+        order.verify(ack).acknowledge();
+        then(eventDeduplicator).should(never()).markProcessed(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("lane 에서 핸들러 실패를 재시도 토픽으로 넘기지 못하면 ack 하지 않는다.")
+    void consume_leavesFailedRecordUnackedWhenForwardFails() {
+        // given
+        ConsumerRecord<String, String> record = record(1L);
+        runLaneInline();
+        willThrow(new IllegalStateException("handler failed")).given(eventHandlerRegistry).handle(any());
+        willThrow(new IllegalArgumentException("bad header")).given(retryTopicRouter).route(eq(record), any());
+
+        // when
+        kafkaConsumer.consume(record, ack);
+
+        // then
+        then(ack).should(never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("lane 에서 중복 확인이 실패하면 핸들러를 호출하지 않고 ack 하지 않는다.")
+    void consume_leavesRecordUnackedWhenDeduplicationFails() {
+        // given
+        ConsumerRecord<String, String> record = record(1L);
+        runLaneInline();
+        given(eventDeduplicator.isDuplicate(anyString(), eq(1L))).willThrow(new IllegalStateException("redis down"));
+
+        // when
+        kafkaConsumer.consume(record, ack);
+
+        // then
+        then(eventHandlerRegistry).shouldHaveNoInteractions();
+        then(ack).should(never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("lane 에 넘기지 못하면(종료 중) nack 해서 다시 받는다.")
+    void consume_nacksWhenLaneRejects() {
+        // given
+        willThrow(new RejectedExecutionException("shutting down")).given(keyOrderedExecutor).execute(any(), any());
+
+        // when
+        kafkaConsumer.consume(record(1L), ack);
+
+        // then
+        then(ack).should().nack(any(Duration.class));
+        then(ack).should(never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재시도 토픽에서 다시 실패한 레코드를 넘기지 못하면 ack 하지 않고 nack 한다.")
+    void consumeRetry_nacksWhenForwardFails() {
+        // given
+        ConsumerRecord<String, String> record = retryRecord(EventType.Topic.RETRY_10S, 1L, System.currentTimeMillis() - 1);
+        willThrow(new IllegalStateException("handler failed")).given(eventHandlerRegistry).handle(any());
+        willThrow(new RetryTopicRouter.ForwardException("send failed", new RuntimeException()))
+            .given(retryTopicRouter).route(eq(record), any());
+
+        // when
+        kafkaConsumer.consumeRetry10s(record, ack);
+
+        // then
+        then(ack).should().nack(any(Duration.class));
+        then(ack).should(never()).acknowledge();
+    }
+
+    private void runLaneInline() {
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).given(keyOrderedExecutor).execute(any(), any());
+    }
+
+    private static ConsumerRecord<String, String> record(Long eventId) {
+        String value = Event.of(
+            eventId,
+            EventType.RECOMMENDATION_RESPONSE,
+            new RecommendationDoneEventPayload(200L, 1, List.of())
+        ).toJson();
+        return new ConsumerRecord<>(EventType.Topic.RECOMMENDATION_RESPONSE, 0, 10L, "200", value);
+    }
+
+    private static ConsumerRecord<String, String> retryRecord(String topic, Long eventId, long notBefore) {
+        String value = Event.of(
+            eventId,
+            EventType.RECOMMENDATION_RESPONSE,
+            new RecommendationDoneEventPayload(200L, 1, List.of())
+        ).toJson();
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(topic, 0, 10L, "200", value);
+        record.headers().add(RetryTopicRouter.ORIGINAL_TOPIC, EventType.Topic.RECOMMENDATION_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.NOT_BEFORE, String.valueOf(notBefore).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,117 @@
+package com.team8.damo.event.consumer;
+
+import com.team8.damo.event.EventType;
+import com.team8.damo.metric.KafkaRetryMetric;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class RetryTopicRouterTest {
+
+    private static final String ORIGINAL_TOPIC = EventType.Topic.RECOMMENDATION_RESPONSE;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetryTopicRouter retryTopicRouter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryTopicRouter = new RetryTopicRouter(kafkaTemplate, new KafkaRetryMetric(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("처음 실패한 레코드는 첫 번째 재시도 토픽으로 원본 정보와 함께 보낸다.")
+    void route_firstFailure() {
+        // given
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(ORIGINAL_TOPIC, 2, 42L, "200", "value");
+        given(kafkaTemplate.send(any(ProducerRecord.class))).willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        retryTopicRouter.route(record, new IllegalStateException("boom"));
+
+        // then
+        ProducerRecord<String, String> forwarded = captureForwarded();
+        assertThat(forwarded.topic()).isEqualTo(EventType.Topic.RETRY_10S);
+        assertThat(forwarded.key()).isEqualTo("200");
+        assertThat(forwarded.value()).isEqualTo("value");
+        assertThat(header(forwarded, RetryTopicRouter.ORIGINAL_TOPIC)).isEqualTo(ORIGINAL_TOPIC);
+        assertThat(header(forwarded, RetryTopicRouter.ORIGINAL_PARTITION)).isEqualTo("2");
+        assertThat(header(forwarded, RetryTopicRouter.ORIGINAL_OFFSET)).isEqualTo("42");
+        assertThat(header(forwarded, RetryTopicRouter.FAILED_ATTEMPTS)).isEqualTo("1");
+        assertThat(header(forwarded, RetryTopicRouter.EXCEPTION_MESSAGE)).isEqualTo("boom");
+        assertThat(header(forwarded, RetryTopicRouter.NOT_BEFORE)).isNotNull();
+        assertThat(meterRegistry.get("kafka.consumer.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도 단계를 모두 소진한 레코드는 원본 토픽 정보를 유지한 채 dead-letter 토픽으로 보낸다.")
+    void route_exhaustedGoesToDeadLetter() {
+        // given
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(EventType.Topic.RETRY_5M, 0, 7L, "200", "value");
+        record.headers().add(RetryTopicRouter.ORIGINAL_TOPIC, ORIGINAL_TOPIC.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.ORIGINAL_OFFSET, "42".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.FAILED_ATTEMPTS, "3".getBytes(StandardCharsets.UTF_8));
+        given(kafkaTemplate.send(any(ProducerRecord.class))).willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        retryTopicRouter.route(record, new IllegalStateException("boom"));
+
+        // then
+        ProducerRecord<String, String> forwarded = captureForwarded();
+        assertThat(forwarded.topic()).isEqualTo(EventType.Topic.DEAD_LETTER);
+        assertThat(header(forwarded, RetryTopicRouter.ORIGINAL_TOPIC)).isEqualTo(ORIGINAL_TOPIC);
+        assertThat(header(forwarded, RetryTopicRouter.ORIGINAL_OFFSET)).isEqualTo("42");
+        assertThat(header(forwarded, RetryTopicRouter.FAILED_ATTEMPTS)).isEqualTo("4");
+        assertThat(header(forwarded, RetryTopicRouter.NOT_BEFORE)).isNull();
+        assertThat(meterRegistry.get("kafka.consumer.dead.letters").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전송에 실패하면 예외를 던져 호출 측이 원본 레코드를 ack 하지 않게 한다.")
+    void route_sendFailureThrows() {
+        // given
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(ORIGINAL_TOPIC, 0, 1L, "200", "value");
+        given(kafkaTemplate.send(any(ProducerRecord.class)))
+            .willReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when // then
+        assertThatThrownBy(() -> retryTopicRouter.route(record, new IllegalStateException("boom")))
+            .isInstanceOf(RetryTopicRouter.ForwardException.class);
+        assertThat(meterRegistry.find("kafka.consumer.retries").counter()).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, String> captureForwarded() {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        then(kafkaTemplate).should().send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<String, String> record, String name) {
+        var header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
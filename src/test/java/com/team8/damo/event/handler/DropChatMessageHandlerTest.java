@@ -0,0 +1,66 @@
+package com.team8.damo.event.handler;
+
+import com.team8.damo.cache.store.ChatMessageTailCache;
+import com.team8.damo.chat.message.ChatMessageDroppedMessage;
+import com.team8.damo.chat.message.WsEventMessage;
+import com.team8.damo.chat.producer.ChatMessageBroker;
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.chat.unread.UnreadCountIndex;
+import com.team8.damo.event.Event;
+import com.team8.damo.event.EventType;
+import com.team8.damo.event.payload.DropChatMessageEventPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.mockito.BDDMockito.then;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class DropChatMessageHandlerTest {
+
+    private static final Long LIGHTNING_ID = 10L;
+    private static final Long MESSAGE_ID = 2L;
+
+    @Mock
+    private ChatMessageTailCache chatMessageTailCache;
+
+    @Mock
+    private UnreadCountIndex unreadCountIndex;
+
+    @Mock
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    @Mock
+    private ChatMessageBroker chatMessageBroker;
+
+    @InjectMocks
+    private DropChatMessageHandler dropChatMessageHandler;
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @DisplayName("버려진 메시지를 tail 에서 지우고 인덱스를 비운 뒤 클라이언트에 알린다.")
+    void handle_revertsDroppedMessage() {
+        // given
+        Event<DropChatMessageEventPayload> event = (Event) Event.of(
+            1L,
+            EventType.DROP_CHAT_MESSAGE,
+            DropChatMessageEventPayload.builder().messageId(MESSAGE_ID).lightningId(LIGHTNING_ID).build()
+        );
+
+        // when
+        dropChatMessageHandler.handle(event);
+
+        // then
+        then(chatMessageTailCache).should().remove(LIGHTNING_ID, MESSAGE_ID);
+        then(unreadCountIndex).should().evict(LIGHTNING_ID);
+        then(latestMessageIdRegister).should().evict(LIGHTNING_ID);
+        then(chatMessageBroker).should().send(
+            WsEventMessage.createChatMessageDropped(LIGHTNING_ID, new ChatMessageDroppedMessage(MESSAGE_ID))
+        );
+    }
+}
@@ -0,0 +1,184 @@
+package com.team8.damo.event.handler;
+
+import com.team8.damo.entity.Outbox;
+import com.team8.damo.event.EventType;
+import com.team8.damo.metric.OutboxMetric;
+import com.team8.damo.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class OutboxMessageRelayTest {
+
+    private static final int BATCH_SIZE = 500;
+    private static final long BACKOFF_BASE_SECONDS = 2L;
+    private static final long BACKOFF_MAX_SECONDS = 10L;
+    private static final String TOPIC = EventType.RESTAURANT_CONFIRMED.getTopic();
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxMessageRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxMessageRelay(
+            kafkaTemplate,
+            outboxRepository,
+            new OutboxMetric(meterRegistry),
+            transactionManager,
+            500L,
+            BATCH_SIZE,
+            10L,
+            BACKOFF_BASE_SECONDS,
+            BACKOFF_MAX_SECONDS,
+            60L
+        );
+    }
+
+    @Test
+    @DisplayName("가져온 행을 lease 하고 전송해, ack 된 행은 한 번에 지운다.")
+    void relay_deletesAcknowledgedRows() {
+        // given
+        Outbox first = outbox(1L);
+        Outbox second = outbox(2L);
+        givenClaimed(first, second);
+        given(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+            .willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        relay.relay();
+
+        // then
+        then(outboxRepository).should().lease(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class));
+        then(kafkaTemplate).should(times(2)).send(eq(TOPIC), anyString(), anyString());
+        then(outboxRepository).should().deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.get("outbox.publish.acknowledged").counter().count()).isEqualTo(2);
+        assertThat(first.getRetryCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("전송에 실패한 행은 지우지 않고 retryCount 를 올려 backoff 뒤로 미룬다.")
+    void relay_schedulesRetryOnSendFailure() {
+        // given
+        Outbox outbox = outbox(1L);
+        givenClaimed(outbox);
+        given(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+            .willReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when
+        LocalDateTime before = LocalDateTime.now();
+        relay.relay();
+        LocalDateTime after = LocalDateTime.now();
+
+        // then
+        then(outboxRepository).should(never()).deleteAllByIdInBatch(anyList());
+        assertThat(outbox.getRetryCount()).isEqualTo(1);
+        assertThat(outbox.getNextAttemptAt())
+            .isBetween(before.plusSeconds(BACKOFF_BASE_SECONDS), after.plusSeconds(BACKOFF_BASE_SECONDS));
+        assertThat(meterRegistry.get("outbox.publish.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("send 호출 자체가 예외를 던져도 실패로 처리해 다시 시도한다.")
+    void relay_schedulesRetryWhenSendThrows() {
+        // given
+        Outbox outbox = outbox(1L);
+        givenClaimed(outbox);
+        given(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+            .willThrow(new IllegalStateException("producer closed"));
+
+        // when
+        relay.relay();
+
+        // then
+        then(outboxRepository).should(never()).deleteAllByIdInBatch(anyList());
+        assertThat(outbox.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("계속 실패하면 backoff 는 두 배씩 늘다가 backoff-max 에서 멈추고, 행은 버리지 않고 계속 재시도한다.")
+    void relay_capsBackoffAndKeepsRetrying() {
+        // given
+        Outbox outbox = outbox(1L);
+        givenClaimed(outbox);
+        given(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+            .willReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when / then
+        long[] expectedBackoffSeconds = {2L, 4L, 8L, 10L, 10L, 10L};
+        for (int i = 0; i < expectedBackoffSeconds.length; i++) {
+            LocalDateTime before = LocalDateTime.now();
+            relay.relay();
+            LocalDateTime after = LocalDateTime.now();
+
+            assertThat(outbox.getRetryCount()).isEqualTo(i + 1);
+            assertThat(outbox.getNextAttemptAt())
+                .isBetween(before.plusSeconds(expectedBackoffSeconds[i]), after.plusSeconds(expectedBackoffSeconds[i]));
+        }
+        then(kafkaTemplate).should(times(expectedBackoffSeconds.length)).send(eq(TOPIC), anyString(), anyString());
+        then(outboxRepository).should(never()).deleteAllByIdInBatch(anyList());
+        then(outboxRepository).should(never()).delete(any(Outbox.class));
+    }
+
+    @Test
+    @DisplayName("결과가 반영되기 전까지 같은 행은 다시 전송하지 않는다.")
+    void send_skipsInFlightRow() {
+        // given
+        Outbox outbox = outbox(1L);
+        CompletableFuture<SendResult<String, String>> pending = new CompletableFuture<>();
+        given(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).willReturn(pending);
+
+        // when
+        CompletableFuture<?> first = relay.send(outbox);
+        CompletableFuture<?> second = relay.send(outbox);
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(second).isNull();
+        then(kafkaTemplate).should(times(1)).send(eq(TOPIC), anyString(), anyString());
+    }
+
+    private void givenClaimed(Outbox... outboxes) {
+        List<Long> ids = Arrays.stream(outboxes).map(Outbox::getId).toList();
+        given(outboxRepository.findDueIdsForUpdateSkipLocked(any(LocalDateTime.class), eq(BATCH_SIZE))).willReturn(ids);
+        given(outboxRepository.findAllById(ids)).willReturn(List.of(outboxes));
+    }
+
+    private static Outbox outbox(Long id) {
+        return Outbox.create(id, EventType.RESTAURANT_CONFIRMED, String.valueOf(id), "{\"diningId\":" + id + "}");
+    }
+}
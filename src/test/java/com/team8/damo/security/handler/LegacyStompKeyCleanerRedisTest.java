@@ -0,0 +1,87 @@
+package com.team8.damo.security.handler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_LEGACY_KEY_CLEANUP;
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class LegacyStompKeyCleanerRedisTest {
+
+    private static final List<String> LEGACY_KEYS = List.of(
+        "lightning:subscription:test-session:sub-1",
+        "lightning:session:subscriptions:test-session",
+        "lightning:session:user:test-session"
+    );
+    private static final String CURRENT_SESSION_KEY = STOMP_SESSION.key("test-session");
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private LegacyStompKeyCleaner cleaner;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        clear();
+        cleaner = new LegacyStompKeyCleaner(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("이전 구독 키만 지우고 현재 세션 Hash 는 남긴다.")
+    void cleanup_removesOnlyLegacyKeys() {
+        // given
+        LEGACY_KEYS.forEach(key -> redisTemplate.opsForValue().set(key, "1"));
+        redisTemplate.opsForHash().put(CURRENT_SESSION_KEY, "user", "1");
+
+        // when
+        cleaner.cleanup();
+
+        // then
+        assertThat(redisTemplate.countExistingKeys(LEGACY_KEYS)).isZero();
+        assertThat(redisTemplate.hasKey(CURRENT_SESSION_KEY)).isTrue();
+        assertThat(redisTemplate.opsForValue().get(STOMP_LEGACY_KEY_CLEANUP.key())).isEqualTo("done");
+    }
+
+    @Test
+    @DisplayName("한 번 끝났으면 다시 실행하지 않는다.")
+    void cleanup_runsOnce() {
+        // given
+        cleaner.cleanup();
+        LEGACY_KEYS.forEach(key -> redisTemplate.opsForValue().set(key, "1"));
+
+        // when
+        long deleted = cleaner.cleanup();
+
+        // then
+        assertThat(deleted).isZero();
+        assertThat(redisTemplate.countExistingKeys(LEGACY_KEYS)).isEqualTo(LEGACY_KEYS.size());
+    }
+
+    private void clear() {
+        redisTemplate.delete(LEGACY_KEYS);
+        redisTemplate.delete(List.of(CURRENT_SESSION_KEY, STOMP_LEGACY_KEY_CLEANUP.key()));
+    }
+}
@@ -0,0 +1,198 @@
+package com.team8.damo.security.handler;
+
+import com.team8.damo.chat.producer.LightningChannelRegistry;
+import com.team8.damo.service.LightningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.team8.damo.redis.key.RedisKeyPrefix.LIGHTNING_SUBSCRIBE_USERS;
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION;
+import static com.team8.damo.redis.key.RedisKeyPrefix.STOMP_SESSION_HEARTBEATS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+/**
+ * Lua 스크립트와 heartbeat sweep 동작 확인용. REDIS_HOST 가 있을 때만 실행한다.
+ */
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@EnabledIfEnvironmentVariable(named = "REDIS_HOST", matches = ".+")
+class StompSubscriptionCleanupManagerRedisTest {
+
+    private static final long TIMEOUT_SECONDS = 60L;
+    private static final Long USER_ID = 1L;
+    private static final Long LIGHTNING_ID = -1L;
+    private static final Long OTHER_LIGHTNING_ID = -2L;
+    private static final String SESSION_ID = "test-session-1";
+    private static final String OTHER_SESSION_ID = "test-session-2";
+
+    @Mock
+    private LightningService lightningService;
+
+    @Mock
+    private LightningChannelRegistry lightningChannelRegistry;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private StompSubscriptionCleanupManager manager;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getenv("REDIS_HOST"), 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        clear();
+        manager = new StompSubscriptionCleanupManager(redisTemplate, lightningService, lightningChannelRegistry, 20L, TIMEOUT_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("마지막 구독을 해제하면 구독자 Set, 세션 Hash, heartbeat 가 모두 정리된다.")
+    void unregisterSubscription_lastSubscriptionClosesSession() {
+        // given
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-1", LIGHTNING_ID);
+        assertThat(isSubscribed(LIGHTNING_ID)).isTrue();
+
+        // when
+        manager.unregisterSubscription(null, SESSION_ID, "sub-1");
+
+        // then
+        assertThat(isSubscribed(LIGHTNING_ID)).isFalse();
+        assertThat(redisTemplate.hasKey(STOMP_SESSION.key(SESSION_ID))).isFalse();
+        assertThat(heartbeatOf(SESSION_ID)).isNull();
+        then(lightningService).should().onUnsubscribe(USER_ID, LIGHTNING_ID);
+    }
+
+    @Test
+    @DisplayName("다른 구독이 남아 있으면 세션 Hash 와 heartbeat 는 유지한다.")
+    void unregisterSubscription_keepsSessionWithOtherSubscriptions() {
+        // given
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-1", LIGHTNING_ID);
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-2", OTHER_LIGHTNING_ID);
+
+        // when
+        manager.unregisterSubscription(USER_ID, SESSION_ID, "sub-1");
+
+        // then
+        assertThat(isSubscribed(LIGHTNING_ID)).isFalse();
+        assertThat(isSubscribed(OTHER_LIGHTNING_ID)).isTrue();
+        assertThat(redisTemplate.hasKey(STOMP_SESSION.key(SESSION_ID))).isTrue();
+        assertThat(heartbeatOf(SESSION_ID)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("세션 종료 시 세션이 구독하던 모든 번개에서 사용자를 뺀다.")
+    void unregisterAllBySession_removesEverySubscription() {
+        // given
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-1", LIGHTNING_ID);
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-2", OTHER_LIGHTNING_ID);
+
+        // when
+        manager.unregisterAllBySession(null, SESSION_ID);
+
+        // then
+        assertThat(isSubscribed(LIGHTNING_ID)).isFalse();
+        assertThat(isSubscribed(OTHER_LIGHTNING_ID)).isFalse();
+        assertThat(redisTemplate.hasKey(STOMP_SESSION.key(SESSION_ID))).isFalse();
+        assertThat(heartbeatOf(SESSION_ID)).isNull();
+        then(lightningService).should().onUnsubscribe(USER_ID, LIGHTNING_ID);
+        then(lightningService).should().onUnsubscribe(USER_ID, OTHER_LIGHTNING_ID);
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 timeout 이상 끊긴 세션만 sweep 에서 정리한다.")
+    void sweepStaleSessions_closesOnlyStaleSessions() {
+        // given
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-1", LIGHTNING_ID);
+        manager.registerSubscription(2L, OTHER_SESSION_ID, "sub-1", LIGHTNING_ID);
+        markHeartbeat(SESSION_ID, staleMillis(), staleMillis());
+
+        // when
+        manager.sweepStaleSessions();
+
+        // then
+        assertThat(redisTemplate.hasKey(STOMP_SESSION.key(SESSION_ID))).isFalse();
+        assertThat(heartbeatOf(SESSION_ID)).isNull();
+        assertThat(redisTemplate.opsForSet().members(LIGHTNING_SUBSCRIBE_USERS.key(LIGHTNING_ID))).containsExactly("2");
+        then(lightningService).should().onUnsubscribe(USER_ID, LIGHTNING_ID);
+        then(lightningService).should(never()).onUnsubscribe(2L, LIGHTNING_ID);
+    }
+
+    @Test
+    @DisplayName("후보로 뽑힌 뒤 다른 노드가 heartbeat 를 갱신했으면 스크립트가 다시 확인해 정리하지 않는다.")
+    void sweepStaleSessions_skipsSessionRefreshedMeanwhile() {
+        // given
+        manager.registerSubscription(USER_ID, SESSION_ID, "sub-1", LIGHTNING_ID);
+        markHeartbeat(SESSION_ID, staleMillis(), System.currentTimeMillis());
+
+        // when
+        manager.sweepStaleSessions();
+
+        // then
+        assertThat(isSubscribed(LIGHTNING_ID)).isTrue();
+        assertThat(redisTemplate.hasKey(STOMP_SESSION.key(SESSION_ID))).isTrue();
+        then(lightningService).should(never()).onUnsubscribe(any(), any());
+    }
+
+    @Test
+    @DisplayName("세션 Hash 가 이미 만료된 heartbeat 항목은 sweep 에서 지운다.")
+    void sweepStaleSessions_removesOrphanHeartbeat() {
+        // given
+        redisTemplate.opsForZSet().add(STOMP_SESSION_HEARTBEATS.key(), SESSION_ID, staleMillis());
+
+        // when
+        manager.sweepStaleSessions();
+
+        // then
+        assertThat(heartbeatOf(SESSION_ID)).isNull();
+        then(lightningService).should(never()).onUnsubscribe(any(), any());
+    }
+
+    private void markHeartbeat(String sessionId, long heartbeatScore, long sessionHeartbeat) {
+        redisTemplate.opsForZSet().add(STOMP_SESSION_HEARTBEATS.key(), sessionId, heartbeatScore);
+        redisTemplate.opsForHash().put(STOMP_SESSION.key(sessionId), "hb", String.valueOf(sessionHeartbeat));
+    }
+
+    private long staleMillis() {
+        return System.currentTimeMillis() - (TIMEOUT_SECONDS + 60L) * 1000L;
+    }
+
+    private boolean isSubscribed(Long lightningId) {
+        return Boolean.TRUE.equals(
+            redisTemplate.opsForSet().isMember(LIGHTNING_SUBSCRIBE_USERS.key(lightningId), USER_ID.toString())
+        );
+    }
+
+    private Double heartbeatOf(String sessionId) {
+        return redisTemplate.opsForZSet().score(STOMP_SESSION_HEARTBEATS.key(), sessionId);
+    }
+
+    private void clear() {
+        redisTemplate.delete(List.of(
+            STOMP_SESSION.key(SESSION_ID),
+            STOMP_SESSION.key(OTHER_SESSION_ID),
+            LIGHTNING_SUBSCRIBE_USERS.key(LIGHTNING_ID),
+            LIGHTNING_SUBSCRIBE_USERS.key(OTHER_LIGHTNING_ID)
+        ));
+        redisTemplate.opsForZSet().remove(STOMP_SESSION_HEARTBEATS.key(), SESSION_ID, OTHER_SESSION_ID);
+    }
+}
@@ -76,7 +76,7 @@ class AuthServiceTest {
             given(refreshTokenRepository.findById(email))
                 .willReturn(Optional.of(new RefreshToken(email, refreshToken)));
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
-            given(jwtProvider.createAccessToken(userId, email, user.getNickname())).willReturn(newAccessToken);
+            given(jwtProvider.createAccessToken(userId, email, user.getNickname(), user.getRoleType())).willReturn(newAccessToken);
             given(jwtProvider.createRefreshToken(userId, email, user.getNickname())).willReturn(newRefreshToken);
 
             // when
@@ -91,7 +91,7 @@ class AuthServiceTest {
             then(jwtProvider).should().getEmail(refreshToken);
             then(refreshTokenRepository).should().findById(email);
             then(userRepository).should().findById(userId);
-            then(jwtProvider).should().createAccessToken(userId, email, user.getNickname());
+            then(jwtProvider).should().createAccessToken(userId, email, user.getNickname(), user.getRoleType());
             then(jwtProvider).should().createRefreshToken(userId, email, user.getNickname());
             then(refreshTokenRepository).should().save(any(RefreshToken.class));
         }
@@ -138,7 +138,7 @@ class AuthServiceTest {
             then(jwtProvider).should().getUserId(refreshToken);
             then(jwtProvider).should().getEmail(refreshToken);
             then(refreshTokenRepository).should().findById(email);
-            then(jwtProvider).should(never()).createAccessToken(any(), any(), any());
+            then(jwtProvider).should(never()).createAccessToken(any(), any(), any(), any());
         }
 
         @Test
@@ -165,7 +165,7 @@ class AuthServiceTest {
             then(jwtProvider).should().getUserId(refreshToken);
             then(jwtProvider).should().getEmail(refreshToken);
             then(refreshTokenRepository).should().findById(email);
-            then(jwtProvider).should(never()).createAccessToken(any(), any(), any());
+            then(jwtProvider).should(never()).createAccessToken(any(), any(), any(), any());
         }
     }
 }
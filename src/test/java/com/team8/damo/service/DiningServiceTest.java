@@ -1,6 +1,8 @@
 package com.team8.damo.service;
 
+import com.team8.damo.cache.store.RestaurantCache;
 import com.team8.damo.client.AiService;
+import com.team8.damo.dining.RestaurantVoteTally;
 import com.team8.damo.entity.*;
 import com.team8.damo.entity.enumeration.AttendanceVoteStatus;
 import com.team8.damo.entity.enumeration.DiningStatus;
@@ -9,6 +11,7 @@ import com.team8.damo.entity.enumeration.RestaurantVoteStatus;
 import com.team8.damo.event.EventType;
 import com.team8.damo.event.handler.CommonEventPublisher;
 import com.team8.damo.event.payload.RecommendationRefreshEventPayload;
+import com.team8.damo.event.payload.RecommendationV2EventPayload;
 import com.team8.damo.event.payload.RestaurantConfirmedEventPayload;
 import com.team8.damo.exception.CustomException;
 import com.team8.damo.fixture.*;
@@ -29,7 +32,10 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.team8.damo.exception.errorcode.ErrorCode.*;
 import static org.assertj.core.api.Assertions.*;
@@ -39,6 +45,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class)
@@ -71,6 +78,12 @@ class DiningServiceTest {
     @Mock
     private RestaurantRepository restaurantRepository;
 
+    @Mock
+    private RestaurantCache restaurantCache;
+
+    @Mock
+    private RestaurantVoteTally restaurantVoteTally;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
@@ -678,8 +691,8 @@ class DiningServiceTest {
 
         given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(diningRepository.getAttendanceVoteDoneCount(diningId)).willReturn(1);
-        given(diningParticipantRepository.countByDiningId(diningId)).willReturn(3);
+        given(diningRepository.completeAttendanceVoting(diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING))
+            .willReturn(0);
 
         // when
         AttendanceVoteStatus result = diningService.voteAttendance(userId, groupId, diningId, AttendanceVoteStatus.ATTEND);
@@ -709,8 +722,8 @@ class DiningServiceTest {
 
         given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(diningRepository.getAttendanceVoteDoneCount(diningId)).willReturn(1);
-        given(diningParticipantRepository.countByDiningId(diningId)).willReturn(3);
+        given(diningRepository.completeAttendanceVoting(diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING))
+            .willReturn(0);
 
         // when
         AttendanceVoteStatus result = diningService.voteAttendance(userId, groupId, diningId, AttendanceVoteStatus.NON_ATTEND);
@@ -916,18 +929,18 @@ class DiningServiceTest {
 
         given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(diningRepository.getAttendanceVoteDoneCount(diningId)).willReturn(3);
-        given(diningParticipantRepository.countByDiningId(diningId)).willReturn(3);
+        given(diningRepository.completeAttendanceVoting(diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING))
+            .willReturn(1);
+        given(diningRepository.findByIdWithGroup(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findAllByDiningAndAttendanceVoteStatus(dining, AttendanceVoteStatus.ATTEND))
             .willReturn(List.of(participant));
-        given(groupRepository.findById(groupId)).willReturn(Optional.of(group));
 
         // when
         AttendanceVoteStatus result = diningService.voteAttendance(userId, groupId, diningId, AttendanceVoteStatus.ATTEND);
 
         // then
         assertThat(result).isEqualTo(AttendanceVoteStatus.ATTEND);
-        assertThat(dining.getDiningStatus()).isEqualTo(DiningStatus.RECOMMENDATION_PENDING);
+        then(commonEventPublisher).should().publishKafka(eq(EventType.RECOMMENDATION_REQUEST), any(RecommendationV2EventPayload.class));
     }
 
     @Test
@@ -946,15 +959,16 @@ class DiningServiceTest {
 
         given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(diningRepository.getAttendanceVoteDoneCount(diningId)).willReturn(2);
-        given(diningParticipantRepository.countByDiningId(diningId)).willReturn(5);
+        given(diningRepository.completeAttendanceVoting(diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING))
+            .willReturn(0);
 
         // when
         AttendanceVoteStatus result = diningService.voteAttendance(userId, groupId, diningId, AttendanceVoteStatus.ATTEND);
 
         // then
         assertThat(result).isEqualTo(AttendanceVoteStatus.ATTEND);
-        assertThat(dining.getDiningStatus()).isEqualTo(DiningStatus.ATTENDANCE_VOTING);
+        then(commonEventPublisher).should(never()).publishKafka(any(), any());
+        then(diningRepository).should(never()).findByIdWithGroup(any());
     }
 
     @Test
@@ -973,18 +987,18 @@ class DiningServiceTest {
 
         given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(diningRepository.getAttendanceVoteDoneCount(diningId)).willReturn(1);
-        given(diningParticipantRepository.countByDiningId(diningId)).willReturn(1);
+        given(diningRepository.completeAttendanceVoting(diningId, DiningStatus.ATTENDANCE_VOTING, DiningStatus.RECOMMENDATION_PENDING))
+            .willReturn(1);
+        given(diningRepository.findByIdWithGroup(diningId)).willReturn(Optional.of(dining));
         given(diningParticipantRepository.findAllByDiningAndAttendanceVoteStatus(dining, AttendanceVoteStatus.ATTEND))
             .willReturn(List.of(participant));
-        given(groupRepository.findById(groupId)).willReturn(Optional.of(group));
 
         // when
         AttendanceVoteStatus result = diningService.voteAttendance(userId, groupId, diningId, AttendanceVoteStatus.ATTEND);
 
         // then
         assertThat(result).isEqualTo(AttendanceVoteStatus.ATTEND);
-        assertThat(dining.getDiningStatus()).isEqualTo(DiningStatus.RECOMMENDATION_PENDING);
+        then(commonEventPublisher).should().publishKafka(eq(EventType.RECOMMENDATION_REQUEST), any(RecommendationV2EventPayload.class));
     }
 
     @Test
@@ -1019,7 +1033,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("LIKE");
 
         then(recommendRestaurantVoteRepository).should().save(any(RecommendRestaurantVote.class));
-        then(recommendRestaurantRepository).should().increaseLikeCount(recommendRestaurantId);
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, null, RestaurantVoteStatus.LIKE);
     }
 
     @Test
@@ -1054,7 +1068,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("DISLIKE");
 
         then(recommendRestaurantVoteRepository).should().save(any(RecommendRestaurantVote.class));
-        then(recommendRestaurantRepository).should().increaseDislikeCount(recommendRestaurantId);
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, null, RestaurantVoteStatus.DISLIKE);
     }
 
     @Test
@@ -1090,8 +1104,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("DISLIKE");
         assertThat(existingVote.getStatus()).isEqualTo(RestaurantVoteStatus.DISLIKE);
 
-        then(recommendRestaurantRepository).should().decreaseLikeCount(recommendRestaurantId);
-        then(recommendRestaurantRepository).should().increaseDislikeCount(recommendRestaurantId);
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, RestaurantVoteStatus.LIKE, RestaurantVoteStatus.DISLIKE);
     }
 
     @Test
@@ -1127,8 +1140,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("LIKE");
         assertThat(existingVote.getStatus()).isEqualTo(RestaurantVoteStatus.LIKE);
 
-        then(recommendRestaurantRepository).should().decreaseDislikeCount(recommendRestaurantId);
-        then(recommendRestaurantRepository).should().increaseLikeCount(recommendRestaurantId);
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, RestaurantVoteStatus.DISLIKE, RestaurantVoteStatus.LIKE);
     }
 
     @Test
@@ -1165,8 +1177,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("NONE");
 
         then(recommendRestaurantVoteRepository).should().delete(existingVote);
-        then(recommendRestaurantRepository).should().decreaseLikeCount(recommendRestaurantId);
-        then(recommendRestaurantRepository).should(never()).increaseLikeCount(any());
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, RestaurantVoteStatus.LIKE, null);
     }
 
     @Test
@@ -1203,8 +1214,7 @@ class DiningServiceTest {
         assertThat(result.restaurantVoteStatus()).isEqualTo("NONE");
 
         then(recommendRestaurantVoteRepository).should().delete(existingVote);
-        then(recommendRestaurantRepository).should().decreaseDislikeCount(recommendRestaurantId);
-        then(recommendRestaurantRepository).should(never()).increaseDislikeCount(any());
+        then(restaurantVoteTally).should().recordAfterCommit(restaurant, RestaurantVoteStatus.DISLIKE, null);
     }
 
     @Test
@@ -1753,12 +1763,11 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant1, recommendRestaurant2));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById(restaurantId1)).willReturn(Optional.of(restaurant1));
-        given(restaurantRepository.findById(restaurantId2)).willReturn(Optional.of(restaurant2));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId1))
-            .willReturn(Optional.of(vote1));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId2))
-            .willReturn(Optional.empty());
+        given(restaurantCache.getAll(List.of(restaurantId1, restaurantId2)))
+            .willReturn(Map.of(restaurantId1, restaurant1, restaurantId2, restaurant2));
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(
+            userId, List.of(recommendRestaurantId1, recommendRestaurantId2)
+        )).willReturn(List.of(vote1));
 
         // when
         List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
@@ -1806,9 +1815,9 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById(restaurantId)).willReturn(Optional.of(restaurant));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId))
-            .willReturn(Optional.of(vote));
+        given(restaurantCache.getAll(List.of(restaurantId))).willReturn(Map.of(restaurantId, restaurant));
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, List.of(recommendRestaurantId)))
+            .willReturn(List.of(vote));
 
         // when
         List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
@@ -1847,9 +1856,9 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById(restaurantId)).willReturn(Optional.of(restaurant));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId))
-            .willReturn(Optional.empty());
+        given(restaurantCache.getAll(List.of(restaurantId))).willReturn(Map.of(restaurantId, restaurant));
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, List.of(recommendRestaurantId)))
+            .willReturn(List.of());
 
         // when
         List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
@@ -2029,14 +2038,16 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById(restaurantId)).willReturn(Optional.empty());
+        given(restaurantCache.getAll(List.of(restaurantId))).willReturn(Map.of());
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, List.of(recommendRestaurantId)))
+            .willReturn(List.of());
 
         // when // then
         assertThatThrownBy(() -> diningService.getRestaurantVoteDetail(userId, groupId, diningId))
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", RESTAURANT_NOT_FOUND);
 
-        then(restaurantRepository).should().findById(restaurantId);
+        then(restaurantCache).should().getAll(List.of(restaurantId));
     }
 
     @Test
@@ -2072,15 +2083,14 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant1, recommendRestaurant2, recommendRestaurant3));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById("restaurant-001")).willReturn(Optional.of(restaurant1));
-        given(restaurantRepository.findById("restaurant-002")).willReturn(Optional.of(restaurant2));
-        given(restaurantRepository.findById("restaurant-003")).willReturn(Optional.of(restaurant3));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, 400L))
-            .willReturn(Optional.empty());
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, 401L))
-            .willReturn(Optional.empty());
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, 402L))
-            .willReturn(Optional.empty());
+        given(restaurantCache.getAll(List.of("restaurant-001", "restaurant-002", "restaurant-003")))
+            .willReturn(Map.of(
+                "restaurant-001", restaurant1,
+                "restaurant-002", restaurant2,
+                "restaurant-003", restaurant3
+            ));
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, List.of(400L, 401L, 402L)))
+            .willReturn(List.of());
 
         // when
         List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
@@ -2095,6 +2105,55 @@ class DiningServiceTest {
             );
     }
 
+    @Test
+    @DisplayName("추천 장소 수와 관계없이 식당 조회와 투표 조회는 각각 한 번만 수행된다.")
+    void getRestaurantVoteDetail_constantQueryCount() {
+        // given
+        Long userId = 1L;
+        Long groupId = 100L;
+        Long diningId = 200L;
+        Integer recommendationCount = 1;
+        int candidateCount = 20;
+
+        User user = UserFixture.create(userId);
+        Group group = GroupFixture.create(groupId, "맛집탐방대");
+        Dining dining = DiningFixture.createWithRecommendationCount(diningId, group, DiningStatus.RESTAURANT_VOTING, recommendationCount);
+        DiningParticipant participant = DiningParticipantFixture.create(300L, dining, user, AttendanceVoteStatus.ATTEND);
+
+        List<RecommendRestaurant> recommendRestaurants = IntStream.range(0, candidateCount)
+            .mapToObj(i -> RecommendRestaurantFixture.create(400L + i, dining, "restaurant-" + i, recommendationCount))
+            .toList();
+        List<String> restaurantIds = recommendRestaurants.stream().map(RecommendRestaurant::getRestaurantId).toList();
+        List<Long> recommendRestaurantIds = recommendRestaurants.stream().map(RecommendRestaurant::getId).toList();
+        Map<String, Restaurant> restaurantMap = restaurantIds.stream()
+            .collect(Collectors.toMap(id -> id, RestaurantFixture::create));
+
+        RecommendRestaurantVote vote = RecommendRestaurantVoteFixture.create(
+            500L, user, recommendRestaurants.get(3), RestaurantVoteStatus.LIKE
+        );
+
+        given(userGroupRepository.existsByUserIdAndGroupId(userId, groupId)).willReturn(true);
+        given(diningRepository.findById(diningId)).willReturn(Optional.of(dining));
+        given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
+            .willReturn(recommendRestaurants);
+        given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
+        given(restaurantCache.getAll(restaurantIds)).willReturn(restaurantMap);
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, recommendRestaurantIds))
+            .willReturn(List.of(vote));
+
+        // when
+        List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
+
+        // then
+        assertThat(result).hasSize(candidateCount);
+        assertThat(result.get(3).restaurantVoteStatus()).isEqualTo("LIKE");
+
+        then(restaurantCache).should(times(1)).getAll(any());
+        then(recommendRestaurantVoteRepository).should(times(1)).findByUserIdAndRecommendRestaurantIdIn(any(), any());
+        then(recommendRestaurantVoteRepository).should(never()).findByUserIdAndRecommendRestaurantId(any(), any());
+        then(restaurantRepository).shouldHaveNoInteractions();
+    }
+
     @Test
     @DisplayName("확정 상태의 회식에서도 장소 투표 현황을 조회할 수 있다.")
     void getRestaurantVoteDetail_confirmedDiningStatus() {
@@ -2122,9 +2181,9 @@ class DiningServiceTest {
         given(recommendRestaurantRepository.findByDiningIdAndRecommendationCount(diningId, recommendationCount))
             .willReturn(List.of(recommendRestaurant));
         given(diningParticipantRepository.findByDiningIdAndUserId(diningId, userId)).willReturn(Optional.of(participant));
-        given(restaurantRepository.findById(restaurantId)).willReturn(Optional.of(restaurant));
-        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantId(userId, recommendRestaurantId))
-            .willReturn(Optional.empty());
+        given(restaurantCache.getAll(List.of(restaurantId))).willReturn(Map.of(restaurantId, restaurant));
+        given(recommendRestaurantVoteRepository.findByUserIdAndRecommendRestaurantIdIn(userId, List.of(recommendRestaurantId)))
+            .willReturn(List.of());
 
         // when
         List<RestaurantVoteDetailResponse> result = diningService.getRestaurantVoteDetail(userId, groupId, diningId);
@@ -2404,6 +2463,8 @@ class DiningServiceTest {
         then(recommendRestaurantRepository).should()
             .existsByDiningIdAndRecommendationCountAndConfirmedStatusTrue(diningId, recommendationCount);
         then(restaurantRepository).should().findById(restaurantId);
+        then(recommendRestaurantRepository).should().setVoteCounts(recommendRestaurantId, 0, 0);
+        then(restaurantVoteTally).should().evictAfterCommit(diningId, recommendationCount);
         then(commonEventPublisher).should().publishKafka(eq(EventType.RESTAURANT_CONFIRMED), any(RestaurantConfirmedEventPayload.class));
     }
 
@@ -1,5 +1,7 @@
 package com.team8.damo.service;
 
+import com.team8.damo.chat.sequence.LatestMessageIdRegister;
+import com.team8.damo.chat.unread.UnreadCountIndex;
 import com.team8.damo.entity.Lightning;
 import com.team8.damo.entity.LightningParticipant;
 import com.team8.damo.entity.Restaurant;
@@ -10,7 +12,8 @@ import com.team8.damo.exception.CustomException;
 import com.team8.damo.fixture.LightningFixture;
 import com.team8.damo.fixture.RestaurantFixture;
 import com.team8.damo.fixture.UserFixture;
-import com.team8.damo.repository.ChatMessageRepository;
+import com.team8.damo.lightning.LightningSeatRegistry;
+import com.team8.damo.lightning.SeatReservation;
 import com.team8.damo.repository.LightningParticipantRepository;
 import com.team8.damo.repository.LightningRepository;
 import com.team8.damo.repository.RestaurantRepository;
@@ -35,6 +38,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.team8.damo.exception.errorcode.ErrorCode.*;
@@ -43,6 +47,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.inOrder;
@@ -68,7 +73,13 @@ class LightningServiceTest {
     private RestaurantRepository restaurantRepository;
 
     @Mock
-    private ChatMessageRepository chatMessageRepository;
+    private UnreadCountIndex unreadCountIndex;
+
+    @Mock
+    private LatestMessageIdRegister latestMessageIdRegister;
+
+    @Mock
+    private LightningSeatRegistry lightningSeatRegistry;
 
     @InjectMocks
     private LightningService lightningService;
@@ -220,8 +231,8 @@ class LightningServiceTest {
         LightningParticipant participant1 = LightningParticipant.createLeader(1L, lightning1, user);
         LightningParticipant participant2 = LightningParticipant.createParticipant(2L, lightning2, user);
 
-        User otherUser = UserFixture.create(2L);
-        LightningParticipant otherParticipant = LightningParticipant.createParticipant(3L, lightning1, otherUser);
+        ReflectionTestUtils.setField(lightning1, "participantCount", 2);
+        ReflectionTestUtils.setField(lightning2, "participantCount", 1);
 
         Restaurant restaurant1 = RestaurantFixture.create("restaurant-1", "맛있는 식당");
         Restaurant restaurant2 = RestaurantFixture.create("restaurant-2", "좋은 식당");
@@ -231,12 +242,10 @@ class LightningServiceTest {
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
         given(participantRepository.findLightningByUserIdAndCutoffDateWithCursor(userId, currentTime.minusDays(cutoff), pageable))
             .willReturn(List.of(participant1, participant2));
-        given(participantRepository.findAllByLightningIdIn(List.of(100L, 200L)))
-            .willReturn(List.of(participant1, participant2, otherParticipant));
         given(restaurantRepository.findAllById(List.of("restaurant-1", "restaurant-2")))
             .willReturn(List.of(restaurant1, restaurant2));
-        given(chatMessageRepository.countUnreadMessagesByUser(userId))
-            .willReturn(List.of());
+        given(unreadCountIndex.getUnreadCounts(userId, List.of(100L, 200L)))
+            .willReturn(Map.of());
 
         // when
         CursorPageResponse<LightningResponse> result = lightningService.getParticipantLightningList(userId, currentTime, cutoff, null, 10);
@@ -318,12 +327,10 @@ class LightningServiceTest {
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
         given(participantRepository.findLightningByUserIdAndCutoffDateWithCursor(userId, currentTime.minusDays(cutoff), pageable))
             .willReturn(List.of(participant));
-        given(participantRepository.findAllByLightningIdIn(List.of(100L)))
-            .willReturn(List.of(participant));
         given(restaurantRepository.findAllById(List.of("unknown-restaurant")))
             .willReturn(List.of());
-        given(chatMessageRepository.countUnreadMessagesByUser(userId))
-            .willReturn(List.of());
+        given(unreadCountIndex.getUnreadCounts(userId, List.of(100L)))
+            .willReturn(Map.of());
 
         // when
         CursorPageResponse<LightningResponse> result = lightningService.getParticipantLightningList(userId, currentTime, cutoff, null, 10);
@@ -336,7 +343,7 @@ class LightningServiceTest {
     }
 
     @Test
-    @DisplayName("하나의 번개 모임에 여러 참가자가 있으면 참가자 수가 정확히 집계된다.")
+    @DisplayName("하나의 번개 모임에 여러 참가자가 있으면 번개의 참가자 수를 그대로 반환한다.")
     void getParticipantLightningList_multipleParticipantsCount() {
         // given
         Long userId = 1L;
@@ -344,13 +351,10 @@ class LightningServiceTest {
         int cutoff = 7;
 
         User user = UserFixture.create(userId);
-        User user2 = UserFixture.create(2L);
-        User user3 = UserFixture.create(3L);
         Lightning lightning = LightningFixture.create(100L, "restaurant-1");
+        ReflectionTestUtils.setField(lightning, "participantCount", 3);
 
         LightningParticipant leader = LightningParticipant.createLeader(1L, lightning, user);
-        LightningParticipant participant2 = LightningParticipant.createParticipant(2L, lightning, user2);
-        LightningParticipant participant3 = LightningParticipant.createParticipant(3L, lightning, user3);
 
         Restaurant restaurant = RestaurantFixture.create("restaurant-1", "맛있는 식당");
 
@@ -359,12 +363,10 @@ class LightningServiceTest {
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
         given(participantRepository.findLightningByUserIdAndCutoffDateWithCursor(userId, currentTime.minusDays(cutoff), pageable))
             .willReturn(List.of(leader));
-        given(participantRepository.findAllByLightningIdIn(List.of(100L)))
-            .willReturn(List.of(leader, participant2, participant3));
         given(restaurantRepository.findAllById(List.of("restaurant-1")))
             .willReturn(List.of(restaurant));
-        given(chatMessageRepository.countUnreadMessagesByUser(userId))
-            .willReturn(List.of());
+        given(unreadCountIndex.getUnreadCounts(userId, List.of(100L)))
+            .willReturn(Map.of());
 
         // when
         CursorPageResponse<LightningResponse> result = lightningService.getParticipantLightningList(userId, currentTime, cutoff, null, 10);
@@ -387,11 +389,11 @@ class LightningServiceTest {
         Lightning lightning = LightningFixture.create(lightningId, "restaurant-1");
         User user = UserFixture.create(userId);
 
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
-        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(false);
-        given(participantRepository.countByLightningId(lightningId)).willReturn(1L);
-        given(userRepository.findById(userId)).willReturn(Optional.of(user));
         given(snowflake.nextId()).willReturn(participantId);
+        given(lightningSeatRegistry.reserve(lightningId, userId, "200")).willReturn(SeatReservation.RESERVED);
+        given(userRepository.findById(userId)).willReturn(Optional.of(user));
+        given(lightningRepository.increaseParticipantCount(lightningId)).willReturn(1);
+        given(lightningRepository.getReferenceById(lightningId)).willReturn(lightning);
 
         // when
         Long result = lightningService.joinLightning(userId, lightningId);
@@ -407,12 +409,13 @@ class LightningServiceTest {
             .extracting("id", "lightning", "user", "role")
             .contains(participantId, lightning, user, PARTICIPANT);
 
-        InOrder inOrder = inOrder(lightningRepository, participantRepository, userRepository, snowflake);
-        inOrder.verify(lightningRepository).findById(lightningId);
+        InOrder inOrder = inOrder(lightningSeatRegistry, lightningRepository, participantRepository, userRepository, snowflake);
         inOrder.verify(participantRepository).existsByLightningIdAndUserId(lightningId, userId);
-        inOrder.verify(participantRepository).countByLightningId(lightningId);
-        inOrder.verify(userRepository).findById(userId);
         inOrder.verify(snowflake).nextId();
+        inOrder.verify(lightningSeatRegistry).reserve(lightningId, userId, "200");
+        inOrder.verify(lightningSeatRegistry).releaseOnRollback(lightningId, userId, "200");
+        inOrder.verify(userRepository).findById(userId);
+        inOrder.verify(lightningRepository).increaseParticipantCount(lightningId);
         inOrder.verify(participantRepository).save(any(LightningParticipant.class));
     }
 
@@ -421,19 +424,18 @@ class LightningServiceTest {
     void joinLightning_lightningNotFound() {
         // given
         Long userId = 1L;
-        Long lightningId = 999L;
+        Long lightningId = 100L;
 
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.empty());
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.NOT_FOUND);
 
         // when // then
         assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_NOT_FOUND);
 
-        then(participantRepository).should(never()).existsByLightningIdAndUserId(any(), any());
-        then(participantRepository).should(never()).countByLightningId(any());
+        then(lightningSeatRegistry).should(never()).releaseOnRollback(any(), any(), any());
+        then(lightningRepository).should(never()).increaseParticipantCount(any());
         then(userRepository).should(never()).findById(any());
-        then(snowflake).should(never()).nextId();
         then(participantRepository).should(never()).save(any());
     }
 
@@ -444,20 +446,16 @@ class LightningServiceTest {
         Long userId = 1L;
         Long lightningId = 100L;
 
-        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1");
-        ReflectionTestUtils.setField(lightning, "lightningStatus", LightningStatus.CLOSED);
-
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.CLOSED);
 
         // when // then
         assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_CLOSED);
 
-        then(participantRepository).should(never()).existsByLightningIdAndUserId(any(), any());
-        then(participantRepository).should(never()).countByLightningId(any());
+        then(lightningSeatRegistry).should(never()).releaseOnRollback(any(), any(), any());
+        then(lightningRepository).should(never()).increaseParticipantCount(any());
         then(userRepository).should(never()).findById(any());
-        then(snowflake).should(never()).nextId();
         then(participantRepository).should(never()).save(any());
     }
 
@@ -468,19 +466,16 @@ class LightningServiceTest {
         Long userId = 1L;
         Long lightningId = 100L;
 
-        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1");
-
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
-        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(true);
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.DUPLICATE);
 
         // when // then
         assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", DUPLICATE_LIGHTNING_PARTICIPANT);
 
-        then(participantRepository).should(never()).countByLightningId(any());
+        then(lightningSeatRegistry).should(never()).releaseOnRollback(any(), any(), any());
+        then(lightningRepository).should(never()).increaseParticipantCount(any());
         then(userRepository).should(never()).findById(any());
-        then(snowflake).should(never()).nextId();
         then(participantRepository).should(never()).save(any());
     }
 
@@ -491,34 +486,27 @@ class LightningServiceTest {
         Long userId = 1L;
         Long lightningId = 100L;
 
-        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1", 2);
-
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
-        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(false);
-        given(participantRepository.countByLightningId(lightningId)).willReturn(2L);
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.FULL);
 
         // when // then
         assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_CAPACITY_EXCEEDED);
 
+        then(lightningSeatRegistry).should(never()).releaseOnRollback(any(), any(), any());
+        then(lightningRepository).should(never()).increaseParticipantCount(any());
         then(userRepository).should(never()).findById(any());
-        then(snowflake).should(never()).nextId();
         then(participantRepository).should(never()).save(any());
     }
 
     @Test
-    @DisplayName("존재하지 않는 사용자는 번개 모임에 참가할 수 없다.")
+    @DisplayName("존재하지 않는 사용자는 번개 모임에 참가할 수 없고, 예약한 좌석은 롤백 시 반납된다.")
     void joinLightning_userNotFound() {
         // given
         Long userId = 999L;
         Long lightningId = 100L;
 
-        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1");
-
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
-        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(false);
-        given(participantRepository.countByLightningId(lightningId)).willReturn(1L);
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.RESERVED);
         given(userRepository.findById(userId)).willReturn(Optional.empty());
 
         // when // then
@@ -526,33 +514,76 @@ class LightningServiceTest {
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", USER_NOT_FOUND);
 
-        then(snowflake).should(never()).nextId();
+        then(lightningSeatRegistry).should().releaseOnRollback(eq(lightningId), eq(userId), any());
+        then(lightningRepository).should(never()).increaseParticipantCount(any());
         then(participantRepository).should(never()).save(any());
     }
 
     @Test
-    @DisplayName("정원이 정확히 한 자리 남았을 때 참가할 수 있다.")
-    void joinLightning_exactlyOneSpotLeft() {
+    @DisplayName("좌석을 예약했더라도 DB 정원 가드를 통과하지 못하면 참가할 수 없다.")
+    void joinLightning_capacityGuardRejected() {
         // given
         Long userId = 1L;
         Long lightningId = 100L;
-        Long participantId = 200L;
 
-        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1", 3);
         User user = UserFixture.create(userId);
 
-        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
-        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(false);
-        given(participantRepository.countByLightningId(lightningId)).willReturn(2L);
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.RESERVED);
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(snowflake.nextId()).willReturn(participantId);
+        given(lightningRepository.increaseParticipantCount(lightningId)).willReturn(0);
+        given(lightningRepository.findById(lightningId))
+            .willReturn(Optional.of(LightningFixture.create(lightningId, "restaurant-1")));
 
-        // when
-        Long result = lightningService.joinLightning(userId, lightningId);
+        // when // then
+        assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
+            .isInstanceOf(CustomException.class)
+            .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_CAPACITY_EXCEEDED);
 
-        // then
-        assertThat(result).isEqualTo(lightningId);
-        then(participantRepository).should().save(any(LightningParticipant.class));
+        then(lightningSeatRegistry).should().releaseOnRollback(eq(lightningId), eq(userId), any());
+        then(participantRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("DB 정원 가드에서 거절된 번개 모임이 마감 상태면 마감 오류로 응답한다.")
+    void joinLightning_capacityGuardRejectedClosed() {
+        // given
+        Long userId = 1L;
+        Long lightningId = 100L;
+
+        User user = UserFixture.create(userId);
+        Lightning lightning = LightningFixture.create(lightningId, "restaurant-1");
+        lightning.close();
+
+        given(lightningSeatRegistry.reserve(eq(lightningId), eq(userId), any())).willReturn(SeatReservation.RESERVED);
+        given(userRepository.findById(userId)).willReturn(Optional.of(user));
+        given(lightningRepository.increaseParticipantCount(lightningId)).willReturn(0);
+        given(lightningRepository.findById(lightningId)).willReturn(Optional.of(lightning));
+
+        // when // then
+        assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
+            .isInstanceOf(CustomException.class)
+            .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_CLOSED);
+
+        then(participantRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("DB 에 이미 참여자로 있으면 좌석을 예약하지 않고 중복 참가로 거절한다.")
+    void joinLightning_existingParticipantSkipsReservation() {
+        // given
+        Long userId = 1L;
+        Long lightningId = 100L;
+
+        given(participantRepository.existsByLightningIdAndUserId(lightningId, userId)).willReturn(true);
+
+        // when // then
+        assertThatThrownBy(() -> lightningService.joinLightning(userId, lightningId))
+            .isInstanceOf(CustomException.class)
+            .hasFieldOrPropertyWithValue("errorCode", DUPLICATE_LIGHTNING_PARTICIPANT);
+
+        then(lightningSeatRegistry).should(never()).reserve(any(), any(), any());
+        then(lightningSeatRegistry).should(never()).releaseOnRollback(any(), any(), any());
+        then(participantRepository).should(never()).save(any());
     }
 
     @Test
@@ -671,7 +702,8 @@ class LightningServiceTest {
         // then
         assertThat(lightning.getLightningStatus()).isEqualTo(LightningStatus.OPEN);
         then(participantRepository).should().delete(participant);
-        then(participantRepository).should(never()).countByLightningId(any());
+        then(lightningSeatRegistry).should().releaseAfterCommit(lightningId, userId);
+        then(lightningRepository).should(never()).releaseLastSeat(any());
     }
 
     @Test
@@ -687,16 +719,17 @@ class LightningServiceTest {
 
         given(participantRepository.findByLightningIdAndUserId(lightningId, userId))
             .willReturn(Optional.of(leader));
-        given(participantRepository.countByLightningId(lightningId))
-            .willReturn(1L);
+        given(lightningRepository.releaseLastSeat(lightningId))
+            .willReturn(1);
 
         // when
         lightningService.leaveLightning(userId, lightningId);
 
         // then
         assertThat(lightning.getLightningStatus()).isEqualTo(LightningStatus.DELETED);
-        then(participantRepository).should().countByLightningId(lightningId);
+        then(lightningRepository).should().releaseLastSeat(lightningId);
         then(participantRepository).should().delete(leader);
+        then(lightningSeatRegistry).should().updateStatusAfterCommit(lightningId, LightningStatus.DELETED);
     }
 
     @Test
@@ -712,8 +745,8 @@ class LightningServiceTest {
 
         given(participantRepository.findByLightningIdAndUserId(lightningId, userId))
             .willReturn(Optional.of(leader));
-        given(participantRepository.countByLightningId(lightningId))
-            .willReturn(2L);
+        given(lightningRepository.releaseLastSeat(lightningId))
+            .willReturn(0);
 
         // when // then
         assertThatThrownBy(() -> lightningService.leaveLightning(userId, lightningId))
@@ -721,7 +754,7 @@ class LightningServiceTest {
             .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_LEADER_CANNOT_LEAVE);
 
         assertThat(lightning.getLightningStatus()).isEqualTo(LightningStatus.OPEN);
-        then(participantRepository).should().countByLightningId(lightningId);
+        then(lightningRepository).should().releaseLastSeat(lightningId);
         then(participantRepository).should(never()).delete(any());
     }
 
@@ -740,31 +773,28 @@ class LightningServiceTest {
             .isInstanceOf(CustomException.class)
             .hasFieldOrPropertyWithValue("errorCode", LIGHTNING_PARTICIPANT_NOT_FOUND);
 
-        then(participantRepository).should(never()).countByLightningId(any());
+        then(lightningRepository).should(never()).releaseLastSeat(any());
         then(participantRepository).should(never()).delete(any());
     }
 
     @Test
-    @DisplayName("참여 가능 번개 목록 조회 시 정원이 찬 번개는 제외된다.")
-    void getAvailableLightningList_excludesFullLightning() {
+    @DisplayName("참여 가능 번개 목록은 정원이 남은 OPEN 번개를 참가자 수와 함께 반환한다.")
+    void getAvailableLightningList_success() {
         // given
         Long userId = 1L;
 
         User user = UserFixture.create(userId);
         Lightning availableLightning = LightningFixture.create(100L, "restaurant-1", 4);
+        ReflectionTestUtils.setField(availableLightning, "participantCount", 2);
         Restaurant restaurant = RestaurantFixture.create("restaurant-1", "맛있는 식당");
 
-        User otherUser = UserFixture.create(2L);
-        LightningParticipant participant1 = LightningParticipant.createLeader(1L, availableLightning, otherUser);
-        LightningParticipant participant2 = LightningParticipant.createParticipant(2L, availableLightning, UserFixture.create(3L));
-
         PageRequest pageable = PageRequest.of(0, 11);
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(lightningRepository.findAllByStatusAndUserNotParticipatingWithCursor(LightningStatus.OPEN, userId, pageable))
+        given(participantRepository.findLightningIdsByUserIdAndStatus(userId, LightningStatus.OPEN))
+            .willReturn(List.of());
+        given(lightningRepository.findAvailableWithCursor(LightningStatus.OPEN, pageable))
             .willReturn(List.of(availableLightning));
-        given(participantRepository.findAllByLightningIdIn(List.of(100L)))
-            .willReturn(List.of(participant1, participant2));
         given(restaurantRepository.findAllById(List.of("restaurant-1")))
             .willReturn(List.of(restaurant));
 
@@ -779,7 +809,40 @@ class LightningServiceTest {
         assertThat(result.nextCursor()).isNull();
 
         then(lightningRepository).should()
-            .findAllByStatusAndUserNotParticipatingWithCursor(LightningStatus.OPEN, userId, pageable);
+            .findAvailableWithCursor(LightningStatus.OPEN, pageable);
+    }
+
+    @Test
+    @DisplayName("참여 가능 번개 목록 조회 시 이미 참여 중인 번개는 제외하고 그만큼 더 읽는다.")
+    void getAvailableLightningList_excludesJoinedLightning() {
+        // given
+        Long userId = 1L;
+
+        User user = UserFixture.create(userId);
+        Lightning joinedLightning = LightningFixture.create(300L, "restaurant-1");
+        Lightning lightning2 = LightningFixture.create(200L, "restaurant-1");
+        Lightning lightning1 = LightningFixture.create(100L, "restaurant-1");
+        Restaurant restaurant = RestaurantFixture.create("restaurant-1", "맛있는 식당");
+
+        PageRequest pageable = PageRequest.of(0, 3);
+
+        given(userRepository.findById(userId)).willReturn(Optional.of(user));
+        given(participantRepository.findLightningIdsByUserIdAndStatus(userId, LightningStatus.OPEN))
+            .willReturn(List.of(300L));
+        given(lightningRepository.findAvailableWithCursor(LightningStatus.OPEN, pageable))
+            .willReturn(List.of(joinedLightning, lightning2, lightning1));
+        given(restaurantRepository.findAllById(List.of("restaurant-1")))
+            .willReturn(List.of(restaurant));
+
+        // when
+        CursorPageResponse<AvailableLightningResponse> result = lightningService.getAvailableLightningList(userId, null, 1);
+
+        // then
+        assertThat(result.data()).hasSize(1)
+            .extracting("lightningId")
+            .containsExactly(200L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(200L);
     }
 
     @Nested
@@ -805,12 +868,10 @@ class LightningServiceTest {
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
             given(participantRepository.findLightningByUserIdAndCutoffDateWithCursor(userId, cutoffDate, pageable))
                 .willReturn(List.of(participant));
-            given(participantRepository.findAllByLightningIdIn(List.of(100L)))
-                .willReturn(List.of(participant));
             given(restaurantRepository.findAllById(List.of("restaurant-1")))
                 .willReturn(List.of(restaurant));
-            given(chatMessageRepository.countUnreadMessagesByUser(userId))
-                .willReturn(List.of());
+            given(unreadCountIndex.getUnreadCounts(userId, List.of(100L)))
+                .willReturn(Map.of());
 
             // when
             CursorPageResponse<LightningResponse> result = lightningService.getParticipantLightningList(userId, currentTime, cutoff, null, 10);
@@ -872,12 +933,10 @@ class LightningServiceTest {
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
             given(participantRepository.findLightningByUserIdAndCutoffDateWithCursor(userId, cutoffDate, pageable))
                 .willReturn(List.of(participant));
-            given(participantRepository.findAllByLightningIdIn(List.of(100L)))
-                .willReturn(List.of(participant));
             given(restaurantRepository.findAllById(List.of("restaurant-1")))
                 .willReturn(List.of(restaurant));
-            given(chatMessageRepository.countUnreadMessagesByUser(userId))
-                .willReturn(List.of());
+            given(unreadCountIndex.getUnreadCounts(userId, List.of(100L)))
+                .willReturn(Map.of());
 
             // when
             CursorPageResponse<LightningResponse> result = lightningService.getParticipantLightningList(userId, currentTime, cutoff, null, 10);
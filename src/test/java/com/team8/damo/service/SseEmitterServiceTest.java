@@ -0,0 +1,223 @@
+package com.team8.damo.service;
+
+import com.team8.damo.cache.store.UserCacheService;
+import com.team8.damo.dining.RecommendationStreamStore;
+import com.team8.damo.dining.StreamingSenderSnapshot;
+import com.team8.damo.entity.Dining;
+import com.team8.damo.entity.User;
+import com.team8.damo.event.payload.RecommendationStreamingEventPayload;
+import com.team8.damo.exception.CustomException;
+import com.team8.damo.fixture.DiningFixture;
+import com.team8.damo.fixture.DiningParticipantFixture;
+import com.team8.damo.fixture.GroupFixture;
+import com.team8.damo.fixture.UserFixture;
+import com.team8.damo.metric.SseMetric;
+import com.team8.damo.redis.key.RedisKeyPrefix;
+import com.team8.damo.repository.DiningParticipantRepository;
+import com.team8.damo.service.response.RecommendationStreamingResponse;
+import com.team8.damo.util.Snowflake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.team8.damo.exception.errorcode.ErrorCode.USER_NOT_FOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class SseEmitterServiceTest {
+
+    private static final int CHUNK_COUNT = 200;
+
+    @Mock
+    private Snowflake snowflake;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RecommendationStreamStore recommendationStreamStore;
+
+    @Mock
+    private RedisMessageListenerContainer sseListenerContainer;
+
+    @Mock
+    private DiningParticipantRepository diningParticipantRepository;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    private SseEmitterService sseEmitterService;
+
+    @BeforeEach
+    void setUp() {
+        sseEmitterService = new SseEmitterService(
+            snowflake,
+            new StreamingSenderSnapshot(diningParticipantRepository, userCacheService),
+            redisTemplate,
+            recommendationStreamStore,
+            sseListenerContainer,
+            new SseMetric(new SimpleMeterRegistry()),
+            32,
+            30L
+        );
+    }
+
+    @Test
+    @DisplayName("추천 스트리밍 한 번 동안 청크 수와 관계없이 참여자 조회는 한 번만 한다.")
+    void streamingBroadcast_loadsSendersOncePerStream() {
+        // given
+        Long diningId = 200L;
+        Long userId = 1L;
+        User user = UserFixture.create(userId);
+        user.updateNickname("맛집탐험가");
+        Dining dining = DiningFixture.create(diningId, GroupFixture.create(100L));
+
+        given(diningParticipantRepository.findAllByDiningId(diningId))
+            .willReturn(List.of(DiningParticipantFixture.create(300L, dining, user)));
+        given(recommendationStreamStore.append(eq(diningId), any())).willReturn("1-0");
+
+        // when
+        IntStream.range(0, CHUNK_COUNT)
+            .forEach(i -> sseEmitterService.streamingBroadcast(diningId, payload(diningId, userId, "chunk" + i)));
+
+        // then
+        ArgumentCaptor<RecommendationStreamingResponse> responseCaptor =
+            ArgumentCaptor.forClass(RecommendationStreamingResponse.class);
+        then(recommendationStreamStore).should(times(CHUNK_COUNT)).append(eq(diningId), responseCaptor.capture());
+        then(diningParticipantRepository).should(times(1)).findAllByDiningId(diningId);
+        then(userCacheService).shouldHaveNoInteractions();
+
+        assertThat(responseCaptor.getAllValues())
+            .extracting(RecommendationStreamingResponse::nickname)
+            .containsOnly("맛집탐험가");
+    }
+
+    @Test
+    @DisplayName("참여자가 아닌 보낸 사람은 한 번만 조회하고, 없는 사용자면 AI 봇으로 표시한다.")
+    void streamingBroadcast_resolvesNonParticipantOnce() {
+        // given
+        Long diningId = 200L;
+        Long botUserId = 0L;
+
+        given(diningParticipantRepository.findAllByDiningId(diningId)).willReturn(List.of());
+        given(userCacheService.getUserBasic(botUserId)).willThrow(new CustomException(USER_NOT_FOUND));
+        given(recommendationStreamStore.append(eq(diningId), any())).willReturn("1-0");
+
+        // when
+        IntStream.range(0, CHUNK_COUNT)
+            .forEach(i -> sseEmitterService.streamingBroadcast(diningId, payload(diningId, botUserId, "chunk" + i)));
+
+        // then
+        ArgumentCaptor<RecommendationStreamingResponse> responseCaptor =
+            ArgumentCaptor.forClass(RecommendationStreamingResponse.class);
+        then(recommendationStreamStore).should(times(CHUNK_COUNT)).append(eq(diningId), responseCaptor.capture());
+        then(diningParticipantRepository).should(times(1)).findAllByDiningId(diningId);
+        then(userCacheService).should(times(1)).getUserBasic(botUserId);
+
+        assertThat(responseCaptor.getAllValues())
+            .extracting(RecommendationStreamingResponse::nickname)
+            .containsOnly(StreamingSenderSnapshot.AI_BOT_NICKNAME);
+    }
+
+    @Test
+    @DisplayName("completeAll 이후의 스트리밍은 참여자를 다시 읽는다.")
+    void completeAll_evictsSenderSnapshot() {
+        // given
+        Long diningId = 200L;
+        Long userId = 1L;
+        User user = UserFixture.create(userId);
+        Dining dining = DiningFixture.create(diningId, GroupFixture.create(100L));
+
+        given(diningParticipantRepository.findAllByDiningId(diningId))
+            .willReturn(List.of(DiningParticipantFixture.create(300L, dining, user)));
+        given(recommendationStreamStore.append(eq(diningId), any())).willReturn("1-0");
+
+        // when
+        sseEmitterService.streamingBroadcast(diningId, payload(diningId, userId, "first"));
+        sseEmitterService.completeAll(diningId);
+        sseEmitterService.streamingBroadcast(diningId, payload(diningId, userId, "second"));
+
+        // then
+        then(diningParticipantRepository).should(times(2)).findAllByDiningId(diningId);
+        then(recommendationStreamStore).should().delete(diningId);
+    }
+
+    @Test
+    @DisplayName("같은 회식의 emitter 가 여러 개여도 채널 listener 는 한 번만 등록한다.")
+    void subscribe_addsListenerOncePerDining() {
+        // when
+        sseEmitterService.subscribe(1L, 200L, null);
+        sseEmitterService.subscribe(2L, 200L, null);
+        sseEmitterService.subscribe(1L, 201L, null);
+
+        // then
+        then(sseListenerContainer).should(times(1)).addMessageListener(any(), eq(broadcastTopic(200L)));
+        then(sseListenerContainer).should(times(1)).addMessageListener(any(), eq(broadcastTopic(201L)));
+        then(sseListenerContainer).should(never()).removeMessageListener(any(), any(Topic.class));
+    }
+
+    @Test
+    @DisplayName("채널 listener 등록에 실패하면 연결을 빼고, 다음 구독에서 다시 등록한다.")
+    void subscribe_retriesListenerAfterFailure() {
+        // given
+        willThrow(new IllegalStateException("redis down"))
+            .willDoNothing()
+            .given(sseListenerContainer).addMessageListener(any(), eq(broadcastTopic(200L)));
+
+        // when
+        assertThatThrownBy(() -> sseEmitterService.subscribe(1L, 200L, null))
+            .isInstanceOf(IllegalStateException.class);
+        sseEmitterService.subscribe(1L, 200L, null);
+
+        // then
+        then(sseListenerContainer).should(times(2)).addMessageListener(any(), eq(broadcastTopic(200L)));
+    }
+
+    @Test
+    @DisplayName("long 범위를 넘는 Last-Event-ID 로 재연결하면 재전송하지 않고 새 연결로 받는다.")
+    void subscribe_ignoresOverflowingLastEventId() {
+        // given
+        Long diningId = 200L;
+
+        // when
+        sseEmitterService.subscribe(1L, diningId, "99999999999999999999-0");
+
+        // then
+        then(recommendationStreamStore).should(never()).readAfter(any(), any());
+        then(recommendationStreamStore).should(never()).readAll(any());
+    }
+
+    private static ChannelTopic broadcastTopic(Long diningId) {
+        return new ChannelTopic(RedisKeyPrefix.DINING_RECOMMENDATION_SSE_CHANNEL.key(diningId));
+    }
+
+    private static RecommendationStreamingEventPayload payload(Long diningId, Long userId, String content) {
+        return RecommendationStreamingEventPayload.builder()
+            .diningId(diningId)
+            .userId(userId)
+            .content(content)
+            .build();
+    }
+}
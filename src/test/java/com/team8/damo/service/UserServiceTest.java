@@ -166,7 +166,7 @@ class UserServiceTest {
 
         given(userRepository.existsByNicknameAndIdNot(nickname, userId)).willReturn(false);
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(jwtProvider.createAccessToken(eq(userId), any(), eq(nickname))).willReturn("new-access-token");
+        given(jwtProvider.createAccessToken(eq(userId), any(), eq(nickname), any())).willReturn("new-access-token");
         given(jwtProvider.createRefreshToken(eq(userId), any(), eq(nickname))).willReturn("new-refresh-token");
 
         // when
@@ -181,7 +181,7 @@ class UserServiceTest {
 
         then(userRepository).should().existsByNicknameAndIdNot(nickname, userId);
         then(userRepository).should().findById(userId);
-        then(jwtProvider).should().createAccessToken(eq(userId), any(), eq(nickname));
+        then(jwtProvider).should().createAccessToken(eq(userId), any(), eq(nickname), any());
         then(jwtProvider).should().createRefreshToken(eq(userId), any(), eq(nickname));
         then(refreshTokenRepository).should().save(any(RefreshToken.class));
     }
@@ -206,7 +206,7 @@ class UserServiceTest {
 
         then(userRepository).should().existsByNicknameAndIdNot(duplicateNickname, userId);
         then(userRepository).should(never()).findById(userId);
-        then(jwtProvider).should(never()).createAccessToken(any(), any(), any());
+        then(jwtProvider).should(never()).createAccessToken(any(), any(), any(), any());
     }
 
     @Test
@@ -230,7 +230,7 @@ class UserServiceTest {
 
         then(userRepository).should().existsByNicknameAndIdNot(nickname, userId);
         then(userRepository).should().findById(userId);
-        then(jwtProvider).should(never()).createAccessToken(any(), any(), any());
+        then(jwtProvider).should(never()).createAccessToken(any(), any(), any(), any());
     }
 
     @Test
@@ -0,0 +1,81 @@
+package com.team8.damo.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+class HashedTimingWheelTest {
+
+    private static final long TICK_MILLIS = 100L;
+    private static final int WHEEL_SIZE = 4;
+
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        // start 하지 않고 advance 를 직접 호출해 tick 을 진행시킨다.
+        wheel = new HashedTimingWheel("test", TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+    }
+
+    @ParameterizedTest(name = "delay={0}ms -> {1}번째 tick 에서 만료")
+    @CsvSource({
+        "100, 2",
+        "300, 4",
+        "400, 5",
+        "500, 6",
+        "800, 9",
+        "1200, 13"
+    })
+    @DisplayName("delay 가 wheel 한 바퀴의 배수여도 한 바퀴 일찍 만료되지 않는다.")
+    void schedule_expiresAfterDelay(long delayMillis, int expectedAdvances) {
+        // given
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(fired::incrementAndGet, delayMillis, TimeUnit.MILLISECONDS);
+
+        // when
+        int advances = advanceUntilFired(fired, expectedAdvances + WHEEL_SIZE);
+
+        // then
+        assertThat(advances).isEqualTo(expectedAdvances);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("만료 전에 cancel 하면 실행되지 않는다.")
+    void cancel_beforeExpire() {
+        // given
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, 400, TimeUnit.MILLISECONDS);
+        wheel.advance();
+
+        // when
+        timeout.cancel();
+        for (int i = 0; i < WHEEL_SIZE * 3; i++) {
+            wheel.advance();
+        }
+
+        // then
+        assertThat(fired).hasValue(0);
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private int advanceUntilFired(AtomicInteger fired, int maxAdvances) {
+        for (int i = 1; i <= maxAdvances; i++) {
+            wheel.advance();
+            if (fired.get() > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}